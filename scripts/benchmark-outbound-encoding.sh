@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+#
+# Compares encoding the topic bodies of a purchase from ICD objects with Jackson against splicing
+# the fragments OutboundTopics encodes once per purchase, in CPU time and bytes allocated.
+#
+# usage: scripts/benchmark-outbound-encoding.sh [iterations]
+#
+set -euo pipefail
+
+ITERATIONS=${1:-500000}
+MVN=${MVN:-./mvnw}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+
+cd "$ROOT"
+$MVN -q -B test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/benchmark.classpath
+java -cp "target/test-classes:target/classes:$(cat target/benchmark.classpath)" \
+    com.businessLogic.OutboundEncodingBenchmark "$ITERATIONS"
@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+#
+# Measures the outcome store's write throughput at different batch sizes, against an in-memory H2
+# database or the database at the given JDBC url (e.g. the compose PostgreSQL).
+#
+# usage: scripts/benchmark-outcome-store.sh [outcomes] [jdbc-url user password]
+#
+set -euo pipefail
+
+OUTCOMES=${1:-50000}
+MVN=${MVN:-./mvnw}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+
+cd "$ROOT"
+$MVN -q -B test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/benchmark.classpath
+java -cp "target/test-classes:target/classes:$(cat target/benchmark.classpath)" \
+    com.outcome.OutcomeStoreBenchmark "$OUTCOMES" "${@:2}"
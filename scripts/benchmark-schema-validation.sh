@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+#
+# Compares the generated MovieTicketRequest validator with everit, both the way SchemaValidator
+# used it (schema loaded on every request) and with a pre-loaded schema, collecting every violation
+# and failing fast, and the cost of invalid topics rejected by the structural pre-checks.
+#
+# usage: scripts/benchmark-schema-validation.sh [iterations]
+#
+set -euo pipefail
+
+ITERATIONS=${1:-200000}
+MVN=${MVN:-./mvnw}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+
+cd "$ROOT"
+$MVN -q -B test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/benchmark.classpath
+java -cp "target/test-classes:target/classes:$(cat target/benchmark.classpath)" \
+    com.schemaValidator.SchemaValidationBenchmark "$ITERATIONS"
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+#
+# Compares the cold start of today's entrypoint (java -jar app.jar --debug) with the
+# fast-startup build (AOT-processed context + CDS archive).
+#
+# usage: scripts/measure-startup.sh [runs] [spring profile]
+#
+set -euo pipefail
+
+RUNS=${1:-5}
+PROFILE=${2:-dev}
+MVN=${MVN:-./mvnw}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK="$ROOT/target/startup"
+
+cd "$ROOT"
+rm -rf "$WORK"
+mkdir -p "$WORK/baseline"
+
+echo "Building the default jar..."
+$MVN -q -B -DskipTests package
+cp target/service-orchestrator-*.jar "$WORK/baseline/app.jar"
+
+echo "Building the fast-startup jar (AOT + CDS training run)..."
+$MVN -q -B -DskipTests -Pfast-startup package -Dcds.training.profile="$PROFILE"
+FAST_JAR=$(cd target/application && ls service-orchestrator-*.jar)
+
+# prints the JVM uptime (seconds) Spring Boot reports once the application has started
+start_once() {
+    local dir=$1; shift
+    local log="$WORK/run.log"
+    (cd "$dir" && exec java "$@" --server.port=0 --spring.profiles.active="$PROFILE") > "$log" 2>&1 &
+    local pid=$!
+    for _ in $(seq 1 600); do
+        if grep -q "process running for" "$log"; then
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited before it started, see $log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    grep -o "process running for [0-9.]*" "$log" | awk '{print $4}'
+}
+
+measure() {
+    local label=$1; shift
+    local samples=()
+    for run in $(seq 1 "$RUNS"); do
+        samples+=("$(start_once "$@")")
+    done
+    printf '%s\n' "${samples[@]}" | sort -n | awk -v label="$label" '
+        { s[NR] = $1; sum += $1 }
+        END { printf "%-14s runs=%d  min=%.3fs  median=%.3fs  mean=%.3fs\n", label, NR, s[1], s[int((NR + 1) / 2)], sum / NR }'
+}
+
+echo
+measure "baseline" "$WORK/baseline" -jar app.jar --debug
+measure "fast-startup" "$ROOT/target/application" \
+    -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$FAST_JAR"
@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+#
+# Replays a recording made with orchestrator.capture.enabled=true against a running orchestrator,
+# optionally serving its downstreams from an in-process stub, and compares the result with a
+# report saved from an earlier build.
+#
+# usage: scripts/replay-traffic.sh --recording traffic.capture [--target http://localhost:8080]
+#            [--speed 1] [--stub-downstreams 9090 [--stub-latency-millis 0]]
+#            [--report replay.json] [--baseline previous-replay.json]
+#
+set -euo pipefail
+
+MVN=${MVN:-./mvnw}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+
+cd "$ROOT"
+$MVN -q -B compile dependency:build-classpath -Dmdep.outputFile=target/replay.classpath
+java -cp "target/classes:$(cat target/replay.classpath)" com.capture.TrafficReplayer "$@"
@@ -0,0 +1,616 @@
+package com.schema.codegen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/*
+ * Generates a com.schema.TopicValidator per ICD JSON schema, starting from the given root topics
+ * and following their $refs. Every keyword is turned into straight-line checks against org.json
+ * values, reporting the same messages as everit, so nothing is interpreted at runtime.
+ *
+ * Schemas using keywords the generator does not understand are skipped (along with anything
+ * referencing them), SchemaValidator keeps validating those topics with everit.
+ *
+ * Run from the generate-sources phase with the compile classpath, which carries the icd schemas.
+ * The schemas defined in this repo aren't on that classpath yet, they are read from the directory
+ * in the schema.sources system property first:
+ *   java -Dschema.sources=<dir> -cp <classpath> ValidatorGenerator.java <schema dir> <sources out> <resources out> <topic>...
+ */
+public class ValidatorGenerator {
+    private static final String PACKAGE = "com.schema.generated";
+    private static final String SERVICE_FILE = "META-INF/services/com.schema.TopicValidator";
+
+    private static final Set<String> ANNOTATIONS = Set.of("$schema", "$id", "$comment", "title", "description",
+            "examples", "default");
+    private static final Set<String> KEYWORDS = Set.of("type", "required", "properties", "additionalProperties",
+            "$ref", "const", "enum", "pattern", "minLength", "maxLength", "format", "minimum", "maximum",
+            "exclusiveMinimum", "exclusiveMaximum", "items", "minItems", "maxItems", "uniqueItems");
+    private static final Set<String> TYPES = Set.of("object", "string", "integer", "number", "boolean", "array");
+    private static final Set<String> FORMATS = Set.of("date-time", "date", "time", "email", "hostname", "ipv4",
+            "ipv6", "uri", "uri-reference", "uri-template", "json-pointer", "relative-json-pointer", "regex");
+
+    private final String schemaDir;
+    private final Map<String, JSONObject> schemas = new LinkedHashMap<>();
+
+    private ValidatorGenerator(String schemaDir) {
+        this.schemaDir = schemaDir;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: ValidatorGenerator <schema dir> <sources out> <resources out> <topic>...");
+            System.exit(1);
+        }
+        ValidatorGenerator generator = new ValidatorGenerator(args[0]);
+        generator.load(List.of(args).subList(3, args.length));
+        generator.write(Path.of(args[1]), Path.of(args[2]));
+    }
+
+    // Loads the root schemas and everything they reference
+    private void load(List<String> topics) throws IOException {
+        Deque<String> pending = new ArrayDeque<>(topics);
+        while (!pending.isEmpty()) {
+            String name = pending.poll();
+            if (schemas.containsKey(name)) {
+                continue;
+            }
+            JSONObject schema = read(name);
+            schemas.put(name, schema);
+            pending.addAll(references(schema));
+        }
+    }
+
+    private void write(Path sourcesOut, Path resourcesOut) throws IOException {
+        Set<String> generated = new LinkedHashSet<>();
+        for (Map.Entry<String, JSONObject> entry : schemas.entrySet()) {
+            String unsupported = unsupported(entry.getValue(), "#");
+            if (unsupported != null) {
+                System.out.println("[ValidatorGenerator] Skipping " + entry.getKey() + ", " + unsupported);
+            } else {
+                generated.add(entry.getKey());
+            }
+        }
+        // anything referencing a skipped schema has to stay on everit as well
+        boolean changed = true;
+        while (changed) {
+            changed = generated.removeIf(name -> !generated.containsAll(references(schemas.get(name))));
+        }
+
+        Path packageDir = sourcesOut.resolve(PACKAGE.replace('.', '/'));
+        Files.createDirectories(packageDir);
+        StringBuilder services = new StringBuilder();
+        for (String name : generated) {
+            String className = className(name);
+            Files.writeString(packageDir.resolve(className + ".java"), new ClassWriter(name, schemas.get(name)).write());
+            services.append(PACKAGE).append('.').append(className).append('\n');
+        }
+        Path serviceFile = resourcesOut.resolve(SERVICE_FILE);
+        Files.createDirectories(serviceFile.getParent());
+        Files.writeString(serviceFile, services.toString());
+        System.out.println("[ValidatorGenerator] Generated validators for " + generated);
+    }
+
+    private JSONObject read(String name) throws IOException {
+        String resource = schemaDir + "/" + name + ".json";
+        String sources = System.getProperty("schema.sources");
+        if (sources != null && Files.isRegularFile(Path.of(sources, resource))) {
+            return new JSONObject(new JSONTokener(Files.readString(Path.of(sources, resource))));
+        }
+        try (InputStream in = ValidatorGenerator.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Schema not found on the classpath: " + resource);
+            }
+            return new JSONObject(new JSONTokener(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static Set<String> references(JSONObject schema) {
+        Set<String> references = new LinkedHashSet<>();
+        collectReferences(schema, references);
+        return references;
+    }
+
+    private static void collectReferences(JSONObject schema, Set<String> references) {
+        String ref = schema.optString("$ref", null);
+        if (ref != null && ref.endsWith(".json") && !ref.contains("/") && !ref.contains("#")) {
+            references.add(ref.substring(0, ref.length() - ".json".length()));
+        }
+        JSONObject properties = schema.optJSONObject("properties");
+        if (properties != null) {
+            for (String property : properties.keySet()) {
+                JSONObject child = properties.optJSONObject(property);
+                if (child != null) {
+                    collectReferences(child, references);
+                }
+            }
+        }
+        JSONObject items = schema.optJSONObject("items");
+        if (items != null) {
+            collectReferences(items, references);
+        }
+    }
+
+    /*
+     * Returns why the schema can't be generated, or null when every keyword is supported
+     */
+    private static String unsupported(JSONObject schema, String pointer) {
+        for (String keyword : schema.keySet()) {
+            if (!KEYWORDS.contains(keyword) && !ANNOTATIONS.contains(keyword)) {
+                return "keyword " + keyword + " at " + pointer;
+            }
+        }
+        if (schema.has("$ref")) {
+            String ref = schema.optString("$ref", "");
+            if (!ref.endsWith(".json") || ref.contains("/") || ref.contains("#")) {
+                return "$ref " + ref + " at " + pointer;
+            }
+            for (String keyword : schema.keySet()) {
+                if (KEYWORDS.contains(keyword) && !keyword.equals("$ref")) {
+                    return "$ref with sibling " + keyword + " at " + pointer;
+                }
+            }
+            return null;
+        }
+        if (schema.get("type") instanceof JSONArray types) {
+            if (!isNullableType(types) || TYPES.stream().anyMatch(type -> ClassWriter.hasKeywordsFor(schema, type))) {
+                return "type " + types + " at " + pointer;
+            }
+        } else if (schema.has("type") && !(schema.get("type") instanceof String type && TYPES.contains(type))) {
+            return "type " + schema.get("type") + " at " + pointer;
+        }
+        if (schema.has("format") && !FORMATS.contains(schema.optString("format"))) {
+            return "format " + schema.get("format") + " at " + pointer;
+        }
+        if (schema.has("additionalProperties") && !Boolean.FALSE.equals(schema.get("additionalProperties"))) {
+            return "additionalProperties other than false at " + pointer;
+        }
+        for (String keyword : List.of("exclusiveMinimum", "exclusiveMaximum", "minimum", "maximum")) {
+            if (schema.has(keyword) && !(schema.get(keyword) instanceof Number)) {
+                return keyword + " " + schema.get(keyword) + " at " + pointer;
+            }
+        }
+        if (schema.has("const") && !isPlainValue(schema.get("const"))) {
+            return "non-string const at " + pointer;
+        }
+        if (schema.has("enum")) {
+            for (Object value : schema.getJSONArray("enum")) {
+                if (!isPlainValue(value)) {
+                    return "non-string enum at " + pointer;
+                }
+            }
+        }
+        JSONObject properties = schema.optJSONObject("properties");
+        if (properties != null) {
+            for (String property : properties.keySet()) {
+                JSONObject child = properties.optJSONObject(property);
+                if (child == null) {
+                    return "boolean schema at " + pointer + "/properties/" + property;
+                }
+                String reason = unsupported(child, pointer + "/properties/" + property);
+                if (reason != null) {
+                    return reason;
+                }
+            }
+        }
+        if (schema.has("items")) {
+            JSONObject items = schema.optJSONObject("items");
+            if (items == null) {
+                return "tuple items at " + pointer;
+            }
+            return unsupported(items, pointer + "/items");
+        }
+        return null;
+    }
+
+    // a type and null, e.g. ["integer", "null"], without any keyword for the type
+    private static boolean isNullableType(JSONArray types) {
+        return types.length() == 2 && types.toList().contains("null")
+                && types.toList().stream().anyMatch(type -> !"null".equals(type) && TYPES.contains(type));
+    }
+
+    // strings and booleans compare the same way in everit and Object.equals, numbers do not
+    private static boolean isPlainValue(Object value) {
+        return value instanceof String || value instanceof Boolean;
+    }
+
+    private static String className(String schemaName) {
+        return schemaName + "Validator";
+    }
+
+    /*
+     * Emits one validator class. Every (sub)schema becomes a block of checks on a local variable,
+     * $refs become calls into the referenced schema's generated check(...)
+     */
+    private static final class ClassWriter {
+        private final String name;
+        private final JSONObject schema;
+        private final List<String> constants = new ArrayList<>();
+        private StringBuilder body = new StringBuilder();
+        private int variables;
+
+        private ClassWriter(String name, JSONObject schema) {
+            this.name = name;
+            this.schema = schema;
+        }
+
+        private String write() {
+            emit(schema, "value", "path", 2);
+
+            StringBuilder out = new StringBuilder();
+            out.append("// Generated by ValidatorGenerator from ").append(name).append(".json, do not edit\n");
+            out.append("package ").append(PACKAGE).append(";\n\n");
+            out.append("import java.util.List;\n");
+            out.append("import java.util.regex.Pattern;\n");
+            out.append("import org.everit.json.schema.FormatValidator;\n");
+            out.append("import org.json.JSONArray;\n");
+            out.append("import org.json.JSONObject;\n");
+            out.append("import com.schema.TopicValidator;\n\n");
+            out.append("@SuppressWarnings(\"unused\")\n");
+            out.append("public final class ").append(className(name)).append(" implements TopicValidator {\n");
+            for (String constant : constants) {
+                out.append("    ").append(constant).append('\n');
+            }
+            if (!constants.isEmpty()) {
+                out.append('\n');
+            }
+            out.append("    @Override\n");
+            out.append("    public String topicName() {\n");
+            out.append("        return ").append(literal(name)).append(";\n");
+            out.append("    }\n\n");
+            out.append("    @Override\n");
+            out.append("    public void validate(Object json, List<String> errors) {\n");
+            out.append("        check(json, \"#\", errors);\n");
+            out.append("    }\n\n");
+            out.append("    public static void check(Object value, String path, List<String> errors) {\n");
+            out.append(body);
+            out.append("    }\n\n");
+            out.append("    private static String type(Object value) {\n");
+            out.append("        return value.getClass().getSimpleName();\n");
+            out.append("    }\n");
+            out.append("}\n");
+            return out.toString();
+        }
+
+        private void emit(JSONObject schema, String value, String path, int depth) {
+            if (schema.has("$ref")) {
+                String ref = schema.getString("$ref");
+                line(depth, className(ref.substring(0, ref.length() - ".json".length()))
+                        + ".check(" + value + ", " + path + ", errors);");
+                return;
+            }
+            // const and enum are their own schemas in everit, checked whatever the type
+            if (schema.has("const")) {
+                line(depth, "if (!" + literalOf(schema.get("const")) + ".equals(" + value + ")) {");
+                // everit reports a const mismatch without any message
+                line(depth + 1, "errors.add(" + at(path, ": ") + ");");
+                line(depth, "}");
+            }
+            if (schema.has("enum")) {
+                String constant = constant("List<Object> ENUM_", "List.of(" + join(schema.getJSONArray("enum")) + ")");
+                line(depth, "if (!" + constant + ".contains(" + value + ")) {");
+                line(depth + 1, "errors.add(" + at(path, ": ") + " + " + value + " + \" is not a valid enum value\");");
+                line(depth, "}");
+            }
+
+            if (schema.get("type") instanceof JSONArray types) {
+                emitNullable(types, value, path, depth);
+                return;
+            }
+            String type = schema.optString("type", null);
+            if (type == null) {
+                // without a type everit only applies the keywords to values of the matching kind
+                for (String implied : List.of("object", "string", "number", "array")) {
+                    if (hasKeywordsFor(schema, implied)) {
+                        emitTyped(schema, implied, value, path, depth, false);
+                    }
+                }
+            } else {
+                emitTyped(schema, type, value, path, depth, true);
+            }
+        }
+
+        private void emitTyped(JSONObject schema, String type, String value, String path, int depth, boolean required) {
+            String variable = "v" + variables++;
+            String expected;
+            String test;
+            String bound;
+            StringBuilder outer = body;
+            body = new StringBuilder();
+            switch (type) {
+                case "object" -> {
+                    expected = "JSONObject";
+                    test = value + " instanceof JSONObject";
+                    bound = test + " " + variable;
+                    emitObject(schema, variable, path, depth + 1);
+                }
+                case "string" -> {
+                    expected = "String";
+                    test = value + " instanceof String";
+                    bound = test + " " + variable;
+                    emitString(schema, variable, path, depth + 1);
+                }
+                case "integer" -> {
+                    expected = "Integer";
+                    test = value + " instanceof Integer || " + value + " instanceof Long || "
+                            + value + " instanceof java.math.BigInteger";
+                    bound = test;
+                    emitNumber(schema, "((Number) " + value + ")", path, depth + 1);
+                }
+                case "number" -> {
+                    expected = "Number";
+                    test = value + " instanceof Number";
+                    bound = test + " " + variable;
+                    emitNumber(schema, variable, path, depth + 1);
+                }
+                case "boolean" -> {
+                    expected = "Boolean";
+                    test = value + " instanceof Boolean";
+                    bound = test;
+                }
+                case "array" -> {
+                    expected = "JSONArray";
+                    test = value + " instanceof JSONArray";
+                    bound = test + " " + variable;
+                    emitArray(schema, variable, path, depth + 1);
+                }
+                default -> throw new IllegalStateException("Unsupported type " + type);
+            }
+            String checks = body.toString();
+            body = outer;
+
+            String typeError = "errors.add(" + at(path, ": expected type: " + expected + ", found: ") + " + type(" + value + "));";
+            if (checks.isEmpty()) {
+                if (required) {
+                    line(depth, "if (!(" + test + ")) {");
+                    line(depth + 1, typeError);
+                    line(depth, "}");
+                }
+                return;
+            }
+            line(depth, "if (" + bound + ") {");
+            body.append(checks);
+            if (required) {
+                line(depth, "} else {");
+                line(depth + 1, typeError);
+            }
+            line(depth, "}");
+        }
+
+        /*
+         * everit turns a type list into an anyOf of one schema per type and reports the failure of
+         * each, the null schema's first
+         */
+        private void emitNullable(JSONArray types, String value, String path, int depth) {
+            String type = "null".equals(types.get(0)) ? types.getString(1) : types.getString(0);
+            String test = switch (type) {
+                case "object" -> value + " instanceof JSONObject";
+                case "string" -> value + " instanceof String";
+                case "integer" -> value + " instanceof Integer || " + value + " instanceof Long || "
+                        + value + " instanceof java.math.BigInteger";
+                case "number" -> value + " instanceof Number";
+                case "boolean" -> value + " instanceof Boolean";
+                default -> value + " instanceof JSONArray";
+            };
+            String expected = switch (type) {
+                case "object" -> "JSONObject";
+                case "string" -> "String";
+                case "integer" -> "Integer";
+                case "number" -> "Number";
+                case "boolean" -> "Boolean";
+                default -> "JSONArray";
+            };
+            line(depth, "if (" + value + " != JSONObject.NULL && !(" + test + ")) {");
+            line(depth + 1, "errors.add(" + at(path, ": expected: null, found: ") + " + type(" + value + "));");
+            line(depth + 1, "errors.add(" + at(path, ": expected type: " + expected + ", found: ") + " + type(" + value + "));");
+            line(depth, "}");
+        }
+
+        private void emitObject(JSONObject schema, String object, String path, int depth) {
+            JSONArray required = schema.optJSONArray("required");
+            if (required != null) {
+                for (Object key : required) {
+                    line(depth, "if (!" + object + ".has(" + literal((String) key) + ")) {");
+                    line(depth + 1, "errors.add(" + at(path, ": required key [" + key + "] not found") + ");");
+                    line(depth, "}");
+                }
+            }
+            JSONObject properties = schema.optJSONObject("properties");
+            if (Boolean.FALSE.equals(schema.opt("additionalProperties"))) {
+                String known = constant("List<String> PROPERTIES_",
+                        "List.of(" + join(properties == null ? new JSONArray() : new JSONArray(properties.keySet())) + ")");
+                line(depth, "for (String key : " + object + ".keySet()) {");
+                line(depth + 1, "if (!" + known + ".contains(key)) {");
+                line(depth + 2, "errors.add(" + at(path, ": extraneous key [") + " + key + \"] is not permitted\");");
+                line(depth + 1, "}");
+                line(depth, "}");
+            }
+            if (properties != null) {
+                for (String property : properties.keySet()) {
+                    String variable = "v" + variables++;
+                    line(depth, "Object " + variable + " = " + object + ".opt(" + literal(property) + ");");
+                    line(depth, "if (" + variable + " != null) {");
+                    emit(properties.getJSONObject(property), variable, at(path, "/" + pointer(property)),
+                            depth + 1);
+                    line(depth, "}");
+                }
+            }
+        }
+
+        private void emitString(JSONObject schema, String string, String path, int depth) {
+            if (schema.has("minLength") || schema.has("maxLength")) {
+                String length = "v" + variables++;
+                line(depth, "int " + length + " = " + string + ".codePointCount(0, " + string + ".length());");
+                if (schema.has("minLength")) {
+                    int minLength = schema.getInt("minLength");
+                    line(depth, "if (" + length + " < " + minLength + ") {");
+                    line(depth + 1, "errors.add(" + at(path, ": expected minLength: " + minLength + ", actual: ") + " + "
+                            + length + ");");
+                    line(depth, "}");
+                }
+                if (schema.has("maxLength")) {
+                    int maxLength = schema.getInt("maxLength");
+                    line(depth, "if (" + length + " > " + maxLength + ") {");
+                    line(depth + 1, "errors.add(" + at(path, ": expected maxLength: " + maxLength + ", actual: ") + " + "
+                            + length + ");");
+                    line(depth, "}");
+                }
+            }
+            if (schema.has("pattern")) {
+                String pattern = schema.getString("pattern");
+                String constant = constant("Pattern PATTERN_", "Pattern.compile(" + literal(pattern) + ")");
+                line(depth, "if (!" + constant + ".matcher(" + string + ").find()) {");
+                line(depth + 1, "errors.add(" + at(path, ": string [") + " + " + string + " + "
+                        + literal("] does not match pattern " + pattern) + ");");
+                line(depth, "}");
+            }
+            if (schema.has("format")) {
+                String constant = constant("FormatValidator FORMAT_",
+                        "FormatValidator.forFormat(" + literal(schema.getString("format")) + ")");
+                line(depth, constant + ".validate(" + string + ").ifPresent(message -> errors.add("
+                        + at(path, ": ") + " + message));");
+            }
+        }
+
+        private void emitNumber(JSONObject schema, String number, String path, int depth) {
+            emitLimit(schema, "minimum", number, " < 0", " is not greater or equal to ", path, depth);
+            emitLimit(schema, "maximum", number, " > 0", " is not less or equal to ", path, depth);
+            emitLimit(schema, "exclusiveMinimum", number, " <= 0", " is not greater than ", path, depth);
+            emitLimit(schema, "exclusiveMaximum", number, " >= 0", " is not less than ", path, depth);
+        }
+
+        private void emitLimit(JSONObject schema, String keyword, String number, String violated, String message,
+                String path, int depth) {
+            if (!schema.has(keyword)) {
+                return;
+            }
+            String limit = schema.get(keyword).toString();
+            String constant = constant("java.math.BigDecimal LIMIT_", "new java.math.BigDecimal(" + literal(limit) + ")");
+            line(depth, "if (new java.math.BigDecimal(" + number + ".toString()).compareTo(" + constant + ")" + violated + ") {");
+            line(depth + 1, "errors.add(" + at(path, ": ") + " + " + number + " + " + literal(message + limit) + ");");
+            line(depth, "}");
+        }
+
+        private void emitArray(JSONObject schema, String array, String path, int depth) {
+            if (schema.has("minItems")) {
+                int minItems = schema.getInt("minItems");
+                line(depth, "if (" + array + ".length() < " + minItems + ") {");
+                line(depth + 1, "errors.add(" + at(path, ": expected minimum item count: " + minItems + ", found: ") + " + "
+                        + array + ".length());");
+                line(depth, "}");
+            }
+            if (schema.has("maxItems")) {
+                int maxItems = schema.getInt("maxItems");
+                line(depth, "if (" + array + ".length() > " + maxItems + ") {");
+                line(depth + 1, "errors.add(" + at(path, ": expected maximum item count: " + maxItems + ", found: ") + " + "
+                        + array + ".length());");
+                line(depth, "}");
+            }
+            if (schema.optBoolean("uniqueItems")) {
+                // everit's own comparison, so 1 and 1.0 are duplicates there and here
+                String unique = "u" + variables++;
+                String index = "i" + variables++;
+                String previous = "i" + variables++;
+                line(depth, "boolean " + unique + " = true;");
+                line(depth, "for (int " + index + " = 1; " + unique + " && " + index + " < " + array + ".length(); " + index + "++) {");
+                line(depth + 1, "for (int " + previous + " = 0; " + unique + " && " + previous + " < " + index + "; " + previous + "++) {");
+                line(depth + 2, unique + " = !org.everit.json.schema.ObjectComparator.deepEquals(" + array + ".get(" + index + "), "
+                        + array + ".get(" + previous + "));");
+                line(depth + 1, "}");
+                line(depth, "}");
+                line(depth, "if (!" + unique + ") {");
+                line(depth + 1, "errors.add(" + at(path, ": array items are not unique") + ");");
+                line(depth, "}");
+            }
+            JSONObject items = schema.optJSONObject("items");
+            if (items != null) {
+                String index = "i" + variables++;
+                String item = "v" + variables++;
+                line(depth, "for (int " + index + " = 0; " + index + " < " + array + ".length(); " + index + "++) {");
+                line(depth + 1, "Object " + item + " = " + array + ".get(" + index + ");");
+                emit(items, item, at(path, "/") + " + " + index, depth + 1);
+                line(depth, "}");
+            }
+        }
+
+        static boolean hasKeywordsFor(JSONObject schema, String type) {
+            List<String> keywords = switch (type) {
+                case "object" -> List.of("required", "properties", "additionalProperties");
+                case "string" -> List.of("minLength", "maxLength", "pattern", "format");
+                case "number" -> List.of("minimum", "maximum", "exclusiveMinimum", "exclusiveMaximum");
+                default -> List.of("items", "minItems", "maxItems", "uniqueItems");
+            };
+            return keywords.stream().anyMatch(schema::has);
+        }
+
+        private String constant(String declaration, String initializer) {
+            String constantName = declaration.substring(declaration.lastIndexOf(' ') + 1) + constants.size();
+            constants.add("private static final " + declaration + constants.size() + " = " + initializer + ";");
+            return constantName;
+        }
+
+        private void line(int depth, String code) {
+            body.append("    ".repeat(depth)).append(code).append('\n');
+        }
+    }
+
+    private static String join(JSONArray values) {
+        List<String> literals = new ArrayList<>();
+        for (Object value : values) {
+            literals.add(literalOf(value));
+        }
+        return String.join(", ", literals);
+    }
+
+    private static String literalOf(Object value) {
+        return value instanceof String string ? literal(string) : "Boolean." + value.toString().toUpperCase();
+    }
+
+    /*
+     * Appends text to a path expression, folding it into the trailing string literal when there
+     * is one so the generated code reads path + "/movie/genre: ..." rather than a chain of literals
+     */
+    private static String at(String path, String text) {
+        if (path.endsWith("\"")) {
+            return path.substring(0, path.length() - 1) + escape(text) + "\"";
+        }
+        return path + " + " + literal(text);
+    }
+
+    private static String literal(String value) {
+        return "\"" + escape(value) + "\"";
+    }
+
+    // JSON pointer escaping of a property name, as everit reports it
+    private static String pointer(String property) {
+        return property.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '"' -> escaped.append("\\\"");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import com.localTopics.GroupTicketRequest;
+import com.topics.CreateTicketRequest;
+import com.topics.CreateTicketResponse;
+import com.topics.Movie;
+import com.topics.MovieTicketRequest;
+import com.topics.MovieTicketResponse;
+import com.topics.PaymentRequest;
+import com.topics.PaymentResponse;
+import com.topics.SeatRequest;
+import com.topics.SeatResponse;
+
+/*
+ * Hints for the AOT build (fast-startup profile): the ICD json schemas are loaded from the
+ * classpath at runtime and the topics are bound reflectively by Jackson, neither of which AOT
+ * processing can discover on its own
+ */
+public class OrchestratorRuntimeHints implements RuntimeHintsRegistrar {
+    private static final Class<?>[] TOPICS = {
+        MovieTicketRequest.class, MovieTicketResponse.class, Movie.class,
+        SeatRequest.class, SeatResponse.class,
+        PaymentRequest.class, PaymentResponse.class,
+        CreateTicketRequest.class, CreateTicketResponse.class,
+        GroupTicketRequest.class,
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("json-schema/*");
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), TOPICS);
+    }
+}
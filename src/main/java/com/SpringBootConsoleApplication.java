@@ -5,8 +5,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
-@SpringBootApplication
+// the DataSource is only configured along with the outcome store, see OutcomeDataSourceConfiguration
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
+@ImportRuntimeHints(OrchestratorRuntimeHints.class)
 public class SpringBootConsoleApplication implements CommandLineRunner {
 
     private static Logger LOG = LoggerFactory.getLogger(SpringBootConsoleApplication.class);
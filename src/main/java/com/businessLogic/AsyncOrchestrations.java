@@ -0,0 +1,207 @@
+package com.businessLogic;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Runs accepted orchestrations in the background and remembers how they ended, so callers that
+ * asked for an asynchronous purchase can poll for the outcome instead of holding a connection
+ * open for the whole saga. Statuses are only kept in memory: a poll never reaches a downstream.
+ * Like the SeatAvailabilityCache, every status lives for the same TTL from its acceptance, so a
+ * FIFO queue evicts both expired and (when full) oldest entries.
+ */
+@Component
+public class AsyncOrchestrations {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncOrchestrations.class);
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Semaphore inFlight;
+    private final OrchestrationRegistry orchestrationRegistry;
+    private final ExecutorService executor = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("async-orchestration-", 0).daemon().factory());
+
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public AsyncOrchestrations(@Value("${orchestrator.async.enabled:false}") boolean enabled,
+            @Value("${orchestrator.async.max-in-flight:200}") int maxInFlight,
+            @Value("${orchestrator.async.status-ttl-millis:300000}") long ttlMillis,
+            @Value("${orchestrator.async.status-max-entries:10000}") int maxEntries,
+            OrchestrationRegistry orchestrationRegistry) {
+        this(enabled, maxInFlight, ttlMillis, maxEntries, orchestrationRegistry, System::nanoTime);
+    }
+
+    AsyncOrchestrations(boolean enabled, int maxInFlight, long ttlMillis, int maxEntries,
+            OrchestrationRegistry orchestrationRegistry, LongSupplier clock) {
+        this.enabled = enabled;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+        this.orchestrationRegistry = orchestrationRegistry;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * Starts the saga in the background and returns its ACCEPTED status. A correlatorId that is
+     * still being orchestrated is not started twice, its current status is returned instead.
+     * Returns null when max-in-flight orchestrations are already running.
+     */
+    public Status accept(Integer correlatorId, Supplier<ResponseEntity<String>> saga) {
+        long now = clock.getAsLong();
+        Status acceptedStatus = new Status(correlatorId, State.ACCEPTED, null, 0, null, System.currentTimeMillis(), 0);
+        Entry entry = new Entry(correlatorId, now + ttlNanos, acceptedStatus);
+        // claims the correlatorId atomically, so two concurrent submissions can't both start the saga
+        Entry claimed = entries.compute(correlatorId, (id, existing) ->
+                existing != null && existing.expiresAt - now > 0 && !existing.status.state().isFinal() ? existing : entry);
+        if (claimed != entry) {
+            duplicates.incrementAndGet();
+            return status(correlatorId);
+        }
+        if (!inFlight.tryAcquire()) {
+            entries.remove(correlatorId, entry);
+            rejected.incrementAndGet();
+            return null;
+        }
+
+        insertionOrder.add(entry);
+        queued.incrementAndGet();
+        accepted.incrementAndGet();
+        evict(now);
+        try {
+            executor.execute(() -> run(entry, saga));
+        } catch (RuntimeException e) {
+            inFlight.release();
+            entries.remove(correlatorId, entry);
+            throw e;
+        }
+        return acceptedStatus;
+    }
+
+    private void run(Entry entry, Supplier<ResponseEntity<String>> saga) {
+        entry.status = entry.status.with(State.RUNNING, 0, null);
+        try {
+            ResponseEntity<String> response = saga.get();
+            int httpStatus = response.getStatusCode().value();
+            entry.status = entry.status.with(response.getStatusCode().is2xxSuccessful() ? State.COMPLETED : State.FAILED,
+                    httpStatus, response.getBody());
+        } catch (RuntimeException e) {
+            LOG.error("Background orchestration {} failed: {}", entry.correlatorId, e.getMessage());
+            entry.status = entry.status.with(State.FAILED, 500, "Internal Error, failed to orchestrate");
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /*
+     * The last known status of the orchestration, with its current stage while it runs, or null
+     * when the correlatorId is unknown or its status has expired
+     */
+    public Status status(Integer correlatorId) {
+        Entry entry = entries.get(correlatorId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - clock.getAsLong() <= 0) {
+            entries.remove(correlatorId, entry);
+            return null;
+        }
+        Status status = entry.status;
+        if (status.state() == State.RUNNING) {
+            return status.withStage(orchestrationRegistry.stageOf(correlatorId));
+        }
+        return status;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(enabled, entries.size(), inFlight.availablePermits(), accepted.get(), duplicates.get(),
+                rejected.get(), evictions.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void evict(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (head.expiresAt - now <= 0 || queued.get() > maxEntries)) {
+            if (insertionOrder.remove(head)) {
+                queued.decrementAndGet();
+                if (entries.remove(head.correlatorId, head)) {
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public enum State {
+        ACCEPTED, RUNNING, COMPLETED, FAILED;
+
+        boolean isFinal() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    // httpStatus and body are what the synchronous call would have answered, once the saga has ended
+    public record Status(Integer correlatorId, State state, String stage, int httpStatus, String body,
+            long acceptedAtEpochMillis, long completedAtEpochMillis) {
+
+        private Status with(State state, int httpStatus, String body) {
+            return new Status(correlatorId, state, null, httpStatus, body, acceptedAtEpochMillis,
+                    state.isFinal() ? System.currentTimeMillis() : 0);
+        }
+
+        private Status withStage(String stage) {
+            return new Status(correlatorId, state, stage, httpStatus, body, acceptedAtEpochMillis,
+                    completedAtEpochMillis);
+        }
+    }
+
+    private static final class Entry {
+        private final Integer correlatorId;
+        private final long expiresAt;
+        private volatile Status status;
+
+        private Entry(Integer correlatorId, long expiresAt, Status status) {
+            this.correlatorId = correlatorId;
+            this.expiresAt = expiresAt;
+            this.status = status;
+        }
+    }
+
+    // available is the number of background orchestrations that can still be accepted
+    public record Snapshot(boolean enabled, int statuses, int available, long accepted, long duplicates,
+            long rejected, long evictions) {
+    }
+}
@@ -1,26 +1,58 @@
 package com.businessLogic;
 
-import java.util.HashMap;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import com.config.DownstreamConfig;
+import com.config.DownstreamConfigSource;
+import com.config.DownstreamSettings;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnectedException;
+import com.disconnect.ClientDisconnects;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.topics.CreateTicketRequest;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.limiter.DownstreamRateLimiters;
+import com.limiter.RateLimitedException;
+import com.limiter.TokenBucket;
+import com.loadbalancer.DownstreamLoadBalancers;
+import com.localTopics.GroupTicketRequest;
+import com.profiling.OrchestrationStageEvent;
+import com.timeout.AdaptiveTimeout;
+import com.timeout.DownstreamTimeouts;
 import com.topics.CreateTicketResponse;
 import com.topics.MovieTicketRequest;
-import com.topics.MovieTicketResponse;
-import com.topics.PaymentRequest;
 import com.topics.PaymentResponse;
-import com.topics.SeatRequest;
 import com.topics.SeatResponse;
 import com.topics.SeatResponse.Status;
+import com.tracing.Span;
+import com.tracing.Tracer;
+import com.tracing.TracingInterceptor;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 /*
  * Handles the business logic for processing various topics and utilizes 
@@ -30,13 +62,64 @@ import jakarta.annotation.PostConstruct;
 public class BusinessLogic {
     private static final Logger LOG = LoggerFactory.getLogger(BusinessLogic.class);
     private static ObjectMapper mapper = new ObjectMapper();
-    // REST Clients to communicate with other microservices
+    // REST Clients to communicate with other microservices, as injected. The clients actually
+    // called are derived from these for every version of the downstream settings.
     private final RestClient apiGatewayClient;
     private final RestClient paymentServiceClient;
     private final RestClient movieServiceClient;
     private final RestClient seatServiceClient;
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final SeatContentionGuard seatContentionGuard;
+    private final Tracer tracer;
+    private final OrchestrationRegistry orchestrationRegistry;
+    private final DownstreamLoadBalancers loadBalancers;
+    private final DownstreamConfigSource downstreamConfig;
+    private final DownstreamRateLimiters rateLimiters;
+    private final DownstreamTimeouts timeouts;
+    private final DownstreamCallbacks callbacks;
+    private final ClientDisconnects clientDisconnects;
 
-    private HashMap<RestClient, String> restEndpoints = new HashMap<>();
+    // time an orchestration has for all its downstream calls, 0 for no limit
+    @Value("${orchestrator.orchestration.budget-millis:0}")
+    private long budgetMillis;
+    // further attempts at sending the MovieTicketResponse (or GroupTicketResponse) to the API Gateway
+    @Value("${orchestrator.gateway-response.retries:0}")
+    private int gatewayResponseRetries;
+    // creates the ticket while the seat is being confirmed instead of after it
+    @Value("${orchestrator.orchestration.overlap-confirmation:false}")
+    private boolean overlapConfirmation;
+    // runs the ticket creations overlapping a seat confirmation on virtual threads, like the partition
+    // sagas, so a slow movie-service parks them instead of growing a platform-thread pool; null unless
+    // overlapConfirmation
+    private ExecutorService ticketCreationExecutor;
+
+    // replaced as a whole whenever the downstream settings change
+    private volatile Endpoints endpoints;
+
+    public BusinessLogic(RestClient apiGatewayClient, RestClient paymentServiceClient, RestClient movieServiceClient, RestClient seatServiceClient,
+            SeatAvailabilityCache seatAvailabilityCache, SeatContentionGuard seatContentionGuard, Tracer tracer,
+            OrchestrationRegistry orchestrationRegistry, DownstreamLoadBalancers loadBalancers,
+            DownstreamConfigSource downstreamConfig, DownstreamRateLimiters rateLimiters, DownstreamTimeouts timeouts,
+            DownstreamCallbacks callbacks, ClientDisconnects clientDisconnects) {
+        this.apiGatewayClient = apiGatewayClient;
+        this.paymentServiceClient = paymentServiceClient;
+        this.movieServiceClient = movieServiceClient;
+        this.seatServiceClient = seatServiceClient;
+        this.seatAvailabilityCache = seatAvailabilityCache;
+        this.seatContentionGuard = seatContentionGuard;
+        this.tracer = tracer;
+        this.orchestrationRegistry = orchestrationRegistry;
+        this.loadBalancers = loadBalancers;
+        this.downstreamConfig = downstreamConfig;
+        this.rateLimiters = rateLimiters;
+        this.timeouts = timeouts;
+        this.callbacks = callbacks;
+        this.clientDisconnects = clientDisconnects;
+        this.endpoints = new Endpoints(0, new Endpoint(DownstreamConfig.API_GATEWAY, null, apiGatewayClient, null, null),
+                new Endpoint(DownstreamConfig.PAYMENT_SERVICE, null, paymentServiceClient, null, null),
+                new Endpoint(DownstreamConfig.MOVIE_SERVICE, null, movieServiceClient, null, null),
+                new Endpoint(DownstreamConfig.SEATING_SERVICE, null, seatServiceClient, null, null));
+    }
 
     /*
      * Method to map topics to their respective microservices and endpoints
@@ -51,54 +134,105 @@ public class BusinessLogic {
      * # service-orchestrator:8089
      * # session-manager:8090
      */
-    @Value("${api.gateway}")
-    private String apigateway;
-    @Value("${api.gateway.port}")
-    private String apigatewayPort;
-    private String agw;
-
-    @Value("${payment.service}")
-    private String paymentService;
-    @Value("${payment.service.port}")
-    private String paymentServicePort;
-    private String ps;
-
-    @Value("${movie.service}")
-    private String movieService;
-    @Value("${movie.service.port}")
-    private String movieServicePort;
-    private String ms;
-
-    @Value("${seating.service}")
-    private String seatingService;
-    @Value("${seating.service.port}")
-    private String seatingServicePort;
-    private String ss;
-
-    public BusinessLogic(RestClient apiGatewayClient, RestClient paymentServiceClient, RestClient movieServiceClient, RestClient seatServiceClient) {
-        this.apiGatewayClient = apiGatewayClient;
-        this.paymentServiceClient = paymentServiceClient;
-        this.movieServiceClient = movieServiceClient;
-        this.seatServiceClient = seatServiceClient;
-    }
-
     @PostConstruct
     public void init() {
-        agw = "http://" + apigateway + ":" + apigatewayPort + "/api/v1/processTopic";
-        LOG.info("Business Logic initialized API Gateway at: " + agw);
-        restEndpoints.put(apiGatewayClient, agw);
+        downstreamConfig.subscribe(this::applyConfig);
+        applyConfig(downstreamConfig.current());
+        if (overlapConfirmation) {
+            ticketCreationExecutor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("ticket-creation-", 0).factory());
+        }
+    }
 
-        ps = "http://" + paymentService + ":" + paymentServicePort + "/api/v1/processTopic";
-        LOG.info("Business Logic initialized Payment Service at: " + ps);
-        restEndpoints.put(paymentServiceClient, ps);
+    @PreDestroy
+    public void shutdown() {
+        if (ticketCreationExecutor != null) {
+            ticketCreationExecutor.shutdown();
+        }
+    }
 
-        ms = "http://" + movieService + ":" + movieServicePort + "/api/v1/processTopic";
-        LOG.info("Business Logic initialized Movie Service at: " + ms);
-        restEndpoints.put(movieServiceClient, ms);
+    /*
+     * Builds the clients and URLs for a new version of the downstream settings and swaps them in
+     * at once. Orchestrations already running keep the Endpoints they started with; downstreams
+     * whose settings did not change keep their client, and with it their warm connections.
+     */
+    synchronized void applyConfig(DownstreamConfig config) {
+        Endpoints previous = endpoints;
+        if (config.version() <= previous.version()) {
+            return;
+        }
+        endpoints = new Endpoints(config.version(),
+                endpoint(previous.apiGateway(), apiGatewayClient, DownstreamConfig.API_GATEWAY, config, "/api/v1/processTopic"),
+                endpoint(previous.paymentService(), paymentServiceClient, DownstreamConfig.PAYMENT_SERVICE, config, "/api/v1/processTopic"),
+                endpoint(previous.movieService(), movieServiceClient, DownstreamConfig.MOVIE_SERVICE, config, "/api/v1/processTopic"),
+                endpoint(previous.seatingService(), seatServiceClient, DownstreamConfig.SEATING_SERVICE, config, "/api/v1/"));
+    }
+
+    Endpoints currentEndpoints() {
+        return endpoints;
+    }
+
+    private Endpoint endpoint(Endpoint previous, RestClient client, String downstream, DownstreamConfig config, String path) {
+        DownstreamSettings settings = config.get(downstream);
+        if (settings.equals(previous.settings())) {
+            return previous;
+        }
+        String url = settings.baseUrl() + path;
+        LOG.info("Business Logic initialized " + downstream + " at: " + url);
+        return new Endpoint(downstream, settings, traced(balanced(withTimeouts(client, downstream, settings), downstream, settings), downstream), url,
+                rateLimiters.limiterFor(downstream, settings.rateLimit()));
+    }
 
-        ss = "http://" + seatingService + ":" + seatingServicePort + "/api/v1/";
-        LOG.info("Business Logic initialized Seating Service at: " + ss);
-        restEndpoints.put(seatServiceClient, ss);
+    /*
+     * With adaptive timeouts the downstream's read timeout follows its observed latency and
+     * replaces the configured read-timeout-millis; the connect timeout applies either way.
+     */
+    private RestClient withTimeouts(RestClient client, String downstream, DownstreamSettings settings) {
+        AdaptiveTimeout adaptiveTimeout = timeouts.timeoutFor(downstream);
+        if (adaptiveTimeout == null && settings.connectTimeoutMillis() == 0 && settings.readTimeoutMillis() == 0) {
+            return client;
+        }
+        HttpClient.Builder httpClient = HttpClient.newBuilder();
+        if (settings.connectTimeoutMillis() > 0) {
+            httpClient.connectTimeout(Duration.ofMillis(settings.connectTimeoutMillis()));
+        }
+        if (adaptiveTimeout != null) {
+            return client.mutate()
+                    .requestFactory(adaptiveTimeout.requestFactory(httpClient.build()))
+                    .requestInterceptor(adaptiveTimeout.interceptor())
+                    .build();
+        }
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+        if (settings.readTimeoutMillis() > 0) {
+            requestFactory.setReadTimeout(settings.readTimeoutMillis());
+        }
+        return client.mutate().requestFactory(requestFactory).build();
+    }
+
+    /*
+     * Spreads calls across the downstream's configured instances. Added before the tracing
+     * interceptor so it runs first and the span records the instance actually called.
+     */
+    private RestClient balanced(RestClient client, String downstream, DownstreamSettings settings) {
+        ClientHttpRequestInterceptor interceptor = loadBalancers.interceptorFor(downstream, settings.instances());
+        return interceptor == null ? client : client.mutate().requestInterceptor(interceptor).build();
+    }
+
+    private RestClient traced(RestClient client, String downstream) {
+        return client.mutate().requestInterceptor(new TracingInterceptor(tracer, downstream)).build();
+    }
+
+    /*
+     * Clients and URLs for one version of the downstream settings. An orchestration reads this
+     * once when it starts and uses it for every stage, so a reload never moves a saga to other
+     * endpoints halfway through.
+     */
+    record Endpoints(long version, Endpoint apiGateway, Endpoint paymentService, Endpoint movieService,
+            Endpoint seatingService) {
+    }
+
+    // rateLimiter is null when the downstream isn't rate limited
+    record Endpoint(String downstream, DownstreamSettings settings, RestClient client, String url, TokenBucket rateLimiter) {
     }
 
     /*
@@ -107,7 +241,6 @@ public class BusinessLogic {
      */
 
     public ResponseEntity<String> orchestrate(MovieTicketRequest movieRequest) {
-        System.out.println("\n");
         LOG.info("Orchestrating the {MovieTicketRequest}...");
 
         // FIRST TRANSACTION - SEAT REQUEST
@@ -116,22 +249,296 @@ public class BusinessLogic {
         // THIRD TRANSACTION - CREATE TICKET REQUEST
         // FOURTH TRANSACTION - MOVIE TICKET RESPONSE
 
-        SeatResponse seatResponse = sendSeatRequest(movieRequest);
+        Endpoints endpoints = this.endpoints;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        OrchestrationRegistry.Active active = orchestrationRegistry.begin(movieRequest);
+        Span span = tracer.startSpan("orchestrate MovieTicketRequest")
+                .setAttribute("correlatorId", movieRequest.getCorrelatorId())
+                .setAttribute("downstreams.version", endpoints.version());
+        try (Span.Scope scope = span.makeCurrent()) {
+            ResponseEntity<String> response = claimSeatAndOrchestrate(movieRequest, endpoints, deadline);
+            span.setAttribute("http.status", response.getStatusCode().value());
+            active.status(response.getStatusCode().value());
+            return response;
+        } catch (RateLimitedException e) {
+            active.status(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return rateLimited(e, span);
+        } catch (ClientDisconnectedException e) {
+            active.status(ClientDisconnects.CLIENT_CLOSED_REQUEST);
+            return disconnected(e, span);
+        } finally {
+            span.end();
+            orchestrationRegistry.end(active);
+        }
+    }
+
+    /*
+     * Books every seat of a GroupTicketRequest in one saga: one seat-hold call for the whole
+     * group, one payment, one confirmation (the Seating Service confirms everything held under
+     * the correlatorId) and one ticket-creation call. Either every seat gets a ticket or the
+     * group fails as a whole, with the same stage failures as a single-seat purchase.
+     */
+    public ResponseEntity<String> orchestrateGroup(GroupTicketRequest groupRequest) {
+        LOG.info("Orchestrating the {GroupTicketRequest} for {} seats...", groupRequest.getSeatNumbers().size());
+
+        Endpoints endpoints = this.endpoints;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        List<MovieTicketRequest> seats = perSeat(groupRequest);
+        OrchestrationRegistry.Active active = orchestrationRegistry.begin(
+                seatView(groupRequest, String.join(",", groupRequest.getSeatNumbers())));
+        Span span = tracer.startSpan("orchestrate GroupTicketRequest")
+                .setAttribute("correlatorId", groupRequest.getCorrelatorId())
+                .setAttribute("seats", seats.size())
+                .setAttribute("downstreams.version", endpoints.version());
+        try (Span.Scope scope = span.makeCurrent()) {
+            ResponseEntity<String> response = claimSeatsAndOrchestrate(groupRequest, seats, endpoints, deadline);
+            span.setAttribute("http.status", response.getStatusCode().value());
+            active.status(response.getStatusCode().value());
+            return response;
+        } catch (RateLimitedException e) {
+            active.status(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return rateLimited(e, span);
+        } catch (ClientDisconnectedException e) {
+            active.status(ClientDisconnects.CLIENT_CLOSED_REQUEST);
+            return disconnected(e, span);
+        } finally {
+            span.end();
+            orchestrationRegistry.end(active);
+        }
+    }
+
+    private ResponseEntity<String> rateLimited(RateLimitedException e, Span span) {
+        LOG.warn("{}... Ending the transaction.", e.getMessage());
+        span.setAttribute("outcome", "RATE_LIMITED").setAttribute("http.status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Orchestration rejected at the " + e.getDownstream() + ", its rate limit was reached");
+    }
+
+    private ResponseEntity<String> disconnected(ClientDisconnectedException e, Span span) {
+        LOG.warn("{}... Ending the transaction.", e.getMessage());
+        clientDisconnects.cancelled(e);
+        span.setAttribute("outcome", "CLIENT_DISCONNECTED").setAttribute("http.status", ClientDisconnects.CLIENT_CLOSED_REQUEST);
+        return ResponseEntity.status(ClientDisconnects.CLIENT_CLOSED_REQUEST)
+                .body("Orchestration cancelled at the " + e.getStage() + " stage, the client disconnected");
+    }
+
+    /*
+     * Stops a saga whose client went away, at a point where nothing it could not leave undone has
+     * happened yet. avoidedCalls are the downstream calls the saga had left.
+     */
+    private void stopIfDisconnected(String stage, int avoidedCalls) {
+        ClientDisconnects.Watch watch = clientDisconnects.current();
+        if (watch != null) {
+            watch.checkpoint(stage, avoidedCalls);
+        }
+    }
+
+    // same, once seats are held: they are released before the saga stops
+    private void stopIfDisconnected(String stage, int avoidedCalls, MovieTicketRequest held, Endpoints endpoints,
+            long deadline) {
+        ClientDisconnects.Watch watch = clientDisconnects.current();
+        if (watch != null && watch.isDisconnected()) {
+            releaseSeats(held, endpoints, deadline);
+            watch.checkpoint(stage, avoidedCalls);
+        }
+    }
+
+    // a seat hold abandoned while in flight may have gone through, so its seats are released
+    private SeatResponse holdSeats(String stage, MovieTicketRequest held, Endpoints endpoints, long deadline,
+            Supplier<SeatResponse> call) {
+        try {
+            return runStage(stage, endpoints.seatingService(), deadline, held, cancellable(stage, 4, call),
+                    SeatResponse::getStatus);
+        } catch (ClientDisconnectedException e) {
+            releaseSeats(held, endpoints, deadline);
+            throw e;
+        }
+    }
+
+    // a call abandoned when the client goes away while it is in flight, avoidedCalls follow it
+    private <T> Supplier<T> cancellable(String stage, int avoidedCalls, Supplier<T> call) {
+        ClientDisconnects.Watch watch = clientDisconnects.current();
+        return watch == null ? call : () -> watch.cancellable(stage, avoidedCalls, call);
+    }
+
+    private ResponseEntity<String> claimSeatsAndOrchestrate(GroupTicketRequest groupRequest, List<MovieTicketRequest> seats,
+            Endpoints endpoints, long deadline) {
+        for (MovieTicketRequest seat : seats) {
+            if (seatAvailabilityCache.isUnavailable(seat)) {
+                LOG.info("Seat {} was recently reported as taken... Ending the transaction.", seat.getSeatNumber());
+                tracer.currentSpan().setAttribute("outcome", "SEAT_CACHED_UNAVAILABLE");
+                return handleFailedResponses(1);
+            }
+        }
+
+        SeatContentionGuard.Claim claim = seatContentionGuard.claimAll(seats);
+        if (claim == null) {
+            LOG.info("Seats {} are already held by other orchestrations... Ending the transaction.",
+                    groupRequest.getSeatNumbers());
+            tracer.currentSpan().setAttribute("outcome", "SEAT_CONTENDED");
+            return handleFailedResponses(1);
+        }
+        PartitionedOrchestrationExecutor.claimed();
+        try {
+            return orchestrateGroup(groupRequest, seats, claim, endpoints, deadline);
+        } finally {
+            claim.close();
+        }
+    }
+
+    private ResponseEntity<String> orchestrateGroup(GroupTicketRequest groupRequest, List<MovieTicketRequest> seats,
+            SeatContentionGuard.Claim claim, Endpoints endpoints, long deadline) {
+        // stages are registered and rate limited under the first seat, which carries the group's payment
+        MovieTicketRequest first = seats.get(0);
+        if (claim.waited()) {
+            for (MovieTicketRequest seat : seats) {
+                if (seatAvailabilityCache.isUnavailable(seat)) {
+                    LOG.info("Seat {} was taken while waiting on it... Ending the transaction.", seat.getSeatNumber());
+                    tracer.currentSpan().setAttribute("outcome", "SEAT_CACHED_UNAVAILABLE");
+                    return handleFailedResponses(1);
+                }
+            }
+        }
+
+        stopIfDisconnected("group-seat-hold", 5);
+        SeatResponse seatResponse = holdSeats("group-seat-hold", first, endpoints, deadline,
+                () -> sendGroupSeatRequest(endpoints, groupRequest));
+        if (seatResponse.getStatus() == Status.HOLDING) {
+            LOG.info("{GroupSeatRequest} processed successfully. Now creating {PaymentRequest}...");
+            claim.holding();
+        } else {
+            LOG.error("Failed to process {GroupSeatRequest}... Ending the transaction.");
+            return handleFailedResponses(1);
+        }
+
+        stopIfDisconnected("payment", 4, first, endpoints, deadline);
+        PaymentResponse paymentResponse = runStage("payment", endpoints.paymentService(), deadline, first,
+                () -> sendPaymentRequest(endpoints, new OutboundTopics(first)), PaymentResponse::getStatus);
+        if (paymentResponse.getStatus() != PaymentResponse.Status.SUCCESSFUL) {
+            LOG.error("Failed to process {PaymentRequest}... Ending the transaction.");
+            releaseSeats(first, endpoints, deadline);
+            return handleFailedResponses(3);
+        }
+        LOG.info("{PaymentRequest} processed successfully. Now confirming the seats...");
+
+        Status confirmationResponse = runStage("seat-confirmation", endpoints.seatingService(), deadline, first,
+                () -> sendConfirmationResponse(endpoints, groupRequest.getCorrelatorId()), Function.identity());
+        if (confirmationResponse != Status.BOOKED) {
+            LOG.error("Failed to update the seat statuses to BOOKED.");
+            return handleFailedResponses(2);
+        }
+        LOG.info("Seat statuses updated to BOOKED successfully. Now creating {GroupCreateTicketRequest}...");
+        for (MovieTicketRequest seat : seats) {
+            seatAvailabilityCache.recordUnavailable(seat);
+        }
+
+        List<Integer> ticketIds = runStage("group-create-ticket", endpoints.movieService(), deadline, first,
+                () -> sendGroupCreateTicketRequest(endpoints, groupRequest),
+                created -> created.size() == seats.size() ? "CREATED" : "FAILED");
+        if (ticketIds.size() != seats.size()) {
+            LOG.error("Movie Service created {} of {} tickets... Ending the transaction.", ticketIds.size(), seats.size());
+            // all or nothing: the tickets that were created are cancelled again, as far as they match a seat
+            int matched = Math.min(seats.size(), ticketIds.size());
+            for (int i = 0; i < matched; i++) {
+                cancelTicket(seats.get(i), endpoints, deadline, ticketIds.get(i));
+            }
+            if (ticketIds.size() > matched) {
+                LOG.error("Tickets {} match no seat of the group, they have to be cancelled by hand.",
+                        ticketIds.subList(matched, ticketIds.size()));
+            }
+            return handleFailedResponses(4);
+        }
+        LOG.info("{GroupCreateTicketResponse} processed successfully. Now creating {GroupTicketResponse}...");
+
+        return respondToGateway(first, endpoints, deadline, "GroupTicketResponse",
+                () -> createGroupTicketResponse(endpoints, groupRequest, ticketIds));
+    }
+
+    // one MovieTicketRequest per seat of the group, for the per-seat caches and the shared stages
+    private static List<MovieTicketRequest> perSeat(GroupTicketRequest groupRequest) {
+        List<MovieTicketRequest> seats = new ArrayList<>(groupRequest.getSeatNumbers().size());
+        for (String seatNumber : groupRequest.getSeatNumbers()) {
+            seats.add(seatView(groupRequest, seatNumber));
+        }
+        return seats;
+    }
+
+    // named after the group's topic, so the stages run under a seat are reported as the group's
+    private static MovieTicketRequest seatView(GroupTicketRequest groupRequest, String seatNumber) {
+        MovieTicketRequest seat = new MovieTicketRequest();
+        seat.setTopicName(groupRequest.getTopicName());
+        seat.setCorrelatorId(groupRequest.getCorrelatorId());
+        seat.setMovie(groupRequest.getMovie());
+        seat.setSeatNumber(seatNumber);
+        seat.setPrice(groupRequest.getPrice());
+        seat.setPayment(groupRequest.getPayment());
+        return seat;
+    }
+
+    private ResponseEntity<String> claimSeatAndOrchestrate(MovieTicketRequest movieRequest, Endpoints endpoints,
+            long deadline) {
+        // seats the Seating Service just reported as taken are rejected without another round-trip
+        if (seatAvailabilityCache.isUnavailable(movieRequest)) {
+            LOG.info("Seat {} was recently reported as taken... Ending the transaction.", movieRequest.getSeatNumber());
+            tracer.currentSpan().setAttribute("outcome", "SEAT_CACHED_UNAVAILABLE");
+            return handleFailedResponses(1);
+        }
+
+        // only one orchestration per seat may be in the seat-hold stage at a time
+        SeatContentionGuard.Claim claim = seatContentionGuard.claim(movieRequest);
+        if (claim == null) {
+            LOG.info("Seat {} is already held by another orchestration... Ending the transaction.", movieRequest.getSeatNumber());
+            tracer.currentSpan().setAttribute("outcome", "SEAT_CONTENDED");
+            return handleFailedResponses(1);
+        }
+        // the showing's next purchase may claim its seat now
+        PartitionedOrchestrationExecutor.claimed();
+        try {
+            return orchestrate(movieRequest, claim, endpoints, deadline);
+        } finally {
+            claim.close();
+        }
+    }
+
+    private ResponseEntity<String> orchestrate(MovieTicketRequest movieRequest, SeatContentionGuard.Claim claim,
+            Endpoints endpoints, long deadline) {
+        OutboundTopics topics = new OutboundTopics(movieRequest);
+        // the orchestration we waited on may have just found the seat taken
+        if (claim.waited() && seatAvailabilityCache.isUnavailable(movieRequest)) {
+            LOG.info("Seat {} was taken while waiting on it... Ending the transaction.", movieRequest.getSeatNumber());
+            tracer.currentSpan().setAttribute("outcome", "SEAT_CACHED_UNAVAILABLE");
+            return handleFailedResponses(1);
+        }
+
+        stopIfDisconnected("seat-hold", 5);
+        SeatResponse seatResponse = holdSeats("seat-hold", movieRequest, endpoints, deadline,
+                () -> sendSeatRequest(endpoints, topics));
         if (seatResponse.getStatus().value() == "HOLDING") {
             LOG.info("{SeatRequest} processed successfully. Now creating {PaymentRequest}...");
+            claim.holding();
         } else {
             LOG.error("Failed to process {SeatRequest}... Ending the transaction.");
+            seatAvailabilityCache.recordUnavailable(movieRequest);
             return handleFailedResponses(1);
         }
 
-        PaymentResponse paymentResponse = sendPaymentRequest(movieRequest);
+        stopIfDisconnected("payment", 4, movieRequest, endpoints, deadline);
+        PaymentResponse paymentResponse = runStage("payment", endpoints.paymentService(), deadline, movieRequest,
+                () -> sendPaymentRequest(endpoints, topics), PaymentResponse::getStatus);
         if (paymentResponse.getStatus().value() == "SUCCESSFUL") {
             LOG.info("{PaymentRequest} processed successfully. Now creating {CreateTicketRequest}...");
+            if (overlapConfirmation) {
+                return confirmSeatWhileCreatingTicket(movieRequest, topics, endpoints, deadline);
+            }
 
             // sending confirmation to the seating service to update the seat status to BOOKED
-            Status confirmationResponse = sendConfirmationResponse(movieRequest.getCorrelatorId());
-            if(confirmationResponse == Status.BOOKED)
+            Status confirmationResponse = runStage("seat-confirmation", endpoints.seatingService(), deadline, movieRequest,
+                    () -> sendConfirmationResponse(endpoints, movieRequest.getCorrelatorId()), Function.identity());
+            if(confirmationResponse == Status.BOOKED) {
                 LOG.info("Seat status updated to BOOKED successfully.");
+                seatAvailabilityCache.recordUnavailable(movieRequest);
+            }
             else
             {
                 LOG.error("Failed to update seat status to BOOKED.");
@@ -139,10 +546,58 @@ public class BusinessLogic {
             }
         } else {
             LOG.error("Failed to process {PaymentRequest}... Ending the transaction.");
+            releaseSeats(movieRequest, endpoints, deadline);
             return handleFailedResponses(3);
         }
 
-        CreateTicketResponse ticketResponse = sendCreateTicketRequest(movieRequest);
+        CreateTicketResponse ticketResponse = runStage("create-ticket", endpoints.movieService(), deadline, movieRequest,
+                () -> sendCreateTicketRequest(endpoints, topics), response -> response.getTicketId() != null ? "CREATED" : "FAILED");
+        if (ticketResponse.getTicketId() != null) {
+            LOG.info("{CreateTicketResponse} processed successfully. Now creating {MovieTicketResponse}...");
+        } else {
+            LOG.error("Failed to process {CreateTicketResponse}... Ending the transaction.");
+            return handleFailedResponses(4);
+        }
+
+        int ticketId = ticketResponse.getTicketId();
+        return respondToGateway(movieRequest, endpoints, deadline, "MovieTicketResponse",
+                () -> createMovieTicketResponse(endpoints, topics, ticketId));
+    }
+
+    /*
+     * Confirms the seat on this thread while the ticket is created on another. Failures end the
+     * orchestration as in the sequential saga: a seat that could not be BOOKED fails stage 2, and
+     * the ticket created meanwhile is cancelled since sequentially it would never have been
+     * requested; a failed ticket creation fails stage 4 with the seat staying BOOKED.
+     */
+    private ResponseEntity<String> confirmSeatWhileCreatingTicket(MovieTicketRequest movieRequest, OutboundTopics topics,
+            Endpoints endpoints, long deadline) {
+        Span parent = tracer.currentSpan();
+        CompletableFuture<CreateTicketResponse> ticket = CompletableFuture.supplyAsync(() -> {
+            try (Span.Scope scope = parent.makeCurrent()) {
+                return runOverlappedStage("create-ticket", endpoints.movieService(), deadline, movieRequest,
+                        () -> sendCreateTicketRequest(endpoints, topics),
+                        response -> response.getTicketId() != null ? "CREATED" : "FAILED");
+            }
+        }, ticketCreationExecutor);
+
+        Status confirmationResponse;
+        try {
+            confirmationResponse = runOverlappedStage("seat-confirmation", endpoints.seatingService(), deadline, movieRequest,
+                    () -> sendConfirmationResponse(endpoints, movieRequest.getCorrelatorId()), Function.identity());
+        } catch (RuntimeException e) {
+            cancelCreatedTicket(movieRequest, endpoints, deadline, ticket);
+            throw e;
+        }
+        if (confirmationResponse != Status.BOOKED) {
+            LOG.error("Failed to update seat status to BOOKED.");
+            cancelCreatedTicket(movieRequest, endpoints, deadline, ticket);
+            return handleFailedResponses(2);
+        }
+        LOG.info("Seat status updated to BOOKED successfully.");
+        seatAvailabilityCache.recordUnavailable(movieRequest);
+
+        CreateTicketResponse ticketResponse = join(ticket);
         if (ticketResponse.getTicketId() != null) {
             LOG.info("{CreateTicketResponse} processed successfully. Now creating {MovieTicketResponse}...");
         } else {
@@ -150,33 +605,220 @@ public class BusinessLogic {
             return handleFailedResponses(4);
         }
 
-        ResponseEntity<String> apiGatewayResponse = createMovieTicketResponse(movieRequest, ticketResponse.getTicketId());
+        int ticketId = ticketResponse.getTicketId();
+        return respondToGateway(movieRequest, endpoints, deadline, "MovieTicketResponse",
+                () -> createMovieTicketResponse(endpoints, topics, ticketId));
+    }
+
+    // compensates a ticket created for a seat that was not booked, a failed cancellation is only logged
+    private void cancelCreatedTicket(MovieTicketRequest movieRequest, Endpoints endpoints, long deadline,
+            CompletableFuture<CreateTicketResponse> ticket) {
+        Integer ticketId;
+        try {
+            ticketId = join(ticket).getTicketId();
+        } catch (RuntimeException e) {
+            LOG.warn("Ticket creation failed as well ({}), nothing to cancel.", e.getMessage());
+            return;
+        }
+        if (ticketId == null) {
+            return;
+        }
+        cancelTicket(movieRequest, endpoints, deadline, ticketId);
+    }
+
+    private void cancelTicket(MovieTicketRequest movieRequest, Endpoints endpoints, long deadline, int ticketId) {
+        LOG.info("Cancelling ticket {} for seat {}...", ticketId, movieRequest.getSeatNumber());
+        try {
+            ResponseEntity<String> response = runStage("cancel-ticket", endpoints.movieService(), deadline, movieRequest,
+                    () -> sendCancelTicketRequest(endpoints, movieRequest, ticketId), ResponseEntity::getStatusCode);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                LOG.error("Movie Service answered the cancellation of ticket {} with {}, it has to be cancelled by hand.",
+                        ticketId, response.getStatusCode());
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Failed to cancel ticket {} ({}), it has to be cancelled by hand.", ticketId, e.getMessage());
+        }
+    }
+
+    /*
+     * Compensates a seat hold the saga gives up on, after a failed payment or a client that went
+     * away. The Seating Service releases everything held under the correlatorId; a failed release
+     * is only logged, the hold then lapses on its own.
+     */
+    private void releaseSeats(MovieTicketRequest movieRequest, Endpoints endpoints, long deadline) {
+        LOG.info("Releasing the seats held for correlatorId {}...", movieRequest.getCorrelatorId());
+        try {
+            ResponseEntity<String> response = runStage("seat-release", endpoints.seatingService(), deadline, movieRequest,
+                    () -> sendSeatReleaseRequest(endpoints, movieRequest.getCorrelatorId()), ResponseEntity::getStatusCode);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                LOG.error("Seating Service answered the seat release with {}, the hold lapses on its own.",
+                        response.getStatusCode());
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Failed to release the held seats ({}), the hold lapses on its own.", e.getMessage());
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private ResponseEntity<String> respondToGateway(MovieTicketRequest movieRequest, Endpoints endpoints, long deadline,
+            String topic, Supplier<ResponseEntity<String>> send) {
+        ResponseEntity<String> apiGatewayResponse = sendGatewayResponse(movieRequest, endpoints, deadline, topic, send);
         if (apiGatewayResponse.getStatusCode() == HttpStatus.OK) {
-            LOG.info("{MovieTicketResponse} sent back to API Gateway successfully. End of Orchestration.");
+            LOG.info("{{}} sent back to API Gateway successfully. End of Orchestration.", topic);
         } else {
-            LOG.error("Failed to send {MovieTicketResponse} back to API Gateway... End of Orchestration.");
+            LOG.error("Failed to send {{}} back to API Gateway... End of Orchestration.", topic);
             return handleFailedResponses(5);
         }
 
         return new ResponseEntity<>("Orchestration completed successfully!", HttpStatus.OK);
     }
 
-    CreateTicketResponse sendCreateTicketRequest(MovieTicketRequest movieRequest) {
-        LOG.info("Received a CreateTicketRequest. Nothing to do here... Forwarding to the Movie Service");
+    /*
+     * The response topic is sent up to gatewayResponseRetries more times when the API Gateway
+     * fails it. Retries queue behind first attempts at the gateway's rate limiter, so they never
+     * hold up new purchases.
+     */
+    private ResponseEntity<String> sendGatewayResponse(MovieTicketRequest movieRequest, Endpoints endpoints, long deadline,
+            String topic, Supplier<ResponseEntity<String>> send) {
+        for (int attempt = 0; ; attempt++) {
+            boolean lastAttempt = attempt >= gatewayResponseRetries;
+            try {
+                ResponseEntity<String> response = runStage(attempt == 0 ? "gateway-response" : "gateway-response-retry",
+                        endpoints.apiGateway(), attempt == 0 ? TokenBucket.Priority.FIRST_ATTEMPT : TokenBucket.Priority.RETRY,
+                        deadline, movieRequest, send, ResponseEntity::getStatusCode);
+                if (response.getStatusCode() == HttpStatus.OK || lastAttempt) {
+                    return response;
+                }
+                LOG.warn("API Gateway answered the {{}} with {}... Retrying.", topic, response.getStatusCode());
+            } catch (RestClientException e) {
+                if (lastAttempt) {
+                    throw e;
+                }
+                LOG.warn("Failed to send the {{}} to the API Gateway ({})... Retrying.", topic, e.getMessage());
+            }
+        }
+    }
 
-        CreateTicketRequest request = new CreateTicketRequest();
-        request.setTopicName("CreateTicketRequest");
-        request.setMovie(movieRequest.getMovie());
-        request.setSeatNumber(movieRequest.getSeatNumber());
-        request.setCorrelatorId(movieRequest.getCorrelatorId());
+    private <T> T runStage(String stage, Endpoint downstream, long deadline, MovieTicketRequest movieRequest,
+            Supplier<T> call, Function<? super T, ?> outcome) {
+        return runStage(stage, downstream, TokenBucket.Priority.FIRST_ATTEMPT, deadline, movieRequest, call, outcome);
+    }
 
-        ResponseEntity<String> movieServiceResponse = movieServiceClient
-                .post()
-                .uri(restEndpoints.get(movieServiceClient))
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(request)
-                .retrieve()
-                .toEntity(String.class);
+    private <T> T runStage(String stage, Endpoint downstream, TokenBucket.Priority priority, long deadline,
+            MovieTicketRequest movieRequest, Supplier<T> call, Function<? super T, ?> outcome) {
+        orchestrationRegistry.enterStage(movieRequest.getCorrelatorId(), stage);
+        return callStage(stage, downstream, priority, deadline, movieRequest, call, outcome);
+    }
+
+    // a stage running alongside another one of the same orchestration, recorded with its own start and end
+    private <T> T runOverlappedStage(String stage, Endpoint downstream, long deadline, MovieTicketRequest movieRequest,
+            Supplier<T> call, Function<? super T, ?> outcome) {
+        orchestrationRegistry.enterOverlappedStage(movieRequest.getCorrelatorId(), stage);
+        try {
+            return callStage(stage, downstream, TokenBucket.Priority.FIRST_ATTEMPT, deadline, movieRequest, call,
+                    outcome);
+        } finally {
+            orchestrationRegistry.exitOverlappedStage(movieRequest.getCorrelatorId(), stage);
+        }
+    }
+
+    /*
+     * Runs a single orchestration stage inside its own span and JFR event, tagging both with the
+     * stage outcome. When the downstream is rate limited the stage first waits for a token, for no
+     * longer than the orchestration has left.
+     */
+    private <T> T callStage(String stage, Endpoint downstream, TokenBucket.Priority priority, long deadline,
+            MovieTicketRequest movieRequest, Supplier<T> call, Function<? super T, ?> outcome) {
+        OrchestrationStageEvent event = new OrchestrationStageEvent();
+        event.begin();
+        String stageOutcome = "ERROR";
+        Span span = tracer.startSpan(stage).setAttribute("correlatorId", movieRequest.getCorrelatorId());
+        try (Span.Scope scope = span.makeCurrent()) {
+            if (downstream.rateLimiter() != null) {
+                long remaining = budgetMillis > 0 ? deadline - System.nanoTime() : Long.MAX_VALUE;
+                long waited = downstream.rateLimiter().acquire(priority, remaining);
+                span.setAttribute("rateLimit.waitMicros", TimeUnit.NANOSECONDS.toMicros(waited));
+            }
+            AdaptiveConcurrencyLimiter.downstreamCalled();
+            T result = call.get();
+            stageOutcome = String.valueOf(outcome.apply(result));
+            span.setAttribute("outcome", stageOutcome);
+            return result;
+        } catch (RateLimitedException e) {
+            stageOutcome = "RATE_LIMITED";
+            span.setAttribute("outcome", stageOutcome);
+            span.setAttribute("rateLimit.reason", e.getReason());
+            throw e;
+        } catch (ClientDisconnectedException e) {
+            stageOutcome = "CLIENT_DISCONNECTED";
+            span.setAttribute("outcome", stageOutcome);
+            throw e;
+        } catch (RuntimeException e) {
+            stageOutcome = "ERROR";
+            span.setAttribute("outcome", stageOutcome);
+            span.setAttribute("error", e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            span.end();
+            if (event.shouldCommit()) {
+                event.commit(movieRequest.getCorrelatorId(), movieRequest.getTopicName(), stage, downstream.downstream(),
+                        stageOutcome);
+            }
+        }
+    }
+
+    /*
+     * Posts a request the downstream answers with the given ICD response topic. In callback mode
+     * the request asks for the response to be sent to /api/v1/processTopic later, and when the
+     * downstream accepts it with a 202 the saga waits for it in the correlation table with the
+     * connection already released; the saga's thread still blocks until it arrives. Returned as
+     * if the downstream had answered it directly.
+     */
+    private ResponseEntity<String> post(Endpoint endpoint, Object request, String responseTopic, int correlatorId) {
+        DownstreamCallbacks.Pending pending = callbacks.expect(responseTopic, correlatorId);
+        if (pending == null) {
+            return endpoint.client()
+                    .post()
+                    .uri(endpoint.url())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(request)
+                    .retrieve()
+                    .toEntity(String.class);
+        }
+        try (pending) {
+            ResponseEntity<String> accepted = endpoint.client()
+                    .post()
+                    .uri(endpoint.url())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Prefer", "respond-async")
+                    .header(DownstreamCallbacks.CALLBACK_URL, callbacks.getCallbackUrl())
+                    .body(request)
+                    .retrieve()
+                    .toEntity(String.class);
+            if (accepted.getStatusCode() != HttpStatus.ACCEPTED) {
+                pending.answeredSynchronously();
+                return accepted;
+            }
+            LOG.info("The {} accepted the request, waiting for its {}...", endpoint.downstream(), responseTopic);
+            return ResponseEntity.ok(pending.await());
+        }
+    }
+
+    CreateTicketResponse sendCreateTicketRequest(Endpoints endpoints, OutboundTopics topics) {
+        LOG.info("Received a CreateTicketRequest. Nothing to do here... Forwarding to the Movie Service");
+
+        ResponseEntity<String> movieServiceResponse = post(endpoints.movieService(), topics.createTicketRequest(),
+                "CreateTicketResponse", topics.request().getCorrelatorId());
         LOG.info("MovieRequest processed with status: " + movieServiceResponse.getStatusCode());
 
         CreateTicketResponse response = new CreateTicketResponse();
@@ -192,24 +834,14 @@ public class BusinessLogic {
         return response;
     }
 
-    SeatResponse sendSeatRequest(MovieTicketRequest movieRequest) {    
+    SeatResponse sendSeatRequest(Endpoints endpoints, OutboundTopics topics) {
         LOG.info("Creating a SeatRequest based on the MovieTicketRequest...");
-        SeatRequest seatRequest = new SeatRequest();
-        seatRequest.setTopicName("SeatRequest");
-        seatRequest.setCorrelatorId(movieRequest.getCorrelatorId());
-        seatRequest.setMovieName(movieRequest.getMovie().getMovieName());
-        seatRequest.setShowtime(movieRequest.getMovie().getShowtime());
-        seatRequest.setSeatNumber(movieRequest.getSeatNumber());
+        byte[] seatRequest = topics.seatRequest();
 
         LOG.info("Sending a SeatRequest to the [Seating Service]");
 
-        ResponseEntity<String> seatServiceResponse = seatServiceClient
-                .post()
-                .uri(restEndpoints.get(seatServiceClient))
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(seatRequest)
-                .retrieve()
-                .toEntity(String.class);
+        ResponseEntity<String> seatServiceResponse = post(endpoints.seatingService(), seatRequest, "SeatResponse",
+                topics.request().getCorrelatorId());
         LOG.info("SeatRequest processed with status: " + seatServiceResponse.getStatusCode());
 
         SeatResponse response = new SeatResponse();
@@ -225,25 +857,14 @@ public class BusinessLogic {
         return response;
     }
 
-    PaymentResponse sendPaymentRequest(MovieTicketRequest movieRequest) {
+    PaymentResponse sendPaymentRequest(Endpoints endpoints, OutboundTopics topics) {
         LOG.info("Creating a PaymentRequest based on the MovieTicketRequest...");
-        PaymentRequest paymentRequest = new PaymentRequest();
-        paymentRequest.setTopicName("PaymentRequest");
-        paymentRequest.setCorrelatorId(movieRequest.getCorrelatorId());
-        paymentRequest.setEmail(movieRequest.getPayment().getEmail());
-        paymentRequest.setPaymentAmount(movieRequest.getPayment().getPaymentAmount());
-        paymentRequest.setCreditCard(movieRequest.getPayment().getCreditCard());
-        paymentRequest.setCvc(movieRequest.getPayment().getCvc());
+        byte[] paymentRequest = topics.paymentRequest();
 
         LOG.info("Sending a PaymentRequest to the [Payment Service]");
 
-        ResponseEntity<String> paymentServiceResponse = paymentServiceClient
-                .post()
-                .uri(restEndpoints.get(paymentServiceClient))
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(paymentRequest)
-                .retrieve()
-                .toEntity(String.class);
+        ResponseEntity<String> paymentServiceResponse = post(endpoints.paymentService(), paymentRequest, "PaymentResponse",
+                topics.request().getCorrelatorId());
         LOG.info("PaymentRequest processed with status: " + paymentServiceResponse.getStatusCode());
 
         PaymentResponse response = new PaymentResponse();
@@ -259,20 +880,15 @@ public class BusinessLogic {
         return response;
     }
 
-    ResponseEntity<String> createMovieTicketResponse(MovieTicketRequest movieRequest, int ticket) {
+    ResponseEntity<String> createMovieTicketResponse(Endpoints endpoints, OutboundTopics topics, int ticket) {
         LOG.info("Creating a MovieTicketResponse to send back to the API Gateway...");
-        MovieTicketResponse movieResponse = new MovieTicketResponse();
-        movieResponse.setTopicName("MovieTicketResponse");
-        movieResponse.setCorrelatorId(movieRequest.getCorrelatorId());
-        movieResponse.setMovie(movieRequest.getMovie());
-        movieResponse.setSeatNumber(movieRequest.getSeatNumber());
-        movieResponse.setTicketId(ticket);
+        byte[] movieResponse = topics.movieTicketResponse(ticket);
 
         LOG.info("Sending a MovieTicketResponse to the [API Gateway Service]");
 
-        ResponseEntity<String> apiGatewayResponse = apiGatewayClient
+        ResponseEntity<String> apiGatewayResponse = endpoints.apiGateway().client()
                 .post()
-                .uri(restEndpoints.get(apiGatewayClient))
+                .uri(endpoints.apiGateway().url())
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(movieResponse)
                 .retrieve()
@@ -281,11 +897,123 @@ public class BusinessLogic {
         return apiGatewayResponse;
     }
 
-    Status sendConfirmationResponse(int correlatorId)
+    /*
+     * The ICD has no cancellation topic yet, so the CancelTicketRequest is built by hand with the
+     * same envelope (topicName, correlatorId) as the other topics
+     */
+    ResponseEntity<String> sendCancelTicketRequest(Endpoints endpoints, MovieTicketRequest movieRequest, int ticket) {
+        Map<String, Object> cancelRequest = new LinkedHashMap<>();
+        cancelRequest.put("topicName", "CancelTicketRequest");
+        cancelRequest.put("correlatorId", movieRequest.getCorrelatorId());
+        cancelRequest.put("ticketId", ticket);
+        cancelRequest.put("seatNumber", movieRequest.getSeatNumber());
+
+        LOG.info("Sending a CancelTicketRequest to the [Movie Service]");
+
+        ResponseEntity<String> movieServiceResponse = endpoints.movieService().client()
+                .post()
+                .uri(endpoints.movieService().url())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cancelRequest)
+                .retrieve()
+                .toEntity(String.class);
+        LOG.info("CancelTicketRequest processed with status: " + movieServiceResponse.getStatusCode());
+        return movieServiceResponse;
+    }
+
+    /*
+     * The group topics below are not in the ICD yet either. Each mirrors its single-seat topic
+     * with seatNumbers (and ticketIds) in place of seatNumber (and ticketId).
+     */
+    SeatResponse sendGroupSeatRequest(Endpoints endpoints, GroupTicketRequest groupRequest) {
+        Map<String, Object> seatRequest = new LinkedHashMap<>();
+        seatRequest.put("topicName", "GroupSeatRequest");
+        seatRequest.put("correlatorId", groupRequest.getCorrelatorId());
+        seatRequest.put("movieName", groupRequest.getMovie().getMovieName());
+        seatRequest.put("showtime", groupRequest.getMovie().getShowtime());
+        seatRequest.put("seatNumbers", groupRequest.getSeatNumbers());
+
+        LOG.info("Sending a GroupSeatRequest to the [Seating Service]");
+
+        ResponseEntity<String> seatServiceResponse = post(endpoints.seatingService(), seatRequest, "SeatResponse",
+                groupRequest.getCorrelatorId());
+        LOG.info("GroupSeatRequest processed with status: " + seatServiceResponse.getStatusCode());
+
+        SeatResponse response = new SeatResponse();
+        try {
+            if (seatServiceResponse.getBody() != null) {
+                response = mapper.readValue(seatServiceResponse.getBody(), SeatResponse.class);
+            } else {
+                LOG.error("Seating Service returned null/empty body for the GroupSeatRequest");
+            }
+        } catch (JsonProcessingException e) {
+            LOG.error("Failed to parse SeatResponse from Seating Service", e);
+        }
+        return response;
+    }
+
+    // ids of the tickets created, in seat order, empty when the response could not be read
+    List<Integer> sendGroupCreateTicketRequest(Endpoints endpoints, GroupTicketRequest groupRequest) {
+        Map<String, Object> ticketRequest = new LinkedHashMap<>();
+        ticketRequest.put("topicName", "GroupCreateTicketRequest");
+        ticketRequest.put("correlatorId", groupRequest.getCorrelatorId());
+        ticketRequest.put("movie", groupRequest.getMovie());
+        ticketRequest.put("seatNumbers", groupRequest.getSeatNumbers());
+
+        LOG.info("Sending a GroupCreateTicketRequest to the [Movie Service]");
+
+        ResponseEntity<String> movieServiceResponse = endpoints.movieService().client()
+                .post()
+                .uri(endpoints.movieService().url())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ticketRequest)
+                .retrieve()
+                .toEntity(String.class);
+        LOG.info("GroupCreateTicketRequest processed with status: " + movieServiceResponse.getStatusCode());
+
+        List<Integer> ticketIds = new ArrayList<>();
+        try {
+            if (movieServiceResponse.getBody() != null) {
+                JsonNode ids = mapper.readTree(movieServiceResponse.getBody()).path("ticketIds");
+                for (JsonNode id : ids) {
+                    ticketIds.add(id.asInt());
+                }
+            } else {
+                LOG.error("Movie Service returned null/empty body for the GroupCreateTicketRequest");
+            }
+        } catch (JsonProcessingException e) {
+            LOG.error("Failed to parse GroupCreateTicketResponse from Movie Service", e);
+        }
+        return ticketIds;
+    }
+
+    ResponseEntity<String> createGroupTicketResponse(Endpoints endpoints, GroupTicketRequest groupRequest,
+            List<Integer> ticketIds) {
+        Map<String, Object> groupResponse = new LinkedHashMap<>();
+        groupResponse.put("topicName", "GroupTicketResponse");
+        groupResponse.put("correlatorId", groupRequest.getCorrelatorId());
+        groupResponse.put("movie", groupRequest.getMovie());
+        groupResponse.put("seatNumbers", groupRequest.getSeatNumbers());
+        groupResponse.put("ticketIds", ticketIds);
+
+        LOG.info("Sending a GroupTicketResponse to the [API Gateway Service]");
+
+        ResponseEntity<String> apiGatewayResponse = endpoints.apiGateway().client()
+                .post()
+                .uri(endpoints.apiGateway().url())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(groupResponse)
+                .retrieve()
+                .toEntity(String.class);
+        LOG.info("GroupTicketResponse processed with status: " + apiGatewayResponse.getStatusCode());
+        return apiGatewayResponse;
+    }
+
+    Status sendConfirmationResponse(Endpoints endpoints, int correlatorId)
     {
-        ResponseEntity<String> statusResponse = seatServiceClient
+        ResponseEntity<String> statusResponse = endpoints.seatingService().client()
                 .post()
-                .uri(restEndpoints.get(seatServiceClient) + "confirmation")
+                .uri(endpoints.seatingService().url() + "confirmation")
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(correlatorId)
                 .retrieve()
@@ -300,6 +1028,21 @@ public class BusinessLogic {
         return status;
     }
 
+    // the ICD has no release topic yet, so like the confirmation it only carries the correlatorId
+    ResponseEntity<String> sendSeatReleaseRequest(Endpoints endpoints, int correlatorId) {
+        LOG.info("Sending a seat release to the [Seating Service]");
+
+        ResponseEntity<String> seatServiceResponse = endpoints.seatingService().client()
+                .post()
+                .uri(endpoints.seatingService().url() + "release")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(correlatorId)
+                .retrieve()
+                .toEntity(String.class);
+        LOG.info("Seat release processed with status: " + seatServiceResponse.getStatusCode());
+        return seatServiceResponse;
+    }
+
     ResponseEntity<String> handleFailedResponses(int stage) {
         String failedService = "";
         HttpStatus status;
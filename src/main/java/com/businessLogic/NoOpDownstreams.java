@@ -0,0 +1,154 @@
+package com.businessLogic;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySourcesPropertyResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestClient;
+import com.config.DownstreamConfigSource;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.limiter.DownstreamRateLimiters;
+import com.loadbalancer.DownstreamLoadBalancers;
+import com.timeout.DownstreamTimeouts;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Request factory answering every downstream call with a canned successful response, without
+ * touching the network. Used to drive the real request/response code paths during warm-up.
+ */
+class NoOpDownstreams implements ClientHttpRequestFactory {
+    private static final byte[] SEAT_RESPONSE = bytes("{\"topicName\":\"SeatResponse\",\"status\":\"HOLDING\"}");
+    private static final byte[] PAYMENT_RESPONSE = bytes("{\"topicName\":\"PaymentResponse\",\"status\":\"SUCCESSFUL\"}");
+    private static final byte[] TICKET_RESPONSE = bytes("{\"topicName\":\"CreateTicketResponse\",\"ticketId\":1}");
+    private static final byte[] CONFIRMATION = bytes("BOOKED");
+    private static final byte[] ACK = bytes("received");
+
+    RestClient client() {
+        return RestClient.builder().requestFactory(this).build();
+    }
+
+    // downstream settings pointing at the hosts respond() recognizes
+    static DownstreamConfigSource configSource() {
+        MutablePropertySources propertySources = new MutablePropertySources();
+        propertySources.addFirst(new MapPropertySource("no-op downstreams", Map.of(
+                "api.gateway", "api-gateway", "api.gateway.port", "80",
+                "payment.service", "payment-service", "payment.service.port", "80",
+                "movie.service", "movie-service", "movie.service.port", "80",
+                "seating.service", "seating-service", "seating.service.port", "80")));
+        return new DownstreamConfigSource(new PropertySourcesPropertyResolver(propertySources), "", 0);
+    }
+
+    /*
+     * A BusinessLogic calling these downstreams, with its own registry, load balancers, limiters,
+     * timeouts and callbacks so nothing it does shows up in the live diagnostics
+     */
+    BusinessLogic businessLogic(Tracer tracer, SeatAvailabilityCache seatAvailabilityCache,
+            SeatContentionGuard seatContentionGuard) {
+        BusinessLogic businessLogic = new BusinessLogic(client(), client(), client(), client(),
+                seatAvailabilityCache, seatContentionGuard, tracer, new OrchestrationRegistry(),
+                new DownstreamLoadBalancers("power-of-two-choices", 3, 5000, 60000), configSource(),
+                new DownstreamRateLimiters(new SimpleMeterRegistry()),
+                new DownstreamTimeouts(false, 99, 1.5, 50, 10000, 60000, 100, new SimpleMeterRegistry()),
+                new DownstreamCallbacks(false, 0, "", 1), new ClientDisconnects(false, 100, new SimpleMeterRegistry()));
+        businessLogic.init();
+        return businessLogic;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new AbstractClientHttpRequest() {
+            @Override
+            public HttpMethod getMethod() {
+                return httpMethod;
+            }
+
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+
+            @Override
+            protected OutputStream getBodyInternal(HttpHeaders headers) {
+                return OutputStream.nullOutputStream();
+            }
+
+            @Override
+            protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+                return respond(uri);
+            }
+        };
+    }
+
+    private static ClientHttpResponse respond(URI uri) {
+        String path = uri.getPath();
+        if (path.endsWith("confirmation")) {
+            return new CannedResponse(CONFIRMATION, MediaType.TEXT_PLAIN);
+        }
+        if (path.endsWith("/api/v1/")) {
+            return new CannedResponse(SEAT_RESPONSE, MediaType.APPLICATION_JSON);
+        }
+        switch (uri.getHost()) {
+            case "payment-service":
+                return new CannedResponse(PAYMENT_RESPONSE, MediaType.APPLICATION_JSON);
+            case "movie-service":
+                return new CannedResponse(TICKET_RESPONSE, MediaType.APPLICATION_JSON);
+            default:
+                return new CannedResponse(ACK, MediaType.TEXT_PLAIN);
+        }
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class CannedResponse implements ClientHttpResponse {
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private CannedResponse(byte[] body, MediaType contentType) {
+            this.body = body;
+            this.headers.setContentType(contentType);
+            this.headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.businessLogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import com.outcome.OrchestrationOutcome;
+import com.outcome.OutcomeStore;
+import com.topics.MovieTicketRequest;
+
+/*
+ * Lock-free registry of the orchestrations currently in progress, keyed by correlatorId. The hot
+ * path only does a map put/remove and a volatile write per stage; snapshots walk the map with
+ * its weakly consistent iterator, so reading the registry never blocks an orchestration.
+ * When the OutcomeStore is enabled, orchestrations also keep the stages they went through and
+ * are handed to the store once they end. Stages that run side by side on two threads (the seat
+ * confirmation and the ticket creation) are entered and exited explicitly, so each keeps its own
+ * duration and the live view shows both.
+ */
+@Component
+public class OrchestrationRegistry {
+    public static final String SEAT_CLAIM = "seat-claim";
+
+    private final ConcurrentHashMap<Integer, Active> active = new ConcurrentHashMap<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final OutcomeStore outcomeStore;
+
+    public OrchestrationRegistry() {
+        this(null);
+    }
+
+    @Autowired
+    public OrchestrationRegistry(OutcomeStore outcomeStore) {
+        this.outcomeStore = outcomeStore != null && outcomeStore.isEnabled() ? outcomeStore : null;
+    }
+
+    public Active begin(MovieTicketRequest movieRequest) {
+        Active orchestration = new Active(movieRequest.getCorrelatorId(), movieRequest.getMovie().getMovieName(),
+                movieRequest.getSeatNumber(), outcomeStore != null);
+        active.put(orchestration.correlatorId, orchestration);
+        started.incrementAndGet();
+        return orchestration;
+    }
+
+    public void enterStage(Integer correlatorId, String stage) {
+        Active orchestration = active.get(correlatorId);
+        if (orchestration != null) {
+            orchestration.enter(stage);
+        }
+    }
+
+    // a stage running alongside another stage of the same orchestration, ends with exitOverlappedStage
+    public void enterOverlappedStage(Integer correlatorId, String stage) {
+        Active orchestration = active.get(correlatorId);
+        if (orchestration != null) {
+            orchestration.enterOverlapped(stage);
+        }
+    }
+
+    public void exitOverlappedStage(Integer correlatorId, String stage) {
+        Active orchestration = active.get(correlatorId);
+        if (orchestration != null) {
+            orchestration.exitOverlapped(stage);
+        }
+    }
+
+    // the stage the orchestration is in, or null when it isn't in progress
+    public String stageOf(Integer correlatorId) {
+        Active orchestration = active.get(correlatorId);
+        return orchestration == null ? null : orchestration.stage;
+    }
+
+    public void end(Active orchestration) {
+        // a duplicate correlatorId may have replaced this entry, only remove our own
+        active.remove(orchestration.correlatorId, orchestration);
+        completed.incrementAndGet();
+        if (orchestration.stages != null) {
+            outcomeStore.record(orchestration.outcome(System.nanoTime()));
+        }
+    }
+
+    public Snapshot snapshot(int oldestLimit) {
+        long now = System.nanoTime();
+        Map<String, Integer> stageCounts = new TreeMap<>();
+        PriorityQueue<Active> oldest = new PriorityQueue<>(
+                Comparator.comparingLong((Active orchestration) -> orchestration.startNanos).reversed());
+        for (Active orchestration : active.values()) {
+            stageCounts.merge(orchestration.stage, 1, Integer::sum);
+            oldest.add(orchestration);
+            if (oldest.size() > oldestLimit) {
+                oldest.poll();
+            }
+        }
+
+        List<InFlight> inFlight = new ArrayList<>(oldest.size());
+        for (Active orchestration : oldest) {
+            inFlight.add(orchestration.view(now));
+        }
+        inFlight.sort(Comparator.comparingLong(InFlight::ageMillis).reversed());
+        return new Snapshot(started.get(), completed.get(), active.size(), stageCounts, inFlight);
+    }
+
+    public static final class Active {
+        private static final long OVERLAPPED = -1;
+        private final Integer correlatorId;
+        private final String movieName;
+        private final String seatNumber;
+        private final long startNanos = System.nanoTime();
+        private volatile String stage = SEAT_CLAIM;
+        private volatile long stageStartNanos = startNanos;
+        // only kept for the OutcomeStore, a stage lasts until the next one is entered unless it
+        // was overlapped: those end when exited (OVERLAPPED while still running)
+        private final long startEpochMillis;
+        private String[] stages;
+        private long[] stageStarts;
+        private long[] stageEnds;
+        private int stageCount;
+        // guarded by this, the overlapped stages still running
+        private List<String> overlapped;
+        private int httpStatus;
+
+        private Active(Integer correlatorId, String movieName, String seatNumber, boolean keepStages) {
+            this.correlatorId = correlatorId;
+            this.movieName = movieName;
+            this.seatNumber = seatNumber;
+            this.startEpochMillis = keepStages ? System.currentTimeMillis() : 0;
+            if (keepStages) {
+                stages = new String[8];
+                stageStarts = new long[8];
+                stageEnds = new long[8];
+                keep(SEAT_CLAIM, startNanos, 0);
+            }
+        }
+
+        // the HTTP status the orchestration answered with
+        public void status(int httpStatus) {
+            this.httpStatus = httpStatus;
+        }
+
+        private void enter(String stage) {
+            this.stageStartNanos = System.nanoTime();
+            this.stage = stage;
+            if (stages != null) {
+                keep(stage, stageStartNanos, 0);
+            }
+        }
+
+        // the live stage lists every overlapped stage still running, e.g. "seat-confirmation+create-ticket"
+        private synchronized void enterOverlapped(String stage) {
+            long now = System.nanoTime();
+            if (overlapped == null) {
+                overlapped = new ArrayList<>(2);
+            }
+            if (overlapped.isEmpty()) {
+                stageStartNanos = now;
+            }
+            overlapped.add(stage);
+            this.stage = String.join("+", overlapped);
+            if (stages != null) {
+                keep(stage, now, OVERLAPPED);
+            }
+        }
+
+        private synchronized void exitOverlapped(String stage) {
+            long now = System.nanoTime();
+            if (overlapped == null || !overlapped.remove(stage)) {
+                return;
+            }
+            if (!overlapped.isEmpty()) {
+                this.stage = String.join("+", overlapped);
+            }
+            if (stages != null) {
+                for (int i = stageCount - 1; i >= 0; i--) {
+                    if (stageEnds[i] == OVERLAPPED && stages[i].equals(stage)) {
+                        stageEnds[i] = now;
+                        break;
+                    }
+                }
+            }
+        }
+
+        // overlapped stages are entered from a second thread
+        private synchronized void keep(String stage, long startNanos, long endNanos) {
+            if (stageCount == stages.length) {
+                stages = Arrays.copyOf(stages, stageCount * 2);
+                stageStarts = Arrays.copyOf(stageStarts, stageCount * 2);
+                stageEnds = Arrays.copyOf(stageEnds, stageCount * 2);
+            }
+            stages[stageCount] = stage;
+            stageEnds[stageCount] = endNanos;
+            stageStarts[stageCount++] = startNanos;
+        }
+
+        private synchronized OrchestrationOutcome outcome(long endNanos) {
+            List<OrchestrationOutcome.Stage> trail = new ArrayList<>(stageCount);
+            for (int i = 0; i < stageCount; i++) {
+                long stageEnd = stageEnds[i] == OVERLAPPED ? endNanos
+                        : stageEnds[i] != 0 ? stageEnds[i]
+                        : i + 1 < stageCount ? stageStarts[i + 1] : endNanos;
+                trail.add(new OrchestrationOutcome.Stage(stages[i],
+                        TimeUnit.NANOSECONDS.toMicros(stageEnd - stageStarts[i])));
+            }
+            return new OrchestrationOutcome(correlatorId, movieName, seatNumber, httpStatus, startEpochMillis,
+                    TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos), trail);
+        }
+
+        private InFlight view(long now) {
+            return new InFlight(correlatorId, movieName, seatNumber, stage,
+                    TimeUnit.NANOSECONDS.toMillis(now - startNanos),
+                    TimeUnit.NANOSECONDS.toMillis(now - stageStartNanos));
+        }
+    }
+
+    public record InFlight(Integer correlatorId, String movieName, String seatNumber, String stage,
+            long ageMillis, long stageAgeMillis) {
+    }
+
+    public record Snapshot(long started, long completed, int inFlight, Map<String, Integer> stageCounts,
+            List<InFlight> oldest) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.businessLogic;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schema.SchemaValidator;
+import com.topics.MovieTicketRequest;
+import com.tracing.Tracer;
+
+/*
+ * Runs synthetic MovieTicketRequests through schema validation, topic binding and a complete
+ * orchestration against no-op downstreams while the application context starts. Its phase runs
+ * it just before the web server starts its connector, so no real request is served while the
+ * warm-up loggers are quieted, and the readiness probe stays down until the JIT has seen the
+ * purchase path.
+ */
+@Component
+public class OrchestrationWarmup implements SmartLifecycle {
+    // the web server starts its connector in SMART_LIFECYCLE_PHASE - 1024
+    private static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    private static final Logger LOG = LoggerFactory.getLogger(OrchestrationWarmup.class);
+    // loggers silenced while warming up, otherwise every synthetic purchase is logged
+    private static final String[] QUIET_LOGGERS = { "com.businessLogic", "com.tracing" };
+    private static final OffsetDateTime SHOWTIME = OffsetDateTime.parse("2025-11-10T19:30:00-06:00");
+
+    private final SchemaValidator schemaValidator;
+    private final LoggingSystem loggingSystem;
+    private final boolean enabled;
+    private final int iterations;
+    private final long maxDurationNanos;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private volatile Report report = new Report(false, 0, 0, 0, 0, 0);
+    private volatile boolean running;
+
+    public OrchestrationWarmup(SchemaValidator schemaValidator, LoggingSystem loggingSystem,
+            @Value("${orchestrator.warmup.enabled:true}") boolean enabled,
+            @Value("${orchestrator.warmup.iterations:1000}") int iterations,
+            @Value("${orchestrator.warmup.max-duration-millis:30000}") long maxDurationMillis) {
+        this.schemaValidator = schemaValidator;
+        this.loggingSystem = loggingSystem;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled || iterations <= 0) {
+            LOG.info("Warm-up disabled");
+            return;
+        }
+        LOG.info("Warming up the purchase path with {} synthetic MovieTicketRequests...", iterations);
+        report = warmUp();
+        LOG.info("Warm-up finished: {} iterations ({} orchestrated) in {}ms, first iterations averaged {}us, last iterations {}us",
+                report.iterations(), report.orchestrated(), report.durationMillis(), report.firstIterationsMicros(),
+                report.lastIterationsMicros());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public Report report() {
+        return report;
+    }
+
+    Report warmUp() {
+        BusinessLogic businessLogic = warmupBusinessLogic();
+        int window = Math.max(1, iterations / 10);
+        long firstWindowNanos = 0;
+        long lastWindowNanos = 0;
+        int completed = 0;
+        int orchestrated = 0;
+
+        LogLevel[] previousLevels = quietLoggers();
+        long start = System.nanoTime();
+        try {
+            long[] recent = new long[window];
+            while (completed < iterations && System.nanoTime() - start < maxDurationNanos) {
+                long iterationStart = System.nanoTime();
+                if (warmUpOnce(businessLogic, completed)) {
+                    orchestrated++;
+                }
+                long elapsed = System.nanoTime() - iterationStart;
+                if (completed < window) {
+                    firstWindowNanos += elapsed;
+                }
+                recent[completed % window] = elapsed;
+                completed++;
+            }
+            int lastWindow = Math.min(window, completed);
+            for (int i = 0; i < lastWindow; i++) {
+                lastWindowNanos += recent[i];
+            }
+        } finally {
+            restoreLoggers(previousLevels);
+        }
+        long duration = System.nanoTime() - start;
+
+        int firstWindow = Math.max(1, Math.min(window, completed));
+        return new Report(true, completed, orchestrated, TimeUnit.NANOSECONDS.toMillis(duration),
+                TimeUnit.NANOSECONDS.toMicros(firstWindowNanos / firstWindow),
+                TimeUnit.NANOSECONDS.toMicros(lastWindowNanos / firstWindow));
+    }
+
+    /*
+     * Same steps MainController takes for an incoming topic, followed by the orchestration.
+     * Returns true when the purchase made it through every stage.
+     */
+    private boolean warmUpOnce(BusinessLogic businessLogic, int iteration) {
+        try {
+            JSONObject jsonNode = new JSONObject(payload(iteration));
+            String topicName = jsonNode.getString("topicName");
+            if (schemaValidator.validateJson(topicName, jsonNode)) {
+                MovieTicketRequest movieTicketRequest = mapper.readValue(jsonNode.toString(), MovieTicketRequest.class);
+                return businessLogic.orchestrate(movieTicketRequest).getStatusCode().is2xxSuccessful();
+            }
+        } catch (Exception e) {
+            LOG.warn("Warm-up iteration {} failed: {}", iteration, e.getMessage());
+        }
+        return false;
+    }
+
+    // a fresh BusinessLogic wired to no-op downstreams and its own caches, warm-up traffic never reaches a real service
+    private BusinessLogic warmupBusinessLogic() {
+        return new NoOpDownstreams().businessLogic(new Tracer(List.of(), true), new SeatAvailabilityCache(true, 1000, 1000),
+                new SeatContentionGuard(64, 1000));
+    }
+
+    // every iteration books a different seat/showing, and every tenth payload fails validation
+    private static String payload(int iteration) {
+        String seat = (char) ('A' + iteration % 26) + String.valueOf(1 + (iteration / 26) % 20);
+        if (iteration % 10 == 9) {
+            seat = "ZZ" + seat;
+        }
+        String showtime = SHOWTIME.plusMinutes(iteration).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        return """
+            {
+                "topicName": "MovieTicketRequest",
+                "correlatorId": %d,
+                "movie": {
+                    "movieName": "Warm-up",
+                    "showtime": "%s",
+                    "genre": "SCIFI"
+                },
+                "seatNumber": "%s",
+                "price": 12.50,
+                "payment": {
+                    "topicName": "PaymentRequest",
+                    "correlatorId": %d,
+                    "paymentAmount": 12.50,
+                    "email": "warmup@example.com",
+                    "creditCard": "6011000990139424",
+                    "cvc": "321"
+                }
+            }
+            """.formatted(iteration, showtime, seat, iteration);
+    }
+
+    private LogLevel[] quietLoggers() {
+        LogLevel[] previous = new LogLevel[QUIET_LOGGERS.length];
+        for (int i = 0; i < QUIET_LOGGERS.length; i++) {
+            LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(QUIET_LOGGERS[i]);
+            previous[i] = configuration == null ? null : configuration.getConfiguredLevel();
+            loggingSystem.setLogLevel(QUIET_LOGGERS[i], LogLevel.WARN);
+        }
+        return previous;
+    }
+
+    private void restoreLoggers(LogLevel[] previous) {
+        for (int i = 0; i < QUIET_LOGGERS.length; i++) {
+            loggingSystem.setLogLevel(QUIET_LOGGERS[i], previous[i]);
+        }
+    }
+
+    public record Report(boolean completed, int iterations, int orchestrated, long durationMillis,
+            long firstIterationsMicros, long lastIterationsMicros) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.businessLogic;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.topics.Movie;
+import com.topics.MovieTicketRequest;
+import com.topics.PaymentRequest;
+
+/*
+ * The outgoing topic bodies of one orchestration. The fields every topic shares (correlatorId,
+ * seatNumber, the movie and its name and showtime) are encoded to JSON once when the saga starts
+ * and each body is spliced together from those fragments and constant keys, instead of copying
+ * the fields into a new ICD object that Jackson serializes again for every hop. The bytes are
+ * exactly what Jackson writes for the ICD objects: fields in ICD order, nulls left out, the
+ * showtime in epoch millis and the genre by its value.
+ */
+public final class OutboundTopics {
+    private static final byte[] SEAT_REQUEST = ascii("{\"topicName\":\"SeatRequest\"");
+    private static final byte[] PAYMENT_REQUEST = ascii("{\"topicName\":\"PaymentRequest\"");
+    private static final byte[] CREATE_TICKET_REQUEST = ascii("{\"topicName\":\"CreateTicketRequest\"");
+    private static final byte[] MOVIE_TICKET_RESPONSE = ascii("{\"topicName\":\"MovieTicketResponse\"");
+    private static final byte[] CORRELATOR_ID = ascii(",\"correlatorId\":");
+    private static final byte[] MOVIE = ascii(",\"movie\":");
+    private static final byte[] MOVIE_NAME = ascii(",\"movieName\":");
+    private static final byte[] SHOWTIME = ascii(",\"showtime\":");
+    private static final byte[] GENRE = ascii(",\"genre\":");
+    private static final byte[] SEAT_NUMBER = ascii(",\"seatNumber\":");
+    private static final byte[] PAYMENT_AMOUNT = ascii(",\"paymentAmount\":");
+    private static final byte[] EMAIL = ascii(",\"email\":");
+    private static final byte[] CREDIT_CARD = ascii(",\"creditCard\":");
+    private static final byte[] CVC = ascii(",\"cvc\":");
+    private static final byte[] TICKET_ID = ascii(",\"ticketId\":");
+
+    private final MovieTicketRequest request;
+    // each fragment is the JSON value only, null when Jackson would leave the field out
+    private final byte[] correlatorId;
+    private final byte[] movieName;
+    private final byte[] showtime;
+    private final byte[] seatNumber;
+    private final byte[] movie;
+
+    public OutboundTopics(MovieTicketRequest request) {
+        this.request = request;
+        this.correlatorId = number(request.getCorrelatorId());
+        Movie requestedMovie = request.getMovie();
+        this.movieName = requestedMovie == null ? null : string(requestedMovie.getMovieName());
+        this.showtime = requestedMovie == null || requestedMovie.getShowtime() == null ? null
+                : number(requestedMovie.getShowtime().getTime());
+        this.seatNumber = string(request.getSeatNumber());
+        this.movie = requestedMovie == null ? null : movie(requestedMovie);
+    }
+
+    public MovieTicketRequest request() {
+        return request;
+    }
+
+    public byte[] seatRequest() {
+        Body body = new Body(SEAT_REQUEST, 4);
+        body.field(CORRELATOR_ID, correlatorId);
+        body.field(MOVIE_NAME, movieName);
+        body.field(SHOWTIME, showtime);
+        body.field(SEAT_NUMBER, seatNumber);
+        return body.end();
+    }
+
+    // the payment fields are only sent once, they are encoded here rather than up front
+    public byte[] paymentRequest() {
+        PaymentRequest payment = request.getPayment();
+        Body body = new Body(PAYMENT_REQUEST, 5);
+        body.field(CORRELATOR_ID, correlatorId);
+        body.field(PAYMENT_AMOUNT, payment.getPaymentAmount() == null ? null : ascii(payment.getPaymentAmount().toString()));
+        body.field(EMAIL, string(payment.getEmail()));
+        body.field(CREDIT_CARD, string(payment.getCreditCard()));
+        body.field(CVC, string(payment.getCvc()));
+        return body.end();
+    }
+
+    public byte[] createTicketRequest() {
+        Body body = new Body(CREATE_TICKET_REQUEST, 3);
+        body.field(CORRELATOR_ID, correlatorId);
+        body.field(MOVIE, movie);
+        body.field(SEAT_NUMBER, seatNumber);
+        return body.end();
+    }
+
+    public byte[] movieTicketResponse(int ticketId) {
+        Body body = new Body(MOVIE_TICKET_RESPONSE, 4);
+        body.field(CORRELATOR_ID, correlatorId);
+        body.field(MOVIE, movie);
+        body.field(SEAT_NUMBER, seatNumber);
+        body.field(TICKET_ID, number(ticketId));
+        return body.end();
+    }
+
+    // Movie has no topicName, so its first field is written without the leading comma
+    private byte[] movie(Movie requestedMovie) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(96);
+        out.write('{');
+        field(out, MOVIE_NAME, movieName);
+        field(out, SHOWTIME, showtime);
+        if (requestedMovie.getGenre() != null) {
+            field(out, GENRE, string(requestedMovie.getGenre().value()));
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    private static void field(ByteArrayOutputStream out, byte[] key, byte[] value) {
+        if (value == null) {
+            return;
+        }
+        int skip = out.size() == 1 ? 1 : 0;
+        out.write(key, skip, key.length - skip);
+        out.write(value, 0, value.length);
+    }
+
+    private static byte[] string(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] quoted;
+        if (isPlainAscii(value)) {
+            // nothing to escape, which is every movie name and seat number in practice
+            quoted = new byte[value.length() + 2];
+            for (int i = 0; i < value.length(); i++) {
+                quoted[i + 1] = (byte) value.charAt(i);
+            }
+        } else {
+            byte[] escaped = hasSurrogates(value) ? escapeSurrogates(value) : JsonStringEncoder.getInstance().quoteAsUTF8(value);
+            quoted = new byte[escaped.length + 2];
+            System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        }
+        quoted[0] = '"';
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c >= 0x7F || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasSurrogates(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isSurrogate(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Jackson's UTF-8 generator writes characters outside the BMP as escaped surrogate pairs
+    private static byte[] escapeSurrogates(String value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(value.length() + 16);
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || Character.isSurrogate(value.charAt(i))) {
+                out.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(value.substring(start, i)));
+                if (i < value.length()) {
+                    out.writeBytes(ascii(String.format("\\u%04X", (int) value.charAt(i))));
+                }
+                start = i + 1;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] number(Number value) {
+        return value == null ? null : ascii(value.toString());
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // a topic body sized up front from its fragments, so it is copied exactly once
+    private static final class Body {
+        private final byte[][] parts;
+        private int count;
+        private int length;
+
+        Body(byte[] topicName, int fields) {
+            parts = new byte[1 + 2 * fields][];
+            add(topicName);
+        }
+
+        void field(byte[] key, byte[] value) {
+            if (value != null) {
+                add(key);
+                add(value);
+            }
+        }
+
+        byte[] end() {
+            byte[] body = new byte[length + 1];
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(parts[i], 0, body, position, parts[i].length);
+                position += parts[i].length;
+            }
+            body[position] = '}';
+            return body;
+        }
+
+        private void add(byte[] part) {
+            parts[count++] = part;
+            length += part.length;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.businessLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import com.topics.Movie;
+import com.topics.MovieTicketRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Optional execution mode that hashes every MovieTicketRequest by movie name and showtime onto a
+ * fixed set of partitions. Purchases for the same showing claim their seats one after the other
+ * in arrival order, while different partitions run in parallel. Only that claim is serialized:
+ * each saga runs on its own virtual thread, and the partition starts the next one as soon as the
+ * saga called claimed() (or finished), so the downstream calls of a showing's sagas overlap.
+ */
+@Component
+public class PartitionedOrchestrationExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionedOrchestrationExecutor.class);
+    // the task whose saga runs on this thread, released by claimed()
+    private static final ThreadLocal<Task> CURRENT = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Partition[] partitions;
+    private volatile boolean stopped;
+
+    public PartitionedOrchestrationExecutor(
+            @Value("${orchestrator.partitioning.enabled:false}") boolean enabled,
+            @Value("${orchestrator.partitioning.partitions:0}") int partitions,
+            @Value("${orchestrator.partitioning.queue-capacity:1000}") int queueCapacity) {
+        this.enabled = enabled;
+        int count = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.partitions = new Partition[count];
+        for (int i = 0; i < count; i++) {
+            this.partitions[i] = new Partition(i, queueCapacity);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        for (Partition partition : partitions) {
+            partition.worker.start();
+        }
+        LOG.info("Partitioned orchestration enabled with {} partitions", partitions.length);
+    }
+
+    // sagas already started run to completion, the queued ones fail so nobody waits on them forever
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        for (Partition partition : partitions) {
+            partition.worker.interrupt();
+            partition.failQueued();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * Called by a saga once its seats are claimed: the rest of it no longer depends on the order
+     * of the showing's purchases, and the partition moves on to the next one. A no-op outside of
+     * a partitioned saga.
+     */
+    public static void claimed() {
+        Task task = CURRENT.get();
+        if (task != null) {
+            task.claimed.countDown();
+        }
+    }
+
+    /*
+     * Queues the saga on the partition owning the request's showing. Throws a
+     * RejectedExecutionException when that partition's queue is full or the executor stopped.
+     */
+    public CompletableFuture<ResponseEntity<String>> submit(MovieTicketRequest movieRequest,
+            Supplier<ResponseEntity<String>> saga) {
+        return submit(movieRequest.getMovie(), saga);
+    }
+
+    // same for any saga on the showing, e.g. a group booking
+    public CompletableFuture<ResponseEntity<String>> submit(Movie movie, Supplier<ResponseEntity<String>> saga) {
+        Partition partition = partitions[partitionFor(movie)];
+        Task task = new Task(saga, new CompletableFuture<>(), new CountDownLatch(1), System.nanoTime());
+        if (stopped || !partition.queue.offer(task)) {
+            partition.rejected.incrementAndGet();
+            throw new RejectedExecutionException("Orchestration partition " + partition.index + " is "
+                    + (stopped ? "stopped" : "full"));
+        }
+        partition.submitted.incrementAndGet();
+        partition.maxDepth.accumulateAndGet(partition.queue.size(), Math::max);
+        if (stopped) {
+            // raced with stop(), which may have drained the queue before the task was in it
+            partition.failQueued();
+        }
+        return task.result;
+    }
+
+    int partitionFor(MovieTicketRequest movieRequest) {
+        return partitionFor(movieRequest.getMovie());
+    }
+
+    private int partitionFor(Movie movie) {
+        int h = 31 * movie.getMovieName().hashCode() + Long.hashCode(movie.getShowtime().getTime());
+        return ((h ^ (h >>> 16)) & 0x7fffffff) % partitions.length;
+    }
+
+    public List<PartitionSnapshot> snapshot() {
+        List<PartitionSnapshot> snapshots = new ArrayList<>(partitions.length);
+        for (Partition partition : partitions) {
+            snapshots.add(partition.snapshot());
+        }
+        return snapshots;
+    }
+
+    private record Task(Supplier<ResponseEntity<String>> saga, CompletableFuture<ResponseEntity<String>> result,
+            CountDownLatch claimed, long enqueuedNanos) {
+    }
+
+    private final class Partition implements Runnable {
+        private final int index;
+        private final BlockingQueue<Task> queue;
+        private final Thread worker;
+
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicLong maxDepth = new AtomicLong();
+        private final AtomicLong totalQueueNanos = new AtomicLong();
+        private final AtomicLong totalClaimNanos = new AtomicLong();
+        private final AtomicLong totalRunNanos = new AtomicLong();
+
+        private Partition(int index, int queueCapacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.worker = new Thread(this, "orchestration-partition-" + index);
+            this.worker.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Task task = queue.take();
+                    long start = System.nanoTime();
+                    totalQueueNanos.addAndGet(start - task.enqueuedNanos);
+                    running.incrementAndGet();
+                    Thread.ofVirtual().name("orchestration-partition-" + index + "-saga").start(() -> execute(task, start));
+                    // the next purchase of the showing waits for this one's seat claim only
+                    task.claimed.await();
+                    totalClaimNanos.addAndGet(System.nanoTime() - start);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            failQueued();
+            LOG.info("Orchestration partition {} stopped", index);
+        }
+
+        // the counters are updated before the caller waiting on the result wakes up
+        private void execute(Task task, long start) {
+            CURRENT.set(task);
+            ResponseEntity<String> response = null;
+            Throwable failure = null;
+            try {
+                response = task.saga.get();
+            } catch (Throwable t) {
+                LOG.error("Orchestration failed on partition {}", index, t);
+                failure = t;
+            } finally {
+                CURRENT.remove();
+                task.claimed.countDown();
+                running.decrementAndGet();
+                totalRunNanos.addAndGet(System.nanoTime() - start);
+                completed.incrementAndGet();
+            }
+            if (failure == null) {
+                task.result.complete(response);
+            } else {
+                task.result.completeExceptionally(failure);
+            }
+        }
+
+        private void failQueued() {
+            for (Task task = queue.poll(); task != null; task = queue.poll()) {
+                task.result.completeExceptionally(new RejectedExecutionException("Orchestration partition " + index + " stopped"));
+            }
+        }
+
+        private PartitionSnapshot snapshot() {
+            long done = completed.get();
+            return new PartitionSnapshot(index, queue.size(), maxDepth.get(), submitted.get(), done,
+                    rejected.get(), running.get(),
+                    done == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalQueueNanos.get() / done),
+                    done == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalClaimNanos.get() / done),
+                    done == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalRunNanos.get() / done));
+        }
+    }
+
+    /*
+     * running counts the sagas started on the partition that haven't finished yet, averageClaimMicros
+     * is how long each one held up the showing's next purchase
+     */
+    public record PartitionSnapshot(int partition, int queueDepth, long maxQueueDepth, long submitted,
+            long completed, long rejected, int running, long averageQueueMicros, long averageClaimMicros,
+            long averageRunMicros) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.businessLogic;
+
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.topics.MovieTicketRequest;
+
+/*
+ * Short-lived negative cache of seats the Seating Service has reported as taken. Repeat requests
+ * for those seats are rejected locally instead of paying for another seat request round-trip.
+ * Every entry lives for the same TTL, so insertion order is also expiry order and a FIFO queue
+ * is enough to evict both expired and (when full) oldest entries.
+ */
+@Component
+public class SeatAvailabilityCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SeatAvailabilityCache.class);
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<SeatKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() is O(n), so the queue length is tracked separately
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public SeatAvailabilityCache(
+            @Value("${orchestrator.seat-cache.enabled:true}") boolean enabled,
+            @Value("${orchestrator.seat-cache.ttl-millis:2000}") long ttlMillis,
+            @Value("${orchestrator.seat-cache.max-entries:10000}") int maxEntries) {
+        this(enabled, ttlMillis, maxEntries, System::nanoTime);
+    }
+
+    SeatAvailabilityCache(boolean enabled, long ttlMillis, int maxEntries, LongSupplier clock) {
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        LOG.info("Seat availability cache initialized (enabled={}, ttl={}ms, maxEntries={})",
+                enabled, ttlMillis, maxEntries);
+    }
+
+    /*
+     * True when the requested seat was recently reported as taken
+     */
+    public boolean isUnavailable(MovieTicketRequest movieRequest) {
+        if (!enabled) {
+            return false;
+        }
+        SeatKey key = SeatKey.of(movieRequest);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - clock.getAsLong() > 0) {
+            hits.incrementAndGet();
+            return true;
+        }
+        if (entry != null) {
+            entries.remove(key, entry);
+        }
+        misses.incrementAndGet();
+        return false;
+    }
+
+    public void recordUnavailable(MovieTicketRequest movieRequest) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        Entry entry = new Entry(SeatKey.of(movieRequest), now + ttlNanos);
+        entries.put(entry.key, entry);
+        insertionOrder.add(entry);
+        queued.incrementAndGet();
+        recorded.incrementAndGet();
+        evict(now);
+    }
+
+    public boolean invalidate(String movieName, Date showtime, String seatNumber) {
+        boolean removed = entries.remove(new SeatKey(movieName, showtime.getTime(), seatNumber)) != null;
+        if (removed) {
+            invalidations.incrementAndGet();
+        }
+        return removed;
+    }
+
+    public void invalidateAll() {
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+        insertionOrder.clear();
+        queued.set(0);
+    }
+
+    public Snapshot snapshot() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        return new Snapshot(enabled, entries.size(), hitCount, misses.get(),
+                lookups == 0 ? 0.0 : (double) hitCount / lookups,
+                recorded.get(), evictions.get(), invalidations.get());
+    }
+
+    private void evict(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (head.expiresAt - now <= 0 || queued.get() > maxEntries)) {
+            if (insertionOrder.remove(head)) {
+                queued.decrementAndGet();
+                if (entries.remove(head.key, head)) {
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private record Entry(SeatKey key, long expiresAt) {
+    }
+
+    public record Snapshot(boolean enabled, int size, long hits, long misses, double hitRate,
+            long recorded, long evictions, long invalidations) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.businessLogic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.topics.MovieTicketRequest;
+
+/*
+ * Serializes the seat-hold stage per seat using striped semaphores, so concurrent purchases of
+ * the same seat do not all race to the Seating Service. Once an orchestration has the seat on
+ * HOLDING it is recorded as held, and any other orchestration for that seat (waiting or newly
+ * arrived) is turned away without a downstream call. Semaphores are used rather than locks
+ * because a claim is not tied to the thread that took it.
+ */
+@Component
+public class SeatContentionGuard {
+    private static final Logger LOG = LoggerFactory.getLogger(SeatContentionGuard.class);
+
+    private final Semaphore[] stripes;
+    private final long maxWaitNanos;
+    private final ConcurrentHashMap<SeatKey, Claim> heldSeats = new ConcurrentHashMap<>();
+
+    private final AtomicLong claims = new AtomicLong();
+    private final AtomicLong contended = new AtomicLong();
+    private final AtomicLong rejectedHeld = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    public SeatContentionGuard(
+            @Value("${orchestrator.seat-contention.stripes:256}") int stripes,
+            @Value("${orchestrator.seat-contention.max-wait-millis:2000}") long maxWaitMillis) {
+        this.stripes = new Semaphore[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Semaphore(1);
+        }
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        LOG.info("Seat contention guard initialized with {} stripes (maxWait={}ms)", stripes, maxWaitMillis);
+    }
+
+    /*
+     * Enters the seat-hold stage for the requested seat. Returns null when the seat is already
+     * held by another orchestration or the wait for the stage timed out.
+     */
+    public Claim claim(MovieTicketRequest movieRequest) {
+        SeatKey key = SeatKey.of(movieRequest);
+        if (heldSeats.containsKey(key)) {
+            rejectedHeld.incrementAndGet();
+            return null;
+        }
+
+        Semaphore stripe = stripes[stripeFor(key)];
+        boolean waited = false;
+        if (!stripe.tryAcquire()) {
+            waited = true;
+            contended.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                if (!stripe.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                    timedOut.incrementAndGet();
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                totalWaitNanos.addAndGet(System.nanoTime() - start);
+            }
+            // the orchestration we waited on may have reached HOLDING in the meantime
+            if (heldSeats.containsKey(key)) {
+                stripe.release();
+                rejectedHeld.incrementAndGet();
+                return null;
+            }
+        }
+        claims.incrementAndGet();
+        return new Claim(new SeatKey[] { key }, new Semaphore[] { stripe }, waited);
+    }
+
+    /*
+     * Enters the seat-hold stage for all seats of a group booking at once. Stripes are taken in
+     * index order, so groups sharing stripes cannot deadlock, and a stripe shared by two seats of
+     * the group is taken once. Returns null when any seat is already held or the wait timed out.
+     */
+    public Claim claimAll(List<MovieTicketRequest> seatRequests) {
+        SeatKey[] keys = seatRequests.stream().map(SeatKey::of).distinct().toArray(SeatKey[]::new);
+        if (anyHeld(keys)) {
+            rejectedHeld.incrementAndGet();
+            return null;
+        }
+
+        int[] stripeIndexes = Arrays.stream(keys).mapToInt(this::stripeFor).distinct().sorted().toArray();
+        Semaphore[] acquired = new Semaphore[stripeIndexes.length];
+        boolean waited = false;
+        long giveUpAt = System.nanoTime() + maxWaitNanos;
+        for (int i = 0; i < stripeIndexes.length; i++) {
+            Semaphore stripe = stripes[stripeIndexes[i]];
+            if (!stripe.tryAcquire()) {
+                waited = true;
+                contended.incrementAndGet();
+                long start = System.nanoTime();
+                try {
+                    if (!stripe.tryAcquire(giveUpAt - start, TimeUnit.NANOSECONDS)) {
+                        timedOut.incrementAndGet();
+                        release(acquired, i);
+                        return null;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    release(acquired, i);
+                    return null;
+                } finally {
+                    totalWaitNanos.addAndGet(System.nanoTime() - start);
+                }
+            }
+            acquired[i] = stripe;
+        }
+        // the orchestrations we waited on may have reached HOLDING in the meantime
+        if (waited && anyHeld(keys)) {
+            release(acquired, acquired.length);
+            rejectedHeld.incrementAndGet();
+            return null;
+        }
+        claims.incrementAndGet();
+        return new Claim(keys, acquired, waited);
+    }
+
+    private boolean anyHeld(SeatKey[] keys) {
+        for (SeatKey key : keys) {
+            if (heldSeats.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void release(Semaphore[] acquired, int count) {
+        for (int i = 0; i < count; i++) {
+            acquired[i].release();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long waits = contended.get();
+        return new Snapshot(stripes.length, heldSeats.size(), claims.get(), waits, rejectedHeld.get(),
+                timedOut.get(), waits == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get() / waits));
+    }
+
+    private int stripeFor(SeatKey key) {
+        int h = key.hashCode();
+        return ((h ^ (h >>> 16)) & 0x7fffffff) % stripes.length;
+    }
+
+    public final class Claim implements AutoCloseable {
+        private final SeatKey[] keys;
+        private final Semaphore[] claimedStripes;
+        private final boolean waited;
+        private boolean inHoldStage = true;
+        private boolean holding;
+
+        private Claim(SeatKey[] keys, Semaphore[] claimedStripes, boolean waited) {
+            this.keys = keys;
+            this.claimedStripes = claimedStripes;
+            this.waited = waited;
+        }
+
+        public boolean waited() {
+            return waited;
+        }
+
+        /*
+         * The seats are on HOLDING for this orchestration: turn everybody else away and let the
+         * next seats on the stripes through
+         */
+        public void holding() {
+            for (SeatKey key : keys) {
+                heldSeats.put(key, this);
+            }
+            holding = true;
+            leaveHoldStage();
+        }
+
+        @Override
+        public void close() {
+            leaveHoldStage();
+            if (holding) {
+                for (SeatKey key : keys) {
+                    heldSeats.remove(key, this);
+                }
+                holding = false;
+            }
+        }
+
+        private void leaveHoldStage() {
+            if (inHoldStage) {
+                inHoldStage = false;
+                release(claimedStripes, claimedStripes.length);
+            }
+        }
+    }
+
+    public record Snapshot(int stripes, int heldSeats, long claims, long contended, long rejectedHeld,
+            long timedOut, long averageWaitMicros) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.businessLogic;
+
+import com.topics.MovieTicketRequest;
+
+/*
+ * Identifies a single seat of a single showing: movie, showtime (epoch millis) and seat number
+ */
+record SeatKey(String movieName, long showtime, String seatNumber) {
+    static SeatKey of(MovieTicketRequest movieRequest) {
+        return new SeatKey(movieRequest.getMovie().getMovieName(),
+                movieRequest.getMovie().getShowtime().getTime(), movieRequest.getSeatNumber());
+    }
+}
@@ -0,0 +1,59 @@
+package com.capture;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/*
+ * Outcome of one replay. Saved as JSON, so a later build's replay of the same recording can be
+ * compared against it.
+ */
+public record ReplayReport(String recording, String target, double speed, int requests, int errors,
+        Map<String, Long> statuses, long durationMillis, double throughputPerSecond, double meanMillis,
+        double p50Millis, double p90Millis, double p99Millis, double maxMillis, double maxDispatchLagMillis) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public void write(Path file) throws IOException {
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    public static ReplayReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), ReplayReport.class);
+    }
+
+    public String summary() {
+        return String.format("%d requests (%d errors) in %dms at %.1fx: %.1f/s, latency mean %.2fms p50 %.2fms "
+                + "p90 %.2fms p99 %.2fms max %.2fms, statuses %s, max dispatch lag %.2fms", requests, errors,
+                durationMillis, speed, throughputPerSecond, meanMillis, p50Millis, p90Millis, p99Millis, maxMillis,
+                statuses, maxDispatchLagMillis);
+    }
+
+    // one line per metric with the change from the baseline, positive means this replay was higher
+    public List<String> compare(ReplayReport baseline) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-16s %12s %12s %9s", "", "baseline", "current", "change"));
+        line(lines, "throughput (/s)", baseline.throughputPerSecond(), throughputPerSecond);
+        line(lines, "mean (ms)", baseline.meanMillis(), meanMillis);
+        line(lines, "p50 (ms)", baseline.p50Millis(), p50Millis);
+        line(lines, "p90 (ms)", baseline.p90Millis(), p90Millis);
+        line(lines, "p99 (ms)", baseline.p99Millis(), p99Millis);
+        line(lines, "max (ms)", baseline.maxMillis(), maxMillis);
+        line(lines, "errors", baseline.errors(), errors);
+        if (baseline.requests() != requests || baseline.speed() != speed) {
+            lines.add(String.format("note: baseline replayed %d requests at %.1fx, this replay %d at %.1fx",
+                    baseline.requests(), baseline.speed(), requests, speed));
+        }
+        return lines;
+    }
+
+    private static void line(List<String> lines, String metric, double baseline, double current) {
+        String change = baseline == 0 ? (current == 0 ? "0.0%" : "n/a")
+                : String.format("%+.1f%%", (current - baseline) * 100 / baseline);
+        lines.add(String.format("%-16s %12.2f %12.2f %9s", metric, baseline, current, change));
+    }
+}
@@ -0,0 +1,103 @@
+package com.capture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONException;
+import org.json.JSONObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/*
+ * Stands in for the Seating, Payment and Movie services and the API Gateway on a single port
+ * during replays, answering every call successfully after an optional fixed latency. The topic
+ * in the request body tells the downstreams apart, since they share the same paths.
+ */
+public class StubDownstreamServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long latencyMillis;
+    private final AtomicInteger ticketIds = new AtomicInteger(8060000);
+
+    public StubDownstreamServer(int port, long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // orchestrator settings pointing every downstream at this server
+    public String orchestratorProperties() {
+        StringBuilder properties = new StringBuilder();
+        for (String prefix : new String[] { "api.gateway", "payment.service", "movie.service", "seating.service" }) {
+            properties.append(prefix).append("=localhost\n")
+                    .append(prefix).append(".port=").append(getPort()).append('\n')
+                    .append(prefix).append(".instances=\n");
+        }
+        return properties.toString();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            String request = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            if (exchange.getRequestURI().getPath().endsWith("confirmation")) {
+                respond(exchange, "BOOKED", "text/plain");
+                return;
+            }
+            switch (topicName(request)) {
+                case "SeatRequest", "GroupSeatRequest" -> respond(exchange, "{\"topicName\":\"SeatResponse\",\"status\":\"HOLDING\"}", "application/json");
+                case "PaymentRequest" -> respond(exchange, "{\"topicName\":\"PaymentResponse\",\"status\":\"SUCCESSFUL\"}", "application/json");
+                case "CreateTicketRequest" -> respond(exchange, "{\"topicName\":\"CreateTicketResponse\",\"ticketId\":"
+                        + ticketIds.incrementAndGet() + "}", "application/json");
+                case "GroupCreateTicketRequest" -> respond(exchange, groupTicketResponse(new JSONObject(request)), "application/json");
+                default -> respond(exchange, "received", "text/plain");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String groupTicketResponse(JSONObject request) {
+        JSONObject response = new JSONObject().put("topicName", "GroupCreateTicketResponse");
+        for (int i = 0; i < request.getJSONArray("seatNumbers").length(); i++) {
+            response.append("ticketIds", ticketIds.incrementAndGet());
+        }
+        return response.toString();
+    }
+
+    private static String topicName(String request) {
+        try {
+            return new JSONObject(request).optString("topicName");
+        } catch (JSONException e) {
+            return "";
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body, String contentType) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
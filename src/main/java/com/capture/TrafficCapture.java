@@ -0,0 +1,121 @@
+package com.capture;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Opt-in recorder of the topics reaching /api/v1/processTopic, with their arrival times, for
+ * replaying production traffic with TrafficReplayer. Request threads only timestamp the body and
+ * hand it to a bounded queue; redaction and disk writes happen on the "traffic-capture" thread.
+ * Topics arriving while the queue is full are dropped rather than slowing requests down.
+ */
+@Component
+public class TrafficCapture {
+    private static final Logger LOG = LoggerFactory.getLogger(TrafficCapture.class);
+
+    private final boolean enabled;
+    private final Path file;
+    private final BlockingQueue<Arrival> queue;
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public TrafficCapture(@Value("${orchestrator.capture.enabled:false}") boolean enabled,
+            @Value("${orchestrator.capture.file:traffic.capture}") String file,
+            @Value("${orchestrator.capture.queue-capacity:10000}") int queueCapacity) {
+        this.enabled = enabled;
+        this.file = Path.of(file);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(String body) {
+        if (!enabled || !running) {
+            return;
+        }
+        if (!queue.offer(new Arrival(System.nanoTime(), body))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        TrafficRecording.Writer recording = new TrafficRecording.Writer(file);
+        running = true;
+        writer = new Thread(() -> write(recording), "traffic-capture");
+        writer.setDaemon(true);
+        writer.start();
+        LOG.info("Capturing incoming topics to {}", file.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join();
+        LOG.info("Traffic capture stopped, {} topics captured and {} dropped", captured.get(), dropped.get());
+    }
+
+    private void write(TrafficRecording.Writer recording) {
+        List<Arrival> batch = new ArrayList<>();
+        try (recording) {
+            while (running || !queue.isEmpty()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    // stopping, write out what is still queued
+                }
+                queue.drainTo(batch);
+                for (Arrival arrival : batch) {
+                    try {
+                        recording.append(arrival.nanos(), arrival.body());
+                        captured.incrementAndGet();
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                        LOG.error("Failed to capture a topic: {}", e.getMessage());
+                    }
+                }
+                batch.clear();
+                recording.flush();
+            }
+        } catch (IOException e) {
+            LOG.error("Traffic capture to {} failed: {}", file, e.getMessage());
+            running = false;
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(enabled, file.toAbsolutePath().toString(), captured.get(), dropped.get(), failed.get(),
+                queue.size());
+    }
+
+    private record Arrival(long nanos, String body) {
+    }
+
+    public record Snapshot(boolean enabled, String file, long captured, long dropped, long failed, int queued) {
+    }
+}
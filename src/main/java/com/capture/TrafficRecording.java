@@ -0,0 +1,182 @@
+package com.capture;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/*
+ * File format of captured traffic. A recording starts with the magic bytes, and every capture
+ * session appended to it starts with a session record holding its start time. Each topic record
+ * holds the microseconds since the previous topic of its session (0 for the first) and the
+ * redacted topic as compact JSON, both length-prefixed with varints:
+ *
+ *   "OTCAP1" ( 'S' epochMillis:int64 ( 'T' deltaMicros:varint length:varint utf8[length] )* )*
+ *
+ * A record cut short by a crash ends the recording when read back.
+ */
+public final class TrafficRecording {
+    private static final byte[] MAGIC = "OTCAP1".getBytes(StandardCharsets.US_ASCII);
+    private static final byte SESSION = 'S';
+    private static final byte TOPIC = 'T';
+    private static final Set<String> CARD_FIELDS = Set.of("creditCard", "cvc");
+    // card-number-like digit runs, for bodies that aren't JSON
+    private static final Pattern CARD_NUMBER = Pattern.compile("\\d{13,19}");
+
+    private TrafficRecording() {
+    }
+
+    /*
+     * offsetMicros is the time since the start of the replay: sessions are played back to back,
+     * so idle time between capture sessions is not replayed
+     */
+    public record Entry(long offsetMicros, long capturedAtEpochMillis, String topic) {
+    }
+
+    /*
+     * Card fields are overwritten with zeros of the same length, so replayed topics still pass
+     * schema validation
+     */
+    public static String redact(String body) {
+        try {
+            JSONObject json = new JSONObject(body);
+            redact(json);
+            return json.toString();
+        } catch (JSONException e) {
+            return CARD_NUMBER.matcher(body).replaceAll(match -> "0".repeat(match.group().length()));
+        }
+    }
+
+    private static void redact(Object value) {
+        if (value instanceof JSONObject object) {
+            for (String key : object.keySet()) {
+                Object field = object.get(key);
+                if (CARD_FIELDS.contains(key) && field instanceof String text) {
+                    object.put(key, "0".repeat(text.length()));
+                } else {
+                    redact(field);
+                }
+            }
+        } else if (value instanceof JSONArray array) {
+            for (Object element : array) {
+                redact(element);
+            }
+        }
+    }
+
+    public static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException(file + " is not a traffic recording");
+            }
+            long offsetMicros = 0;
+            long sessionStart = 0;
+            long sessionMicros = 0;
+            try {
+                for (int tag = in.read(); tag != -1; tag = in.read()) {
+                    if (tag == SESSION) {
+                        sessionStart = in.readLong();
+                        sessionMicros = 0;
+                    } else if (tag == TOPIC) {
+                        long deltaMicros = readVarLong(in);
+                        byte[] topic = new byte[(int) readVarLong(in)];
+                        in.readFully(topic);
+                        offsetMicros += deltaMicros;
+                        sessionMicros += deltaMicros;
+                        entries.add(new Entry(offsetMicros, sessionStart + TimeUnit.MICROSECONDS.toMillis(sessionMicros),
+                                new String(topic, StandardCharsets.UTF_8)));
+                    } else {
+                        throw new IOException("Unexpected record type " + tag + " in " + file);
+                    }
+                }
+            } catch (EOFException e) {
+                // last record was only partly written
+            }
+        }
+        return entries;
+    }
+
+    /*
+     * Appends one capture session to a recording, creating the file when needed. Not thread-safe,
+     * TrafficCapture feeds it from a single thread.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final DataOutputStream out;
+        private long previousNanos = -1;
+
+        public Writer(Path file) throws IOException {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            this.out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+            if (Files.size(file) == 0) {
+                out.write(MAGIC);
+            }
+            out.writeByte(SESSION);
+            out.writeLong(System.currentTimeMillis());
+        }
+
+        // arrivalNanos is the System.nanoTime() the topic reached the orchestrator
+        public void append(long arrivalNanos, String body) throws IOException {
+            long deltaMicros = previousNanos < 0 ? 0 : Math.max(0, TimeUnit.NANOSECONDS.toMicros(arrivalNanos - previousNanos));
+            previousNanos = arrivalNanos;
+            byte[] topic = redact(body).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(TOPIC);
+            writeVarLong(out, deltaMicros);
+            writeVarLong(out, topic.length);
+            out.write(topic);
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b == -1) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,158 @@
+package com.capture;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Sends a TrafficCapture recording to an orchestrator with the recorded spacing between topics,
+ * compressed by the speed factor. Topics are sent on schedule whether or not earlier ones were
+ * answered (open loop), so a slower build shows up as higher latency instead of a slower replay.
+ *
+ * usage: TrafficReplayer --recording <file> [--target http://localhost:8080] [--speed 1]
+ *            [--stub-downstreams <port> [--stub-latency-millis 0]] [--report <file>] [--baseline <file>]
+ */
+public final class TrafficReplayer {
+    private static final String PATH = "/api/v1/processTopic";
+
+    private TrafficReplayer() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        if (!options.containsKey("recording")) {
+            System.err.println("usage: TrafficReplayer --recording <file> [--target http://localhost:8080] [--speed 1]"
+                    + " [--stub-downstreams <port> [--stub-latency-millis 0]] [--report <file>] [--baseline <file>]");
+            System.exit(2);
+        }
+        Path recording = Path.of(options.get("recording"));
+        URI target = URI.create(options.getOrDefault("target", "http://localhost:8080"));
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+
+        StubDownstreamServer stubs = null;
+        if (options.containsKey("stub-downstreams")) {
+            stubs = new StubDownstreamServer(Integer.parseInt(options.get("stub-downstreams")),
+                    Long.parseLong(options.getOrDefault("stub-latency-millis", "0")));
+            System.out.println("Stub downstreams listening, start the orchestrator with these settings "
+                    + "(e.g. in orchestrator.downstreams.config-file):\n" + stubs.orchestratorProperties());
+        }
+        try {
+            List<TrafficRecording.Entry> entries = TrafficRecording.read(recording);
+            System.out.printf("Replaying %d topics from %s to %s at %.1fx%n", entries.size(), recording, target, speed);
+            ReplayReport report = replay(recording.toString(), entries, target, speed);
+            System.out.println(report.summary());
+
+            if (options.containsKey("baseline")) {
+                report.compare(ReplayReport.read(Path.of(options.get("baseline")))).forEach(System.out::println);
+            }
+            if (options.containsKey("report")) {
+                report.write(Path.of(options.get("report")));
+                System.out.println("Report written to " + options.get("report"));
+            }
+        } finally {
+            if (stubs != null) {
+                stubs.close();
+            }
+        }
+    }
+
+    public static ReplayReport replay(String name, List<TrafficRecording.Entry> entries, URI target, double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("speed must be positive but was " + speed);
+        }
+        URI uri = target.resolve(PATH);
+        long[] latencies = new long[entries.size()];
+        int[] statuses = new int[entries.size()];
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[entries.size()];
+        long maxLagNanos = 0;
+
+        long start = System.nanoTime();
+        long duration;
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()) {
+            for (int i = 0; i < entries.size(); i++) {
+                long due = start + (long) (TimeUnit.MICROSECONDS.toNanos(entries.get(i).offsetMicros()) / speed);
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long sent = System.nanoTime();
+                maxLagNanos = Math.max(maxLagNanos, sent - due);
+
+                int index = i;
+                HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(entries.get(i).topic())).build();
+                responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .handle((response, failure) -> {
+                            latencies[index] = System.nanoTime() - sent;
+                            statuses[index] = failure == null ? response.statusCode() : -1;
+                            return null;
+                        });
+            }
+            CompletableFuture.allOf(responses).join();
+            duration = System.nanoTime() - start;
+        }
+
+        return report(name, target, speed, latencies, statuses, duration, maxLagNanos);
+    }
+
+    private static ReplayReport report(String name, URI target, double speed, long[] latencies, int[] statuses,
+            long durationNanos, long maxLagNanos) {
+        Map<String, Long> statusCounts = new TreeMap<>();
+        int errors = 0;
+        for (int status : statuses) {
+            if (status < 0) {
+                errors++;
+            } else {
+                statusCounts.merge(String.valueOf(status), 1L, Long::sum);
+            }
+        }
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        double mean = sorted.length == 0 ? 0 : Arrays.stream(sorted).average().orElse(0);
+        return new ReplayReport(name, target.toString(), speed, latencies.length, errors, statusCounts,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                durationNanos == 0 ? 0 : latencies.length * 1e9 / durationNanos,
+                millis(mean), millis(percentile(sorted, 0.5)), millis(percentile(sorted, 0.9)),
+                millis(percentile(sorted, 0.99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                millis(maxLagNanos));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Map<String, String> options(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option but got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        if (options.containsKey("recording") && !Files.exists(Path.of(options.get("recording")))) {
+            throw new IOException("No recording at " + options.get("recording"));
+        }
+        return options;
+    }
+}
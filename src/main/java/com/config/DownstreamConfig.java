@@ -0,0 +1,32 @@
+package com.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Immutable snapshot of every downstream's settings. A reload produces a new snapshot with a
+ * higher version instead of modifying this one, so whoever holds a snapshot sees consistent
+ * settings for as long as it keeps it.
+ */
+public record DownstreamConfig(long version, Map<String, DownstreamSettings> downstreams) {
+    public static final String API_GATEWAY = "API Gateway";
+    public static final String PAYMENT_SERVICE = "Payment Service";
+    public static final String MOVIE_SERVICE = "Movie Service";
+    public static final String SEATING_SERVICE = "Seating Service";
+    public static final List<String> DOWNSTREAMS = List.of(API_GATEWAY, PAYMENT_SERVICE, MOVIE_SERVICE, SEATING_SERVICE);
+
+    public DownstreamConfig {
+        downstreams = Collections.unmodifiableMap(new LinkedHashMap<>(downstreams));
+        for (String downstream : DOWNSTREAMS) {
+            if (!downstreams.containsKey(downstream)) {
+                throw new IllegalArgumentException("No settings for " + downstream);
+            }
+        }
+    }
+
+    public DownstreamSettings get(String downstream) {
+        return downstreams.get(downstream);
+    }
+}
@@ -0,0 +1,219 @@
+package com.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Source of the downstream endpoints and tuning. Settings come from the application properties
+ * (api.gateway, api.gateway.port, api.gateway.instances, api.gateway.connect-timeout-millis,
+ * api.gateway.read-timeout-millis, api.gateway.rate-limit.*, and likewise for payment.service,
+ * movie.service and seating.service), with the same keys in the optional orchestrator.downstreams.config-file taking
+ * precedence. The file is re-read on reload(), and polled for changes when a reload interval is
+ * set. A reload that fails validation leaves the current settings in place.
+ */
+@Component
+public class DownstreamConfigSource {
+    private static final Logger LOG = LoggerFactory.getLogger(DownstreamConfigSource.class);
+    private static final Map<String, String> PREFIXES = new LinkedHashMap<>();
+    static {
+        PREFIXES.put(DownstreamConfig.API_GATEWAY, "api.gateway");
+        PREFIXES.put(DownstreamConfig.PAYMENT_SERVICE, "payment.service");
+        PREFIXES.put(DownstreamConfig.MOVIE_SERVICE, "movie.service");
+        PREFIXES.put(DownstreamConfig.SEATING_SERVICE, "seating.service");
+    }
+
+    private final PropertyResolver environment;
+    private final Path configFile;
+    private final long reloadIntervalMillis;
+    private final List<Consumer<DownstreamConfig>> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService watcher;
+
+    private volatile DownstreamConfig current;
+    // guarded by "this"
+    private long lastModified;
+
+    @Autowired
+    public DownstreamConfigSource(PropertyResolver environment,
+            @Value("${orchestrator.downstreams.config-file:}") String configFile,
+            @Value("${orchestrator.downstreams.reload-interval-millis:0}") long reloadIntervalMillis) {
+        this.environment = environment;
+        this.configFile = configFile.isBlank() ? null : Path.of(configFile);
+        this.reloadIntervalMillis = reloadIntervalMillis;
+        this.lastModified = lastModified();
+        this.current = load(1);
+        LOG.info("Downstream settings loaded: {}", current.downstreams());
+    }
+
+    public DownstreamConfig current() {
+        return current;
+    }
+
+    /*
+     * Listeners are called with every new snapshot, in version order, from the thread doing the
+     * reload
+     */
+    public void subscribe(Consumer<DownstreamConfig> listener) {
+        listeners.add(listener);
+    }
+
+    /*
+     * Re-reads the settings and publishes them when anything changed. Throws an
+     * IllegalArgumentException, keeping the current settings, when the new ones are invalid.
+     */
+    public synchronized DownstreamConfig reload() {
+        lastModified = lastModified();
+        DownstreamConfig next = load(current.version() + 1);
+        if (next.downstreams().equals(current.downstreams())) {
+            return current;
+        }
+        LOG.info("Downstream settings changed to version {}: {}", next.version(), next.downstreams());
+        current = next;
+        for (Consumer<DownstreamConfig> listener : listeners) {
+            listener.accept(next);
+        }
+        return next;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (configFile == null || reloadIntervalMillis <= 0) {
+            return;
+        }
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "downstream-config-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadIfModified, reloadIntervalMillis, reloadIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        LOG.info("Watching {} for downstream changes every {}ms", configFile, reloadIntervalMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    synchronized void reloadIfModified() {
+        if (lastModified() == lastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            LOG.error("Ignoring invalid downstream settings in {}: {}", configFile, e.getMessage());
+        }
+    }
+
+    private DownstreamConfig load(long version) {
+        Properties overrides = readConfigFile();
+        Map<String, DownstreamSettings> downstreams = new LinkedHashMap<>();
+        PREFIXES.forEach((downstream, prefix) -> downstreams.put(downstream, settings(prefix, overrides)));
+        return new DownstreamConfig(version, downstreams);
+    }
+
+    private DownstreamSettings settings(String prefix, Properties overrides) {
+        String host = property(overrides, prefix, null);
+        int port = number(overrides, prefix + ".port", null);
+        List<String> instances = Arrays.stream(property(overrides, prefix + ".instances", "").split(","))
+                .map(String::trim).filter(instance -> !instance.isEmpty()).toList();
+        for (String instance : instances) {
+            int colon = instance.lastIndexOf(':');
+            if (colon <= 0 || colon == instance.length() - 1
+                    || !instance.substring(colon + 1).chars().allMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("Expected host:port in " + prefix + ".instances but got " + instance);
+            }
+        }
+        return new DownstreamSettings(host, port, instances, number(overrides, prefix + ".connect-timeout-millis", "0"),
+                number(overrides, prefix + ".read-timeout-millis", "0"), rateLimit(prefix + ".rate-limit", overrides));
+    }
+
+    private DownstreamSettings.RateLimit rateLimit(String prefix, Properties overrides) {
+        String permitsPerSecond = property(overrides, prefix + ".permits-per-second", "0");
+        double permits;
+        try {
+            permits = Double.parseDouble(permitsPerSecond);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(prefix + ".permits-per-second must be a number but was " + permitsPerSecond);
+        }
+        if (!(permits >= 0) || Double.isInfinite(permits)) {
+            throw new IllegalArgumentException(prefix + ".permits-per-second must not be negative but was " + permitsPerSecond);
+        }
+        if (permits == 0) {
+            return DownstreamSettings.RateLimit.UNLIMITED;
+        }
+        int burst = number(overrides, prefix + ".burst", "1");
+        if (burst < 1) {
+            throw new IllegalArgumentException(prefix + ".burst must be at least 1");
+        }
+        return new DownstreamSettings.RateLimit(permits, burst, number(overrides, prefix + ".max-queue", "100"),
+                number(overrides, prefix + ".max-wait-millis", "1000"));
+    }
+
+    private int number(Properties overrides, String key, String defaultValue) {
+        String value = property(overrides, key, defaultValue);
+        try {
+            int number = Integer.parseInt(value.trim());
+            if (number < 0) {
+                throw new IllegalArgumentException(key + " must not be negative but was " + value);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number but was " + value);
+        }
+    }
+
+    private String property(Properties overrides, String key, String defaultValue) {
+        String value = overrides.getProperty(key);
+        if (value == null) {
+            value = environment.getProperty(key, defaultValue);
+        }
+        if (value == null || (defaultValue == null && value.isBlank())) {
+            throw new IllegalArgumentException("Missing downstream setting " + key);
+        }
+        return value.trim();
+    }
+
+    private Properties readConfigFile() {
+        Properties properties = new Properties();
+        if (configFile == null) {
+            return properties;
+        }
+        try (InputStream in = Files.newInputStream(configFile)) {
+            properties.load(in);
+            return properties;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read " + configFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return configFile == null ? 0 : Files.getLastModifiedTime(configFile).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.config;
+
+import java.util.List;
+
+/*
+ * Address and tuning of a single downstream. Timeouts of 0 keep the RestClient's own request
+ * factory; an empty instance list calls host:port directly instead of load balancing.
+ */
+public record DownstreamSettings(String host, int port, List<String> instances, int connectTimeoutMillis,
+        int readTimeoutMillis, RateLimit rateLimit) {
+
+    public String baseUrl() {
+        return "http://" + host + ":" + port;
+    }
+
+    /*
+     * Token bucket in front of the downstream: permitsPerSecond calls per second on average with
+     * bursts of up to burst calls. Callers queue for a token, at most maxQueue of them and for no
+     * longer than maxWaitMillis. 0 permits per second leaves the downstream unlimited.
+     */
+    public record RateLimit(double permitsPerSecond, int burst, int maxQueue, int maxWaitMillis) {
+        public static final RateLimit UNLIMITED = new RateLimit(0, 1, 0, 0);
+
+        public boolean enabled() {
+            return permitsPerSecond > 0;
+        }
+    }
+}
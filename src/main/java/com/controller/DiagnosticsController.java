@@ -0,0 +1,270 @@
+package com.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.businessLogic.AsyncOrchestrations;
+import com.businessLogic.OrchestrationRegistry;
+import com.businessLogic.OrchestrationWarmup;
+import com.businessLogic.PartitionedOrchestrationExecutor;
+import com.businessLogic.SeatAvailabilityCache;
+import com.businessLogic.SeatContentionGuard;
+import com.capture.TrafficCapture;
+import com.config.DownstreamConfig;
+import com.config.DownstreamConfigSource;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.limiter.DownstreamRateLimiters;
+import com.limiter.TokenBucket;
+import com.loadbalancer.DownstreamLoadBalancers;
+import com.loadbalancer.LoadBalancer;
+import com.outcome.OutcomeStore;
+import com.profiling.FlightRecordings;
+import com.sharding.OrchestrationSharding;
+import com.timeout.AdaptiveTimeout;
+import com.timeout.DownstreamTimeouts;
+
+/*
+ * DiagnosticsController.java exposes the runtime state of the orchestrator (limits, caches,
+ * in-flight work) so it can be inspected while the service is under load
+ */
+@RestController
+public class DiagnosticsController {
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private SeatAvailabilityCache seatAvailabilityCache;
+    private SeatContentionGuard seatContentionGuard;
+    private PartitionedOrchestrationExecutor partitionedExecutor;
+    private OrchestrationRegistry orchestrationRegistry;
+    private OrchestrationWarmup orchestrationWarmup;
+    private DownstreamLoadBalancers loadBalancers;
+    private DownstreamConfigSource downstreamConfig;
+    private DownstreamRateLimiters rateLimiters;
+    private TrafficCapture trafficCapture;
+    private OutcomeStore outcomeStore;
+    private AsyncOrchestrations asyncOrchestrations;
+    private DownstreamTimeouts timeouts;
+    private OrchestrationSharding sharding;
+    private FlightRecordings flightRecordings;
+    private DownstreamCallbacks callbacks;
+    private ClientDisconnects clientDisconnects;
+
+    public DiagnosticsController(AdaptiveConcurrencyLimiter concurrencyLimiter, SeatAvailabilityCache seatAvailabilityCache,
+            SeatContentionGuard seatContentionGuard, PartitionedOrchestrationExecutor partitionedExecutor,
+            OrchestrationRegistry orchestrationRegistry, OrchestrationWarmup orchestrationWarmup,
+            DownstreamLoadBalancers loadBalancers, DownstreamConfigSource downstreamConfig,
+            DownstreamRateLimiters rateLimiters, TrafficCapture trafficCapture, OutcomeStore outcomeStore,
+            AsyncOrchestrations asyncOrchestrations, DownstreamTimeouts timeouts, OrchestrationSharding sharding,
+            FlightRecordings flightRecordings, DownstreamCallbacks callbacks, ClientDisconnects clientDisconnects) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.seatAvailabilityCache = seatAvailabilityCache;
+        this.seatContentionGuard = seatContentionGuard;
+        this.partitionedExecutor = partitionedExecutor;
+        this.orchestrationRegistry = orchestrationRegistry;
+        this.orchestrationWarmup = orchestrationWarmup;
+        this.loadBalancers = loadBalancers;
+        this.downstreamConfig = downstreamConfig;
+        this.rateLimiters = rateLimiters;
+        this.trafficCapture = trafficCapture;
+        this.outcomeStore = outcomeStore;
+        this.asyncOrchestrations = asyncOrchestrations;
+        this.timeouts = timeouts;
+        this.sharding = sharding;
+        this.flightRecordings = flightRecordings;
+        this.callbacks = callbacks;
+        this.clientDisconnects = clientDisconnects;
+    }
+
+    @GetMapping("/api/v1/diagnostics/limiter")
+    public AdaptiveConcurrencyLimiter.Snapshot concurrencyLimiter() {
+        return concurrencyLimiter.snapshot();
+    }
+
+    @GetMapping("/api/v1/diagnostics/seat-cache")
+    public SeatAvailabilityCache.Snapshot seatAvailabilityCache() {
+        return seatAvailabilityCache.snapshot();
+    }
+
+    @GetMapping("/api/v1/diagnostics/seat-contention")
+    public SeatContentionGuard.Snapshot seatContention() {
+        return seatContentionGuard.snapshot();
+    }
+
+    @GetMapping("/api/v1/diagnostics/partitions")
+    public List<PartitionedOrchestrationExecutor.PartitionSnapshot> partitions() {
+        return partitionedExecutor.snapshot();
+    }
+
+    /*
+     * Stage counts of the sagas in progress plus the oldest ones, to see which downstream is
+     * holding the orchestrator's capacity
+     */
+    @GetMapping("/api/v1/diagnostics/orchestrations")
+    public OrchestrationRegistry.Snapshot orchestrations(@RequestParam(defaultValue = "10") int limit) {
+        return orchestrationRegistry.snapshot(Math.max(0, Math.min(limit, 100)));
+    }
+
+    /*
+     * Outcome of the start-up warm-up, comparing the first and last iterations shows how much
+     * the JIT had compiled before readiness was reported
+     */
+    @GetMapping("/api/v1/diagnostics/warmup")
+    public OrchestrationWarmup.Report warmup() {
+        return orchestrationWarmup.report();
+    }
+
+    /*
+     * Per-instance load, failures, ejection state and latency of every load balanced downstream
+     */
+    @GetMapping("/api/v1/diagnostics/load-balancers")
+    public Map<String, List<LoadBalancer.InstanceSnapshot>> loadBalancers() {
+        return loadBalancers.snapshot();
+    }
+
+    /*
+     * Tokens, queued calls and waits of every rate limited downstream, also published as the
+     * orchestrator.outbound.rate-limit.* metrics
+     */
+    @GetMapping("/api/v1/diagnostics/rate-limits")
+    public List<TokenBucket.Snapshot> rateLimits() {
+        return rateLimiters.snapshot();
+    }
+
+    /*
+     * Read timeout each downstream is currently called with and the latency percentile it was
+     * learned from, empty unless adaptive timeouts are enabled
+     */
+    @GetMapping("/api/v1/diagnostics/timeouts")
+    public List<AdaptiveTimeout.Snapshot> timeouts() {
+        return timeouts.snapshot();
+    }
+
+    @GetMapping("/api/v1/diagnostics/capture")
+    public TrafficCapture.Snapshot capture() {
+        return trafficCapture.snapshot();
+    }
+
+    @GetMapping("/api/v1/diagnostics/outcomes")
+    public OutcomeStore.Snapshot outcomes() {
+        return outcomeStore.snapshot();
+    }
+
+    @GetMapping("/api/v1/diagnostics/async")
+    public AsyncOrchestrations.Snapshot async() {
+        return asyncOrchestrations.snapshot();
+    }
+
+    /*
+     * Sagas waiting for a downstream's response topic and how the responses were correlated
+     */
+    @GetMapping("/api/v1/diagnostics/callbacks")
+    public DownstreamCallbacks.Snapshot callbacks() {
+        return callbacks.snapshot();
+    }
+
+    @GetMapping("/api/v1/diagnostics/disconnects")
+    public ClientDisconnects.Snapshot disconnects() {
+        return clientDisconnects.snapshot();
+    }
+
+    @GetMapping("/api/v1/diagnostics/jfr")
+    public FlightRecordings.Snapshot jfr() {
+        return flightRecordings.snapshot();
+    }
+
+    /*
+     * The last seconds of the flight recording as a .jfr file, to open in JDK Mission Control or
+     * with the jfr tool. Only available while orchestrator.jfr.enabled is on.
+     */
+    @GetMapping("/api/v1/diagnostics/jfr/dump")
+    public ResponseEntity<?> jfrDump(@RequestParam(defaultValue = "60") long seconds) throws IOException {
+        if (seconds <= 0) {
+            return ResponseEntity.badRequest().body("seconds must be positive");
+        }
+        byte[] recording = flightRecordings.dump(Duration.ofSeconds(seconds));
+        if (recording == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("No flight recording, orchestrator.jfr.enabled is off");
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orchestrator-" + System.currentTimeMillis() + ".jfr").build().toString())
+                .body(recording);
+    }
+
+    /*
+     * Orchestrator nodes, the share of the showings each one owns and how many topics were
+     * forwarded to and from this node
+     */
+    @GetMapping("/api/v1/diagnostics/sharding")
+    public OrchestrationSharding.Snapshot sharding() {
+        return sharding.snapshot();
+    }
+
+    /*
+     * Replaces the orchestrator nodes with the given base URLs. Every node has to be given the
+     * same list, showings keep their owner unless it left or a new node takes them over
+     */
+    @PutMapping("/api/v1/diagnostics/sharding/nodes")
+    public ResponseEntity<?> shardingNodes(@RequestBody List<String> nodes) {
+        try {
+            return ResponseEntity.ok(sharding.updateMembers(nodes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Sharding membership not changed: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/api/v1/diagnostics/downstreams")
+    public DownstreamConfig downstreams() {
+        return downstreamConfig.current();
+    }
+
+    /*
+     * Re-reads the downstream settings. New orchestrations use them straight away, the ones in
+     * flight finish on the settings they started with.
+     */
+    @PostMapping("/api/v1/diagnostics/downstreams/reload")
+    public ResponseEntity<?> reloadDownstreams() {
+        try {
+            return ResponseEntity.ok(downstreamConfig.reload());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Downstream settings not reloaded: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Drops a single seat from the negative cache, or the whole cache when no seat is given
+     */
+    @DeleteMapping("/api/v1/diagnostics/seat-cache")
+    public ResponseEntity<String> invalidateSeatAvailabilityCache(
+            @RequestParam(required = false) String movieName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime showtime,
+            @RequestParam(required = false) String seatNumber) {
+        if (movieName == null && showtime == null && seatNumber == null) {
+            seatAvailabilityCache.invalidateAll();
+            return ResponseEntity.ok("Seat availability cache cleared");
+        }
+        if (movieName == null || showtime == null || seatNumber == null) {
+            return ResponseEntity.badRequest().body("movieName, showtime and seatNumber are all required");
+        }
+        boolean removed = seatAvailabilityCache.invalidate(movieName, Date.from(showtime.toInstant()), seatNumber);
+        return removed ? ResponseEntity.ok("Seat " + seatNumber + " invalidated")
+                : ResponseEntity.notFound().build();
+    }
+}
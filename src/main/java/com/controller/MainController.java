@@ -1,21 +1,45 @@
 package com.controller;
 
-import java.io.InputStream;
 import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import com.SchemaService;
+import com.businessLogic.AsyncOrchestrations;
 import com.businessLogic.BusinessLogic;
+import com.businessLogic.PartitionedOrchestrationExecutor;
+import com.capture.TrafficCapture;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.localTopics.GroupTicketRequest;
+import com.profiling.TopicBindingEvent;
 import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+import com.schema.ValidationError;
+import com.sharding.OrchestrationSharding;
+import com.tracing.Span;
+import com.tracing.Tracer;
 
 // topic list
+import com.topics.Movie;
 import com.topics.MovieTicketRequest;
 
 /*
@@ -25,12 +49,33 @@ import com.topics.MovieTicketRequest;
 @RestController
 public class MainController {
     private SchemaValidator schemaValidator;
+    private TopicPreChecks topicPreChecks;
     private BusinessLogic businessLogic;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private PartitionedOrchestrationExecutor partitionedExecutor;
+    private Tracer tracer;
+    private TrafficCapture trafficCapture;
+    private AsyncOrchestrations asyncOrchestrations;
+    private OrchestrationSharding sharding;
+    private DownstreamCallbacks callbacks;
+    private ClientDisconnects clientDisconnects;
     private static final Logger LOG = LoggerFactory.getLogger(BusinessLogic.class);
 
-    public MainController(SchemaValidator schemaValidator, BusinessLogic businessLogic) {
+    public MainController(SchemaValidator schemaValidator, TopicPreChecks topicPreChecks, BusinessLogic businessLogic,
+            AdaptiveConcurrencyLimiter concurrencyLimiter, PartitionedOrchestrationExecutor partitionedExecutor,
+            Tracer tracer, TrafficCapture trafficCapture, AsyncOrchestrations asyncOrchestrations,
+            OrchestrationSharding sharding, DownstreamCallbacks callbacks, ClientDisconnects clientDisconnects) {
         this.schemaValidator = schemaValidator;
+        this.topicPreChecks = topicPreChecks;
         this.businessLogic = businessLogic;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.partitionedExecutor = partitionedExecutor;
+        this.tracer = tracer;
+        this.trafficCapture = trafficCapture;
+        this.asyncOrchestrations = asyncOrchestrations;
+        this.sharding = sharding;
+        this.callbacks = callbacks;
+        this.clientDisconnects = clientDisconnects;
     }
 
     @GetMapping("/api/v1/name")
@@ -39,38 +84,127 @@ public class MainController {
     }
 
     /*
-     * Main entry point for processing incoming topics other microservices will use this enpoint
+     * Main entry point for processing incoming topics other microservices will use this enpoint.
+     * With "Prefer: respond-async" (and orchestrator.async.enabled) a purchase is validated,
+     * answered with 202 and orchestrated in the background, see orchestrationStatus. With
+     * sharding enabled, purchases for showings owned by another node are forwarded to it. With
+     * callbacks enabled, the downstreams send their response topics here as well. With
+     * disconnect detection enabled, a purchase whose caller goes away stops before its payment
      */
     @PostMapping("/api/v1/processTopic")
-    public ResponseEntity<String> processRestTopics(@RequestBody String jsonString) {
+    public ResponseEntity<String> processRestTopics(@RequestBody String jsonString,
+            @RequestHeader(value = Tracer.TRACEPARENT, required = false) String traceparent,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @RequestHeader(value = OrchestrationSharding.FORWARDED_BY, required = false) String forwardedBy) {
+        // recorded before shedding, so a replay reproduces the full offered load
+        trafficCapture.record(jsonString);
+        // a response topic completes a saga that already holds a permit, it is never shed
+        boolean callback = callbacks.isCallback(jsonString);
+        AdaptiveConcurrencyLimiter.Permit permit = callback ? null : concurrencyLimiter.tryAcquire();
+        if (!callback && permit == null) {
+            // shed before doing any parsing so overload costs as little as possible
+            LOG.warn("Concurrency limit reached... Shedding the incoming topic.");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(concurrencyLimiter.retryAfterSeconds()))
+                    .body("Service Orchestrator is overloaded, retry later");
+        }
+
+        // continue the caller's trace when it sent one
+        Span span = tracer.startSpan("processTopic", traceparent);
+        boolean async = asyncOrchestrations.isEnabled() && prefer != null && prefer.contains("respond-async");
+        if (forwardedBy != null && sharding.isEnabled()) {
+            sharding.received();
+        }
+        try (Span.Scope scope = span.makeCurrent();
+                AdaptiveConcurrencyLimiter.Scope limited = AdaptiveConcurrencyLimiter.makeCurrent(permit);
+                ClientDisconnects.Watch watch = async || callback ? null : clientDisconnects.watchRequest()) {
+            ResponseEntity<String> response = processTopic(jsonString, async, forwardedBy != null, permit);
+            span.setAttribute("http.status", response.getStatusCode().value());
+            return response;
+        } finally {
+            span.end();
+            // a no-op when the saga already released the permit as a latency sample
+            if (permit != null) {
+                permit.release(false);
+            }
+        }
+    }
+
+    /*
+     * Status of a purchase accepted with 202, answered from memory only. 404 once the status
+     * has expired or when the correlatorId was never accepted
+     */
+    @GetMapping("/api/v1/orchestrations/{correlatorId}")
+    public ResponseEntity<AsyncOrchestrations.Status> orchestrationStatus(@PathVariable Integer correlatorId) {
+        AsyncOrchestrations.Status status = asyncOrchestrations.status(correlatorId);
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+
+    private ResponseEntity<String> processTopic(String jsonString, boolean async, boolean forwarded,
+            AdaptiveConcurrencyLimiter.Permit permit) {
         LOG.info("Received an incoming topic... Processing now!");
-        System.out.println("\n\nJSON: " + jsonString + "\n\n");
-        JSONObject jsonNode = new JSONObject(jsonString);
+        // cheap structural checks first, garbage is turned away before a parse or a schema validation
+        ValidationError rejected = topicPreChecks.checkSize(jsonString);
+        JSONObject jsonNode = null;
+        if (rejected == null) {
+            try {
+                jsonNode = new JSONObject(jsonString);
+                rejected = topicPreChecks.checkEnvelope(jsonNode);
+            } catch (JSONException e) {
+                rejected = new ValidationError(ValidationError.Code.INVALID_JSON, null, null, "#: " + e.getMessage());
+            }
+        }
+        if (rejected != null) {
+            return reject(rejected);
+        }
+
         String topicName = jsonNode.getString("topicName");
+        tracer.currentSpan().setAttribute("topic", topicName)
+                .setAttribute("correlatorId", jsonNode.opt("correlatorId"));
         URL schemaUrl =
                 getClass().getClassLoader().getResource(SchemaService.getPathFor(topicName));
         LOG.info("Schema URL: " + schemaUrl);
-        InputStream schemaStream = null;
-        try {
-            schemaStream = schemaValidator.getSchemaStream(SchemaService.getPathFor(topicName));
-        } catch (Exception e) {
-            LOG.error(e.getMessage());
-        }
-
-        if (schemaStream == null) {
+        if (schemaUrl == null) {
             LOG.error("No schema found for topic: " + topicName);
         }
 
         ResponseEntity<String> response = null;
 
-        if (schemaValidator.validateJson(schemaStream, jsonNode)) {
+        List<String> violations = validate(jsonNode, topicName);
+        if (violations.isEmpty()) {
             ObjectMapper mapper = new ObjectMapper();
             try {
                 switch (jsonNode.getString("topicName")) {
                     case "MovieTicketRequest": {
                         MovieTicketRequest movieTicketRequest =
-                                mapper.readValue(jsonNode.toString(), MovieTicketRequest.class);
-                        response = businessLogic.orchestrate(movieTicketRequest);
+                                bind(mapper, jsonNode, topicName, MovieTicketRequest.class);
+                        response = forwardToOwner(movieTicketRequest.getMovie(), jsonString, async, forwarded);
+                        if (response != null) {
+                            break;
+                        }
+                        response = async
+                                ? accept(movieTicketRequest.getCorrelatorId(), movieTicketRequest.getMovie(),
+                                        () -> businessLogic.orchestrate(movieTicketRequest))
+                                : orchestrate(movieTicketRequest, permit);
+                    }
+                        break;
+                    case "GroupTicketRequest": {
+                        GroupTicketRequest groupTicketRequest =
+                                bind(mapper, jsonNode, topicName, GroupTicketRequest.class);
+                        response = forwardToOwner(groupTicketRequest.getMovie(), jsonString, async, forwarded);
+                        if (response != null) {
+                            break;
+                        }
+                        Supplier<ResponseEntity<String>> saga = () -> businessLogic.orchestrateGroup(groupTicketRequest);
+                        response = async
+                                ? accept(groupTicketRequest.getCorrelatorId(), groupTicketRequest.getMovie(), saga)
+                                : orchestrate(groupTicketRequest.getMovie(), permit, saga);
+                    }
+                        break;
+                    case "SeatResponse":
+                    case "PaymentResponse":
+                    case "CreateTicketResponse": {
+                        response = correlate(topicName, jsonNode.getInt("correlatorId"), jsonString);
                     }
                         break;
                     default: {
@@ -85,11 +219,156 @@ public class MainController {
                         .body("Inernal Error Failed to process " + topicName);
             }
         } else {
-            LOG.error("Failed schema validation...");
-            response = ResponseEntity.badRequest()
-                    .body("Schema Validation Failed for topic: " + topicName);
+            response = reject(new ValidationError(ValidationError.Code.SCHEMA_VIOLATION, topicName,
+                    jsonNode.opt("correlatorId"), violations));
         }
 
         return response;
     }
+
+    private ResponseEntity<String> reject(ValidationError error) {
+        LOG.error("Rejected the incoming topic: {}", error.code());
+        tracer.currentSpan().setAttribute("validation.error", error.code().name());
+        return error.toResponse();
+    }
+
+    private List<String> validate(JSONObject jsonNode, String topicName) {
+        Span span = tracer.startSpan("schema-validation")
+                .setAttribute("topic", topicName)
+                .setAttribute("correlatorId", jsonNode.opt("correlatorId"))
+                .setAttribute("validator", schemaValidator.hasGeneratedValidator(topicName) ? "generated" : "everit");
+        try {
+            List<String> violations = schemaValidator.violations(topicName, jsonNode);
+            span.setAttribute("outcome", violations.isEmpty() ? "VALID" : "INVALID");
+            return violations;
+        } finally {
+            span.end();
+        }
+    }
+
+    // binds the validated topic to its ICD class, reported to JFR as a TopicBindingEvent
+    private <T> T bind(ObjectMapper mapper, JSONObject jsonNode, String topicName, Class<T> type)
+            throws JsonProcessingException {
+        TopicBindingEvent event = new TopicBindingEvent();
+        event.begin();
+        String outcome = "ERROR";
+        try {
+            T topic = mapper.readValue(jsonNode.toString(), type);
+            outcome = "BOUND";
+            return topic;
+        } finally {
+            if (event.shouldCommit()) {
+                event.commit(jsonNode.optInt("correlatorId"), topicName, outcome);
+            }
+        }
+    }
+
+    // hands a downstream's response topic to the saga waiting for it
+    private ResponseEntity<String> correlate(String topicName, int correlatorId, String jsonString) {
+        if (callbacks.complete(topicName, correlatorId, jsonString)) {
+            return ResponseEntity.ok(topicName + " handed to the waiting orchestration");
+        }
+        LOG.warn("No orchestration is waiting for the {} of correlatorId {}", topicName, correlatorId);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("No orchestration is waiting for the " + topicName + " of correlatorId " + correlatorId);
+    }
+
+    /*
+     * What the node owning the showing answered, or null when the topic is orchestrated here:
+     * sharding is off, this node is the owner, the topic was already forwarded once, or the
+     * owner could not be reached
+     */
+    private ResponseEntity<String> forwardToOwner(Movie movie, String jsonString, boolean async, boolean forwarded) {
+        if (!sharding.isEnabled() || forwarded) {
+            return null;
+        }
+        String owner = sharding.ownerOf(movie);
+        if (sharding.isSelf(owner)) {
+            return null;
+        }
+        tracer.currentSpan().setAttribute("sharding.owner", owner);
+        return sharding.forward(owner, jsonString, async);
+    }
+
+    /*
+     * Hands the saga to the background and answers 202 with where to poll for its outcome. The
+     * background saga continues the request's trace
+     */
+    private ResponseEntity<String> accept(Integer correlatorId, Movie movie, Supplier<ResponseEntity<String>> saga) {
+        Span parent = tracer.currentSpan();
+        AsyncOrchestrations.Status status = asyncOrchestrations.accept(correlatorId, () -> {
+            try (Span.Scope scope = parent.makeCurrent()) {
+                return orchestrate(movie, null, saga);
+            }
+        });
+        if (status == null) {
+            LOG.warn("Too many background orchestrations... Rejecting the incoming topic.");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(concurrencyLimiter.retryAfterSeconds()))
+                    .body("Service Orchestrator is overloaded, retry later");
+        }
+        String location = "/api/v1/orchestrations/" + correlatorId;
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, location)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new JSONObject().put("correlatorId", correlatorId).put("status", status.state())
+                        .put("statusUrl", location).toString());
+    }
+
+    // single-seat purchases skip allocating the saga lambda when partitioning is off
+    private ResponseEntity<String> orchestrate(MovieTicketRequest movieTicketRequest,
+            AdaptiveConcurrencyLimiter.Permit permit) {
+        if (!partitionedExecutor.isEnabled()) {
+            try {
+                return businessLogic.orchestrate(movieTicketRequest);
+            } finally {
+                sample(permit);
+            }
+        }
+        return orchestrate(movieTicketRequest.getMovie(), permit, () -> businessLogic.orchestrate(movieTicketRequest));
+    }
+
+    /*
+     * Runs the saga on the calling thread, or on the partition owning the showing when
+     * partitioned orchestration is enabled. The permit is null for background sagas
+     */
+    private ResponseEntity<String> orchestrate(Movie movie, AdaptiveConcurrencyLimiter.Permit permit,
+            Supplier<ResponseEntity<String>> saga) {
+        if (!partitionedExecutor.isEnabled()) {
+            try {
+                return saga.get();
+            } finally {
+                sample(permit);
+            }
+        }
+        Span parent = tracer.currentSpan();
+        ClientDisconnects.Watch watch = clientDisconnects.current();
+        CompletableFuture<ResponseEntity<String>> result;
+        try {
+            result = partitionedExecutor.submit(movie, () -> {
+                // the partition thread continues the request's trace and watches its connection
+                try (Span.Scope scope = parent.makeCurrent(); ClientDisconnects.Scope watching = clientDisconnects.makeCurrent(watch);
+                        AdaptiveConcurrencyLimiter.Scope limited = AdaptiveConcurrencyLimiter.makeCurrent(permit)) {
+                    return saga.get();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(concurrencyLimiter.retryAfterSeconds()))
+                    .body("Service Orchestrator is overloaded, retry later");
+        }
+        try {
+            return result.join();
+        } finally {
+            sample(permit);
+        }
+    }
+
+    // only sagas that reached a downstream call are latency samples for the concurrency limiter
+    private static void sample(AdaptiveConcurrencyLimiter.Permit permit) {
+        if (permit != null) {
+            permit.release(permit.isDownstreamCalled());
+        }
+    }
 }
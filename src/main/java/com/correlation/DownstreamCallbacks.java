@@ -0,0 +1,167 @@
+package com.correlation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+/*
+ * Fire-and-correlate mode for the downstream hops answered by an ICD response topic (SeatResponse,
+ * PaymentResponse, CreateTicketResponse). The request goes out with "Prefer: respond-async" and
+ * the CALLBACK_URL to send the response to; a downstream that answers 202 posts the response topic
+ * to /api/v1/processTopic later and the saga waits for it here, keyed by correlatorId, instead of
+ * on an open connection. A downstream that ignores the preference and answers right away is used
+ * as before. Waits end after timeoutMillis like a read timeout would.
+ *
+ * What is freed is the connection: no pooled HTTP connection or downstream socket stays open while
+ * the downstream works. The saga itself stays blocking, its thread (and the request thread waiting
+ * on it) parks in Pending.await until the response topic arrives or the wait times out.
+ */
+@Component
+public class DownstreamCallbacks {
+    public static final String CALLBACK_URL = "X-Orchestrator-Callback";
+    public static final List<String> RESPONSE_TOPICS = List.of("SeatResponse", "PaymentResponse", "CreateTicketResponse");
+    private static final Pattern RESPONSE_TOPIC = Pattern.compile(
+            "\"topicName\"\\s*:\\s*\"(" + String.join("|", RESPONSE_TOPICS) + ")\"");
+
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final String callbackUrl;
+    // one table per response topic, a saga waits on at most one of each at a time
+    private final Map<String, IntCorrelationTable<Pending>> waiting = new LinkedHashMap<>();
+
+    private final AtomicLong awaited = new AtomicLong();
+    private final AtomicLong correlated = new AtomicLong();
+    private final AtomicLong synchronousReplies = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong unmatched = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+
+    public DownstreamCallbacks(@Value("${orchestrator.callbacks.enabled:false}") boolean enabled,
+            @Value("${orchestrator.callbacks.timeout-millis:30000}") long timeoutMillis,
+            @Value("${orchestrator.callbacks.url:http://localhost:${server.port:8089}/api/v1/processTopic}") String callbackUrl,
+            @Value("${orchestrator.callbacks.concurrency:16}") int concurrency) {
+        this.enabled = enabled;
+        this.timeoutMillis = timeoutMillis;
+        this.callbackUrl = callbackUrl;
+        for (String topic : RESPONSE_TOPICS) {
+            waiting.put(topic, new IntCorrelationTable<>(concurrency, 256));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getCallbackUrl() {
+        return callbackUrl;
+    }
+
+    /*
+     * Whether the raw body is a response topic, checked before the concurrency limiter: a
+     * response completes a saga that already holds its permit, shedding it would waste the saga.
+     * Only a body mentioning a response topic at all is parsed, to check its top-level topicName,
+     * a purchase carrying one in an extra property is not a response.
+     */
+    public boolean isCallback(String body) {
+        if (!enabled || !RESPONSE_TOPIC.matcher(body).find()) {
+            return false;
+        }
+        try {
+            return RESPONSE_TOPICS.contains(new JSONObject(body).optString("topicName"));
+        } catch (JSONException e) {
+            return false;
+        }
+    }
+
+    /*
+     * Registers a saga about to send a request answered by the response topic. Null when
+     * callbacks are off or another saga is already waiting on the same correlatorId, and the
+     * request should be sent synchronously.
+     */
+    public Pending expect(String responseTopic, int correlatorId) {
+        if (!enabled) {
+            return null;
+        }
+        Pending pending = new Pending(responseTopic, correlatorId);
+        if (!waiting.get(responseTopic).putIfAbsent(correlatorId, pending)) {
+            duplicates.incrementAndGet();
+            return null;
+        }
+        return pending;
+    }
+
+    // hands the response topic to the saga waiting on it, false when none is (any more)
+    public boolean complete(String topic, int correlatorId, String json) {
+        IntCorrelationTable<Pending> table = waiting.get(topic);
+        Pending pending = table == null ? null : table.remove(correlatorId);
+        if (pending == null) {
+            unmatched.incrementAndGet();
+            return false;
+        }
+        correlated.incrementAndGet();
+        pending.response.complete(json);
+        return true;
+    }
+
+    public Snapshot snapshot() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        waiting.forEach((topic, table) -> sizes.put(topic, table.size()));
+        return new Snapshot(enabled, timeoutMillis, callbackUrl, sizes, awaited.get(), correlated.get(),
+                synchronousReplies.get(), timeouts.get(), unmatched.get(), duplicates.get());
+    }
+
+    // a saga's registration for one response topic, closing it unregisters the saga
+    public final class Pending implements AutoCloseable {
+        private final String topic;
+        private final int correlatorId;
+        private final CompletableFuture<String> response = new CompletableFuture<>();
+
+        private Pending(String topic, int correlatorId) {
+            this.topic = topic;
+            this.correlatorId = correlatorId;
+        }
+
+        // the response topic's JSON, once the downstream sent it; parks the calling thread until then
+        public String await() {
+            awaited.incrementAndGet();
+            try {
+                return response.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                timeouts.incrementAndGet();
+                throw new ResourceAccessException("No " + topic + " for correlatorId " + correlatorId + " within "
+                        + timeoutMillis + " ms");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResourceAccessException("Interrupted waiting for the " + topic + " of correlatorId " + correlatorId);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        // the downstream answered in its response instead of accepting the request
+        public void answeredSynchronously() {
+            synchronousReplies.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            waiting.get(topic).remove(correlatorId, this);
+        }
+    }
+
+    // waiting is the number of sagas waiting per response topic
+    public record Snapshot(boolean enabled, long timeoutMillis, String callbackUrl, Map<String, Integer> waiting,
+            long awaited, long correlated, long synchronousReplies, long timeouts, long unmatched, long duplicates) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.correlation;
+
+/*
+ * Hash table from a primitive int (the correlatorId) to the entry waiting on it, so a lookup
+ * neither boxes the key nor allocates a node. Keys live in open-addressed int arrays with linear
+ * probing, split over lock-striped segments so sagas registering and responses arriving for
+ * different correlatorIds rarely touch the same lock. Removal shifts the following entries back
+ * instead of leaving tombstones, so a table that churns through ids never degrades.
+ */
+public final class IntCorrelationTable<V> {
+    private final Segment<V>[] segments;
+    private final int segmentShift;
+
+    @SuppressWarnings("unchecked")
+    public IntCorrelationTable(int concurrency, int initialCapacity) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 1 << 16)) * 2 - 1);
+        this.segments = new Segment[count];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        int perSegment = Math.max(4, initialCapacity / count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    // false, leaving the table unchanged, when the key is already mapped
+    public boolean putIfAbsent(int key, V value) {
+        int hash = hash(key);
+        return segmentFor(hash).putIfAbsent(key, hash, value);
+    }
+
+    public V get(int key) {
+        int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    // the value the key was mapped to, null when it wasn't
+    public V remove(int key) {
+        int hash = hash(key);
+        return segmentFor(hash).remove(key, hash, null);
+    }
+
+    // removes the key only while it is still mapped to the given value
+    public boolean remove(int key, V value) {
+        int hash = hash(key);
+        return segmentFor(hash).remove(key, hash, value) != null;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(int hash) {
+        // the top bits pick the segment, the bottom ones the slot within it
+        return segmentShift == 32 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    // correlatorIds are often sequential, the multiply and fold spread them over the whole table
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Segment<V> {
+        private int[] keys;
+        private Object[] values;
+        private int size;
+
+        Segment(int capacity) {
+            int slots = Integer.highestOneBit(capacity * 2 - 1);
+            keys = new int[slots];
+            values = new Object[slots];
+        }
+
+        synchronized boolean putIfAbsent(int key, int hash, V value) {
+            if (slotOf(key, hash) >= 0) {
+                return false;
+            }
+            if ((size + 1) * 2 > values.length) {
+                resize();
+            }
+            insert(key, hash, value);
+            size++;
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V get(int key, int hash) {
+            int slot = slotOf(key, hash);
+            return slot < 0 ? null : (V) values[slot];
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V remove(int key, int hash, V expected) {
+            int slot = slotOf(key, hash);
+            if (slot < 0 || (expected != null && values[slot] != expected)) {
+                return null;
+            }
+            V removed = (V) values[slot];
+            values[slot] = null;
+            size--;
+            shiftBack(slot);
+            return removed;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        // slot holding the key, -1 when it isn't in the segment
+        private int slotOf(int key, int hash) {
+            int mask = values.length - 1;
+            for (int slot = hash & mask; values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private void insert(int key, int hash, Object value) {
+            int mask = values.length - 1;
+            int slot = hash & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        /*
+         * Moves the entries after a freed slot back into it when their home slot lies at or
+         * before it, so every remaining key is still reachable from its home slot without gaps
+         */
+        private void shiftBack(int freed) {
+            int mask = values.length - 1;
+            for (int slot = (freed + 1) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+                int home = hash(keys[slot]) & mask;
+                if (((slot - home) & mask) >= ((slot - freed) & mask)) {
+                    keys[freed] = keys[slot];
+                    values[freed] = values[slot];
+                    values[slot] = null;
+                    freed = slot;
+                }
+            }
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new Object[oldValues.length * 2];
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldKeys[i], hash(oldKeys[i]), oldValues[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.disconnect;
+
+/*
+ * Thrown when a saga stops because its caller closed the connection. avoidedCalls are the
+ * downstream calls the saga would still have made from the stage it stopped at.
+ */
+public class ClientDisconnectedException extends RuntimeException {
+    private final String stage;
+    private final int avoidedCalls;
+
+    public ClientDisconnectedException(String stage, int avoidedCalls, Throwable cause) {
+        super("The client disconnected before the " + stage + " stage completed", cause);
+        this.stage = stage;
+        this.avoidedCalls = avoidedCalls;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public int getAvoidedCalls() {
+        return avoidedCalls;
+    }
+}
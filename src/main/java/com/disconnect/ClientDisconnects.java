@@ -0,0 +1,255 @@
+package com.disconnect;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Cancels the sagas of synchronous purchases whose caller went away. Every purchase handled on
+ * /api/v1/processTopic gets a Watch on its connection, polled every pollMillis through the probe
+ * TomcatConnectionProbes attached to the request. Once the client closed the connection, the
+ * seat hold in flight is interrupted and the saga stops at its next safe point, anywhere before
+ * the payment went through, releasing any seat it may hold; a paid purchase is always finished,
+ * its MovieTicketResponse still reaches the API Gateway. Cancelled sagas, the calls interrupted and the downstream calls the
+ * sagas no longer made are published as the orchestrator.disconnects.* metrics.
+ */
+@Component
+public class ClientDisconnects {
+    private static final Logger LOG = LoggerFactory.getLogger(ClientDisconnects.class);
+    // request attribute holding a BooleanSupplier, true once the client closed the connection
+    public static final String CONNECTION_CLOSED = "orchestrator.connection-closed";
+    // nginx's "client closed request", answered to nobody but kept in traces and outcomes
+    public static final int CLIENT_CLOSED_REQUEST = 499;
+
+    private final boolean enabled;
+    private final long pollMillis;
+    private final Set<Watch> watching = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Watch> current = new ThreadLocal<>();
+    private ScheduledExecutorService poller;
+
+    private final AtomicLong watched = new AtomicLong();
+    private final AtomicLong disconnects = new AtomicLong();
+    private final Counter cancelledSagas;
+    private final Counter cancelledCalls;
+    private final Counter avoidedCalls;
+
+    public ClientDisconnects(@Value("${orchestrator.disconnects.enabled:false}") boolean enabled,
+            @Value("${orchestrator.disconnects.poll-millis:100}") long pollMillis, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.pollMillis = Math.max(1, pollMillis);
+        this.cancelledSagas = Counter.builder("orchestrator.disconnects.cancelled-sagas")
+                .description("Sagas stopped because their client disconnected")
+                .register(meterRegistry);
+        this.cancelledCalls = Counter.builder("orchestrator.disconnects.cancelled-calls")
+                .description("Downstream calls interrupted while in flight because their client disconnected")
+                .register(meterRegistry);
+        this.avoidedCalls = Counter.builder("orchestrator.disconnects.avoided-calls")
+                .description("Downstream calls the cancelled sagas no longer made")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "client-disconnects");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /*
+     * Watches the connection of the request handled on this thread. Null when disabled or when
+     * the request has no probe, i.e. it wasn't received by Tomcat over HTTP/1.x.
+     */
+    public Watch watchRequest() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        Object probe = request == null ? null : request.getAttribute(CONNECTION_CLOSED, RequestAttributes.SCOPE_REQUEST);
+        return probe instanceof BooleanSupplier closed ? watch(closed) : null;
+    }
+
+    /*
+     * Starts polling the probe, the watch is current on this thread until it is closed, which
+     * has to happen on this thread as well. Null when disabled.
+     */
+    public Watch watch(BooleanSupplier closed) {
+        if (!enabled) {
+            return null;
+        }
+        Watch watch = new Watch(closed);
+        watching.add(watch);
+        watched.incrementAndGet();
+        watch.scope = makeCurrent(watch);
+        return watch;
+    }
+
+    // the watch of the purchase orchestrated on this thread, null when there is none
+    public Watch current() {
+        return current.get();
+    }
+
+    // carries a watch over to the thread running the saga, a null watch changes nothing
+    public Scope makeCurrent(Watch watch) {
+        if (watch == null) {
+            return () -> { };
+        }
+        Watch previous = current.get();
+        current.set(watch);
+        return () -> {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        };
+    }
+
+    // counts a saga that stopped for a disconnect and the calls it skipped
+    public void cancelled(ClientDisconnectedException e) {
+        cancelledSagas.increment();
+        avoidedCalls.increment(e.getAvoidedCalls());
+    }
+
+    void poll() {
+        for (Watch watch : watching) {
+            try {
+                watch.poll();
+            } catch (RuntimeException e) {
+                // the probe of a request Tomcat already recycled, the purchase is over
+                LOG.debug("Could not poll a client connection: {}", e.getMessage());
+                watching.remove(watch);
+            }
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(enabled, pollMillis, watching.size(), watched.get(), disconnects.get(),
+                (long) cancelledSagas.count(), (long) cancelledCalls.count(), (long) avoidedCalls.count());
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    // the connection of one purchase, closing it stops the polling
+    public final class Watch implements AutoCloseable {
+        private final BooleanSupplier closed;
+        private Scope scope;
+        // guarded by this, polls and interrupts never overlap the end of the purchase
+        private boolean finished;
+        private boolean disconnected;
+        private Thread caller;
+        private boolean interrupting;
+
+        private Watch(BooleanSupplier closed) {
+            this.closed = closed;
+        }
+
+        public synchronized boolean isDisconnected() {
+            return disconnected;
+        }
+
+        /*
+         * A safe point of the saga: nothing that can't be left undone has happened yet, so the
+         * saga stops here when its client is gone. avoidedCalls are the calls it still had to make.
+         */
+        public void checkpoint(String stage, int avoidedCalls) {
+            if (isDisconnected()) {
+                throw new ClientDisconnectedException(stage, avoidedCalls, null);
+            }
+        }
+
+        /*
+         * Runs a downstream call that is abandoned when the client goes away while it is in
+         * flight, by interrupting the thread waiting on it. The interrupted call fails with a
+         * ClientDisconnectedException instead of the I/O error, avoidedCalls follow the call.
+         */
+        public <T> T cancellable(String stage, int avoidedCalls, Supplier<T> call) {
+            synchronized (this) {
+                if (disconnected) {
+                    throw new ClientDisconnectedException(stage, avoidedCalls + 1, null);
+                }
+                caller = Thread.currentThread();
+            }
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    if (interrupting) {
+                        throw new ClientDisconnectedException(stage, avoidedCalls, e);
+                    }
+                }
+                throw e;
+            } finally {
+                synchronized (this) {
+                    caller = null;
+                    if (interrupting) {
+                        // the interrupt was meant for the call only, the thread goes on
+                        interrupting = false;
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        private synchronized void poll() {
+            if (finished || disconnected || !closed.getAsBoolean()) {
+                return;
+            }
+            disconnected = true;
+            disconnects.incrementAndGet();
+            if (caller != null) {
+                LOG.info("The client disconnected, cancelling the downstream call in flight...");
+                interrupting = true;
+                cancelledCalls.increment();
+                caller.interrupt();
+            } else {
+                LOG.info("The client disconnected, the orchestration stops at its next safe point...");
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                finished = true;
+            }
+            watching.remove(this);
+            scope.close();
+        }
+    }
+
+    // watching is the number of connections polled right now, watched all there ever were
+    public record Snapshot(boolean enabled, long pollMillis, int watching, long watched, long disconnects,
+            long cancelledSagas, long cancelledCalls, long avoidedCalls) {
+    }
+}
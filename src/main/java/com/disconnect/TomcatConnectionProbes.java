@@ -0,0 +1,63 @@
+package com.disconnect;
+
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.apache.coyote.ActionCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+import jakarta.servlet.ServletException;
+
+/*
+ * The Servlet API has no way to tell that a client closed its connection while its request is
+ * being handled, Tomcat only finds out when the response is written. With disconnect detection
+ * enabled, a context valve attaches a probe to every HTTP/1.x request instead, which
+ * ClientDisconnects polls while the purchase is orchestrated.
+ */
+@Component
+public class TomcatConnectionProbes implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+    private final boolean enabled;
+
+    public TomcatConnectionProbes(@Value("${orchestrator.disconnects.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        if (enabled) {
+            factory.addContextValves(new ProbeValve());
+        }
+    }
+
+    /*
+     * Asks Tomcat for a non-blocking read past the request body, which was read in full before
+     * the purchase is orchestrated. A closed connection makes the read hit the end of the stream,
+     * which Tomcat reports as a single byte available. Bytes of a pipelined request are kept for
+     * that request and reported as they are; a lone pipelined byte would pass for a disconnect,
+     * but HTTP/1.1 clients don't pipeline in practice.
+     */
+    static boolean closed(org.apache.coyote.Request request) {
+        request.action(ActionCode.AVAILABLE, Boolean.TRUE);
+        return request.getAvailable() == 1;
+    }
+
+    static final class ProbeValve extends ValveBase {
+        ProbeValve() {
+            super(true);
+        }
+
+        @Override
+        public void invoke(Request request, Response response) throws IOException, ServletException {
+            // an HTTP/2 stream shares its connection, the probe would read the other streams' frames
+            if (request.getProtocol().startsWith("HTTP/1")) {
+                org.apache.coyote.Request coyoteRequest = request.getCoyoteRequest();
+                request.setAttribute(ClientDisconnects.CONNECTION_CLOSED, (BooleanSupplier) () -> closed(coyoteRequest));
+            }
+            getNext().invoke(request, response);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * AIMD concurrency limiter sitting in front of the /api/v1/processTopic endpoint.
+ * The limit grows by roughly one permit per limit's worth of healthy samples and is cut
+ * multiplicatively whenever an orchestration takes longer than the tolerated multiple of
+ * the baseline latency (the minimum observed over the last sample window). Only requests whose
+ * saga reached a downstream call are samples, and the limit is cut at most once per round trip:
+ * a slow sample that started before the last cut was already in flight under the old limit.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    private static final double SMOOTHING = 0.1;
+    // the permit of the request whose saga runs on this thread
+    private static final ThreadLocal<Permit> CURRENT = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final int window;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+
+    // guarded by "this", published through the volatile int for the hot path
+    private double limit;
+    private volatile int currentLimit;
+    private long baselineNanos;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private long lastDecreaseNanos = System.nanoTime();
+    private volatile long smoothedNanos;
+
+    public AdaptiveConcurrencyLimiter(
+            @Value("${orchestrator.limiter.enabled:true}") boolean enabled,
+            @Value("${orchestrator.limiter.initial-limit:20}") int initialLimit,
+            @Value("${orchestrator.limiter.min-limit:4}") int minLimit,
+            @Value("${orchestrator.limiter.max-limit:200}") int maxLimit,
+            @Value("${orchestrator.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${orchestrator.limiter.tolerance:2.0}") double tolerance,
+            @Value("${orchestrator.limiter.window:250}") int window) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limiter bounds: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.window = window;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.currentLimit = (int) limit;
+        LOG.info("Concurrency limiter initialized (enabled={}, limit={}, min={}, max={})",
+                enabled, currentLimit, minLimit, maxLimit);
+    }
+
+    /*
+     * Returns a permit that must be released once the request has been handled, or null when
+     * the request should be shed.
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (enabled && current >= currentLimit) {
+                shed.incrementAndGet();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    /*
+     * Called by a saga right before a downstream call: its request becomes a latency sample.
+     * Sagas ending earlier (a seat known to be taken or contended, a rate-limited downstream)
+     * answer in microseconds and would drag the baseline down to nothing. A no-op outside of a
+     * request holding a permit.
+     */
+    public static void downstreamCalled() {
+        Permit permit = CURRENT.get();
+        if (permit != null) {
+            permit.downstreamCalled = true;
+        }
+    }
+
+    // carries the permit over to the thread running the saga, a null permit changes nothing
+    public static Scope makeCurrent(Permit permit) {
+        if (permit == null) {
+            return () -> { };
+        }
+        Permit previous = CURRENT.get();
+        CURRENT.set(permit);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /*
+     * Hint for the Retry-After header: roughly the time it takes an in-flight request to drain
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(smoothedNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    public Snapshot snapshot() {
+        long baseline;
+        synchronized (this) {
+            baseline = baselineNanos;
+        }
+        return new Snapshot(enabled, currentLimit, inFlight.get(), accepted.get(), shed.get(),
+                TimeUnit.NANOSECONDS.toMillis(baseline), TimeUnit.NANOSECONDS.toMillis(smoothedNanos));
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart, long startNanos) {
+        smoothedNanos = smoothedNanos == 0 ? rttNanos : (long) (smoothedNanos + SMOOTHING * (rttNanos - smoothedNanos));
+
+        windowMinNanos = Math.min(windowMinNanos, rttNanos);
+        if (baselineNanos == 0) {
+            baselineNanos = rttNanos;
+        }
+        if (++windowSamples >= window) {
+            baselineNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+
+        if (rttNanos > baselineNanos * tolerance) {
+            if (startNanos - lastDecreaseNanos > 0) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = startNanos + rttNanos;
+            }
+        } else if (inFlightAtStart * 2 >= limit) {
+            // only grow when the limit is actually being used, otherwise it drifts up unbounded
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        currentLimit = (int) limit;
+    }
+
+    public class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private boolean released;
+        // set on the thread running the saga, read once it has joined
+        private volatile boolean downstreamCalled;
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public boolean isDownstreamCalled() {
+            return downstreamCalled;
+        }
+
+        /*
+         * sample is false for requests answered without running a saga (rejections, 202s,
+         * forwards, response topics), their microsecond latencies would drag the baseline down
+         */
+        public void release(boolean sample) {
+            if (released) {
+                return;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+            if (sample) {
+                onSample(System.nanoTime() - startNanos, inFlightAtStart, startNanos);
+            }
+        }
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public record Snapshot(boolean enabled, int limit, int inFlight, long accepted, long shed,
+            long baselineLatencyMillis, long smoothedLatencyMillis) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.limiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import com.config.DownstreamConfig;
+import com.config.DownstreamSettings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * The TokenBucket of every downstream with a rate limit configured. Buckets are published as
+ * orchestrator.outbound.rate-limit.* metrics, tagged with the downstream.
+ */
+@Component
+public class DownstreamRateLimiters {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public DownstreamRateLimiters(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (String downstream : DownstreamConfig.DOWNSTREAMS) {
+            Gauge.builder("orchestrator.outbound.rate-limit.queued", buckets,
+                    current -> current.containsKey(downstream) ? current.get(downstream).queued() : 0)
+                    .description("Calls waiting for a token")
+                    .tag("downstream", downstream)
+                    .register(meterRegistry);
+        }
+    }
+
+    /*
+     * Bucket for the downstream's rate limit, or null when it is unlimited. The bucket, and the
+     * calls queued on it, is kept for as long as the rate limit stays the same.
+     */
+    public TokenBucket limiterFor(String downstream, DownstreamSettings.RateLimit rateLimit) {
+        if (!rateLimit.enabled()) {
+            buckets.remove(downstream);
+            return null;
+        }
+        return buckets.compute(downstream, (name, existing) ->
+                existing != null && existing.getSettings().equals(rateLimit) ? existing
+                        : new TokenBucket(name, rateLimit, meterRegistry));
+    }
+
+    public List<TokenBucket.Snapshot> snapshot() {
+        List<TokenBucket.Snapshot> snapshot = new ArrayList<>();
+        for (String downstream : DownstreamConfig.DOWNSTREAMS) {
+            TokenBucket bucket = buckets.get(downstream);
+            if (bucket != null) {
+                snapshot.add(bucket.snapshot());
+            }
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,24 @@
+package com.limiter;
+
+/*
+ * Thrown when a downstream's rate limiter turns a call away. The reason is one of queue-full,
+ * deadline, evicted, timeout or interrupted.
+ */
+public class RateLimitedException extends RuntimeException {
+    private final String downstream;
+    private final String reason;
+
+    public RateLimitedException(String downstream, String reason, String message) {
+        super(message);
+        this.downstream = downstream;
+        this.reason = reason;
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
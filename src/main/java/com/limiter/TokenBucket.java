@@ -0,0 +1,185 @@
+package com.limiter;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import com.config.DownstreamSettings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Token bucket limiting the calls made to one downstream. Callers finding the bucket empty wait
+ * in a bounded queue where first attempts are always served before retries. A caller is turned
+ * away straight away, instead of waiting, when the queue is full or when the wait its position
+ * implies would run past the time it has left; a retry waiting in a full queue gives up its place
+ * to an incoming first attempt.
+ */
+public class TokenBucket {
+    public enum Priority {
+        FIRST_ATTEMPT, RETRY
+    }
+
+    private final String downstream;
+    private final DownstreamSettings.RateLimit settings;
+    private final double permitsPerNano;
+    private final long maxWaitNanos;
+
+    private final Timer[] waitTimers = new Timer[Priority.values().length];
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxObservedWaitNanos = new AtomicLong();
+
+    // guarded by "this"
+    private double tokens;
+    private long refilledAt;
+    private final ArrayDeque<Waiter> firstAttempts = new ArrayDeque<>();
+    private final ArrayDeque<Waiter> retries = new ArrayDeque<>();
+
+    public TokenBucket(String downstream, DownstreamSettings.RateLimit settings, MeterRegistry meterRegistry) {
+        this.downstream = downstream;
+        this.settings = settings;
+        this.permitsPerNano = settings.permitsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(settings.maxWaitMillis());
+        this.meterRegistry = meterRegistry;
+        for (Priority priority : Priority.values()) {
+            waitTimers[priority.ordinal()] = Timer.builder("orchestrator.outbound.rate-limit.wait")
+                    .description("Time calls waited for a token before going to the downstream")
+                    .tag("downstream", downstream).tag("priority", priority.name())
+                    .register(meterRegistry);
+        }
+        this.tokens = settings.burst();
+        this.refilledAt = System.nanoTime();
+    }
+
+    public DownstreamSettings.RateLimit getSettings() {
+        return settings;
+    }
+
+    /*
+     * Blocks until a token is available and returns how long that took, or throws a
+     * RateLimitedException when the caller cannot get one within min(maxWaitMillis, remainingNanos)
+     */
+    public long acquire(Priority priority, long remainingNanos) throws RateLimitedException {
+        long start = System.nanoTime();
+        long giveUpAt = start + Math.min(maxWaitNanos, Math.max(0, remainingNanos));
+        synchronized (this) {
+            refill(start);
+            if (firstAttempts.isEmpty() && retries.isEmpty() && tokens >= 1) {
+                tokens--;
+                return granted(priority, 0);
+            }
+
+            // tokens go out in queue order, so this caller's wait is known up front
+            int ahead = priority == Priority.FIRST_ATTEMPT ? firstAttempts.size() : firstAttempts.size() + retries.size();
+            long expectedWaitNanos = (long) (Math.max(0, ahead + 1 - tokens) / permitsPerNano);
+            if (start + expectedWaitNanos - giveUpAt > 0) {
+                throw reject(priority, "deadline", "waiting " + TimeUnit.NANOSECONDS.toMillis(expectedWaitNanos)
+                        + "ms for a token would exceed the " + TimeUnit.NANOSECONDS.toMillis(giveUpAt - start)
+                        + "ms left");
+            }
+
+            if (firstAttempts.size() + retries.size() >= settings.maxQueue()) {
+                if (priority == Priority.RETRY || retries.isEmpty()) {
+                    throw reject(priority, "queue-full", "the queue of " + settings.maxQueue() + " is full");
+                }
+                // the newest retry makes room for the first attempt
+                Waiter evicted = retries.pollLast();
+                evicted.evicted = true;
+                notifyAll();
+            }
+
+            Waiter waiter = new Waiter();
+            (priority == Priority.FIRST_ATTEMPT ? firstAttempts : retries).addLast(waiter);
+            try {
+                while (true) {
+                    if (waiter.evicted) {
+                        throw reject(priority, "evicted", "the retry gave up its place to a first attempt");
+                    }
+                    long now = System.nanoTime();
+                    refill(now);
+                    boolean head = head() == waiter;
+                    if (head && tokens >= 1) {
+                        tokens--;
+                        remove(waiter);
+                        notifyAll();
+                        return granted(priority, now - start);
+                    }
+                    if (now - giveUpAt >= 0) {
+                        remove(waiter);
+                        notifyAll();
+                        throw reject(priority, "timeout", "no token within " + TimeUnit.NANOSECONDS.toMillis(giveUpAt - start) + "ms");
+                    }
+                    long sleepNanos = giveUpAt - now;
+                    if (head) {
+                        sleepNanos = Math.min(sleepNanos, (long) Math.ceil((1 - tokens) / permitsPerNano));
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, sleepNanos));
+                }
+            } catch (InterruptedException e) {
+                remove(waiter);
+                notifyAll();
+                Thread.currentThread().interrupt();
+                throw reject(priority, "interrupted", "interrupted while waiting for a token");
+            }
+        }
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(settings.burst(), tokens + elapsed * permitsPerNano);
+            refilledAt = now;
+        }
+    }
+
+    private Waiter head() {
+        return firstAttempts.isEmpty() ? retries.peekFirst() : firstAttempts.peekFirst();
+    }
+
+    private void remove(Waiter waiter) {
+        if (!firstAttempts.remove(waiter)) {
+            retries.remove(waiter);
+        }
+    }
+
+    private long granted(Priority priority, long waitedNanos) {
+        acquired.incrementAndGet();
+        totalWaitNanos.addAndGet(waitedNanos);
+        maxObservedWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+        waitTimers[priority.ordinal()].record(waitedNanos, TimeUnit.NANOSECONDS);
+        return waitedNanos;
+    }
+
+    private RateLimitedException reject(Priority priority, String reason, String detail) {
+        rejected.incrementAndGet();
+        Counter.builder("orchestrator.outbound.rate-limit.rejected")
+                .description("Calls turned away by the downstream's rate limiter")
+                .tag("downstream", downstream).tag("priority", priority.name()).tag("reason", reason)
+                .register(meterRegistry).increment();
+        return new RateLimitedException(downstream, reason, downstream + " rate limit: " + detail);
+    }
+
+    public synchronized int queued() {
+        return firstAttempts.size() + retries.size();
+    }
+
+    public synchronized Snapshot snapshot() {
+        refill(System.nanoTime());
+        long count = acquired.get();
+        return new Snapshot(downstream, settings.permitsPerSecond(), settings.burst(), tokens, firstAttempts.size(),
+                retries.size(), count, rejected.get(),
+                count == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / count, maxObservedWaitNanos.get() / 1_000_000.0);
+    }
+
+    private static final class Waiter {
+        // set, under the bucket's lock, when a first attempt took this retry's place
+        private boolean evicted;
+    }
+
+    public record Snapshot(String downstream, double permitsPerSecond, int burst, double tokens, int queuedFirstAttempts,
+            int queuedRetries, long acquired, long rejected, double meanWaitMillis, double maxWaitMillis) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.loadbalancer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.stereotype.Component;
+import com.config.DownstreamConfig;
+
+/*
+ * One LoadBalancer per downstream that has a list of instances configured. Downstreams without
+ * one keep calling their single host:port directly.
+ */
+@Component
+public class DownstreamLoadBalancers {
+    private final LoadBalancer.Strategy strategy;
+    private final int ejectionFailures;
+    private final long baseEjectionMillis;
+    private final long maxEjectionMillis;
+    private final Map<String, LoadBalancer> loadBalancers = new ConcurrentHashMap<>();
+
+    public DownstreamLoadBalancers(
+            @Value("${orchestrator.load-balancing.strategy:power-of-two-choices}") String strategy,
+            @Value("${orchestrator.load-balancing.ejection.consecutive-failures:3}") int ejectionFailures,
+            @Value("${orchestrator.load-balancing.ejection.base-millis:5000}") long baseEjectionMillis,
+            @Value("${orchestrator.load-balancing.ejection.max-millis:60000}") long maxEjectionMillis) {
+        this.strategy = LoadBalancer.Strategy.parse(strategy);
+        this.ejectionFailures = ejectionFailures;
+        this.baseEjectionMillis = baseEjectionMillis;
+        this.maxEjectionMillis = maxEjectionMillis;
+    }
+
+    /*
+     * Interceptor spreading the downstream's calls across the given instances, or null when
+     * there are none. A LoadBalancer is kept, along with its statistics and ejections, for as
+     * long as the downstream's instances stay the same.
+     */
+    public ClientHttpRequestInterceptor interceptorFor(String downstream, List<String> instances) {
+        if (instances.isEmpty()) {
+            loadBalancers.remove(downstream);
+            return null;
+        }
+        LoadBalancer loadBalancer = loadBalancers.compute(downstream, (name, existing) ->
+                existing != null && existing.getAddresses().equals(instances) ? existing
+                        : new LoadBalancer(name, instances, strategy, ejectionFailures, baseEjectionMillis, maxEjectionMillis));
+        return new LoadBalancingInterceptor(loadBalancer);
+    }
+
+    public Map<String, List<LoadBalancer.InstanceSnapshot>> snapshot() {
+        Map<String, List<LoadBalancer.InstanceSnapshot>> snapshot = new LinkedHashMap<>();
+        for (String downstream : DownstreamConfig.DOWNSTREAMS) {
+            LoadBalancer loadBalancer = loadBalancers.get(downstream);
+            if (loadBalancer != null) {
+                snapshot.put(downstream, loadBalancer.snapshot());
+            }
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,221 @@
+package com.loadbalancer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/*
+ * Picks one of a downstream's instances for every call, either the instance with the fewest
+ * outstanding requests or the less loaded of two random ones (power of two choices). Instances
+ * failing several calls in a row are passively ejected for an exponentially growing period; at
+ * least one instance always stays in rotation.
+ */
+public class LoadBalancer {
+    private static final Logger LOG = LoggerFactory.getLogger(LoadBalancer.class);
+    private static final double SMOOTHING = 0.2;
+
+    public enum Strategy {
+        LEAST_OUTSTANDING, POWER_OF_TWO_CHOICES;
+
+        // accepts the property spelling, e.g. "power-of-two-choices"
+        public static Strategy parse(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    private final String downstream;
+    private final List<String> addresses;
+    private final Instance[] instances;
+    private final Strategy strategy;
+    private final int ejectionFailures;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final LongSupplier clock;
+    // rotates the starting point of least-outstanding scans so ties are spread round-robin
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public LoadBalancer(String downstream, List<String> instances, Strategy strategy, int ejectionFailures,
+            long baseEjectionMillis, long maxEjectionMillis) {
+        this(downstream, instances, strategy, ejectionFailures, baseEjectionMillis, maxEjectionMillis, System::nanoTime);
+    }
+
+    LoadBalancer(String downstream, List<String> instances, Strategy strategy, int ejectionFailures,
+            long baseEjectionMillis, long maxEjectionMillis, LongSupplier clock) {
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("No instances configured for " + downstream);
+        }
+        this.downstream = downstream;
+        this.addresses = List.copyOf(instances);
+        this.instances = instances.stream().map(Instance::new).toArray(Instance[]::new);
+        this.strategy = strategy;
+        this.ejectionFailures = ejectionFailures;
+        this.baseEjectionNanos = TimeUnit.MILLISECONDS.toNanos(baseEjectionMillis);
+        this.maxEjectionNanos = TimeUnit.MILLISECONDS.toNanos(maxEjectionMillis);
+        this.clock = clock;
+        LOG.info("Load balancing {} across {} ({})", downstream, instances, strategy);
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+
+    public List<String> getAddresses() {
+        return addresses;
+    }
+
+    public Instance choose() {
+        long now = clock.getAsLong();
+        return strategy == Strategy.LEAST_OUTSTANDING ? leastOutstanding(now) : powerOfTwoChoices(now);
+    }
+
+    private Instance leastOutstanding(long now) {
+        int start = Math.floorMod(cursor.getAndIncrement(), instances.length);
+        Instance best = null;
+        for (int i = 0; i < instances.length; i++) {
+            Instance candidate = instances[(start + i) % instances.length];
+            if (candidate.isAvailable(now) && (best == null || candidate.outstanding.get() < best.outstanding.get())) {
+                best = candidate;
+            }
+        }
+        return best != null ? best : instances[start];
+    }
+
+    private Instance powerOfTwoChoices(long now) {
+        if (instances.length == 1) {
+            return instances[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.length);
+        int second = random.nextInt(instances.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        Instance a = instances[first];
+        Instance b = instances[second];
+        boolean aAvailable = a.isAvailable(now);
+        boolean bAvailable = b.isAvailable(now);
+        if (aAvailable != bAvailable) {
+            return aAvailable ? a : b;
+        }
+        if (!aAvailable) {
+            // both picks are ejected, fall back to a scan over the healthy ones
+            return leastOutstanding(now);
+        }
+        return b.outstanding.get() < a.outstanding.get() ? b : a;
+    }
+
+    private boolean canEject(long now) {
+        int available = 0;
+        for (Instance instance : instances) {
+            if (instance.isAvailable(now)) {
+                available++;
+            }
+        }
+        return available > 1;
+    }
+
+    public List<InstanceSnapshot> snapshot() {
+        long now = clock.getAsLong();
+        List<InstanceSnapshot> snapshot = new ArrayList<>(instances.length);
+        for (Instance instance : instances) {
+            snapshot.add(instance.snapshot(now));
+        }
+        return snapshot;
+    }
+
+    public class Instance {
+        private final String address;
+        private final String host;
+        private final int port;
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        // racy read-modify-write, a lost update only nudges the smoothed latency
+        private volatile long ewmaNanos;
+
+        // guarded by "this"
+        private int consecutiveFailures;
+        private int ejections;
+        private volatile boolean ejected;
+        private volatile long ejectedUntil;
+
+        private Instance(String address) {
+            int colon = address.lastIndexOf(':');
+            if (colon <= 0 || colon == address.length() - 1) {
+                throw new IllegalArgumentException("Expected host:port for " + downstream + " but got " + address);
+            }
+            this.address = address;
+            this.host = address.substring(0, colon);
+            this.port = Integer.parseInt(address.substring(colon + 1));
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        // the same request, addressed to this instance
+        public URI resolve(URI uri) {
+            return UriComponentsBuilder.fromUri(uri).host(host).port(port).build(true).toUri();
+        }
+
+        public void begin() {
+            outstanding.incrementAndGet();
+        }
+
+        public void end(long latencyNanos, boolean failed) {
+            outstanding.decrementAndGet();
+            requests.incrementAndGet();
+            totalNanos.addAndGet(latencyNanos);
+            long ewma = ewmaNanos;
+            ewmaNanos = ewma == 0 ? latencyNanos : (long) (ewma + SMOOTHING * (latencyNanos - ewma));
+            if (failed) {
+                failures.incrementAndGet();
+            }
+            record(failed);
+        }
+
+        private synchronized void record(boolean failed) {
+            if (!failed) {
+                consecutiveFailures = 0;
+                ejections = 0;
+                return;
+            }
+            long now = clock.getAsLong();
+            if (++consecutiveFailures < ejectionFailures || !isAvailable(now) || !canEject(now)) {
+                return;
+            }
+            // each ejection in a row doubles the time out of rotation, up to the maximum
+            long duration = Math.min(maxEjectionNanos, baseEjectionNanos << Math.min(ejections, 20));
+            ejections++;
+            consecutiveFailures = 0;
+            ejectedUntil = now + duration;
+            ejected = true;
+            LOG.warn("Ejecting {} instance {} for {}ms after {} consecutive failures", downstream, address,
+                    TimeUnit.NANOSECONDS.toMillis(duration), ejectionFailures);
+        }
+
+        private boolean isAvailable(long now) {
+            return !ejected || now - ejectedUntil >= 0;
+        }
+
+        private InstanceSnapshot snapshot(long now) {
+            long count = requests.get();
+            return new InstanceSnapshot(address, !isAvailable(now), outstanding.get(), count, failures.get(),
+                    ewmaNanos / 1_000_000.0, count == 0 ? 0 : totalNanos.get() / 1_000_000.0 / count);
+        }
+    }
+
+    public record InstanceSnapshot(String instance, boolean ejected, int outstanding, long requests, long failures,
+            double smoothedLatencyMillis, double meanLatencyMillis) {
+    }
+}
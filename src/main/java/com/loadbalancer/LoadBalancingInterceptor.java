@@ -0,0 +1,45 @@
+package com.loadbalancer;
+
+import java.io.IOException;
+import java.net.URI;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+/*
+ * RestClient interceptor sending each call to the instance the LoadBalancer picks, and feeding
+ * the outcome (latency, I/O errors and 5xx responses) back into it
+ */
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+    private final LoadBalancer loadBalancer;
+
+    public LoadBalancingInterceptor(LoadBalancer loadBalancer) {
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        LoadBalancer.Instance instance = loadBalancer.choose();
+        URI uri = instance.resolve(request.getURI());
+        HttpRequest routed = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+        };
+
+        boolean failed = true;
+        long start = System.nanoTime();
+        instance.begin();
+        try {
+            ClientHttpResponse response = execution.execute(routed, body);
+            failed = response.getStatusCode().is5xxServerError();
+            return response;
+        } finally {
+            instance.end(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.localTopics;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.topics.Movie;
+import com.topics.PaymentRequest;
+
+/*
+ * Purchase of several seats of one showing, paid with a single PaymentRequest covering all of
+ * them. Defined in the orchestrator, next to json-schema/GroupTicketRequest.json, until the topic
+ * is added to the ICD (and its com.topics package).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GroupTicketRequest {
+    private String topicName;
+    private Integer correlatorId;
+    private Movie movie;
+    private List<String> seatNumbers;
+    private Double price;
+    private PaymentRequest payment;
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public void setTopicName(String topicName) {
+        this.topicName = topicName;
+    }
+
+    public Integer getCorrelatorId() {
+        return correlatorId;
+    }
+
+    public void setCorrelatorId(Integer correlatorId) {
+        this.correlatorId = correlatorId;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+
+    public void setMovie(Movie movie) {
+        this.movie = movie;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<String> seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public PaymentRequest getPayment() {
+        return payment;
+    }
+
+    public void setPayment(PaymentRequest payment) {
+        this.payment = payment;
+    }
+}
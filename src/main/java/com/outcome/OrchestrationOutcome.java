@@ -0,0 +1,26 @@
+package com.outcome;
+
+import java.util.List;
+
+/*
+ * A finished orchestration as it is persisted by the OutcomeStore. httpStatus is 0 when the
+ * orchestration ended with an exception instead of a response.
+ */
+public record OrchestrationOutcome(Integer correlatorId, String movieName, String seatNumbers, int httpStatus,
+        long startedAtEpochMillis, long durationMicros, List<Stage> stages) {
+
+    // "seat-claim:12,seat-hold:4031,..." with the microseconds spent in each stage, in order
+    public String stagesText() {
+        StringBuilder text = new StringBuilder();
+        for (Stage stage : stages) {
+            if (!text.isEmpty()) {
+                text.append(',');
+            }
+            text.append(stage.name()).append(':').append(stage.durationMicros());
+        }
+        return text.toString();
+    }
+
+    public record Stage(String name, long durationMicros) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.outcome;
+
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * Connection pool of the outcome store, built from the spring.datasource.* properties the first
+ * time the store asks for it. It is registered whatever orchestrator.outcomes.enabled says, so an
+ * AOT build made without outcomes can still run with them, but it isn't a DataSource bean: a
+ * deployment without outcomes opens no pool and gets no db health indicator.
+ */
+public class OutcomeDataSource implements AutoCloseable {
+    private final DataSourceProperties properties;
+    private final Binder binder;
+    private HikariDataSource dataSource;
+
+    public OutcomeDataSource(DataSourceProperties properties, Binder binder) {
+        this.properties = properties;
+        this.binder = binder;
+    }
+
+    public synchronized DataSource get() {
+        if (dataSource == null) {
+            dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        }
+        return dataSource;
+    }
+
+    public synchronized boolean isOpen() {
+        return dataSource != null;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.outcome;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/*
+ * The application excludes DataSourceAutoConfiguration, the outcome store opens its own pool when
+ * orchestrator.outcomes.enabled=true. Nothing here is conditional: AOT processing evaluates bean
+ * conditions at build time, with the build's profile, not the one the image runs with.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class OutcomeDataSourceConfiguration {
+
+    @Bean
+    public OutcomeDataSource outcomeDataSource(DataSourceProperties properties, Environment environment) {
+        return new OutcomeDataSource(properties, Binder.get(environment));
+    }
+
+    // the database check of the outcome store, UNKNOWN (ignored by the aggregate status) while disabled
+    @Bean
+    public HealthIndicator outcomesHealthIndicator(OutcomeStore outcomeStore, OutcomeDataSource outcomeDataSource) {
+        return () -> outcomeStore.isEnabled()
+                ? new DataSourceHealthIndicator(outcomeDataSource.get()).health()
+                : Health.unknown().withDetail("enabled", false).build();
+    }
+}
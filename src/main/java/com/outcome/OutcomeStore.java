@@ -0,0 +1,171 @@
+package com.outcome;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Opt-in store of finished orchestrations in the orchestration_outcome table. Request threads only
+ * hand the outcome to a bounded queue; the "outcome-writer" thread inserts whatever has queued up
+ * as one JDBC batch in one transaction, so batches grow with the load. When the queue is full a
+ * request waits up to offer-timeout-millis for room and then drops its outcome, which bounds both
+ * the memory held and the time a slow database can add to a request.
+ */
+@Component
+public class OutcomeStore {
+    private static final Logger LOG = LoggerFactory.getLogger(OutcomeStore.class);
+    private static final String SCHEMA = "db/orchestration-outcome.sql";
+    private static final String INSERT = "INSERT INTO orchestration_outcome (correlator_id, movie_name, seat_numbers, "
+            + "http_status, started_at, duration_micros, stages) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final long POLL_MILLIS = 100;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final boolean initializeSchema;
+    private final BlockingQueue<OrchestrationOutcome> queue;
+    private final DataSource dataSource;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public OutcomeStore(@Value("${orchestrator.outcomes.enabled:false}") boolean enabled,
+            @Value("${orchestrator.outcomes.batch-size:500}") int batchSize,
+            @Value("${orchestrator.outcomes.queue-capacity:10000}") int queueCapacity,
+            @Value("${orchestrator.outcomes.offer-timeout-millis:5}") long offerTimeoutMillis,
+            @Value("${orchestrator.outcomes.initialize-schema:true}") boolean initializeSchema,
+            OutcomeDataSource dataSource) {
+        this(enabled, batchSize, queueCapacity, offerTimeoutMillis, initializeSchema,
+                enabled ? dataSource.get() : null);
+    }
+
+    public OutcomeStore(boolean enabled, int batchSize, int queueCapacity, long offerTimeoutMillis,
+            boolean initializeSchema, DataSource dataSource) {
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, offerTimeoutMillis));
+        this.initializeSchema = initializeSchema;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.dataSource = dataSource;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(OrchestrationOutcome outcome) {
+        if (!enabled || !running) {
+            return;
+        }
+        try {
+            if (queue.offer(outcome) || queue.offer(outcome, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.incrementAndGet();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (initializeSchema) {
+            new ResourceDatabasePopulator(new ClassPathResource(SCHEMA)).execute(dataSource);
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        running = true;
+        writer = new Thread(() -> write(jdbc, transaction), "outcome-writer");
+        writer.setDaemon(true);
+        writer.start();
+        LOG.info("Persisting orchestration outcomes in batches of up to {}", batchSize);
+    }
+
+    // writes out what is still queued before returning, the writer is not interrupted mid-batch
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join();
+        LOG.info("Outcome store stopped, {} outcomes written in {} batches, {} dropped and {} failed",
+                written.get(), batches.get(), dropped.get(), failed.get());
+    }
+
+    private void write(JdbcTemplate jdbc, TransactionTemplate transaction) {
+        List<OrchestrationOutcome> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OrchestrationOutcome first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // only stop() ends the writer
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            insert(jdbc, transaction, batch);
+            batch.clear();
+        }
+    }
+
+    private void insert(JdbcTemplate jdbc, TransactionTemplate transaction, List<OrchestrationOutcome> batch) {
+        try {
+            transaction.executeWithoutResult(status -> jdbc.batchUpdate(INSERT, batch, batch.size(),
+                    (statement, outcome) -> {
+                        statement.setObject(1, outcome.correlatorId(), Types.INTEGER);
+                        statement.setString(2, outcome.movieName());
+                        statement.setString(3, outcome.seatNumbers());
+                        if (outcome.httpStatus() == 0) {
+                            statement.setNull(4, Types.INTEGER);
+                        } else {
+                            statement.setInt(4, outcome.httpStatus());
+                        }
+                        statement.setTimestamp(5, new Timestamp(outcome.startedAtEpochMillis()));
+                        statement.setLong(6, outcome.durationMicros());
+                        statement.setString(7, outcome.stagesText());
+                    }));
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (DataAccessException e) {
+            failed.addAndGet(batch.size());
+            LOG.error("Failed to persist {} orchestration outcomes: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(enabled, written.get(), batches.get(), dropped.get(), failed.get(), queue.size());
+    }
+
+    public record Snapshot(boolean enabled, long written, long batches, long dropped, long failed, int queued) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Opt-in rolling Java Flight Recorder recording with the orchestrator's own events next to the
+ * JDK's (threads, allocations, GC, sockets), so a profile can be read per purchase stage. JFR
+ * keeps the last maxAge (at most maxSize) on disk and dump() cuts the requested window out of
+ * it on demand. The events are also recorded by any recording started with
+ * -XX:StartFlightRecording or jcmd; without one, they are skipped at next to no cost.
+ */
+@Component
+public class FlightRecordings {
+    private static final Logger LOG = LoggerFactory.getLogger(FlightRecordings.class);
+    static final List<Class<? extends Event>> EVENTS = List.of(OrchestrationStageEvent.class,
+            SchemaValidationEvent.class, TopicBindingEvent.class);
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final AtomicLong dumps = new AtomicLong();
+    private Recording recording;
+
+    public FlightRecordings(@Value("${orchestrator.jfr.enabled:false}") boolean enabled,
+            @Value("${orchestrator.jfr.settings:default}") String settings,
+            @Value("${orchestrator.jfr.max-age-seconds:900}") long maxAgeSeconds,
+            @Value("${orchestrator.jfr.max-size-mb:128}") long maxSizeMb) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        if (!enabled) {
+            return;
+        }
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("orchestrator");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        for (Class<? extends Event> event : EVENTS) {
+            recording.enable(event).withThreshold(Duration.ZERO);
+        }
+        recording.start();
+        LOG.info("Flight recording started with the {} settings, keeping the last {}", settings, maxAge);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /*
+     * The events of the last window of the recording as a .jfr file, null when the recording
+     * isn't enabled. Everything recorded so far is dumped to a temporary file first and only
+     * the events ending inside the window are kept.
+     */
+    public byte[] dump(Duration window) throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        Instant since = Instant.now().minus(window);
+        Path all = Files.createTempFile("orchestrator-", ".jfr");
+        Path windowed = Files.createTempFile("orchestrator-window-", ".jfr");
+        try {
+            recording.dump(all);
+            try (RecordingFile file = new RecordingFile(all)) {
+                file.write(windowed, event -> !event.getEndTime().isBefore(since));
+            }
+            dumps.incrementAndGet();
+            return Files.readAllBytes(windowed);
+        } finally {
+            Files.deleteIfExists(all);
+            Files.deleteIfExists(windowed);
+        }
+    }
+
+    public Snapshot snapshot() {
+        Recording current = recording;
+        return new Snapshot(enabled, settings, maxAge.toSeconds(), maxSizeBytes,
+                current == null ? 0 : current.getSize(), dumps.get());
+    }
+
+    // recordedBytes is what the recording currently holds on disk
+    public record Snapshot(boolean enabled, String settings, long maxAgeSeconds, long maxSizeBytes, long recordedBytes,
+            long dumps) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * One stage of an orchestration (seat-hold, payment, ...) and the downstream it called, spanning
+ * the wait for a rate-limit token and the call itself
+ */
+@Name("orchestrator.OrchestrationStage")
+@Label("Orchestration Stage")
+@Category({ "Service Orchestrator", "Orchestration" })
+@Description("A stage of BusinessLogic.orchestrate and the downstream it called")
+@StackTrace(false)
+public final class OrchestrationStageEvent extends Event {
+    @Label("Correlator Id")
+    int correlatorId;
+
+    @Label("Topic")
+    String topic;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Downstream")
+    String downstream;
+
+    @Label("Outcome")
+    String outcome;
+
+    // fills in the fields and commits, only to be called once shouldCommit() said so
+    public void commit(Integer correlatorId, String topic, String stage, String downstream, String outcome) {
+        this.correlatorId = correlatorId == null ? 0 : correlatorId;
+        this.topic = topic;
+        this.stage = stage;
+        this.downstream = downstream;
+        this.outcome = outcome;
+        commit();
+    }
+}
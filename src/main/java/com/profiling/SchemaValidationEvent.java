@@ -0,0 +1,43 @@
+package com.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Validation of an incoming topic against its ICD schema
+ */
+@Name("orchestrator.SchemaValidation")
+@Label("Schema Validation")
+@Category({ "Service Orchestrator", "Incoming Topics" })
+@Description("SchemaValidator validating a topic, with the generated validator or with everit")
+@StackTrace(false)
+public final class SchemaValidationEvent extends Event {
+    @Label("Correlator Id")
+    int correlatorId;
+
+    @Label("Topic")
+    String topic;
+
+    @Label("Validator")
+    String validator;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Violations")
+    int violations;
+
+    // fills in the fields and commits, only to be called once shouldCommit() said so
+    public void commit(int correlatorId, String topic, String validator, String outcome, int violations) {
+        this.correlatorId = correlatorId;
+        this.topic = topic;
+        this.validator = validator;
+        this.outcome = outcome;
+        this.violations = violations;
+        commit();
+    }
+}
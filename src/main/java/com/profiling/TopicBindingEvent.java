@@ -0,0 +1,35 @@
+package com.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Binding of a validated topic's JSON to its ICD class
+ */
+@Name("orchestrator.TopicBinding")
+@Label("Topic Binding")
+@Category({ "Service Orchestrator", "Incoming Topics" })
+@Description("MainController binding a validated topic to its ICD class")
+@StackTrace(false)
+public final class TopicBindingEvent extends Event {
+    @Label("Correlator Id")
+    int correlatorId;
+
+    @Label("Topic")
+    String topic;
+
+    @Label("Outcome")
+    String outcome;
+
+    // fills in the fields and commits, only to be called once shouldCommit() said so
+    public void commit(int correlatorId, String topic, String outcome) {
+        this.correlatorId = correlatorId;
+        this.topic = topic;
+        this.outcome = outcome;
+        commit();
+    }
+}
@@ -3,56 +3,186 @@ package com.schema;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
 
 import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.Validator;
 import org.everit.json.schema.loader.SchemaLoader;
 import org.json.JSONObject;
 import org.json.JSONTokener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
 import org.springframework.stereotype.Service;
+import com.SchemaService;
+import com.profiling.SchemaValidationEvent;
 
 @Service
 public class SchemaValidator {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaValidator.class);
+
+    // thrown by FirstViolation to stop a generated validator, preallocated and without a stack trace
+    private static final RuntimeException FIRST_VIOLATION = new RuntimeException("first violation", null, false, false) {
+    };
 
     private final ResourceLoader resourceLoader;
+    // validators generated from the ICD schemas at build time, keyed by topic name
+    private final Map<String, TopicValidator> generatedValidators = new HashMap<>();
+    // schemas of the topics without a generated validator, loaded once for everit
+    private final Map<String, Schema> everitSchemas = new HashMap<>();
+    // stop at the first violation instead of collecting all of them
+    private final boolean failFast;
+    private final Validator everitValidator;
 
     public SchemaValidator(ResourceLoader resourceLoader) {
+        this(resourceLoader, true);
+    }
+
+    public SchemaValidator(ResourceLoader resourceLoader, boolean useGeneratedValidators) {
+        this(resourceLoader, useGeneratedValidators, false);
+    }
+
+    @Autowired
+    public SchemaValidator(ResourceLoader resourceLoader,
+            @Value("${orchestrator.schema.generated-validators:true}") boolean useGeneratedValidators,
+            @Value("${orchestrator.schema.fail-fast:false}") boolean failFast) {
         this.resourceLoader = resourceLoader;
+        this.failFast = failFast;
+        this.everitValidator = failFast ? Validator.builder().failEarly().build() : Validator.builder().build();
+        if (useGeneratedValidators) {
+            for (TopicValidator validator : ServiceLoader.load(TopicValidator.class, getClass().getClassLoader())) {
+                generatedValidators.put(validator.topicName(), validator);
+            }
+        }
+        loadEveritSchemas();
+        LOG.info("Schema validators: generated for {}, everit for {}", generatedValidators.keySet(), everitSchemas.keySet());
     }
 
-    public boolean validateJson(InputStream schemaStream, JSONObject jsonNode) {
+    private void loadEveritSchemas() {
         try {
-            JSONObject rawSchema = new JSONObject(new JSONTokener(schemaStream));
+            for (Resource resource : ResourcePatternUtils.getResourcePatternResolver(resourceLoader)
+                    .getResources("classpath*:json-schema/*.json")) {
+                String topicName = resource.getFilename().substring(0, resource.getFilename().length() - ".json".length());
+                if (!generatedValidators.containsKey(topicName) && !everitSchemas.containsKey(topicName)) {
+                    try (InputStream schemaStream = resource.getInputStream()) {
+                        everitSchemas.put(topicName, loadSchema(schemaStream));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load the json-schema folder", e);
+        }
+    }
 
-            // Set the base URL to the folder containing the schemas
-            URL baseUrl = getClass().getClassLoader().getResource("json-schema");
-            System.out.println("Base URL: " + baseUrl);
-            if (baseUrl == null) {
-                throw new RuntimeException("Could not locate json-schema folder in classpath");
+    /*
+     * Validates against the generated validator for the topic, falling back to interpreting the
+     * schema with everit when none was generated
+     */
+    public boolean validateJson(String topicName, JSONObject jsonNode) {
+        return violations(topicName, jsonNode).isEmpty();
+    }
+
+    /*
+     * The violations of the topic's schema, empty when the topic is valid. In fail-fast mode
+     * validation stops at the first violation, so at most one is returned.
+     */
+    public List<String> violations(String topicName, JSONObject jsonNode) {
+        SchemaValidationEvent event = new SchemaValidationEvent();
+        event.begin();
+        TopicValidator validator = generatedValidators.get(topicName);
+        List<String> errors = null;
+        try {
+            errors = violations(validator, topicName, jsonNode);
+            return errors;
+        } finally {
+            if (event.shouldCommit()) {
+                event.commit(jsonNode.optInt("correlatorId"), topicName, validator != null ? "generated" : "everit",
+                        errors == null ? "ERROR" : errors.isEmpty() ? "VALID" : "INVALID",
+                        errors == null ? 0 : errors.size());
+            }
+        }
+    }
+
+    private List<String> violations(TopicValidator validator, String topicName, JSONObject jsonNode) {
+        if (validator == null) {
+            Schema schema = everitSchemas.get(topicName);
+            return schema != null ? violations(schema, jsonNode)
+                    : violations(getSchemaStream(SchemaService.getPathFor(topicName)), jsonNode);
+        }
+        List<String> errors = failFast ? new FirstViolation() : new ArrayList<>();
+        try {
+            validator.validate(jsonNode, errors);
+        } catch (RuntimeException e) {
+            if (e != FIRST_VIOLATION) {
+                throw e;
             }
+        }
+        if (!errors.isEmpty()) {
+            reportErrors(errors);
+        }
+        return errors;
+    }
 
-            Schema schema = SchemaLoader.builder()
-                .schemaJson(rawSchema)
-                .resolutionScope("classpath:/json-schema/") // base URI for resolving $ref
-                .schemaClient(new ClasspathSchemaClient()) 
-                .build()
-                .load()
-                .build();
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public boolean hasGeneratedValidator(String topicName) {
+        return generatedValidators.containsKey(topicName);
+    }
 
-            schema.validate(jsonNode);
-            return true;
+    public boolean validateJson(InputStream schemaStream, JSONObject jsonNode) {
+        return violations(schemaStream, jsonNode).isEmpty();
+    }
+
+    private List<String> violations(InputStream schemaStream, JSONObject jsonNode) {
+        return violations(loadSchema(schemaStream), jsonNode);
+    }
+
+    private List<String> violations(Schema schema, JSONObject jsonNode) {
+        try {
+            everitValidator.performValidation(schema, jsonNode);
+            return List.of();
         } catch (ValidationException e) {
-            System.out.println("Validation failed");
             List<String> errors = collectErrors(e);
-            errors.forEach(err -> System.out.println(" - " + err));
-            return false;
+            reportErrors(errors);
+            return errors;
         }
     }
 
+    private Schema loadSchema(InputStream schemaStream) {
+        JSONObject rawSchema = new JSONObject(new JSONTokener(schemaStream));
+
+        // Set the base URL to the folder containing the schemas
+        URL baseUrl = getClass().getClassLoader().getResource("json-schema");
+        if (baseUrl == null) {
+            throw new RuntimeException("Could not locate json-schema folder in classpath");
+        }
+
+        return SchemaLoader.builder()
+            .schemaJson(rawSchema)
+            .resolutionScope("classpath:/json-schema/") // base URI for resolving $ref
+            .schemaClient(new ClasspathSchemaClient())
+            .build()
+            .load()
+            .build();
+    }
+
+    // the violations go back to the caller in the error body, the log only needs them when debugging
+    private void reportErrors(List<String> errors) {
+        LOG.debug("Validation failed with {} violation(s): {}", errors.size(), errors);
+    }
+
     private List<String> collectErrors(ValidationException e) {
         List<String> errors = new ArrayList<>();
         if (e.getCausingExceptions().isEmpty()) {
@@ -65,16 +195,40 @@ public class SchemaValidator {
         return errors;
     }
 
+    // keeps the first violation a generated validator reports and stops it there
+    private static final class FirstViolation extends AbstractList<String> {
+        private String violation;
+
+        @Override
+        public boolean add(String error) {
+            violation = error;
+            throw FIRST_VIOLATION;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index != 0 || violation == null) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return violation;
+        }
+
+        @Override
+        public int size() {
+            return violation == null ? 0 : 1;
+        }
+    }
+
     public InputStream getSchemaStream(String schemaPath) {
         try {
             Resource resource = resourceLoader.getResource("classpath:" + schemaPath);
             if (!resource.exists()) {
-                System.out.println("Schema not found: " + schemaPath);
+                LOG.warn("Schema not found: {}", schemaPath);
                 return null;
             }
             return resource.getInputStream();
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("Failed to read the schema {}", schemaPath, e);
             return null;
         }
     }
@@ -0,0 +1,57 @@
+package com.schema;
+
+import java.util.List;
+import java.util.Set;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Structural checks that are cheap enough to run on every incoming topic before any JSON parsing
+ * or schema validation: the body size, then the envelope every topic shares (a supported string
+ * topicName and an integer correlatorId). Garbage is turned away at these checks, so it costs
+ * less than a valid topic instead of more.
+ */
+@Component
+public class TopicPreChecks {
+    private final int maxBodyChars;
+    private final Set<String> supportedTopics;
+
+    @Autowired
+    public TopicPreChecks(@Value("${orchestrator.schema.max-body-chars:16384}") int maxBodyChars,
+            @Value("${orchestrator.schema.supported-topics:MovieTicketRequest,GroupTicketRequest,SeatResponse,PaymentResponse,CreateTicketResponse}") List<String> supportedTopics) {
+        this.maxBodyChars = maxBodyChars;
+        this.supportedTopics = Set.copyOf(supportedTopics);
+    }
+
+    // null when the body is small enough to be parsed
+    public ValidationError checkSize(String body) {
+        if (body.length() <= maxBodyChars) {
+            return null;
+        }
+        return new ValidationError(ValidationError.Code.BODY_TOO_LARGE, null, null,
+                "#: body of " + body.length() + " characters exceeds the limit of " + maxBodyChars);
+    }
+
+    // null when the topic is worth validating against its schema
+    public ValidationError checkEnvelope(JSONObject json) {
+        Object topicName = json.opt("topicName");
+        Object correlatorId = json.opt("correlatorId");
+        if (!(topicName instanceof String topic)) {
+            return new ValidationError(ValidationError.Code.MISSING_TOPIC_NAME, null, correlatorId,
+                    topicName == null ? "#: required key [topicName] not found"
+                            : "#/topicName: expected type: String, found: " + topicName.getClass().getSimpleName());
+        }
+        if (!supportedTopics.contains(topic)) {
+            return new ValidationError(ValidationError.Code.UNSUPPORTED_TOPIC, topic, correlatorId,
+                    "#/topicName: " + topic + " is not a supported topic");
+        }
+        if (!(correlatorId instanceof Integer)) {
+            return new ValidationError(ValidationError.Code.INVALID_CORRELATOR_ID, topic, null,
+                    correlatorId == null ? "#: required key [correlatorId] not found"
+                            : "#/correlatorId: expected type: Integer, found: " + correlatorId.getClass().getSimpleName());
+        }
+        return null;
+    }
+}
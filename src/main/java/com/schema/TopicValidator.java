@@ -0,0 +1,13 @@
+package com.schema;
+
+import java.util.List;
+
+// Implemented by the validators generated from the ICD schemas at build time (src/build/java)
+public interface TopicValidator {
+
+    // Name of the schema the validator was generated from, e.g. "MovieTicketRequest"
+    String topicName();
+
+    // Adds one message per violation to errors, worded like everit's ValidationException messages
+    void validate(Object json, List<String> errors);
+}
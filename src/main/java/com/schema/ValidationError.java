@@ -0,0 +1,54 @@
+package com.schema;
+
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/*
+ * Why an incoming topic was rejected before reaching the saga, answered to the caller as a small
+ * JSON body: {"error":"SCHEMA_VIOLATION","topicName":"...","correlatorId":1001,"violations":[...]}.
+ * topicName and correlatorId are left out when they couldn't be read.
+ */
+public record ValidationError(Code code, String topicName, Object correlatorId, List<String> violations) {
+
+    public enum Code {
+        BODY_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE),
+        INVALID_JSON(HttpStatus.BAD_REQUEST),
+        MISSING_TOPIC_NAME(HttpStatus.BAD_REQUEST),
+        UNSUPPORTED_TOPIC(HttpStatus.BAD_REQUEST),
+        INVALID_CORRELATOR_ID(HttpStatus.BAD_REQUEST),
+        SCHEMA_VIOLATION(HttpStatus.BAD_REQUEST);
+
+        private final HttpStatus status;
+
+        Code(HttpStatus status) {
+            this.status = status;
+        }
+    }
+
+    public ValidationError(Code code, String topicName, Object correlatorId, String violation) {
+        this(code, topicName, correlatorId, List.of(violation));
+    }
+
+    public HttpStatus status() {
+        return code.status;
+    }
+
+    public String toJson() {
+        JSONObject body = new JSONObject().put("error", code.name());
+        if (topicName != null) {
+            body.put("topicName", topicName);
+        }
+        if (correlatorId != null && correlatorId != JSONObject.NULL) {
+            body.put("correlatorId", correlatorId);
+        }
+        return body.put("violations", new JSONArray(violations)).toString();
+    }
+
+    public ResponseEntity<String> toResponse() {
+        return ResponseEntity.status(code.status).contentType(MediaType.APPLICATION_JSON).body(toJson());
+    }
+}
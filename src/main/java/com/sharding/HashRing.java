@@ -0,0 +1,95 @@
+package com.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Immutable consistent-hash ring. Every node is placed on the ring at virtualNodes points and a
+ * key belongs to the first point at or after its own hash, wrapping around. Adding or removing
+ * a node only moves the keys between its points and their predecessors, about 1/n of them, and
+ * the virtual nodes keep every node's share of the ring close to 1/n. Lookups are a binary
+ * search over a sorted array.
+ */
+public final class HashRing {
+    private final List<String> nodes;
+    private final long[] points;
+    private final String[] owners;
+
+    public HashRing(List<String> nodes, int virtualNodes) {
+        this.nodes = List.copyOf(nodes);
+        int replicas = Math.max(1, virtualNodes);
+        long[][] entries = new long[this.nodes.size() * replicas][];
+        int n = 0;
+        for (int node = 0; node < this.nodes.size(); node++) {
+            for (int replica = 0; replica < replicas; replica++) {
+                entries[n++] = new long[] { hash(this.nodes.get(node) + "#" + replica), node };
+            }
+        }
+        // ties (practically never) are broken by node name so every member builds the same ring
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0])
+                : this.nodes.get((int) a[1]).compareTo(this.nodes.get((int) b[1])));
+        this.points = new long[entries.length];
+        this.owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = this.nodes.get((int) entries[i][1]);
+        }
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    // owner of the key, null when the ring is empty
+    public String ownerOf(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    // fraction of the hash space each node owns
+    public Map<String, Double> shares() {
+        Map<String, Double> shares = new LinkedHashMap<>();
+        for (String node : nodes) {
+            shares.put(node, 0.0);
+        }
+        for (int i = 0; i < points.length; i++) {
+            // point i owns the arc from the previous point (exclusive) up to itself, the wrapping
+            // subtraction read as unsigned is the arc's length even across the ends of the ring
+            long arc = points[i] - points[i == 0 ? points.length - 1 : i - 1];
+            double fraction = points.length == 1 ? 1.0 : unsigned(arc) / 0x1p64;
+            shares.merge(owners[i], fraction, Double::sum);
+        }
+        return shares;
+    }
+
+    private static double unsigned(long value) {
+        return value >= 0 ? value : (value >>> 1) * 2.0 + (value & 1);
+    }
+
+    /*
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer, which spreads the similar keys and
+     * node names over the whole ring
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,199 @@
+package com.sharding;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import com.topics.Movie;
+import com.tracing.Tracer;
+import com.tracing.TracingInterceptor;
+
+/*
+ * Spreads the showings over the orchestrator nodes: a consistent-hash ring keyed by movie name
+ * and showtime picks the one node that owns a showing, so every purchase contending for its
+ * seats meets the same SeatContentionGuard and SeatAvailabilityCache. Other nodes forward the
+ * topic unchanged to the owner's /api/v1/processTopic. A forwarded topic is marked with the
+ * FORWARDED_BY header and always orchestrated where it lands, so nodes that briefly disagree
+ * on the membership cannot bounce it around. When the owner cannot be connected to the topic
+ * is orchestrated locally; once it was sent it is not, the owner may already be running it.
+ */
+@Component
+public class OrchestrationSharding {
+    private static final Logger LOG = LoggerFactory.getLogger(OrchestrationSharding.class);
+    public static final String FORWARDED_BY = "X-Orchestrator-Forwarded-By";
+
+    private final boolean enabled;
+    private final String self;
+    private final int virtualNodes;
+    private final RestClient client;
+    private volatile HashRing ring;
+
+    private final AtomicLong forwarded = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong membershipChanges = new AtomicLong();
+
+    @Autowired
+    public OrchestrationSharding(@Value("${orchestrator.sharding.enabled:false}") boolean enabled,
+            @Value("${orchestrator.sharding.self-url:http://localhost:${server.port:8089}}") String self,
+            @Value("${orchestrator.sharding.nodes:}") String nodes,
+            @Value("${orchestrator.sharding.virtual-nodes:160}") int virtualNodes,
+            @Value("${orchestrator.sharding.connect-timeout-millis:500}") long connectTimeoutMillis,
+            @Value("${orchestrator.sharding.read-timeout-millis:30000}") long readTimeoutMillis,
+            Tracer tracer) {
+        this(enabled, self, Arrays.asList(nodes.split(",")), virtualNodes, RestClient.builder()
+                .requestFactory(requestFactory(connectTimeoutMillis, readTimeoutMillis))
+                .requestInterceptor(new TracingInterceptor(tracer, "Orchestrator node"))
+                .build());
+    }
+
+    public OrchestrationSharding(boolean enabled, String self, List<String> nodes, int virtualNodes, RestClient client) {
+        this.enabled = enabled;
+        this.self = normalize(self);
+        this.virtualNodes = virtualNodes;
+        this.client = client;
+        List<String> members = members(nodes);
+        this.ring = new HashRing(members.isEmpty() ? List.of(this.self) : members, virtualNodes);
+        if (enabled) {
+            LOG.info("Sharding showings across {} as {}", ring.getNodes(), this.self);
+        }
+    }
+
+    private static JdkClientHttpRequestFactory requestFactory(long connectTimeoutMillis, long readTimeoutMillis) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis)).build());
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+        return factory;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // base URL of the node owning the showing
+    public String ownerOf(Movie movie) {
+        return ring.ownerOf(key(movie));
+    }
+
+    public boolean isSelf(String node) {
+        return self.equals(node);
+    }
+
+    // counts a topic another node forwarded here
+    public void received() {
+        received.incrementAndGet();
+    }
+
+    /*
+     * Sends the topic to its owner and answers what the owner answered, with a Location made
+     * absolute so a 202's status is polled at the owner. Returns null when the owner could not
+     * be connected to and the topic should be orchestrated locally.
+     */
+    public ResponseEntity<String> forward(String owner, String jsonString, boolean async) {
+        try {
+            ResponseEntity<String> response = client.post()
+                    .uri(owner + "/api/v1/processTopic")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(FORWARDED_BY, self)
+                    .headers(headers -> {
+                        if (async) {
+                            headers.set("Prefer", "respond-async");
+                        }
+                    })
+                    .body(jsonString)
+                    .exchange((request, ownerResponse) -> {
+                        ResponseEntity.BodyBuilder builder = ResponseEntity.status(ownerResponse.getStatusCode());
+                        HttpHeaders headers = ownerResponse.getHeaders();
+                        if (headers.getContentType() != null) {
+                            builder.contentType(headers.getContentType());
+                        }
+                        if (headers.getFirst(HttpHeaders.RETRY_AFTER) != null) {
+                            builder.header(HttpHeaders.RETRY_AFTER, headers.getFirst(HttpHeaders.RETRY_AFTER));
+                        }
+                        if (headers.getLocation() != null) {
+                            builder.location(headers.getLocation().isAbsolute() ? headers.getLocation()
+                                    : URI.create(owner).resolve(headers.getLocation()));
+                        }
+                        return builder.body(new String(ownerResponse.getBody().readAllBytes(), StandardCharsets.UTF_8));
+                    });
+            forwarded.incrementAndGet();
+            return response;
+        } catch (RestClientException e) {
+            if (e.getCause() instanceof ConnectException || e.getCause() instanceof HttpConnectTimeoutException) {
+                fallbacks.incrementAndGet();
+                LOG.warn("Owner {} is unreachable... Orchestrating locally.", owner);
+                return null;
+            }
+            failures.incrementAndGet();
+            LOG.error("Forwarding to {} failed: {}", owner, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                    .body("Forwarding to the owning orchestrator " + owner + " failed");
+        }
+    }
+
+    /*
+     * Replaces the membership. Only the showings owned by the nodes that left, or taken over by
+     * the nodes that joined, change owner
+     */
+    public Snapshot updateMembers(List<String> nodes) {
+        List<String> members = members(nodes);
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("At least one orchestrator node is required");
+        }
+        ring = new HashRing(members, virtualNodes);
+        membershipChanges.incrementAndGet();
+        LOG.info("Sharding membership changed to {}", members);
+        return snapshot();
+    }
+
+    public Snapshot snapshot() {
+        HashRing current = ring;
+        return new Snapshot(enabled, self, current.getNodes(), current.shares(), forwarded.get(), received.get(),
+                fallbacks.get(), failures.get(), membershipChanges.get());
+    }
+
+    static String key(Movie movie) {
+        return movie.getMovieName() + "@" + movie.getShowtime().getTime();
+    }
+
+    private static List<String> members(List<String> nodes) {
+        LinkedHashSet<String> members = new LinkedHashSet<>();
+        for (String node : nodes) {
+            if (!node.isBlank()) {
+                members.add(normalize(node));
+            }
+        }
+        return new ArrayList<>(members);
+    }
+
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    // shares is the fraction of the showings each node owns
+    public record Snapshot(boolean enabled, String self, List<String> nodes, Map<String, Double> shares, long forwarded,
+            long received, long fallbacks, long failures, long membershipChanges) {
+    }
+}
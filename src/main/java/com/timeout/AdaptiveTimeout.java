@@ -0,0 +1,152 @@
+package com.timeout;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+/*
+ * Read timeout of a single downstream, learned from the latencies of its recent calls: the
+ * configured percentile of the window times the headroom, kept between the floor and the
+ * ceiling. Until the window holds min-samples calls the ceiling applies. Calls that time out
+ * are recorded at the timeout they hit, so a downstream that slows down as a whole pushes its
+ * timeout up instead of being cut off ever sooner. The timeout is recomputed at most once per
+ * REFRESH_NANOS, reading it is a volatile read.
+ */
+public class AdaptiveTimeout {
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int SLICES = 12;
+
+    private final String downstream;
+    private final Policy policy;
+    private final LatencyWindow window;
+    private final LongSupplier clock;
+    private final AtomicLong nextRefresh;
+    private final AtomicLong timeouts = new AtomicLong();
+    private volatile long timeoutMillis;
+    private volatile LatencyWindow.Summary summary = new LatencyWindow.Summary(0, 0);
+
+    public AdaptiveTimeout(String downstream, Policy policy) {
+        this(downstream, policy, System::nanoTime);
+    }
+
+    public AdaptiveTimeout(String downstream, Policy policy, LongSupplier clock) {
+        this.downstream = downstream;
+        this.policy = policy;
+        this.window = new LatencyWindow(TimeUnit.MILLISECONDS.toNanos(policy.windowMillis()), SLICES);
+        this.clock = clock;
+        this.timeoutMillis = policy.ceilingMillis();
+        this.nextRefresh = new AtomicLong(clock.getAsLong() + REFRESH_NANOS);
+    }
+
+    public long timeoutMillis() {
+        long now = clock.getAsLong();
+        long refreshAt = nextRefresh.get();
+        if (now - refreshAt >= 0 && nextRefresh.compareAndSet(refreshAt, now + REFRESH_NANOS)) {
+            refresh(now);
+        }
+        return timeoutMillis;
+    }
+
+    public void record(long latencyNanos) {
+        window.record(clock.getAsLong(), latencyNanos);
+    }
+
+    private void refresh(long now) {
+        LatencyWindow.Summary current = window.summarize(now, policy.percentile());
+        summary = current;
+        if (current.samples() < policy.minSamples()) {
+            timeoutMillis = policy.ceilingMillis();
+            return;
+        }
+        long learned = (long) Math.ceil(current.percentileMillis() * policy.headroom());
+        timeoutMillis = Math.max(policy.floorMillis(), Math.min(policy.ceilingMillis(), learned));
+    }
+
+    /*
+     * Request factory creating every request with the timeout current at that moment. The
+     * JdkClientHttpRequestFactory for a timeout is cheap and shares the HttpClient, and with it
+     * the connections, so a new one is only built when the timeout changes.
+     */
+    public ClientHttpRequestFactory requestFactory(HttpClient httpClient) {
+        return new ClientHttpRequestFactory() {
+            private volatile Timed current = new Timed(-1, null);
+
+            @Override
+            public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+                long timeout = timeoutMillis();
+                Timed timed = current;
+                if (timed.timeoutMillis() != timeout) {
+                    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+                    requestFactory.setReadTimeout(Duration.ofMillis(timeout));
+                    timed = new Timed(timeout, requestFactory);
+                    current = timed;
+                }
+                return timed.requestFactory().createRequest(uri, httpMethod);
+            }
+        };
+    }
+
+    // RestClient interceptor recording the latency of every call that was answered or timed out
+    public ClientHttpRequestInterceptor interceptor() {
+        return this::intercept;
+    }
+
+    private ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = clock.getAsLong();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            record(clock.getAsLong() - start);
+            return response;
+        } catch (HttpTimeoutException e) {
+            timeouts.incrementAndGet();
+            record(clock.getAsLong() - start);
+            throw e;
+        } catch (CancellationException e) {
+            // JdkClientHttpRequest lets the cancellation of a call that timed out while it was
+            // waiting for the response escape as is, it is reported like any other timeout
+            timeouts.incrementAndGet();
+            record(clock.getAsLong() - start);
+            HttpTimeoutException timeout = new HttpTimeoutException("Request timed out");
+            timeout.initCause(e);
+            throw timeout;
+        }
+    }
+
+    public Snapshot snapshot() {
+        long timeout = timeoutMillis();
+        LatencyWindow.Summary current = summary;
+        return new Snapshot(downstream, timeout, policy.percentile(), current.percentileMillis(), current.samples(),
+                timeouts.get());
+    }
+
+    private record Timed(long timeoutMillis, JdkClientHttpRequestFactory requestFactory) {
+    }
+
+    /*
+     * How the timeout is learned, shared by every downstream: the percentile of the latencies
+     * over the last windowMillis, times the headroom, between floorMillis and ceilingMillis
+     */
+    public record Policy(double percentile, double headroom, long floorMillis, long ceilingMillis, long windowMillis,
+            int minSamples) {
+    }
+
+    // percentileMillis and samples are as of the last time the timeout was recomputed
+    public record Snapshot(String downstream, long timeoutMillis, double percentile, long percentileMillis,
+            long samples, long timeouts) {
+    }
+}
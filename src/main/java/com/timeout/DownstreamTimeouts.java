@@ -0,0 +1,71 @@
+package com.timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.config.DownstreamConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * The AdaptiveTimeout of every downstream when adaptive timeouts are enabled. Each downstream
+ * learns its own timeout under the same policy, and keeps it across reloads of the downstream
+ * settings. Current timeouts are published as the orchestrator.outbound.timeout metric, tagged
+ * with the downstream.
+ */
+@Component
+public class DownstreamTimeouts {
+    private final boolean enabled;
+    private final AdaptiveTimeout.Policy policy;
+    private final Map<String, AdaptiveTimeout> timeouts = new ConcurrentHashMap<>();
+
+    public DownstreamTimeouts(@Value("${orchestrator.adaptive-timeouts.enabled:false}") boolean enabled,
+            @Value("${orchestrator.adaptive-timeouts.percentile:99}") double percentile,
+            @Value("${orchestrator.adaptive-timeouts.headroom:1.5}") double headroom,
+            @Value("${orchestrator.adaptive-timeouts.floor-millis:50}") long floorMillis,
+            @Value("${orchestrator.adaptive-timeouts.ceiling-millis:10000}") long ceilingMillis,
+            @Value("${orchestrator.adaptive-timeouts.window-millis:60000}") long windowMillis,
+            @Value("${orchestrator.adaptive-timeouts.min-samples:100}") int minSamples,
+            MeterRegistry meterRegistry) {
+        if (percentile <= 0 || percentile > 100 || floorMillis <= 0 || ceilingMillis < floorMillis) {
+            throw new IllegalArgumentException("Adaptive timeouts need 0 < percentile <= 100 and 0 < floor <= ceiling");
+        }
+        this.enabled = enabled;
+        this.policy = new AdaptiveTimeout.Policy(percentile, Math.max(1, headroom), floorMillis, ceilingMillis,
+                windowMillis, minSamples);
+        if (!enabled) {
+            return;
+        }
+        for (String downstream : DownstreamConfig.DOWNSTREAMS) {
+            timeouts.put(downstream, new AdaptiveTimeout(downstream, policy));
+            Gauge.builder("orchestrator.outbound.timeout", timeouts.get(downstream), AdaptiveTimeout::timeoutMillis)
+                    .description("Read timeout currently applied to the downstream's calls")
+                    .baseUnit("milliseconds")
+                    .tag("downstream", downstream)
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // the downstream's timeout, or null when adaptive timeouts are disabled
+    public AdaptiveTimeout timeoutFor(String downstream) {
+        return timeouts.get(downstream);
+    }
+
+    public List<AdaptiveTimeout.Snapshot> snapshot() {
+        List<AdaptiveTimeout.Snapshot> snapshot = new ArrayList<>();
+        for (String downstream : DownstreamConfig.DOWNSTREAMS) {
+            AdaptiveTimeout timeout = timeouts.get(downstream);
+            if (timeout != null) {
+                snapshot.add(timeout.snapshot());
+            }
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,117 @@
+package com.timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Histogram of the latencies observed over the last window, split in time slices. A slice is
+ * cleared and reused once it falls out of the window, so the memory stays fixed and recording
+ * is two atomic increments. Bucket bounds grow by 10%, which is also the most a percentile is
+ * off by. Samples recorded while their slice is being cleared may be lost, which is fine for
+ * a statistic over thousands of calls.
+ */
+public class LatencyWindow {
+    // upper bounds in milliseconds, the last bucket also takes everything above it
+    private static final long[] BOUNDS_MILLIS = bounds(120_000);
+
+    private final long sliceNanos;
+    private final Slice[] slices;
+
+    public LatencyWindow(long windowNanos, int sliceCount) {
+        this.slices = new Slice[Math.max(1, sliceCount)];
+        this.sliceNanos = Math.max(1, windowNanos / slices.length);
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    public void record(long nowNanos, long latencyNanos) {
+        long index = Math.floorDiv(nowNanos, sliceNanos);
+        Slice slice = slices[(int) Math.floorMod(index, (long) slices.length)];
+        if (slice.index != index) {
+            slice.reset(index);
+        }
+        slice.counts.incrementAndGet(bucket(latencyNanos));
+        slice.samples.incrementAndGet();
+    }
+
+    /*
+     * Number of samples in the window and the latency (the upper bound of its bucket) that the
+     * given percentage of them did not exceed, 0 when the window is empty
+     */
+    public Summary summarize(long nowNanos, double percentile) {
+        long current = Math.floorDiv(nowNanos, sliceNanos);
+        long[] merged = new long[BOUNDS_MILLIS.length];
+        long samples = 0;
+        for (Slice slice : slices) {
+            long age = current - slice.index;
+            if (age < 0 || age >= slices.length) {
+                continue;
+            }
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += slice.counts.get(i);
+            }
+            samples += slice.samples.get();
+        }
+        if (samples == 0) {
+            return new Summary(0, 0);
+        }
+        long rank = Math.max(1, (long) Math.ceil(samples * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < merged.length; i++) {
+            seen += merged[i];
+            if (seen >= rank) {
+                return new Summary(samples, BOUNDS_MILLIS[i]);
+            }
+        }
+        return new Summary(samples, BOUNDS_MILLIS[BOUNDS_MILLIS.length - 1]);
+    }
+
+    private static int bucket(long latencyNanos) {
+        long millis = (latencyNanos + 999_999) / 1_000_000;
+        int low = 0;
+        int high = BOUNDS_MILLIS.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (BOUNDS_MILLIS[middle] < millis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long[] bounds(long maxMillis) {
+        List<Long> bounds = new ArrayList<>();
+        long bound = 1;
+        while (bound < maxMillis) {
+            bounds.add(bound);
+            bound = Math.max(bound + 1, Math.round(bound * 1.1));
+        }
+        bounds.add(maxMillis);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public record Summary(long samples, long percentileMillis) {
+    }
+
+    private static final class Slice {
+        private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MILLIS.length);
+        private final AtomicLong samples = new AtomicLong();
+        private volatile long index = Long.MIN_VALUE;
+
+        private synchronized void reset(long newIndex) {
+            if (index == newIndex) {
+                return;
+            }
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+            samples.set(0);
+            index = newIndex;
+        }
+    }
+}
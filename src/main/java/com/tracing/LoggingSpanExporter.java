@@ -0,0 +1,20 @@
+package com.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/*
+ * Default exporter writing finished spans to the log at DEBUG level
+ */
+@Component
+public class LoggingSpanExporter implements SpanExporter {
+    private static final Logger LOG = LoggerFactory.getLogger(LoggingSpanExporter.class);
+
+    @Override
+    public void export(Span span) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SPAN {}", span);
+        }
+    }
+}
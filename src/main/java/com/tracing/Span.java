@@ -0,0 +1,117 @@
+package com.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A single timed operation of a trace (an orchestration stage, a schema validation, a downstream
+ * call). Spans are owned by the thread that started them, so attributes are not synchronized.
+ */
+public class Span {
+    static final Span NOOP = new Span(null, "0".repeat(32), "0".repeat(16), null, "noop", false);
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final boolean recording;
+    private final long startEpochMillis;
+    private final long startNanos;
+    private final Map<String, Object> attributes;
+    private long durationNanos = -1;
+
+    Span(Tracer tracer, String traceId, String spanId, String parentSpanId, String name, boolean recording) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.recording = recording;
+        this.startEpochMillis = recording ? System.currentTimeMillis() : 0;
+        this.startNanos = recording ? System.nanoTime() : 0;
+        this.attributes = recording ? new LinkedHashMap<>() : Collections.emptyMap();
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (recording && value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    /*
+     * Makes this span the parent of spans started on the current thread until the scope is closed
+     */
+    public Scope makeCurrent() {
+        if (!recording) {
+            return () -> { };
+        }
+        return tracer.makeCurrent(this);
+    }
+
+    public void end() {
+        if (!recording || durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        tracer.export(this);
+    }
+
+    /*
+     * W3C trace context header value identifying this span as the remote parent
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public long getDurationMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(durationNanos);
+    }
+
+    public Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public Object getAttribute(String key) {
+        return attributes.get(key);
+    }
+
+    @Override
+    public String toString() {
+        return name + " [trace=" + traceId + ", span=" + spanId + ", parent=" + parentSpanId
+                + ", duration=" + getDurationMicros() + "us, attributes=" + attributes + "]";
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,9 @@
+package com.tracing;
+
+/*
+ * Receives every finished span. Implementations are called on the thread that ended the span,
+ * so they must be cheap or hand the span off.
+ */
+public interface SpanExporter {
+    void export(Span span);
+}
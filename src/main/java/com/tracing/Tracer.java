@@ -0,0 +1,108 @@
+package com.tracing;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Minimal W3C trace-context tracer. The current span is tracked per thread, new spans become
+ * children of it, and finished spans are handed to every registered SpanExporter.
+ */
+@Component
+public class Tracer {
+    private static final Logger LOG = LoggerFactory.getLogger(Tracer.class);
+    public static final String TRACEPARENT = "traceparent";
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final List<SpanExporter> exporters;
+    private final boolean enabled;
+
+    public Tracer(List<SpanExporter> exporters, @Value("${orchestrator.tracing.enabled:true}") boolean enabled) {
+        this.exporters = List.copyOf(exporters);
+        this.enabled = enabled;
+        LOG.info("Tracer initialized (enabled={}) with {} exporter(s)", enabled, this.exporters.size());
+    }
+
+    /*
+     * Starts a child of the current span, or a new trace when there is none
+     */
+    public Span startSpan(String name) {
+        if (!enabled) {
+            return Span.NOOP;
+        }
+        Span parent = current.get();
+        if (parent == null) {
+            return new Span(this, randomHex(2), randomHex(1), null, name, true);
+        }
+        return new Span(this, parent.getTraceId(), randomHex(1), parent.getSpanId(), name, true);
+    }
+
+    /*
+     * Starts a span continuing the trace of an incoming traceparent header, falling back to a
+     * new trace when the header is missing or malformed
+     */
+    public Span startSpan(String name, String traceparent) {
+        if (!enabled || !isValid(traceparent)) {
+            return startSpan(name);
+        }
+        return new Span(this, traceparent.substring(3, 35), randomHex(1), traceparent.substring(36, 52), name, true);
+    }
+
+    public Span currentSpan() {
+        Span span = current.get();
+        return span == null ? Span.NOOP : span;
+    }
+
+    Span.Scope makeCurrent(Span span) {
+        Span previous = current.get();
+        current.set(span);
+        return () -> {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        };
+    }
+
+    void export(Span span) {
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(span);
+            } catch (RuntimeException e) {
+                LOG.warn("Span exporter {} failed: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    // 00-<32 hex trace id>-<16 hex parent id>-<2 hex flags>
+    static boolean isValid(String traceparent) {
+        if (traceparent == null || traceparent.length() != 55 || !traceparent.startsWith("00-")
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return false;
+        }
+        for (int i = 3; i < 55; i++) {
+            char c = traceparent.charAt(i);
+            if (i != 35 && i != 52 && Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String randomHex(int longs) {
+        StringBuilder hex = new StringBuilder(longs * 16);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < longs; i++) {
+            String part = Long.toHexString(random.nextLong());
+            for (int pad = part.length(); pad < 16; pad++) {
+                hex.append('0');
+            }
+            hex.append(part);
+        }
+        return hex.toString();
+    }
+}
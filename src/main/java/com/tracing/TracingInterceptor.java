@@ -0,0 +1,46 @@
+package com.tracing;
+
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/*
+ * RestClient interceptor that records a client span for every downstream call and propagates
+ * the trace context to the downstream service through the traceparent header
+ */
+public class TracingInterceptor implements ClientHttpRequestInterceptor {
+    private final Tracer tracer;
+    private final String downstream;
+
+    public TracingInterceptor(Tracer tracer, String downstream) {
+        this.tracer = tracer;
+        this.downstream = downstream;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Span span = tracer.startSpan("HTTP " + request.getMethod().name() + " " + downstream);
+        if (!span.isRecording()) {
+            return execution.execute(request, body);
+        }
+        span.setAttribute("downstream", downstream);
+        span.setAttribute("http.url", request.getURI().toString());
+        span.setAttribute("correlatorId", tracer.currentSpan().getAttribute("correlatorId"));
+        request.getHeaders().set(Tracer.TRACEPARENT, span.traceparent());
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            span.setAttribute("http.status", response.getStatusCode().value());
+            span.setAttribute("outcome", response.getStatusCode().isError() ? "ERROR" : "OK");
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.setAttribute("outcome", "ERROR");
+            span.setAttribute("error", e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS orchestration_outcome (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    correlator_id INTEGER,
+    movie_name VARCHAR(255),
+    seat_numbers VARCHAR(255),
+    http_status INTEGER,
+    started_at TIMESTAMP NOT NULL,
+    duration_micros BIGINT NOT NULL,
+    stages VARCHAR(1000) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS orchestration_outcome_correlator_id ON orchestration_outcome (correlator_id);
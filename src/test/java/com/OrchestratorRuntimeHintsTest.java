@@ -0,0 +1,28 @@
+package com;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import com.localTopics.GroupTicketRequest;
+import com.topics.MovieTicketRequest;
+
+public class OrchestratorRuntimeHintsTest {
+
+	@Test
+	@DisplayName("[AOT] Every topic the controller binds is registered for reflection")
+	public void topicsAreBindable(TestInfo testInfo) throws NoSuchMethodException {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		RuntimeHints hints = new RuntimeHints();
+		new OrchestratorRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+		for (Class<?> topic : new Class<?>[] { MovieTicketRequest.class, GroupTicketRequest.class }) {
+			Assertions.assertTrue(RuntimeHintsPredicates.reflection().onType(topic).test(hints), topic.getName());
+			Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+					.onMethod(topic.getMethod("setTopicName", String.class)).invoke().test(hints), topic.getName());
+		}
+		Assertions.assertTrue(RuntimeHintsPredicates.resource().forResource("json-schema/GroupTicketRequest.json").test(hints));
+	}
+}
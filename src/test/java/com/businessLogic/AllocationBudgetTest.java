@@ -0,0 +1,206 @@
+package com.businessLogic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.web.client.RestClient;
+import com.capture.TrafficCapture;
+import com.controller.MainController;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+import com.sharding.OrchestrationSharding;
+import com.topics.MovieTicketRequest;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Bytes allocated on the calling thread per operation on the purchase path, checked against
+ * src/test/resources/allocation-budgets.properties. Downstreams are the in-process no-op ones, so
+ * the numbers cover the orchestrator's own work (including the tracing spans and the request
+ * objects handed to RestClient) but not a real HTTP stack. Loggers are raised to WARN while
+ * measuring: eagerly concatenated log messages are still counted, the console output is not.
+ *
+ * When a change legitimately moves a number, update the budget in the same commit.
+ */
+public class AllocationBudgetTest {
+	private static final int WARMUP = 2000;
+	private static final int MEASURED = 500;
+	private static final OffsetDateTime SHOWTIME = OffsetDateTime.parse("2025-11-10T19:30:00-06:00");
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private static final LoggingSystem LOGGING = LoggingSystem.get(AllocationBudgetTest.class.getClassLoader());
+	private static final List<String> LOGGERS = List.of("com.businessLogic", "com.controller", "com.tracing");
+
+	private static final Properties budgets = new Properties();
+	private static final ObjectMapper mapper = new ObjectMapper();
+	private static SchemaValidator schemaValidator;
+	private static BusinessLogic businessLogic;
+	private static MainController mainController;
+
+	@BeforeAll
+	static void setUp() throws IOException {
+		Assumptions.assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled(),
+				"Thread allocation accounting is not available on this JVM");
+		try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+			budgets.load(in);
+		}
+		LOGGERS.forEach(logger -> LOGGING.setLogLevel(logger, LogLevel.WARN));
+
+		Tracer tracer = new Tracer(List.of(), true);
+		businessLogic = new NoOpDownstreams().businessLogic(tracer, new SeatAvailabilityCache(true, 2000, 10000),
+				new SeatContentionGuard(256, 2000));
+		schemaValidator = new SchemaValidator(new DefaultResourceLoader());
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 20, 4, 200, 0.9, 2.0, 250);
+		PartitionedOrchestrationExecutor partitionedExecutor = new PartitionedOrchestrationExecutor(false, 0, 1000);
+		TopicPreChecks preChecks = new TopicPreChecks(16384, List.of("MovieTicketRequest", "GroupTicketRequest"));
+		mainController = new MainController(schemaValidator, preChecks, businessLogic, limiter, partitionedExecutor, tracer,
+				new TrafficCapture(false, "traffic.capture", 1),
+				new AsyncOrchestrations(false, 1, 1000, 1, new OrchestrationRegistry(), System::nanoTime),
+				new OrchestrationSharding(false, "http://localhost:8089", List.of(), 160, RestClient.create()),
+				new DownstreamCallbacks(false, 0, "", 1), new ClientDisconnects(false, 100, new SimpleMeterRegistry()));
+	}
+
+	@AfterAll
+	static void tearDown() {
+		LOGGERS.forEach(logger -> LOGGING.setLogLevel(logger, null));
+	}
+
+	@Test
+	@DisplayName("[ALLOCATION] processRestTopics end to end")
+	public void processRestTopics(TestInfo testInfo) {
+		announce(testInfo);
+		assertWithinBudget("processRestTopics", AllocationBudgetTest::json,
+				json -> mainController.processRestTopics(json, null, null, null));
+	}
+
+	@Test
+	@DisplayName("[ALLOCATION] Schema validation")
+	public void validate(TestInfo testInfo) {
+		announce(testInfo);
+		assertWithinBudget("validate", i -> new JSONObject(json(i)),
+				json -> schemaValidator.validateJson("MovieTicketRequest", json));
+	}
+
+	@Test
+	@DisplayName("[ALLOCATION] Binding the MovieTicketRequest")
+	public void bind(TestInfo testInfo) {
+		announce(testInfo);
+		assertWithinBudget("bind", AllocationBudgetTest::json, json -> {
+			try {
+				mapper.readValue(json, MovieTicketRequest.class);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	@Test
+	@DisplayName("[ALLOCATION] orchestrate")
+	public void orchestrate(TestInfo testInfo) {
+		announce(testInfo);
+		assertWithinBudget("orchestrate", AllocationBudgetTest::request, businessLogic::orchestrate);
+	}
+
+	@Test
+	@DisplayName("[ALLOCATION] Orchestration stages")
+	public void stages(TestInfo testInfo) {
+		announce(testInfo);
+		assertWithinBudget("seat-hold", AllocationBudgetTest::request,
+				request -> businessLogic.sendSeatRequest(businessLogic.currentEndpoints(), new OutboundTopics(request)));
+		assertWithinBudget("payment", AllocationBudgetTest::request,
+				request -> businessLogic.sendPaymentRequest(businessLogic.currentEndpoints(), new OutboundTopics(request)));
+		assertWithinBudget("seat-confirmation", i -> i,
+				correlatorId -> businessLogic.sendConfirmationResponse(businessLogic.currentEndpoints(), correlatorId));
+		assertWithinBudget("create-ticket", AllocationBudgetTest::request,
+				request -> businessLogic.sendCreateTicketRequest(businessLogic.currentEndpoints(), new OutboundTopics(request)));
+		assertWithinBudget("gateway-response", AllocationBudgetTest::request,
+				request -> businessLogic.createMovieTicketResponse(businessLogic.currentEndpoints(), new OutboundTopics(request), 1));
+	}
+
+	/*
+	 * Inputs are built up front so only the operation itself is measured, and every iteration
+	 * books a different showing so the seat cache never short-circuits the saga
+	 */
+	private static <T> void assertWithinBudget(String stage, IntFunction<T> input,
+			Consumer<T> operation) {
+		run(WARMUP, input, operation, 0);
+		long bytesPerOp = run(MEASURED, input, operation, WARMUP) / MEASURED;
+		long budget = Long.parseLong(budgets.getProperty(stage));
+		System.out.printf("%-18s %8d bytes/op (budget %d)%n", stage, bytesPerOp, budget);
+		Assertions.assertTrue(bytesPerOp <= budget,
+				stage + " allocated " + bytesPerOp + " bytes/op, over its budget of " + budget);
+	}
+
+	private static <T> long run(int iterations, IntFunction<T> input, Consumer<T> operation,
+			int offset) {
+		Object[] inputs = new Object[iterations];
+		for (int i = 0; i < iterations; i++) {
+			inputs[i] = input.apply(offset + i);
+		}
+		long start = THREADS.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < iterations; i++) {
+			@SuppressWarnings("unchecked")
+			T next = (T) inputs[i];
+			operation.accept(next);
+		}
+		return THREADS.getCurrentThreadAllocatedBytes() - start;
+	}
+
+	private static void announce(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+	}
+
+	private static MovieTicketRequest request(int i) {
+		try {
+			return mapper.readValue(json(i), MovieTicketRequest.class);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String json(int i) {
+		String showtime = SHOWTIME.plusMinutes(i).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+		return """
+			{
+				"topicName": "MovieTicketRequest",
+				"correlatorId": %d,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "%s",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "E6",
+				"price": 12.50,
+				"payment": {
+					"topicName": "PaymentRequest",
+					"correlatorId": %d,
+					"paymentAmount": 12.50,
+					"email": "bryzntest@gmail.com",
+					"creditCard": "6011000990139424",
+					"cvc": "321"
+				}
+			}
+			""".formatted(i, showtime, i);
+	}
+}
@@ -0,0 +1,232 @@
+package com.businessLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import com.capture.TrafficCapture;
+import com.controller.MainController;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+import com.sharding.OrchestrationSharding;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AsyncOrchestrationsTest {
+	private static final String PURCHASE = """
+		{
+			"topicName": "MovieTicketRequest",
+			"correlatorId": 1001,
+			"movie": {
+				"movieName": "Inception",
+				"showtime": "2025-11-10T19:30:00-06:00",
+				"genre": "SCIFI"
+			},
+			"seatNumber": "E6",
+			"price": 12.50,
+			"payment": {
+				"topicName": "PaymentRequest",
+				"correlatorId": 1001,
+				"paymentAmount": 12.50,
+				"email": "bryzntest@gmail.com",
+				"creditCard": "6011000990139424",
+				"cvc": "321"
+			}
+		}
+		""";
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] An accepted purchase is polled from memory until it completes")
+	public void acceptsAndPolls(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CountDownLatch paymentStarted = new CountDownLatch(1);
+		CountDownLatch releasePayment = new CountDownLatch(1);
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.beforeResponse = uri -> {
+			if (uri.getHost().equals("payment")) {
+				paymentStarted.countDown();
+				await(releasePayment);
+			}
+		};
+		AsyncOrchestrations asyncOrchestrations = new AsyncOrchestrations(true, 10, 60000, 100,
+				stubs.orchestrationRegistry, System::nanoTime);
+		MainController mainController = controller(stubs.build(), asyncOrchestrations);
+
+		ResponseEntity<String> accepted = mainController.processRestTopics(PURCHASE, null, "respond-async", null);
+		Assertions.assertEquals(HttpStatus.ACCEPTED, accepted.getStatusCode());
+		Assertions.assertEquals("/api/v1/orchestrations/1001", accepted.getHeaders().getFirst(HttpHeaders.LOCATION));
+		Assertions.assertTrue(accepted.getBody().contains("\"correlatorId\":1001"), accepted.getBody());
+
+		Assertions.assertTrue(paymentStarted.await(5, TimeUnit.SECONDS));
+		int calls = stubs.calls.size();
+		AsyncOrchestrations.Status running = mainController.orchestrationStatus(1001).getBody();
+		Assertions.assertEquals(AsyncOrchestrations.State.RUNNING, running.state());
+		Assertions.assertEquals("payment", running.stage());
+		Assertions.assertEquals(calls, stubs.calls.size());
+
+		releasePayment.countDown();
+		AsyncOrchestrations.Status completed = awaitFinal(asyncOrchestrations, 1001);
+		Assertions.assertEquals(AsyncOrchestrations.State.COMPLETED, completed.state());
+		Assertions.assertEquals(200, completed.httpStatus());
+		Assertions.assertEquals("Orchestration completed successfully!", completed.body());
+		Assertions.assertEquals(HttpStatus.NOT_FOUND, mainController.orchestrationStatus(1002).getStatusCode());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Without Prefer: respond-async the purchase stays synchronous")
+	public void synchronousByDefault(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		AsyncOrchestrations asyncOrchestrations = new AsyncOrchestrations(true, 10, 60000, 100,
+				stubs.orchestrationRegistry, System::nanoTime);
+		MainController mainController = controller(stubs.build(), asyncOrchestrations);
+
+		Assertions.assertEquals(HttpStatus.OK, mainController.processRestTopics(PURCHASE, null, null, null).getStatusCode());
+		Assertions.assertNull(asyncOrchestrations.status(1001));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A correlatorId still in progress is not orchestrated twice")
+	public void duplicateNotStartedTwice(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+		AsyncOrchestrations asyncOrchestrations = new AsyncOrchestrations(true, 10, 60000, 100,
+				new OrchestrationRegistry(), System::nanoTime);
+
+		Assertions.assertNotNull(asyncOrchestrations.accept(1001, () -> {
+			runs.incrementAndGet();
+			await(release);
+			return ResponseEntity.ok("done");
+		}));
+		Assertions.assertNotNull(asyncOrchestrations.accept(1001, () -> {
+			runs.incrementAndGet();
+			return ResponseEntity.ok("again");
+		}));
+		release.countDown();
+
+		Assertions.assertEquals("done", awaitFinal(asyncOrchestrations, 1001).body());
+		Assertions.assertEquals(1, runs.get());
+		Assertions.assertEquals(1, asyncOrchestrations.snapshot().duplicates());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Concurrent submissions of one correlatorId start a single saga")
+	public void concurrentDuplicatesStartOnce(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		int submitters = 16;
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+		AsyncOrchestrations asyncOrchestrations = new AsyncOrchestrations(true, submitters, 60000, 100,
+				new OrchestrationRegistry(), System::nanoTime);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < submitters; i++) {
+			threads.add(Thread.ofPlatform().start(() -> {
+				await(start);
+				asyncOrchestrations.accept(1001, () -> {
+					runs.incrementAndGet();
+					await(release);
+					return ResponseEntity.ok("done");
+				});
+			}));
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		release.countDown();
+
+		Assertions.assertEquals("done", awaitFinal(asyncOrchestrations, 1001).body());
+		Assertions.assertEquals(1, runs.get());
+		Assertions.assertEquals(1, asyncOrchestrations.snapshot().accepted());
+		Assertions.assertEquals(submitters - 1, asyncOrchestrations.snapshot().duplicates());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Background orchestrations beyond max-in-flight are rejected")
+	public void rejectsBeyondMaxInFlight(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CountDownLatch release = new CountDownLatch(1);
+		AsyncOrchestrations asyncOrchestrations = new AsyncOrchestrations(true, 1, 60000, 100,
+				new OrchestrationRegistry(), System::nanoTime);
+
+		Assertions.assertNotNull(asyncOrchestrations.accept(1, () -> {
+			await(release);
+			return ResponseEntity.status(HttpStatus.CONFLICT).body("taken");
+		}));
+		Assertions.assertNull(asyncOrchestrations.accept(2, () -> ResponseEntity.ok("done")));
+		release.countDown();
+
+		AsyncOrchestrations.Status failed = awaitFinal(asyncOrchestrations, 1);
+		Assertions.assertEquals(AsyncOrchestrations.State.FAILED, failed.state());
+		Assertions.assertEquals(409, failed.httpStatus());
+		Assertions.assertEquals(1, asyncOrchestrations.snapshot().rejected());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Statuses expire and the oldest are evicted when full")
+	public void statusesAreBounded(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		AtomicLong now = new AtomicLong();
+		AsyncOrchestrations asyncOrchestrations = new AsyncOrchestrations(true, 10, 1000, 2,
+				new OrchestrationRegistry(), now::get);
+
+		for (int correlatorId = 1; correlatorId <= 3; correlatorId++) {
+			asyncOrchestrations.accept(correlatorId, () -> ResponseEntity.ok("done"));
+			awaitFinal(asyncOrchestrations, correlatorId);
+		}
+		Assertions.assertNull(asyncOrchestrations.status(1));
+		Assertions.assertNotNull(asyncOrchestrations.status(2));
+		Assertions.assertEquals(2, asyncOrchestrations.snapshot().statuses());
+
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		Assertions.assertNull(asyncOrchestrations.status(3));
+	}
+
+	private static MainController controller(BusinessLogic businessLogic, AsyncOrchestrations asyncOrchestrations) {
+		return new MainController(new SchemaValidator(new DefaultResourceLoader()),
+				new TopicPreChecks(16384, List.of("MovieTicketRequest", "GroupTicketRequest")), businessLogic,
+				new AdaptiveConcurrencyLimiter(false, 20, 4, 200, 0.9, 2.0, 250),
+				new PartitionedOrchestrationExecutor(false, 0, 1000), new Tracer(List.of(), true),
+				new TrafficCapture(false, "traffic.capture", 1), asyncOrchestrations,
+				new OrchestrationSharding(false, "http://localhost:8089", List.of(), 160, RestClient.create()),
+				new DownstreamCallbacks(false, 0, "", 1), new ClientDisconnects(false, 100, new SimpleMeterRegistry()));
+	}
+
+	private static AsyncOrchestrations.Status awaitFinal(AsyncOrchestrations asyncOrchestrations, int correlatorId)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		AsyncOrchestrations.Status status = asyncOrchestrations.status(correlatorId);
+		while ((status == null || status.completedAtEpochMillis() == 0) && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+			status = asyncOrchestrations.status(correlatorId);
+		}
+		Assertions.assertNotNull(status);
+		Assertions.assertNotEquals(0, status.completedAtEpochMillis(), status.toString());
+		return status;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
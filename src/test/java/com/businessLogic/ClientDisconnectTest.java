@@ -0,0 +1,156 @@
+package com.businessLogic;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.ResponseEntity;
+import com.disconnect.ClientDisconnects;
+import com.tracing.Tracer;
+
+public class ClientDisconnectTest {
+	private final StubDownstreams stubs = new StubDownstreams();
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	@BeforeEach
+	public void watchConnections() {
+		stubs.clientDisconnects = new ClientDisconnects(true, 5, stubs.meterRegistry);
+		stubs.clientDisconnects.start();
+	}
+
+	@AfterEach
+	public void stopWatching() {
+		stubs.clientDisconnects.stop();
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A disconnect during the seat hold cancels the hold and skips the payment")
+	public void cancelsSeatHoldInFlight(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CountDownLatch never = new CountDownLatch(1);
+		stubs.beforeResponse = uri -> {
+			if (uri.getHost().equals("seating") && !uri.getPath().endsWith("release")) {
+				closed.set(true);
+				try {
+					never.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Request was interrupted", e);
+				}
+			}
+		};
+
+		ResponseEntity<String> response = orchestrate(stubs.build());
+
+		Assertions.assertEquals(ClientDisconnects.CLIENT_CLOSED_REQUEST, response.getStatusCode().value(), response.getBody());
+		Assertions.assertEquals(0, stubs.count("payment"));
+		Assertions.assertEquals(0, stubs.count("movie"));
+		Assertions.assertEquals(0, stubs.count("gateway"));
+		// the abandoned hold may have gone through
+		Assertions.assertEquals(1, stubs.count("seating:8085 /api/v1/release"));
+		Assertions.assertFalse(Thread.currentThread().isInterrupted());
+		ClientDisconnects.Snapshot snapshot = stubs.clientDisconnects.snapshot();
+		Assertions.assertEquals(1, snapshot.cancelledSagas());
+		Assertions.assertEquals(1, snapshot.cancelledCalls());
+		Assertions.assertEquals(4, snapshot.avoidedCalls());
+		Assertions.assertEquals(0, snapshot.watching());
+		Assertions.assertEquals(1, stubs.meterRegistry.get("orchestrator.disconnects.cancelled-sagas").counter().count());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A disconnect after the seat hold releases the seat and skips the payment")
+	public void releasesHeldSeat(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		// the client goes away once the seat-hold stage has ended, before the payment checkpoint
+		stubs.tracer = new Tracer(List.of(span -> {
+			if (span.getName().equals("seat-hold")) {
+				closed.set(true);
+				awaitDisconnect(stubs.clientDisconnects.current());
+			}
+		}), true);
+
+		ResponseEntity<String> response = orchestrate(stubs.build());
+
+		Assertions.assertEquals(ClientDisconnects.CLIENT_CLOSED_REQUEST, response.getStatusCode().value(), response.getBody());
+		Assertions.assertEquals(1, stubs.count("seating:8085 /api/v1/release"));
+		Assertions.assertEquals(0, stubs.count("payment"));
+		Assertions.assertEquals(0, stubs.count("movie"));
+		Assertions.assertEquals(0, stubs.count("gateway"));
+		Assertions.assertTrue(stubs.bodies("seating").get(1).contains("1001"), stubs.bodies("seating").toString());
+		ClientDisconnects.Snapshot snapshot = stubs.clientDisconnects.snapshot();
+		Assertions.assertEquals(1, snapshot.cancelledSagas());
+		Assertions.assertEquals(0, snapshot.cancelledCalls());
+		Assertions.assertEquals(4, snapshot.avoidedCalls());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A client gone before the saga starts costs no downstream call")
+	public void stopsBeforeFirstCall(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		BusinessLogic businessLogic = stubs.build();
+		closed.set(true);
+
+		ResponseEntity<String> response;
+		try (ClientDisconnects.Watch watch = stubs.clientDisconnects.watch(closed::get)) {
+			awaitDisconnect(watch);
+			response = businessLogic.orchestrate(OrchestrateTracingTest.request());
+		}
+
+		Assertions.assertEquals(ClientDisconnects.CLIENT_CLOSED_REQUEST, response.getStatusCode().value());
+		Assertions.assertTrue(stubs.calls.isEmpty(), stubs.calls.toString());
+		ClientDisconnects.Snapshot snapshot = stubs.clientDisconnects.snapshot();
+		Assertions.assertEquals(1, snapshot.cancelledSagas());
+		Assertions.assertEquals(0, snapshot.cancelledCalls());
+		Assertions.assertEquals(5, snapshot.avoidedCalls());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A disconnect once the payment is under way still completes the purchase")
+	public void completesPaidPurchase(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		stubs.beforeResponse = uri -> {
+			if (uri.getHost().equals("payment")) {
+				closed.set(true);
+				// long enough for several polls, none of them interrupts the payment
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					throw new IllegalStateException("The payment was interrupted", e);
+				}
+			}
+		};
+
+		ResponseEntity<String> response = orchestrate(stubs.build());
+
+		Assertions.assertTrue(response.getStatusCode().is2xxSuccessful(), response.getBody());
+		Assertions.assertEquals(1, stubs.count("gateway"));
+		ClientDisconnects.Snapshot snapshot = stubs.clientDisconnects.snapshot();
+		Assertions.assertEquals(1, snapshot.disconnects());
+		Assertions.assertEquals(0, snapshot.cancelledSagas());
+		Assertions.assertEquals(0, snapshot.cancelledCalls());
+	}
+
+	private static void awaitDisconnect(ClientDisconnects.Watch watch) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!watch.isDisconnected() && System.nanoTime() < deadline) {
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private ResponseEntity<String> orchestrate(BusinessLogic businessLogic) {
+		try (ClientDisconnects.Watch watch = stubs.clientDisconnects.watch(closed::get)) {
+			return businessLogic.orchestrate(OrchestrateTracingTest.request());
+		}
+	}
+}
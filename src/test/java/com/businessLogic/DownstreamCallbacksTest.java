@@ -0,0 +1,158 @@
+package com.businessLogic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.web.client.RestClient;
+import com.capture.TrafficCapture;
+import com.controller.MainController;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+import com.sharding.OrchestrationSharding;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class DownstreamCallbacksTest {
+	private static final String PURCHASE = """
+		{
+			"topicName": "MovieTicketRequest",
+			"correlatorId": 4801,
+			"movie": {
+				"movieName": "Inception",
+				"showtime": "2025-11-10T19:30:00-06:00",
+				"genre": "SCIFI"
+			},
+			"seatNumber": "E6",
+			"price": 12.50,
+			"payment": {
+				"topicName": "PaymentRequest",
+				"correlatorId": 4801,
+				"paymentAmount": 12.50,
+				"email": "bryzntest@gmail.com",
+				"creditCard": "6011000990139424",
+				"cvc": "321"
+			}
+		}
+		""";
+	private static final String CALLBACK_URL = "http://localhost:8089/api/v1/processTopic";
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Response topics posted back by the downstreams complete the saga")
+	public void correlatesResponseTopics(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.callbacks = new DownstreamCallbacks(true, 5000, CALLBACK_URL, 4);
+		MainController mainController = controller(stubs.build(), stubs.callbacks);
+		List<CompletableFuture<ResponseEntity<String>>> deliveries = Collections.synchronizedList(new ArrayList<>());
+		// each response topic arrives a little later, on another thread
+		stubs.responseTopics = topic -> deliveries.add(CompletableFuture.supplyAsync(
+				() -> mainController.processRestTopics(topic, null, null, null),
+				CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS)));
+
+		ResponseEntity<String> response = mainController.processRestTopics(PURCHASE, null, null, null);
+
+		Assertions.assertEquals(HttpStatus.OK, response.getStatusCode(), response.getBody());
+		Assertions.assertEquals(3, deliveries.size());
+		for (CompletableFuture<ResponseEntity<String>> delivery : deliveries) {
+			Assertions.assertEquals(HttpStatus.OK, delivery.get(5, TimeUnit.SECONDS).getStatusCode());
+		}
+		DownstreamCallbacks.Snapshot snapshot = stubs.callbacks.snapshot();
+		Assertions.assertEquals(3, snapshot.correlated());
+		Assertions.assertEquals(0, snapshot.timeouts());
+		Assertions.assertTrue(snapshot.waiting().values().stream().allMatch(waiting -> waiting == 0), snapshot.toString());
+		// the ticket created through the CreateTicketResponse topic reached the API Gateway
+		Assertions.assertTrue(stubs.bodies("gateway").get(0).contains("\"ticketId\":8060001"));
+
+		// the hops with a response topic asked for it, the others stayed synchronous
+		for (MockClientHttpRequest request : stubs.requests) {
+			boolean hasResponseTopic = !request.getURI().getHost().equals("gateway")
+					&& !request.getURI().getPath().endsWith("confirmation");
+			Assertions.assertEquals(hasResponseTopic ? "respond-async" : null, request.getHeaders().getFirst("Prefer"),
+					request.getURI().toString());
+			Assertions.assertEquals(hasResponseTopic ? CALLBACK_URL : null,
+					request.getHeaders().getFirst(DownstreamCallbacks.CALLBACK_URL));
+		}
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A response topic that never arrives fails the stage after the timeout")
+	public void timesOutMissingResponse(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.callbacks = new DownstreamCallbacks(true, 200, CALLBACK_URL, 4);
+		MainController mainController = controller(stubs.build(), stubs.callbacks);
+		List<String> lost = new ArrayList<>();
+		stubs.responseTopics = topic -> {
+			if (topic.contains("\"PaymentResponse\"")) {
+				lost.add(topic);
+			} else {
+				mainController.processRestTopics(topic, null, null, null);
+			}
+		};
+
+		ResponseEntity<String> response = mainController.processRestTopics(PURCHASE, null, null, null);
+
+		Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+		Assertions.assertEquals(0, stubs.count("movie"));
+		Assertions.assertEquals(1, stubs.callbacks.snapshot().timeouts());
+		Assertions.assertEquals(0, stubs.callbacks.snapshot().waiting().get("PaymentResponse"));
+
+		// arriving after the saga gave up, it matches nothing
+		Assertions.assertEquals(HttpStatus.NOT_FOUND,
+				mainController.processRestTopics(lost.get(0), null, null, null).getStatusCode());
+		Assertions.assertEquals(1, stubs.callbacks.snapshot().unmatched());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A downstream answering right away is used as before")
+	public void synchronousAnswersStillWork(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.callbacks = new DownstreamCallbacks(true, 5000, CALLBACK_URL, 4);
+		MainController mainController = controller(stubs.build(), stubs.callbacks);
+
+		Assertions.assertEquals(HttpStatus.OK, mainController.processRestTopics(PURCHASE, null, null, null).getStatusCode());
+		Assertions.assertEquals(3, stubs.callbacks.snapshot().synchronousReplies());
+		Assertions.assertEquals(0, stubs.callbacks.snapshot().correlated());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Only a top-level response topicName makes a topic a callback")
+	public void recognisesCallbacksByTopLevelTopicName(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		DownstreamCallbacks callbacks = new DownstreamCallbacks(true, 5000, CALLBACK_URL, 4);
+		String seatResponse = "{\"topicName\": \"SeatResponse\", \"correlatorId\": 4801, \"status\": \"HOLDING\"}";
+		// the ICD lets a purchase carry extra properties, which must not get it past the limiter
+		String disguised = PURCHASE.replace("\"price\": 12.50,", "\"price\": 12.50, \"extra\": {\"topicName\": \"SeatResponse\"},");
+
+		Assertions.assertTrue(callbacks.isCallback(seatResponse));
+		Assertions.assertFalse(callbacks.isCallback(disguised));
+		Assertions.assertFalse(callbacks.isCallback("{\"topicName\": \"SeatResponse\""));
+		Assertions.assertFalse(new DownstreamCallbacks(false, 5000, CALLBACK_URL, 4).isCallback(seatResponse));
+	}
+
+	private static MainController controller(BusinessLogic businessLogic, DownstreamCallbacks callbacks) {
+		return new MainController(new SchemaValidator(new DefaultResourceLoader()),
+				new TopicPreChecks(16384, List.of("MovieTicketRequest", "SeatResponse", "PaymentResponse",
+						"CreateTicketResponse")), businessLogic,
+				new AdaptiveConcurrencyLimiter(false, 20, 4, 200, 0.9, 2.0, 250),
+				new PartitionedOrchestrationExecutor(false, 0, 1000), new Tracer(List.of(), true),
+				new TrafficCapture(false, "traffic.capture", 1),
+				new AsyncOrchestrations(false, 1, 1000, 1, new OrchestrationRegistry()),
+				new OrchestrationSharding(false, "http://localhost:8089", List.of(), 160, RestClient.create()), callbacks,
+				new ClientDisconnects(false, 100, new SimpleMeterRegistry()));
+	}
+}
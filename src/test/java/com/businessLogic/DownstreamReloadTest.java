@@ -0,0 +1,93 @@
+package com.businessLogic;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import com.config.DownstreamConfig;
+import com.topics.MovieTicketRequest;
+
+public class DownstreamReloadTest {
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] In-flight orchestrations finish on the settings they started with")
+	public void inFlightKeepsOldSettings(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CountDownLatch seatHoldStarted = new CountDownLatch(1);
+		CountDownLatch releaseSeatHold = new CountDownLatch(1);
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.beforeResponse = uri -> {
+			if (uri.getPath().equals("/api/v1/") && seatHoldStarted.getCount() > 0) {
+				seatHoldStarted.countDown();
+				await(releaseSeatHold);
+			}
+		};
+		BusinessLogic businessLogic = stubs.build();
+
+		CompletableFuture<ResponseEntity<String>> inFlight = CompletableFuture.supplyAsync(
+				() -> businessLogic.orchestrate(OrchestrateTracingTest.request()));
+		Assertions.assertTrue(seatHoldStarted.await(5, TimeUnit.SECONDS));
+
+		stubs.environment.setProperty("payment.service.port", "9084");
+		Assertions.assertEquals(2, stubs.downstreamConfig.reload().version());
+		releaseSeatHold.countDown();
+
+		Assertions.assertEquals(HttpStatus.OK, inFlight.get(5, TimeUnit.SECONDS).getStatusCode());
+		Assertions.assertTrue(stubs.calls.contains("payment:8084 /api/v1/processTopic"), stubs.calls.toString());
+
+		MovieTicketRequest next = OrchestrateTracingTest.request();
+		next.setSeatNumber("E7");
+		Assertions.assertEquals(HttpStatus.OK, businessLogic.orchestrate(next).getStatusCode());
+		Assertions.assertEquals(1, stubs.count("payment:9084"));
+		Assertions.assertEquals(1, stubs.count("payment:8084"));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Only downstreams whose settings changed get new clients")
+	public void unchangedDownstreamsKeepTheirClients(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		BusinessLogic businessLogic = stubs.build();
+		BusinessLogic.Endpoints before = businessLogic.currentEndpoints();
+
+		stubs.environment.setProperty("movie.service.read-timeout-millis", "1500");
+		stubs.environment.setProperty("seating.service", "seating-green");
+		stubs.downstreamConfig.reload();
+		BusinessLogic.Endpoints after = businessLogic.currentEndpoints();
+
+		Assertions.assertEquals(2, after.version());
+		Assertions.assertSame(before.apiGateway(), after.apiGateway());
+		Assertions.assertSame(before.paymentService(), after.paymentService());
+		Assertions.assertNotSame(before.movieService().client(), after.movieService().client());
+		Assertions.assertEquals(1500, after.movieService().settings().readTimeoutMillis());
+		Assertions.assertEquals("http://seating-green:8085/api/v1/", after.seatingService().url());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Settings older than the ones applied are ignored")
+	public void ignoresStaleSettings(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		BusinessLogic businessLogic = stubs.build();
+		DownstreamConfig first = stubs.downstreamConfig.current();
+
+		stubs.environment.setProperty("api.gateway.port", "9081");
+		stubs.downstreamConfig.reload();
+		businessLogic.applyConfig(first);
+
+		Assertions.assertEquals("http://gateway:9081/api/v1/processTopic", businessLogic.currentEndpoints().apiGateway().url());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
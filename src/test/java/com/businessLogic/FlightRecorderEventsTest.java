@@ -0,0 +1,150 @@
+package com.businessLogic;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClient;
+import com.capture.TrafficCapture;
+import com.controller.MainController;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.profiling.OrchestrationStageEvent;
+import com.profiling.SchemaValidationEvent;
+import com.profiling.TopicBindingEvent;
+import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+import com.sharding.OrchestrationSharding;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class FlightRecorderEventsTest {
+	private static final String PURCHASE = """
+		{
+			"topicName": "MovieTicketRequest",
+			"correlatorId": %d,
+			"movie": {
+				"movieName": "Inception",
+				"showtime": "2025-11-10T19:30:00-06:00",
+				"genre": "SCIFI"
+			},
+			"seatNumber": "%s",
+			"price": 12.50,
+			"payment": {
+				"topicName": "PaymentRequest",
+				"correlatorId": %d,
+				"paymentAmount": 12.50,
+				"email": "bryzntest@gmail.com",
+				"creditCard": "6011000990139424",
+				"cvc": "321"
+			}
+		}
+		""";
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Every stage, schema validation and binding of a purchase is a JFR event")
+	public void purchaseRecorded(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		MainController mainController = controller(stubs.build());
+
+		List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.enable(OrchestrationStageEvent.class);
+			recording.enable(SchemaValidationEvent.class);
+			recording.enable(TopicBindingEvent.class);
+			recording.start();
+			Assertions.assertEquals(HttpStatus.OK,
+					mainController.processRestTopics(PURCHASE.formatted(4701, "E6", 4701), null, null, null).getStatusCode());
+			// seat numbers are at most 3 characters long
+			Assertions.assertEquals(HttpStatus.BAD_REQUEST,
+					mainController.processRestTopics(PURCHASE.formatted(4702, "E600", 4702), null, null, null).getStatusCode());
+			recording.stop();
+			events = read(recording);
+		}
+
+		List<RecordedEvent> stages = events.stream()
+				.filter(event -> event.getEventType().getName().equals("orchestrator.OrchestrationStage")).toList();
+		Assertions.assertEquals(List.of("seat-hold", "payment", "seat-confirmation", "create-ticket", "gateway-response"),
+				stages.stream().map(event -> event.getString("stage")).toList());
+		Assertions.assertEquals(List.of("Seating Service", "Payment Service", "Seating Service", "Movie Service", "API Gateway"),
+				stages.stream().map(event -> event.getString("downstream")).toList());
+		Assertions.assertEquals(List.of("HOLDING", "SUCCESSFUL", "BOOKED", "CREATED", "200 OK"),
+				stages.stream().map(event -> event.getString("outcome")).toList());
+		for (RecordedEvent stage : stages) {
+			Assertions.assertEquals(4701, stage.getInt("correlatorId"));
+			Assertions.assertEquals("MovieTicketRequest", stage.getString("topic"));
+		}
+
+		List<RecordedEvent> validations = events.stream()
+				.filter(event -> event.getEventType().getName().equals("orchestrator.SchemaValidation")).toList();
+		Assertions.assertEquals(List.of(4701, 4702), validations.stream().map(event -> event.getInt("correlatorId")).toList());
+		Assertions.assertEquals(List.of("VALID", "INVALID"), validations.stream().map(event -> event.getString("outcome")).toList());
+		Assertions.assertEquals(1, validations.get(1).getInt("violations"));
+
+		// only the valid purchase was bound
+		List<RecordedEvent> bindings = events.stream()
+				.filter(event -> event.getEventType().getName().equals("orchestrator.TopicBinding")).toList();
+		Assertions.assertEquals(1, bindings.size());
+		Assertions.assertEquals(4701, bindings.get(0).getInt("correlatorId"));
+		Assertions.assertEquals("BOUND", bindings.get(0).getString("outcome"));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] The stages of a group purchase are recorded under the GroupTicketRequest")
+	public void groupStagesRecorded(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		MainController mainController = controller(stubs.build());
+		String group = PURCHASE.formatted(4703, "E6", 4703)
+				.replace("\"MovieTicketRequest\"", "\"GroupTicketRequest\"")
+				.replace("\"seatNumber\": \"E6\"", "\"seatNumbers\": [\"E6\", \"E7\", \"E8\"]");
+
+		List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.enable(OrchestrationStageEvent.class);
+			recording.start();
+			Assertions.assertEquals(HttpStatus.OK, mainController.processRestTopics(group, null, null, null).getStatusCode());
+			recording.stop();
+			events = read(recording).stream()
+					.filter(event -> event.getEventType().getName().equals("orchestrator.OrchestrationStage")).toList();
+		}
+
+		Assertions.assertEquals(List.of("group-seat-hold", "payment", "seat-confirmation", "group-create-ticket",
+				"gateway-response"), events.stream().map(event -> event.getString("stage")).toList());
+		for (RecordedEvent stage : events) {
+			Assertions.assertEquals("GroupTicketRequest", stage.getString("topic"));
+		}
+	}
+
+	private static List<RecordedEvent> read(Recording recording) throws Exception {
+		Path file = Files.createTempFile("events-", ".jfr");
+		try {
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+					.sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime())).toList();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static MainController controller(BusinessLogic businessLogic) {
+		return new MainController(new SchemaValidator(new DefaultResourceLoader()),
+				new TopicPreChecks(16384, List.of("MovieTicketRequest", "GroupTicketRequest")), businessLogic,
+				new AdaptiveConcurrencyLimiter(false, 20, 4, 200, 0.9, 2.0, 250),
+				new PartitionedOrchestrationExecutor(false, 0, 1000), new Tracer(List.of(), true),
+				new TrafficCapture(false, "traffic.capture", 1),
+				new AsyncOrchestrations(false, 1, 1000, 1, new OrchestrationRegistry()),
+				new OrchestrationSharding(false, "http://localhost:8089", List.of(), 160, RestClient.create()),
+				new DownstreamCallbacks(false, 0, "", 1), new ClientDisconnects(false, 100, new SimpleMeterRegistry()));
+	}
+}
@@ -0,0 +1,117 @@
+package com.businessLogic;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.HttpStatus;
+import com.localTopics.GroupTicketRequest;
+import com.topics.MovieTicketRequest;
+
+public class GroupBookingTest {
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A group of seats is booked with one call per stage")
+	public void booksGroupInOneSaga(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertEquals(HttpStatus.OK, businessLogic.orchestrateGroup(request("E6", "E7", "E8")).getStatusCode());
+
+		// seat hold, payment, confirmation, ticket creation and the gateway response
+		Assertions.assertEquals(5, stubs.calls.size(), stubs.calls.toString());
+		Assertions.assertTrue(stubs.bodies("seating").get(0).contains("\"seatNumbers\":[\"E6\",\"E7\",\"E8\"]"));
+		Assertions.assertTrue(stubs.bodies("gateway").get(0).contains("\"ticketIds\":[8060001,8060002,8060003]"),
+				stubs.bodies("gateway").get(0));
+		for (MovieTicketRequest seat : List.of(seat("E6"), seat("E7"), seat("E8"))) {
+			Assertions.assertTrue(stubs.seatAvailabilityCache.isUnavailable(seat));
+		}
+		Assertions.assertEquals(0, stubs.seatContentionGuard.snapshot().heldSeats());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Tickets of a partially created group are cancelled")
+	public void cancelsPartialGroup(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.groupTicketIds = List.of(8060001, 8060002);
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertEquals(HttpStatus.BAD_GATEWAY,
+				businessLogic.orchestrateGroup(request("E6", "E7", "E8")).getStatusCode());
+
+		List<String> movieCalls = stubs.bodies("movie");
+		Assertions.assertEquals(3, movieCalls.size(), movieCalls.toString());
+		Assertions.assertTrue(movieCalls.get(1).contains("\"ticketId\":8060001"), movieCalls.get(1));
+		Assertions.assertTrue(movieCalls.get(1).contains("\"seatNumber\":\"E6\""), movieCalls.get(1));
+		Assertions.assertTrue(movieCalls.get(2).contains("\"ticketId\":8060002"), movieCalls.get(2));
+		Assertions.assertEquals(0, stubs.count("gateway"));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] More tickets than seats fail the group and cancel the tickets of its seats")
+	public void failsOnExtraTickets(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.groupTicketIds = List.of(8060001, 8060002, 8060003, 8060004);
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertEquals(HttpStatus.BAD_GATEWAY,
+				businessLogic.orchestrateGroup(request("E6", "E7", "E8")).getStatusCode());
+
+		List<String> movieCalls = stubs.bodies("movie");
+		Assertions.assertEquals(4, movieCalls.size(), movieCalls.toString());
+		Assertions.assertTrue(movieCalls.get(3).contains("\"ticketId\":8060003"), movieCalls.get(3));
+		Assertions.assertTrue(movieCalls.get(3).contains("\"seatNumber\":\"E8\""), movieCalls.get(3));
+		Assertions.assertEquals(0, stubs.count("gateway"));
+		Assertions.assertEquals(0, stubs.seatContentionGuard.snapshot().heldSeats());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A group fails stage 1 when the seats could not be held")
+	public void failsWhenSeatsNotHeld(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.seatStatus = "FAILED";
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertEquals(HttpStatus.CONFLICT, businessLogic.orchestrateGroup(request("E6", "E7")).getStatusCode());
+		Assertions.assertEquals(1, stubs.calls.size(), stubs.calls.toString());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A group containing a seat held elsewhere fails without calling downstreams")
+	public void failsWhenOneSeatIsHeld(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = new StubDownstreams();
+		BusinessLogic businessLogic = stubs.build();
+
+		try (SeatContentionGuard.Claim other = stubs.seatContentionGuard.claim(seat("E7"))) {
+			other.holding();
+			Assertions.assertEquals(HttpStatus.CONFLICT,
+					businessLogic.orchestrateGroup(request("E6", "E7", "E8")).getStatusCode());
+		}
+		Assertions.assertTrue(stubs.calls.isEmpty(), stubs.calls.toString());
+		Assertions.assertEquals(0, stubs.seatContentionGuard.snapshot().heldSeats());
+	}
+
+	static GroupTicketRequest request(String... seatNumbers) {
+		MovieTicketRequest single = OrchestrateTracingTest.request();
+		GroupTicketRequest request = new GroupTicketRequest();
+		request.setTopicName("GroupTicketRequest");
+		request.setCorrelatorId(single.getCorrelatorId());
+		request.setMovie(single.getMovie());
+		request.setSeatNumbers(List.of(seatNumbers));
+		request.setPrice(single.getPrice());
+		request.setPayment(single.getPayment());
+		return request;
+	}
+
+	private static MovieTicketRequest seat(String seatNumber) {
+		MovieTicketRequest seat = OrchestrateTracingTest.request();
+		seat.setSeatNumber(seatNumber);
+		return seat;
+	}
+}
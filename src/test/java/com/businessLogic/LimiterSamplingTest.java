@@ -0,0 +1,97 @@
+package com.businessLogic;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import com.capture.TrafficCapture;
+import com.controller.MainController;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+import com.sharding.OrchestrationSharding;
+import com.topics.MovieTicketRequest;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class LimiterSamplingTest {
+	private final StubDownstreams stubs = new StubDownstreams();
+	// window of 10 samples, any sample over twice the baseline halves the limit
+	private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 20, 4, 200, 0.5, 2.0, 10);
+
+	@Test
+	@DisplayName("[LIMITER] Seats rejected without a downstream call don't drag the baseline down")
+	public void fastRejectionsAreNoSamples(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		stubs.beforeResponse = uri -> {
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				throw new IllegalStateException("The downstream was interrupted", e);
+			}
+		};
+		// the taken seat stays cached for the whole test
+		stubs.seatAvailabilityCache = new SeatAvailabilityCache(true, 60000, 1000);
+		MainController controller = controller(stubs.build());
+		stubs.seatAvailabilityCache.recordUnavailable(new ObjectMapper().readValue(purchase(999, "Z9"), MovieTicketRequest.class));
+
+		// an on-sale spike: every purchase that reaches the downstreams among many for a taken seat
+		for (int i = 0; i < 40; i++) {
+			ResponseEntity<String> bought = controller.processRestTopics(purchase(i, "A" + (i + 1)), null, null, null);
+			Assertions.assertTrue(bought.getStatusCode().is2xxSuccessful(), bought.getBody());
+			for (int j = 0; j < 5; j++) {
+				ResponseEntity<String> taken = controller.processRestTopics(purchase(1000 + i * 5 + j, "Z9"), null, null, null);
+				Assertions.assertEquals(HttpStatus.CONFLICT, taken.getStatusCode());
+			}
+		}
+
+		AdaptiveConcurrencyLimiter.Snapshot snapshot = limiter.snapshot();
+		Assertions.assertEquals(240, snapshot.accepted());
+		Assertions.assertEquals(0, snapshot.inFlight());
+		// five downstream calls of at least 5ms each
+		Assertions.assertTrue(snapshot.baselineLatencyMillis() >= 25, snapshot.toString());
+		Assertions.assertEquals(20, snapshot.limit(), snapshot.toString());
+	}
+
+	private MainController controller(BusinessLogic businessLogic) {
+		return new MainController(new SchemaValidator(new DefaultResourceLoader()),
+				new TopicPreChecks(16384, List.of("MovieTicketRequest", "GroupTicketRequest")), businessLogic, limiter,
+				new PartitionedOrchestrationExecutor(false, 0, 1000), stubs.tracer,
+				new TrafficCapture(false, "traffic.capture", 1),
+				new AsyncOrchestrations(false, 1, 1000, 1, new OrchestrationRegistry(), System::nanoTime),
+				new OrchestrationSharding(false, "http://localhost:8089", List.of(), 160, RestClient.create()),
+				stubs.callbacks, new ClientDisconnects(false, 100, new SimpleMeterRegistry()));
+	}
+
+	private static String purchase(int correlatorId, String seatNumber) {
+		return """
+			{
+				"topicName": "MovieTicketRequest",
+				"correlatorId": %d,
+				"movie": {
+					"movieName": "Inception",
+					"showtime": "2025-11-10T19:30:00-06:00",
+					"genre": "SCIFI"
+				},
+				"seatNumber": "%s",
+				"price": 12.50,
+				"payment": {
+					"topicName": "PaymentRequest",
+					"correlatorId": %d,
+					"paymentAmount": 12.50,
+					"email": "bryzntest@gmail.com",
+					"creditCard": "6011000990139424",
+					"cvc": "321"
+				}
+			}
+			""".formatted(correlatorId, seatNumber, correlatorId);
+	}
+}
@@ -0,0 +1,97 @@
+package com.businessLogic;
+
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import com.topics.Movie;
+import com.topics.MovieTicketRequest;
+import com.topics.PaymentRequest;
+import com.tracing.InMemorySpanExporter;
+import com.tracing.Span;
+import com.tracing.Tracer;
+
+public class OrchestrateTracingTest {
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Every stage and downstream call gets a span")
+	public void stagesAreTraced(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		InMemorySpanExporter exporter = new InMemorySpanExporter();
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.tracer = new Tracer(List.of(exporter), true);
+		BusinessLogic businessLogic = stubs.build();
+
+		ResponseEntity<String> response = businessLogic.orchestrate(request());
+		Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+
+		Span root = exporter.getSpans("orchestrate MovieTicketRequest").get(0);
+		Assertions.assertNull(root.getParentSpanId());
+		Assertions.assertEquals(1001, root.getAttribute("correlatorId"));
+		Assertions.assertEquals(200, root.getAttribute("http.status"));
+
+		String[][] stages = {
+			{ "seat-hold", "HOLDING", "Seating Service" },
+			{ "payment", "SUCCESSFUL", "Payment Service" },
+			{ "seat-confirmation", "BOOKED", "Seating Service" },
+			{ "create-ticket", "CREATED", "Movie Service" },
+			{ "gateway-response", "200 OK", "API Gateway" },
+		};
+		for (String[] stage : stages) {
+			Span span = exporter.getSpans(stage[0]).get(0);
+			Assertions.assertEquals(root.getTraceId(), span.getTraceId());
+			Assertions.assertEquals(root.getSpanId(), span.getParentSpanId());
+			Assertions.assertEquals(1001, span.getAttribute("correlatorId"));
+			Assertions.assertEquals(stage[1], span.getAttribute("outcome"));
+
+			// the downstream call is a child of its stage
+			Span call = exporter.getSpans().stream()
+					.filter(s -> span.getSpanId().equals(s.getParentSpanId()))
+					.findFirst().orElseThrow();
+			Assertions.assertEquals("HTTP POST " + stage[2], call.getName());
+			Assertions.assertEquals(1001, call.getAttribute("correlatorId"));
+		}
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Failed stages are tagged with their outcome")
+	public void failedStageOutcome(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		InMemorySpanExporter exporter = new InMemorySpanExporter();
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.tracer = new Tracer(List.of(exporter), true);
+		stubs.paymentStatus = "FAILED";
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertEquals(HttpStatus.BAD_GATEWAY, businessLogic.orchestrate(request()).getStatusCode());
+		Assertions.assertEquals("FAILED", exporter.getSpans("payment").get(0).getAttribute("outcome"));
+		Assertions.assertEquals(502, exporter.getSpans("orchestrate MovieTicketRequest").get(0).getAttribute("http.status"));
+		Assertions.assertTrue(exporter.getSpans("create-ticket").isEmpty());
+	}
+
+	static MovieTicketRequest request() {
+		Movie movie = new Movie();
+		movie.setMovieName("Inception");
+		movie.setShowtime(new Date(1762824600000L));
+		movie.setGenre(Movie.Genre.SCIFI);
+		PaymentRequest payment = new PaymentRequest();
+		payment.setTopicName("PaymentRequest");
+		payment.setCorrelatorId(1001);
+		payment.setPaymentAmount(12.50);
+		payment.setEmail("dummyemail@gmail.com");
+		payment.setCreditCard("6011000990139424");
+		payment.setCvc("321");
+		MovieTicketRequest request = new MovieTicketRequest();
+		request.setTopicName("MovieTicketRequest");
+		request.setCorrelatorId(1001);
+		request.setMovie(movie);
+		request.setSeatNumber("E6");
+		request.setPrice(12.50);
+		request.setPayment(payment);
+		return request;
+	}
+}
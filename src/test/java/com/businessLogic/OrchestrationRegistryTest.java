@@ -0,0 +1,148 @@
+package com.businessLogic;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import com.outcome.OutcomeStore;
+import com.topics.MovieTicketRequest;
+
+public class OrchestrationRegistryTest {
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] In-flight orchestrations report their current stage")
+	public void reportsStuckStage(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CountDownLatch paymentStarted = new CountDownLatch(1);
+		CountDownLatch releasePayment = new CountDownLatch(1);
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.beforeResponse = uri -> {
+			if (uri.getHost().equals("payment")) {
+				paymentStarted.countDown();
+				await(releasePayment);
+			}
+		};
+		BusinessLogic businessLogic = stubs.build();
+
+		CompletableFuture<ResponseEntity<String>> saga = CompletableFuture.supplyAsync(
+				() -> businessLogic.orchestrate(OrchestrateTracingTest.request()));
+		Assertions.assertTrue(paymentStarted.await(5, TimeUnit.SECONDS));
+
+		OrchestrationRegistry.Snapshot snapshot = stubs.orchestrationRegistry.snapshot(10);
+		Assertions.assertEquals(1, snapshot.inFlight());
+		Assertions.assertEquals(1, snapshot.stageCounts().get("payment"));
+		Assertions.assertEquals(1001, snapshot.oldest().get(0).correlatorId());
+		Assertions.assertEquals("E6", snapshot.oldest().get(0).seatNumber());
+
+		releasePayment.countDown();
+		Assertions.assertEquals(HttpStatus.OK, saga.get(5, TimeUnit.SECONDS).getStatusCode());
+		snapshot = stubs.orchestrationRegistry.snapshot(10);
+		Assertions.assertEquals(0, snapshot.inFlight());
+		Assertions.assertEquals(1, snapshot.completed());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Oldest orchestrations are listed first")
+	public void oldestFirst(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		OrchestrationRegistry registry = new OrchestrationRegistry();
+		for (int i = 0; i < 5; i++) {
+			MovieTicketRequest request = OrchestrateTracingTest.request();
+			request.setCorrelatorId(i);
+			registry.begin(request);
+			Thread.sleep(2);
+		}
+		registry.enterStage(0, "create-ticket");
+
+		OrchestrationRegistry.Snapshot snapshot = registry.snapshot(2);
+		Assertions.assertEquals(5, snapshot.inFlight());
+		Assertions.assertEquals(2, snapshot.oldest().size());
+		Assertions.assertEquals(0, snapshot.oldest().get(0).correlatorId());
+		Assertions.assertEquals(1, snapshot.oldest().get(1).correlatorId());
+		Assertions.assertEquals(4, snapshot.stageCounts().get(OrchestrationRegistry.SEAT_CLAIM));
+		Assertions.assertEquals(1, snapshot.stageCounts().get("create-ticket"));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Finished orchestrations are persisted with their stages")
+	public void persistsOutcomes(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true).build();
+		OutcomeStore outcomeStore = new OutcomeStore(true, 100, 100, 5, true, database);
+		outcomeStore.start();
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.orchestrationRegistry = new OrchestrationRegistry(outcomeStore);
+		stubs.paymentStatus = "FAILED";
+		BusinessLogic businessLogic = stubs.build();
+
+		businessLogic.orchestrate(OrchestrateTracingTest.request());
+		outcomeStore.stop();
+
+		Map<String, Object> row = new JdbcTemplate(database).queryForMap("SELECT * FROM orchestration_outcome");
+		database.shutdown();
+		Assertions.assertEquals(1001, row.get("CORRELATOR_ID"));
+		Assertions.assertEquals("Inception", row.get("MOVIE_NAME"));
+		Assertions.assertEquals(HttpStatus.BAD_GATEWAY.value(), row.get("HTTP_STATUS"));
+		Assertions.assertTrue(String.valueOf(row.get("STAGES")).matches("seat-claim:\\d+,seat-hold:\\d+,payment:\\d+,seat-release:\\d+"),
+				String.valueOf(row.get("STAGES")));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Overlapped stages are reported together and timed separately")
+	public void recordsOverlappedStages(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true).build();
+		OutcomeStore outcomeStore = new OutcomeStore(true, 100, 100, 5, true, database);
+		outcomeStore.start();
+		OrchestrationRegistry registry = new OrchestrationRegistry(outcomeStore);
+		OrchestrationRegistry.Active orchestration = registry.begin(OrchestrateTracingTest.request());
+
+		registry.enterStage(1001, "payment");
+		registry.enterOverlappedStage(1001, "seat-confirmation");
+		registry.enterOverlappedStage(1001, "create-ticket");
+		Assertions.assertEquals("seat-confirmation+create-ticket", registry.stageOf(1001));
+		Thread.sleep(20);
+		registry.exitOverlappedStage(1001, "create-ticket");
+		Assertions.assertEquals("seat-confirmation", registry.stageOf(1001));
+		Thread.sleep(40);
+		registry.exitOverlappedStage(1001, "seat-confirmation");
+		registry.enterStage(1001, "gateway-response");
+		orchestration.status(HttpStatus.OK.value());
+		registry.end(orchestration);
+		outcomeStore.stop();
+
+		String stages = String.valueOf(new JdbcTemplate(database)
+				.queryForObject("SELECT stages FROM orchestration_outcome", String.class));
+		database.shutdown();
+		Map<String, Long> micros = new HashMap<>();
+		for (String stage : stages.split(",")) {
+			String[] nameAndMicros = stage.split(":");
+			micros.put(nameAndMicros[0], Long.parseLong(nameAndMicros[1]));
+		}
+		Assertions.assertEquals(5, micros.size(), stages);
+		Assertions.assertTrue(micros.get("create-ticket") >= 20_000, stages);
+		Assertions.assertTrue(micros.get("seat-confirmation") >= 60_000, stages);
+		Assertions.assertTrue(micros.get("seat-confirmation") > micros.get("create-ticket"), stages);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
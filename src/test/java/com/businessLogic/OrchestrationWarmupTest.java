@@ -0,0 +1,67 @@
+package com.businessLogic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.io.DefaultResourceLoader;
+import com.schema.SchemaValidator;
+
+public class OrchestrationWarmupTest {
+	private final SchemaValidator schemaValidator = new SchemaValidator(new DefaultResourceLoader());
+	private final LoggingSystem loggingSystem = LoggingSystem.get(getClass().getClassLoader());
+
+	@Test
+	@DisplayName("[WARMUP] Synthetic requests run the full purchase path")
+	public void runsFullPurchasePath(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		OrchestrationWarmup warmup = new OrchestrationWarmup(schemaValidator, loggingSystem, true, 200, 30000);
+
+		OrchestrationWarmup.Report report = warmup.warmUp();
+
+		Assertions.assertTrue(report.completed());
+		Assertions.assertEquals(200, report.iterations());
+		// every tenth payload is rejected by the schema and never orchestrated
+		Assertions.assertEquals(180, report.orchestrated());
+	}
+
+	@Test
+	@DisplayName("[WARMUP] Duration cap cuts the warm-up short")
+	public void stopsAtMaxDuration(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		OrchestrationWarmup warmup = new OrchestrationWarmup(schemaValidator, loggingSystem, true, 1000000, 0);
+
+		OrchestrationWarmup.Report report = warmup.warmUp();
+
+		Assertions.assertTrue(report.completed());
+		Assertions.assertEquals(0, report.iterations());
+	}
+
+	@Test
+	@DisplayName("[WARMUP] Logger levels are restored afterwards")
+	public void restoresLoggerLevels(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		loggingSystem.setLogLevel("com.businessLogic", LogLevel.DEBUG);
+		try {
+			new OrchestrationWarmup(schemaValidator, loggingSystem, true, 10, 30000).warmUp();
+
+			Assertions.assertEquals(LogLevel.DEBUG,
+					loggingSystem.getLoggerConfiguration("com.businessLogic").getConfiguredLevel());
+		} finally {
+			loggingSystem.setLogLevel("com.businessLogic", null);
+		}
+	}
+
+	@Test
+	@DisplayName("[WARMUP] Disabled warm-up leaves the report empty")
+	public void disabled(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		OrchestrationWarmup warmup = new OrchestrationWarmup(schemaValidator, loggingSystem, false, 1000, 30000);
+
+		warmup.start();
+
+		Assertions.assertFalse(warmup.report().completed());
+	}
+}
@@ -0,0 +1,131 @@
+package com.businessLogic;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.function.ToIntFunction;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.topics.CreateTicketRequest;
+import com.topics.MovieTicketRequest;
+import com.topics.MovieTicketResponse;
+import com.topics.PaymentRequest;
+import com.topics.SeatRequest;
+
+/*
+ * Encodes the four topic bodies a purchase sends (SeatRequest, PaymentRequest,
+ * CreateTicketRequest, MovieTicketResponse) the way BusinessLogic used to, copying the fields into
+ * ICD objects that the RestClient's Jackson mapper serializes, and with OutboundTopics splicing
+ * fragments encoded once per purchase. Both write the same bytes, the rows show the CPU time and
+ * the bytes allocated per purchase.
+ *
+ * scripts/benchmark-outbound-encoding.sh [iterations]
+ */
+public class OutboundEncodingBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        PrintStream out = System.out;
+        MovieTicketRequest request = MAPPER.readValue("""
+            {
+                "topicName": "MovieTicketRequest",
+                "correlatorId": 1001,
+                "movie": {
+                    "movieName": "Inception",
+                    "showtime": "2025-11-10T19:30:00-06:00",
+                    "genre": "SCIFI"
+                },
+                "seatNumber": "E6",
+                "price": 12.50,
+                "payment": {
+                    "topicName": "PaymentRequest",
+                    "correlatorId": 1001,
+                    "paymentAmount": 12.50,
+                    "email": "bryzntest@gmail.com",
+                    "creditCard": "6011000990139424",
+                    "cvc": "321"
+                }
+            }
+            """, MovieTicketRequest.class);
+
+        int wireBytes = jackson(request);
+        if (wireBytes != spliced(request)) {
+            out.println("The spliced bodies differ from Jackson's, run OutboundTopicsTest");
+            System.exit(1);
+        }
+        out.printf("%d bytes sent per purchase%n", wireBytes);
+        out.printf("%-24s %12s %12s%n", "encoding", "us/op", "bytes/op");
+        double[] jackson = run(out, "ICD objects + Jackson", iterations, OutboundEncodingBenchmark::jackson, request);
+        double[] spliced = run(out, "spliced fragments", iterations, OutboundEncodingBenchmark::spliced, request);
+        out.printf("%-24s %12.2f %12d%n", "saved per purchase", jackson[0] - spliced[0], (long) (jackson[1] - spliced[1]));
+    }
+
+    private static double[] run(PrintStream out, String name, int iterations, ToIntFunction<MovieTicketRequest> encode,
+            MovieTicketRequest request) {
+        // warm-up round, then the measured one
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += encode.applyAsInt(request);
+        }
+        long thread = Thread.currentThread().getId();
+        long bytes = THREADS.getThreadAllocatedBytes(thread);
+        long cpu = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += encode.applyAsInt(request);
+        }
+        double micros = (THREADS.getCurrentThreadCpuTime() - cpu) / 1000.0 / iterations;
+        double allocated = (double) (THREADS.getThreadAllocatedBytes(thread) - bytes) / iterations;
+        out.printf("%-24s %12.2f %12d%n", name, micros, (long) allocated);
+        if (sink == 42) {
+            out.println();
+        }
+        return new double[] { micros, allocated };
+    }
+
+    // the bodies one purchase sends, as BusinessLogic built them before OutboundTopics
+    private static int jackson(MovieTicketRequest movieRequest) {
+        SeatRequest seatRequest = new SeatRequest();
+        seatRequest.setTopicName("SeatRequest");
+        seatRequest.setCorrelatorId(movieRequest.getCorrelatorId());
+        seatRequest.setMovieName(movieRequest.getMovie().getMovieName());
+        seatRequest.setShowtime(movieRequest.getMovie().getShowtime());
+        seatRequest.setSeatNumber(movieRequest.getSeatNumber());
+
+        PaymentRequest paymentRequest = new PaymentRequest();
+        paymentRequest.setTopicName("PaymentRequest");
+        paymentRequest.setCorrelatorId(movieRequest.getCorrelatorId());
+        paymentRequest.setEmail(movieRequest.getPayment().getEmail());
+        paymentRequest.setPaymentAmount(movieRequest.getPayment().getPaymentAmount());
+        paymentRequest.setCreditCard(movieRequest.getPayment().getCreditCard());
+        paymentRequest.setCvc(movieRequest.getPayment().getCvc());
+
+        CreateTicketRequest createTicketRequest = new CreateTicketRequest();
+        createTicketRequest.setTopicName("CreateTicketRequest");
+        createTicketRequest.setMovie(movieRequest.getMovie());
+        createTicketRequest.setSeatNumber(movieRequest.getSeatNumber());
+        createTicketRequest.setCorrelatorId(movieRequest.getCorrelatorId());
+
+        MovieTicketResponse movieResponse = new MovieTicketResponse();
+        movieResponse.setTopicName("MovieTicketResponse");
+        movieResponse.setCorrelatorId(movieRequest.getCorrelatorId());
+        movieResponse.setMovie(movieRequest.getMovie());
+        movieResponse.setSeatNumber(movieRequest.getSeatNumber());
+        movieResponse.setTicketId(8060000);
+
+        try {
+            return MAPPER.writeValueAsBytes(seatRequest).length + MAPPER.writeValueAsBytes(paymentRequest).length
+                    + MAPPER.writeValueAsBytes(createTicketRequest).length + MAPPER.writeValueAsBytes(movieResponse).length;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int spliced(MovieTicketRequest movieRequest) {
+        OutboundTopics topics = new OutboundTopics(movieRequest);
+        return topics.seatRequest().length + topics.paymentRequest().length + topics.createTicketRequest().length
+                + topics.movieTicketResponse(8060000).length;
+    }
+}
@@ -0,0 +1,68 @@
+package com.businessLogic;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import com.topics.MovieTicketRequest;
+import com.tracing.InMemorySpanExporter;
+import com.tracing.Tracer;
+
+public class OutboundRateLimitTest {
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Orchestrations over a downstream's rate limit are turned away with a 503")
+	public void rejectsOverRateLimit(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		InMemorySpanExporter exporter = new InMemorySpanExporter();
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.tracer = new Tracer(List.of(exporter), true);
+		stubs.environment.setProperty("payment.service.rate-limit.permits-per-second", "0.1");
+		stubs.environment.setProperty("payment.service.rate-limit.max-wait-millis", "100");
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertEquals(HttpStatus.OK, businessLogic.orchestrate(OrchestrateTracingTest.request()).getStatusCode());
+
+		MovieTicketRequest next = OrchestrateTracingTest.request();
+		next.setSeatNumber("E7");
+		ResponseEntity<String> rejected = businessLogic.orchestrate(next);
+		Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+		Assertions.assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		Assertions.assertEquals(1, stubs.count("payment"));
+		Assertions.assertEquals("RATE_LIMITED", exporter.getSpans("payment").get(1).getAttribute("outcome"));
+		Assertions.assertEquals("deadline", exporter.getSpans("payment").get(1).getAttribute("rateLimit.reason"));
+		Assertions.assertEquals(1.0, stubs.meterRegistry.get("orchestrator.outbound.rate-limit.rejected")
+				.tag("downstream", "Payment Service").counter().count());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A failed gateway response is retried at retry priority")
+	public void retriesGatewayResponse(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		InMemorySpanExporter exporter = new InMemorySpanExporter();
+		AtomicInteger gatewayCalls = new AtomicInteger();
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.tracer = new Tracer(List.of(exporter), true);
+		stubs.environment.setProperty("api.gateway.rate-limit.permits-per-second", "100");
+		stubs.gatewayResponseRetries = 1;
+		stubs.gatewayStatus = HttpStatus.ACCEPTED;
+		stubs.beforeResponse = uri -> {
+			if (uri.getHost().equals("gateway") && gatewayCalls.incrementAndGet() > 1) {
+				stubs.gatewayStatus = HttpStatus.OK;
+			}
+		};
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertEquals(HttpStatus.OK, businessLogic.orchestrate(OrchestrateTracingTest.request()).getStatusCode());
+		Assertions.assertEquals(2, stubs.count("gateway"));
+		Assertions.assertEquals("202 ACCEPTED", exporter.getSpans("gateway-response").get(0).getAttribute("outcome"));
+		Assertions.assertEquals("200 OK", exporter.getSpans("gateway-response-retry").get(0).getAttribute("outcome"));
+		Assertions.assertEquals(1, stubs.meterRegistry.get("orchestrator.outbound.rate-limit.wait")
+				.tag("downstream", "API Gateway").tag("priority", "RETRY").timer().count());
+	}
+}
@@ -0,0 +1,117 @@
+package com.businessLogic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.topics.CreateTicketRequest;
+import com.topics.Movie;
+import com.topics.Movie.Genre;
+import com.topics.MovieTicketRequest;
+import com.topics.MovieTicketResponse;
+import com.topics.PaymentRequest;
+import com.topics.SeatRequest;
+
+public class OutboundTopicsTest {
+	// what the RestClient's message converter serializes the ICD objects with
+	private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+	@Test
+	@DisplayName("[ENCODING] Spliced topic bodies are byte for byte what Jackson writes for the ICD objects")
+	public void matchesJackson(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		assertMatchesJackson(request(1001, "Inception", new Date(1762824600000L), Genre.SCIFI, "E6", 12.5, "bryzntest@gmail.com"));
+		// characters Jackson escapes, non-ASCII written as UTF-8, and numbers in their longer forms
+		assertMatchesJackson(request(-2147483648, "Amélie \"Le Fabuleux\"\n\t\\ / \u0001 東京 😀", new Date(-1L),
+				Genre.ROMANCE, "Ü12", 12345678.9, "a/b+\"c\"@d.com"));
+		assertMatchesJackson(request(7, "Alien", new Date(0L), Genre.HORROR, "A1", 1.0E-5, "x@y.z"));
+	}
+
+	@Test
+	@DisplayName("[ENCODING] Fields Jackson leaves out are left out of the spliced bodies")
+	public void leavesOutNulls(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		assertMatchesJackson(request(1001, null, null, null, "E6", null, null));
+		assertMatchesJackson(request(null, null, new Date(1762824600000L), Genre.DRAMA, null, 10.0, "a@b.com"));
+		assertMatchesJackson(request(1001, "Inception", null, null, "E6", 10.0, null));
+
+		MovieTicketRequest noMovie = request(1001, null, null, null, "E6", 10.0, "a@b.com");
+		noMovie.setMovie(null);
+		assertMatchesJackson(noMovie);
+		Assertions.assertEquals("{\"topicName\":\"CreateTicketRequest\",\"correlatorId\":1001,\"seatNumber\":\"E6\"}",
+				new String(new OutboundTopics(noMovie).createTicketRequest(), StandardCharsets.UTF_8));
+	}
+
+	// compared with the ICD objects built the way BusinessLogic built them before
+	private void assertMatchesJackson(MovieTicketRequest movieRequest) throws Exception {
+		OutboundTopics topics = new OutboundTopics(movieRequest);
+		Movie movie = movieRequest.getMovie();
+
+		SeatRequest seatRequest = new SeatRequest();
+		seatRequest.setTopicName("SeatRequest");
+		seatRequest.setCorrelatorId(movieRequest.getCorrelatorId());
+		seatRequest.setMovieName(movie == null ? null : movie.getMovieName());
+		seatRequest.setShowtime(movie == null ? null : movie.getShowtime());
+		seatRequest.setSeatNumber(movieRequest.getSeatNumber());
+		assertSameBytes(seatRequest, topics.seatRequest());
+
+		PaymentRequest paymentRequest = new PaymentRequest();
+		paymentRequest.setTopicName("PaymentRequest");
+		paymentRequest.setCorrelatorId(movieRequest.getCorrelatorId());
+		paymentRequest.setEmail(movieRequest.getPayment().getEmail());
+		paymentRequest.setPaymentAmount(movieRequest.getPayment().getPaymentAmount());
+		paymentRequest.setCreditCard(movieRequest.getPayment().getCreditCard());
+		paymentRequest.setCvc(movieRequest.getPayment().getCvc());
+		assertSameBytes(paymentRequest, topics.paymentRequest());
+
+		CreateTicketRequest createTicketRequest = new CreateTicketRequest();
+		createTicketRequest.setTopicName("CreateTicketRequest");
+		createTicketRequest.setMovie(movie);
+		createTicketRequest.setSeatNumber(movieRequest.getSeatNumber());
+		createTicketRequest.setCorrelatorId(movieRequest.getCorrelatorId());
+		assertSameBytes(createTicketRequest, topics.createTicketRequest());
+
+		MovieTicketResponse movieResponse = new MovieTicketResponse();
+		movieResponse.setTopicName("MovieTicketResponse");
+		movieResponse.setCorrelatorId(movieRequest.getCorrelatorId());
+		movieResponse.setMovie(movie);
+		movieResponse.setSeatNumber(movieRequest.getSeatNumber());
+		movieResponse.setTicketId(8060000);
+		assertSameBytes(movieResponse, topics.movieTicketResponse(8060000));
+	}
+
+	private void assertSameBytes(Object topic, byte[] spliced) throws Exception {
+		byte[] expected = mapper.writeValueAsBytes(topic);
+		Assertions.assertArrayEquals(expected, spliced, () -> new String(expected, StandardCharsets.UTF_8) + " but was "
+				+ new String(spliced, StandardCharsets.UTF_8));
+	}
+
+	private static MovieTicketRequest request(Integer correlatorId, String movieName, Date showtime, Genre genre,
+			String seatNumber, Double amount, String email) {
+		Movie movie = new Movie();
+		movie.setMovieName(movieName);
+		movie.setShowtime(showtime);
+		movie.setGenre(genre);
+
+		PaymentRequest payment = new PaymentRequest();
+		payment.setTopicName("PaymentRequest");
+		payment.setCorrelatorId(correlatorId);
+		payment.setPaymentAmount(amount);
+		payment.setEmail(email);
+		payment.setCreditCard(email == null ? null : "6011000990139424");
+		payment.setCvc("321");
+
+		MovieTicketRequest request = new MovieTicketRequest();
+		request.setTopicName("MovieTicketRequest");
+		request.setCorrelatorId(correlatorId);
+		request.setMovie(movie);
+		request.setSeatNumber(seatNumber);
+		request.setPrice(amount);
+		request.setPayment(payment);
+		return request;
+	}
+}
@@ -0,0 +1,99 @@
+package com.businessLogic;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.HttpStatus;
+import com.topics.MovieTicketRequest;
+
+public class OverlappedConfirmationTest {
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] The ticket is created while the seat is being confirmed")
+	public void overlapsConfirmationAndTicketCreation(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CountDownLatch ticketRequested = new CountDownLatch(1);
+		StubDownstreams stubs = stubs();
+		stubs.beforeResponse = uri -> {
+			if (uri.getHost().equals("movie")) {
+				ticketRequested.countDown();
+			} else if (uri.getPath().endsWith("confirmation")) {
+				// only answers once the ticket creation has started alongside it
+				await(ticketRequested);
+			}
+		};
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertEquals(HttpStatus.OK, businessLogic.orchestrate(OrchestrateTracingTest.request()).getStatusCode());
+		Assertions.assertEquals(0, ticketRequested.getCount());
+		Assertions.assertEquals(1, stubs.count("movie"));
+		Assertions.assertEquals(1, stubs.count("gateway"));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A seat that could not be booked fails stage 2 and cancels the ticket")
+	public void cancelsTicketWhenConfirmationFails(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = stubs();
+		stubs.confirmationStatus = "FAILED";
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR,
+				businessLogic.orchestrate(OrchestrateTracingTest.request()).getStatusCode());
+
+		List<String> movieCalls = stubs.bodies("movie");
+		Assertions.assertEquals(2, movieCalls.size(), movieCalls.toString());
+		Assertions.assertTrue(movieCalls.get(1).contains("\"topicName\":\"CancelTicketRequest\""), movieCalls.get(1));
+		Assertions.assertTrue(movieCalls.get(1).contains("\"ticketId\":8060001"), movieCalls.get(1));
+		Assertions.assertEquals(0, stubs.count("gateway"));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A failed ticket creation fails stage 4 and leaves the seat booked")
+	public void keepsSeatWhenTicketCreationFails(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = stubs();
+		stubs.ticketId = null;
+		BusinessLogic businessLogic = stubs.build();
+		MovieTicketRequest request = OrchestrateTracingTest.request();
+
+		Assertions.assertEquals(HttpStatus.BAD_GATEWAY, businessLogic.orchestrate(request).getStatusCode());
+		Assertions.assertEquals(1, stubs.count("movie"));
+		Assertions.assertEquals(1, stubs.count("seating:8085 /api/v1/confirmation"));
+		Assertions.assertTrue(stubs.seatAvailabilityCache.isUnavailable(request));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A confirmation that errors out still cancels the ticket")
+	public void cancelsTicketWhenConfirmationErrors(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		StubDownstreams stubs = stubs();
+		stubs.beforeResponse = uri -> {
+			if (uri.getPath().endsWith("confirmation")) {
+				throw new IllegalStateException("Seating Service unreachable");
+			}
+		};
+		BusinessLogic businessLogic = stubs.build();
+
+		Assertions.assertThrows(IllegalStateException.class, () -> businessLogic.orchestrate(OrchestrateTracingTest.request()));
+		Assertions.assertTrue(stubs.bodies("movie").get(1).contains("CancelTicketRequest"));
+	}
+
+	private static StubDownstreams stubs() {
+		StubDownstreams stubs = new StubDownstreams();
+		stubs.overlapConfirmation = true;
+		return stubs;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,211 @@
+package com.businessLogic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.ResponseEntity;
+import com.topics.Movie;
+import com.topics.MovieTicketRequest;
+
+public class PartitionedOrchestrationExecutorTest {
+	private PartitionedOrchestrationExecutor executor;
+
+	@AfterEach
+	void tearDown() {
+		if (executor != null) {
+			executor.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Same showing runs in order on one partition")
+	public void orderedWithinPartition(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		executor = new PartitionedOrchestrationExecutor(true, 4, 100);
+		executor.start();
+
+		List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+		List<CompletableFuture<ResponseEntity<String>>> results = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			int id = i;
+			results.add(executor.submit(request("Inception", 1000L), () -> {
+				order.add(id);
+				return ResponseEntity.ok("done " + id);
+			}));
+		}
+		for (int i = 0; i < 50; i++) {
+			Assertions.assertEquals("done " + i, results.get(i).get(5, TimeUnit.SECONDS).getBody());
+		}
+		for (int i = 0; i < 50; i++) {
+			Assertions.assertEquals(i, order.get(i));
+		}
+
+		int partition = executor.partitionFor(request("Inception", 1000L));
+		PartitionedOrchestrationExecutor.PartitionSnapshot snapshot = executor.snapshot().get(partition);
+		Assertions.assertEquals(50, snapshot.submitted());
+		Assertions.assertEquals(50, snapshot.completed());
+		Assertions.assertEquals(0, snapshot.running());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Sagas of one showing overlap once their seats are claimed")
+	public void overlapsAfterClaim(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		executor = new PartitionedOrchestrationExecutor(true, 1, 100);
+		executor.start();
+
+		// 20 sagas of 100ms each, one partition: 2s when run one after the other
+		List<Integer> claims = Collections.synchronizedList(new ArrayList<>());
+		List<CompletableFuture<ResponseEntity<String>>> results = new ArrayList<>();
+		long start = System.nanoTime();
+		for (int i = 0; i < 20; i++) {
+			int id = i;
+			results.add(executor.submit(request("Inception", 1000L), () -> {
+				claims.add(id);
+				PartitionedOrchestrationExecutor.claimed();
+				sleep(100);
+				return ResponseEntity.ok("done " + id);
+			}));
+		}
+		for (CompletableFuture<ResponseEntity<String>> result : results) {
+			result.get(5, TimeUnit.SECONDS);
+		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		Assertions.assertTrue(millis < 1000, millis + "ms");
+		for (int i = 0; i < 20; i++) {
+			Assertions.assertEquals(i, claims.get(i));
+		}
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Stopping fails the queued sagas instead of leaving them waiting")
+	public void stopFailsQueuedSagas(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		executor = new PartitionedOrchestrationExecutor(true, 1, 10);
+		executor.start();
+
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch running = new CountDownLatch(1);
+		CompletableFuture<ResponseEntity<String>> blocking = executor.submit(request("Inception", 1000L), () -> {
+			running.countDown();
+			await(release);
+			return ResponseEntity.ok("ok");
+		});
+		Assertions.assertTrue(running.await(5, TimeUnit.SECONDS));
+		CompletableFuture<ResponseEntity<String>> queued = executor.submit(request("Inception", 1000L),
+				() -> ResponseEntity.ok("queued"));
+
+		executor.stop();
+
+		ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+		Assertions.assertInstanceOf(RejectedExecutionException.class, e.getCause());
+		Assertions.assertThrows(RejectedExecutionException.class,
+				() -> executor.submit(request("Inception", 1000L), () -> ResponseEntity.ok("rejected")));
+		// the saga already running finishes
+		release.countDown();
+		Assertions.assertEquals("ok", blocking.get(5, TimeUnit.SECONDS).getBody());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Different partitions run in parallel")
+	public void parallelAcrossPartitions(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		executor = new PartitionedOrchestrationExecutor(true, 64, 100);
+		executor.start();
+
+		MovieTicketRequest first = request("Inception", 1000L);
+		MovieTicketRequest second = request("Interstellar", 2000L);
+		Assertions.assertNotEquals(executor.partitionFor(first), executor.partitionFor(second));
+
+		// each saga only finishes once the other one has started, so they must overlap
+		CountDownLatch started = new CountDownLatch(2);
+		CompletableFuture<ResponseEntity<String>> a = executor.submit(first, () -> awaitBoth(started));
+		CompletableFuture<ResponseEntity<String>> b = executor.submit(second, () -> awaitBoth(started));
+		Assertions.assertEquals("ok", a.get(5, TimeUnit.SECONDS).getBody());
+		Assertions.assertEquals("ok", b.get(5, TimeUnit.SECONDS).getBody());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Full partition rejects new work")
+	public void rejectsWhenFull(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		executor = new PartitionedOrchestrationExecutor(true, 1, 1);
+		executor.start();
+
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch running = new CountDownLatch(1);
+		CompletableFuture<ResponseEntity<String>> blocking = executor.submit(request("Inception", 1000L), () -> {
+			running.countDown();
+			await(release);
+			return ResponseEntity.ok("ok");
+		});
+		Assertions.assertTrue(running.await(5, TimeUnit.SECONDS));
+		executor.submit(request("Inception", 1000L), () -> ResponseEntity.ok("queued"));
+		Assertions.assertThrows(RejectedExecutionException.class,
+				() -> executor.submit(request("Inception", 1000L), () -> ResponseEntity.ok("rejected")));
+
+		release.countDown();
+		Assertions.assertEquals("ok", blocking.get(5, TimeUnit.SECONDS).getBody());
+		Assertions.assertEquals(1, executor.snapshot().get(0).rejected());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Saga failures complete the future exceptionally")
+	public void failurePropagates(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		executor = new PartitionedOrchestrationExecutor(true, 2, 10);
+		executor.start();
+
+		CompletableFuture<ResponseEntity<String>> result = executor.submit(request("Inception", 1000L), () -> {
+			throw new IllegalStateException("boom");
+		});
+		Assertions.assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private ResponseEntity<String> awaitBoth(CountDownLatch started) {
+		started.countDown();
+		await(started);
+		return ResponseEntity.ok("ok");
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("timed out");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private MovieTicketRequest request(String movieName, long showtime) {
+		Movie movie = new Movie();
+		movie.setMovieName(movieName);
+		movie.setShowtime(new Date(showtime));
+		MovieTicketRequest request = new MovieTicketRequest();
+		request.setMovie(movie);
+		request.setSeatNumber("E6");
+		return request;
+	}
+}
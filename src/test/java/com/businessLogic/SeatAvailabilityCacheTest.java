@@ -0,0 +1,89 @@
+package com.businessLogic;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import com.topics.Movie;
+import com.topics.MovieTicketRequest;
+
+public class SeatAvailabilityCacheTest {
+	private final AtomicLong clock = new AtomicLong();
+	private final Date showtime = new Date(1762824600000L);
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Taken seats are cached until the TTL expires")
+	public void expiresAfterTtl(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		SeatAvailabilityCache cache = new SeatAvailabilityCache(true, 2000, 100, clock::get);
+
+		Assertions.assertFalse(cache.isUnavailable(request("E6")));
+		cache.recordUnavailable(request("E6"));
+		Assertions.assertTrue(cache.isUnavailable(request("E6")));
+		Assertions.assertFalse(cache.isUnavailable(request("E7")));
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2001));
+		Assertions.assertFalse(cache.isUnavailable(request("E6")));
+
+		SeatAvailabilityCache.Snapshot snapshot = cache.snapshot();
+		Assertions.assertEquals(1, snapshot.hits());
+		Assertions.assertEquals(3, snapshot.misses());
+		Assertions.assertEquals(0.25, snapshot.hitRate());
+		Assertions.assertEquals(0, snapshot.size());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Cache is bounded")
+	public void bounded(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		SeatAvailabilityCache cache = new SeatAvailabilityCache(true, 2000, 3, clock::get);
+
+		for (String seat : new String[] { "A1", "A2", "A3", "A4", "A5" }) {
+			cache.recordUnavailable(request(seat));
+		}
+		Assertions.assertEquals(3, cache.snapshot().size());
+		Assertions.assertEquals(2, cache.snapshot().evictions());
+		Assertions.assertFalse(cache.isUnavailable(request("A1")));
+		Assertions.assertTrue(cache.isUnavailable(request("A5")));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Seats can be invalidated")
+	public void invalidate(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		SeatAvailabilityCache cache = new SeatAvailabilityCache(true, 2000, 100, clock::get);
+		cache.recordUnavailable(request("E6"));
+		cache.recordUnavailable(request("E7"));
+
+		Assertions.assertTrue(cache.invalidate("Inception", showtime, "E6"));
+		Assertions.assertFalse(cache.invalidate("Inception", showtime, "E6"));
+		Assertions.assertFalse(cache.isUnavailable(request("E6")));
+		Assertions.assertTrue(cache.isUnavailable(request("E7")));
+
+		cache.invalidateAll();
+		Assertions.assertFalse(cache.isUnavailable(request("E7")));
+		Assertions.assertEquals(2, cache.snapshot().invalidations());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Disabled cache never rejects")
+	public void disabled(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		SeatAvailabilityCache cache = new SeatAvailabilityCache(false, 2000, 100, clock::get);
+		cache.recordUnavailable(request("E6"));
+		Assertions.assertFalse(cache.isUnavailable(request("E6")));
+	}
+
+	private MovieTicketRequest request(String seatNumber) {
+		Movie movie = new Movie();
+		movie.setMovieName("Inception");
+		movie.setShowtime(showtime);
+		MovieTicketRequest request = new MovieTicketRequest();
+		request.setMovie(movie);
+		request.setSeatNumber(seatNumber);
+		return request;
+	}
+}
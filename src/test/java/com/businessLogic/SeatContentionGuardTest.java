@@ -0,0 +1,110 @@
+package com.businessLogic;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import com.topics.Movie;
+import com.topics.MovieTicketRequest;
+
+public class SeatContentionGuardTest {
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Waiters fail fast once the winner is HOLDING")
+	public void waiterRejectedOnceHolding(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		SeatContentionGuard guard = new SeatContentionGuard(16, 5000);
+
+		SeatContentionGuard.Claim winner = guard.claim(request("E6"));
+		Assertions.assertNotNull(winner);
+		Assertions.assertFalse(winner.waited());
+
+		CompletableFuture<SeatContentionGuard.Claim> waiter = CompletableFuture.supplyAsync(() -> guard.claim(request("E6")));
+		awaitContention(guard, 1);
+		Assertions.assertFalse(waiter.isDone());
+
+		winner.holding();
+		Assertions.assertNull(waiter.get(1, TimeUnit.SECONDS));
+
+		// newly arriving requests are turned away without waiting at all
+		Assertions.assertNull(guard.claim(request("E6")));
+		Assertions.assertEquals(2, guard.snapshot().rejectedHeld());
+		Assertions.assertEquals(1, guard.snapshot().heldSeats());
+
+		winner.close();
+		Assertions.assertEquals(0, guard.snapshot().heldSeats());
+		Assertions.assertNotNull(guard.claim(request("E6")));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Next waiter proceeds when the winner fails to hold")
+	public void waiterProceedsOnFailure(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		SeatContentionGuard guard = new SeatContentionGuard(16, 5000);
+
+		SeatContentionGuard.Claim winner = guard.claim(request("E6"));
+		CompletableFuture<SeatContentionGuard.Claim> waiter = CompletableFuture.supplyAsync(() -> guard.claim(request("E6")));
+		awaitContention(guard, 1);
+
+		winner.close();
+		SeatContentionGuard.Claim next = waiter.get(1, TimeUnit.SECONDS);
+		Assertions.assertNotNull(next);
+		Assertions.assertTrue(next.waited());
+		next.close();
+		Assertions.assertEquals(2, guard.snapshot().claims());
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] Waiting for a seat times out")
+	public void waitTimesOut(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		SeatContentionGuard guard = new SeatContentionGuard(1, 20);
+
+		SeatContentionGuard.Claim winner = guard.claim(request("E6"));
+		Assertions.assertNull(guard.claim(request("E7"))); // same stripe
+		Assertions.assertEquals(1, guard.snapshot().timedOut());
+		winner.close();
+		winner.close();
+		Assertions.assertNotNull(guard.claim(request("E7")));
+	}
+
+	@Test
+	@DisplayName("[BUSINESS_LOGIC] A group claims seats sharing a stripe without blocking itself")
+	public void groupClaimsSharedStripeOnce(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		SeatContentionGuard guard = new SeatContentionGuard(1, 20);
+
+		SeatContentionGuard.Claim group = guard.claimAll(List.of(request("E6"), request("E7"), request("E6")));
+		Assertions.assertNotNull(group);
+		group.holding();
+		Assertions.assertEquals(2, guard.snapshot().heldSeats());
+		Assertions.assertNull(guard.claim(request("E7")));
+		Assertions.assertNull(guard.claimAll(List.of(request("E8"), request("E7"))));
+
+		group.close();
+		Assertions.assertEquals(0, guard.snapshot().heldSeats());
+		Assertions.assertNotNull(guard.claimAll(List.of(request("E8"), request("E7"))));
+	}
+
+	private void awaitContention(SeatContentionGuard guard, long expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (guard.snapshot().contended() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		Assertions.assertEquals(expected, guard.snapshot().contended());
+	}
+
+	private MovieTicketRequest request(String seatNumber) {
+		Movie movie = new Movie();
+		movie.setMovieName("Inception");
+		movie.setShowtime(new Date(1762824600000L));
+		MovieTicketRequest request = new MovieTicketRequest();
+		request.setMovie(movie);
+		request.setSeatNumber(seatNumber);
+		return request;
+	}
+}
@@ -23,9 +23,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestClient;
+import com.correlation.DownstreamCallbacks;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.topics.CreateTicketRequest;
 import com.topics.CreateTicketResponse;
 import com.topics.Movie;
 import com.topics.Movie.Genre;
@@ -37,6 +37,9 @@ public class SendCreateTicketRequestTest {
 	private BusinessLogic businessLogic;
 	@Mock
 	private RestClient movieServiceClient;
+	// answers null, so every request is sent synchronously
+	@Mock
+	private DownstreamCallbacks callbacks;
 
 	private ObjectMapper objectMapper = new ObjectMapper();
 
@@ -113,11 +116,11 @@ public class SendCreateTicketRequestTest {
 		when(movieServiceClient.post()).thenReturn(uriSpec);
 		when(uriSpec.uri(ArgumentMatchers.<String>any())).thenReturn(bodySpec); // this line is crucial, or else URI error
 		when(bodySpec.contentType(any(MediaType.class))).thenReturn(bodySpec);
-		when(bodySpec.body(any(CreateTicketRequest.class))).thenReturn(bodySpec);
+		when(bodySpec.body(any(byte[].class))).thenReturn(bodySpec);
 		when(bodySpec.retrieve()).thenReturn(responseSpec);
 		when(responseSpec.toEntity(String.class)).thenReturn(ResponseEntity.ok(toJson(createTicketResponse)));
 
-		CreateTicketResponse rsp = businessLogic.sendCreateTicketRequest(request);
+		CreateTicketResponse rsp = businessLogic.sendCreateTicketRequest(businessLogic.currentEndpoints(), new OutboundTopics(request));
 		assertNotNull(rsp);
 		Assertions.assertEquals("E6", rsp.getSeatNumber());
 		Assertions.assertEquals(8060001, rsp.getTicketId());
@@ -28,7 +28,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.topics.Movie;
 import com.topics.Movie.Genre;
 import com.topics.MovieTicketRequest;
-import com.topics.MovieTicketResponse;
 
 @ExtendWith(MockitoExtension.class)
 public class SendMovieTicketRequestTest {
@@ -105,11 +104,11 @@ public class SendMovieTicketRequestTest {
 		when(apiGatewayClient.post()).thenReturn(uriSpec);
 		when(uriSpec.uri(ArgumentMatchers.<String>any())).thenReturn(bodySpec); // this line is crucial, or else URI error
 		when(bodySpec.contentType(any(MediaType.class))).thenReturn(bodySpec);
-		when(bodySpec.body(any(MovieTicketResponse.class))).thenReturn(bodySpec);
+		when(bodySpec.body(any(byte[].class))).thenReturn(bodySpec);
 		when(bodySpec.retrieve()).thenReturn(responseSpec);
 		when(responseSpec.toEntity(String.class)).thenReturn(ResponseEntity.ok("filler"));
 
-		ResponseEntity<String> rsp = businessLogic.createMovieTicketResponse(request, 8060000);
+		ResponseEntity<String> rsp = businessLogic.createMovieTicketResponse(businessLogic.currentEndpoints(), new OutboundTopics(request), 8060000);
 		assertNotNull(rsp);
 		Assertions.assertEquals(HttpStatus.OK, rsp.getStatusCode());
 	}
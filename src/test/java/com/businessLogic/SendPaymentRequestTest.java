@@ -23,12 +23,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestClient;
+import com.correlation.DownstreamCallbacks;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.topics.Movie;
 import com.topics.Movie.Genre;
 import com.topics.MovieTicketRequest;
-import com.topics.PaymentRequest;
 import com.topics.PaymentResponse;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +37,9 @@ public class SendPaymentRequestTest {
 	private BusinessLogic businessLogic;
 	@Mock
 	private RestClient paymentServiceClient;
+	// answers null, so every request is sent synchronously
+	@Mock
+	private DownstreamCallbacks callbacks;
 
 	private ObjectMapper objectMapper = new ObjectMapper();
 
@@ -114,11 +117,11 @@ public class SendPaymentRequestTest {
 		when(paymentServiceClient.post()).thenReturn(uriSpec);
 		when(uriSpec.uri(ArgumentMatchers.<String>any())).thenReturn(bodySpec); // this line is crucial, or else URI error
 		when(bodySpec.contentType(any(MediaType.class))).thenReturn(bodySpec);
-		when(bodySpec.body(any(PaymentRequest.class))).thenReturn(bodySpec);
+		when(bodySpec.body(any(byte[].class))).thenReturn(bodySpec);
 		when(bodySpec.retrieve()).thenReturn(responseSpec);
 		when(responseSpec.toEntity(String.class)).thenReturn(ResponseEntity.ok(toJson(paymentResponse)));
 
-		PaymentResponse rsp = businessLogic.sendPaymentRequest(request);
+		PaymentResponse rsp = businessLogic.sendPaymentRequest(businessLogic.currentEndpoints(), new OutboundTopics(request));
 		assertNotNull(rsp);
         Assertions.assertEquals("dummyemail@gmail.com", rsp.getEmail());
         Assertions.assertEquals(12.50, rsp.getPaymentAmount());
@@ -23,12 +23,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestClient;
+import com.correlation.DownstreamCallbacks;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.topics.Movie;
 import com.topics.Movie.Genre;
 import com.topics.MovieTicketRequest;
-import com.topics.SeatRequest;
 import com.topics.SeatResponse;
 import com.topics.SeatResponse.Status;
 
@@ -38,6 +38,9 @@ public class SendSeatRequestTest {
 	private BusinessLogic businessLogic;
 	@Mock
 	private RestClient seatingServiceClient;
+	// answers null, so every request is sent synchronously
+	@Mock
+	private DownstreamCallbacks callbacks;
 
 	private ObjectMapper objectMapper = new ObjectMapper();
 
@@ -115,11 +118,11 @@ public class SendSeatRequestTest {
 		when(seatingServiceClient.post()).thenReturn(uriSpec);
 		when(uriSpec.uri(ArgumentMatchers.<String>any())).thenReturn(bodySpec); // this line is crucial, or else URI error
 		when(bodySpec.contentType(any(MediaType.class))).thenReturn(bodySpec);
-		when(bodySpec.body(any(SeatRequest.class))).thenReturn(bodySpec);
+		when(bodySpec.body(any(byte[].class))).thenReturn(bodySpec);
 		when(bodySpec.retrieve()).thenReturn(responseSpec);
 		when(responseSpec.toEntity(String.class)).thenReturn(ResponseEntity.ok(toJson(seatResponse)));
 
-		SeatResponse rsp = businessLogic.sendSeatRequest(request);
+		SeatResponse rsp = businessLogic.sendSeatRequest(businessLogic.currentEndpoints(), new OutboundTopics(request));
 		assertNotNull(rsp);
         Assertions.assertEquals("Inception", rsp.getMovieName());
         Assertions.assertEquals("E6", rsp.getSeatNumber());
@@ -0,0 +1,198 @@
+package com.businessLogic;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import com.capture.TrafficCapture;
+import com.controller.MainController;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+import com.sharding.OrchestrationSharding;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * Several orchestrator nodes on one machine, each an HTTP server in front of its own
+ * MainController and stubbed downstreams, sharing one membership
+ */
+public class ShardedOrchestrationTest {
+	private static final String PURCHASE = """
+		{
+			"topicName": "MovieTicketRequest",
+			"correlatorId": %d,
+			"movie": {
+				"movieName": "%s",
+				"showtime": "2025-11-10T19:30:00-06:00",
+				"genre": "SCIFI"
+			},
+			"seatNumber": "%s",
+			"price": 12.50,
+			"payment": {
+				"topicName": "PaymentRequest",
+				"correlatorId": %d,
+				"paymentAmount": 12.50,
+				"email": "bryzntest@gmail.com",
+				"creditCard": "6011000990139424",
+				"cvc": "321"
+			}
+		}
+		""";
+
+	private final List<Node> nodes = new ArrayList<>();
+
+	@AfterEach
+	public void stopNodes() {
+		nodes.forEach(node -> node.server.stop(0));
+	}
+
+	@Test
+	@DisplayName("[SHARDING] Every showing is orchestrated by its owner, whichever node received it")
+	public void purchasesMeetAtTheOwner(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		List<String> members = startNodes(3);
+		RestClient client = RestClient.create();
+
+		int purchases = 0;
+		for (int showing = 0; showing < 60; showing++) {
+			for (int seat = 1; seat <= 3; seat++) {
+				purchases++;
+				// every seat of a showing is sent to a different node
+				Node entry = nodes.get((showing + seat) % nodes.size());
+				ResponseEntity<String> response = client.post().uri(entry.url + "/api/v1/processTopic")
+						.contentType(MediaType.APPLICATION_JSON)
+						.body(PURCHASE.formatted(purchases, "Movie " + showing, "E" + seat, purchases))
+						.retrieve().toEntity(String.class);
+				Assertions.assertEquals(HttpStatus.OK, response.getStatusCode(), response.getBody());
+			}
+		}
+
+		Map<String, Integer> showingsOwned = new HashMap<>();
+		for (int showing = 0; showing < 60; showing++) {
+			String movie = "\"movieName\":\"Movie " + showing + "\"";
+			List<String> orchestratedBy = new ArrayList<>();
+			for (Node node : nodes) {
+				long seatHolds = node.stubs.bodies("seating").stream().filter(body -> body.contains(movie)).count();
+				if (seatHolds > 0) {
+					Assertions.assertEquals(3, seatHolds, node.url + " held only some seats of Movie " + showing);
+					orchestratedBy.add(node.url);
+				}
+			}
+			Assertions.assertEquals(1, orchestratedBy.size(), "Movie " + showing + " orchestrated by " + orchestratedBy);
+			showingsOwned.merge(orchestratedBy.get(0), 1, Integer::sum);
+		}
+
+		long forwarded = 0;
+		long received = 0;
+		for (Node node : nodes) {
+			OrchestrationSharding.Snapshot snapshot = node.sharding.snapshot();
+			Assertions.assertEquals(members, snapshot.nodes());
+			// 60 showings spread over 3 nodes, none of them should own (almost) none or (almost) all
+			Assertions.assertTrue(showingsOwned.getOrDefault(node.url, 0) >= 10, showingsOwned.toString());
+			Assertions.assertEquals(1.0 / 3, snapshot.shares().get(node.url), 0.05, snapshot.shares().toString());
+			forwarded += snapshot.forwarded();
+			received += snapshot.received();
+		}
+		// each showing was received once by its owner and twice elsewhere
+		Assertions.assertEquals(120, forwarded);
+		Assertions.assertEquals(forwarded, received);
+	}
+
+	@Test
+	@DisplayName("[SHARDING] A purchase for an unreachable owner is orchestrated where it was received")
+	public void unreachableOwnerFallsBackLocally(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		startNodes(1);
+		Node node = nodes.get(0);
+		// a member nothing listens on, owning every showing it is asked about
+		String goneUrl;
+		try (ServerSocket gone = new ServerSocket(0)) {
+			goneUrl = "http://localhost:" + gone.getLocalPort();
+		}
+		node.sharding.updateMembers(List.of(goneUrl));
+
+		ResponseEntity<String> response = node.controller.processRestTopics(
+				PURCHASE.formatted(1001, "Inception", "E6", 1001), null, null, null);
+
+		Assertions.assertEquals(HttpStatus.OK, response.getStatusCode(), response.getBody());
+		Assertions.assertEquals(1, node.sharding.snapshot().fallbacks());
+		// the whole saga ran here, down to the response to the API Gateway
+		Assertions.assertEquals(1, node.stubs.count("gateway"));
+	}
+
+	private List<String> startNodes(int count) throws IOException {
+		List<HttpServer> servers = new ArrayList<>();
+		List<String> members = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+			servers.add(server);
+			members.add("http://localhost:" + server.getAddress().getPort());
+		}
+		for (int i = 0; i < count; i++) {
+			Node node = new Node(servers.get(i), members.get(i), members);
+			node.server.createContext("/api/v1/processTopic", node::handle);
+			node.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+			node.server.start();
+			nodes.add(node);
+		}
+		return members;
+	}
+
+	private static final class Node {
+		private final HttpServer server;
+		private final String url;
+		private final StubDownstreams stubs = new StubDownstreams();
+		private final OrchestrationSharding sharding;
+		private final MainController controller;
+
+		private Node(HttpServer server, String url, List<String> members) {
+			this.server = server;
+			this.url = url;
+			this.sharding = new OrchestrationSharding(true, url, members, 160, RestClient.create());
+			this.controller = new MainController(new SchemaValidator(new DefaultResourceLoader()),
+					new TopicPreChecks(16384, List.of("MovieTicketRequest", "GroupTicketRequest")), stubs.build(),
+					new AdaptiveConcurrencyLimiter(false, 20, 4, 200, 0.9, 2.0, 250),
+					new PartitionedOrchestrationExecutor(false, 0, 1000), new Tracer(List.of(), true),
+					new TrafficCapture(false, "traffic.capture", 1),
+					new AsyncOrchestrations(false, 1, 1000, 1, new OrchestrationRegistry()), sharding,
+					new DownstreamCallbacks(false, 0, "", 1), new ClientDisconnects(false, 100, new SimpleMeterRegistry()));
+		}
+
+		private void handle(HttpExchange exchange) throws IOException {
+			try (exchange) {
+				String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+				ResponseEntity<String> response = controller.processRestTopics(body,
+						exchange.getRequestHeaders().getFirst(Tracer.TRACEPARENT),
+						exchange.getRequestHeaders().getFirst("Prefer"),
+						exchange.getRequestHeaders().getFirst(OrchestrationSharding.FORWARDED_BY));
+				byte[] bytes = response.getBody().getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type", MediaType.TEXT_PLAIN_VALUE);
+				exchange.sendResponseHeaders(response.getStatusCode().value(), bytes.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(bytes);
+				}
+			}
+		}
+	}
+}
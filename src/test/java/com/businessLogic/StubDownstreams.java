@@ -0,0 +1,171 @@
+package com.businessLogic;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+import com.config.DownstreamConfigSource;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.limiter.DownstreamRateLimiters;
+import com.loadbalancer.DownstreamLoadBalancers;
+import com.timeout.DownstreamTimeouts;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * In-process stand-in for the Seating, Payment and Movie services and the API Gateway. Every
+ * RestClient it hands out answers from canned responses, so whole orchestrations can be run in
+ * unit tests without any network.
+ */
+class StubDownstreams implements ClientHttpRequestFactory {
+	private static final Pattern CORRELATOR_ID = Pattern.compile("\"correlatorId\":(-?\\d+)");
+
+	String seatStatus = "HOLDING";
+	String paymentStatus = "SUCCESSFUL";
+	String confirmationStatus = "BOOKED";
+	Integer ticketId = 8060001;
+	// tickets the movie service creates for a GroupCreateTicketRequest
+	List<Integer> groupTicketIds = List.of(8060001, 8060002, 8060003);
+	HttpStatus gatewayStatus = HttpStatus.OK;
+
+	// collaborators handed to the BusinessLogic under test, override before calling build()
+	SeatAvailabilityCache seatAvailabilityCache = new SeatAvailabilityCache(true, 2000, 1000);
+	SeatContentionGuard seatContentionGuard = new SeatContentionGuard(16, 2000);
+	Tracer tracer = new Tracer(List.of(), true);
+	OrchestrationRegistry orchestrationRegistry = new OrchestrationRegistry();
+	DownstreamLoadBalancers loadBalancers = new DownstreamLoadBalancers("power-of-two-choices", 3, 5000, 60000);
+	// downstream settings, change a property and reload downstreamConfig to reconfigure a running BusinessLogic
+	MockEnvironment environment = new MockEnvironment()
+			.withProperty("api.gateway", "gateway").withProperty("api.gateway.port", "8081")
+			.withProperty("payment.service", "payment").withProperty("payment.service.port", "8084")
+			.withProperty("movie.service", "movie").withProperty("movie.service.port", "8082")
+			.withProperty("seating.service", "seating").withProperty("seating.service.port", "8085");
+	DownstreamConfigSource downstreamConfig;
+	SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	DownstreamRateLimiters rateLimiters = new DownstreamRateLimiters(meterRegistry);
+	DownstreamTimeouts timeouts = new DownstreamTimeouts(false, 99, 1.5, 50, 10000, 60000, 100, meterRegistry);
+	DownstreamCallbacks callbacks = new DownstreamCallbacks(false, 0, "", 1);
+	ClientDisconnects clientDisconnects = new ClientDisconnects(false, 100, meterRegistry);
+	// @Value settings of BusinessLogic
+	long budgetMillis = 0;
+	int gatewayResponseRetries = 0;
+	boolean overlapConfirmation = false;
+
+	// runs before every downstream answers, e.g. to hold a call open
+	Consumer<URI> beforeResponse = uri -> { };
+	// when set, requests preferring respond-async are answered 202 and their response topic is handed here
+	Consumer<String> responseTopics;
+
+	final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+	final List<MockClientHttpRequest> requests = Collections.synchronizedList(new ArrayList<>());
+
+	BusinessLogic build() {
+		downstreamConfig = new DownstreamConfigSource(environment, "", 0);
+		BusinessLogic businessLogic = new BusinessLogic(client(), client(), client(), client(),
+				seatAvailabilityCache, seatContentionGuard, tracer, orchestrationRegistry, loadBalancers, downstreamConfig,
+				rateLimiters, timeouts, callbacks, clientDisconnects);
+		ReflectionTestUtils.setField(businessLogic, "budgetMillis", budgetMillis);
+		ReflectionTestUtils.setField(businessLogic, "gatewayResponseRetries", gatewayResponseRetries);
+		ReflectionTestUtils.setField(businessLogic, "overlapConfirmation", overlapConfirmation);
+		businessLogic.init();
+		return businessLogic;
+	}
+
+	RestClient client() {
+		return RestClient.builder().requestFactory(this).build();
+	}
+
+	long count(String downstream) {
+		synchronized (calls) {
+			return calls.stream().filter(call -> call.startsWith(downstream)).count();
+		}
+	}
+
+	// bodies of the calls made so far to the given host
+	List<String> bodies(String host) {
+		synchronized (requests) {
+			return requests.stream().filter(request -> request.getURI().getHost().equals(host))
+					.map(MockClientHttpRequest::getBodyAsString).toList();
+		}
+	}
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+		// answered once the body is written, group topics share their paths with the single seat ones
+		MockClientHttpRequest request = new MockClientHttpRequest(httpMethod, uri) {
+			@Override
+			protected ClientHttpResponse executeInternal() throws IOException {
+				MockClientHttpResponse response = respond(uri, getBodyAsString());
+				if (responseTopics == null || !"respond-async".equals(getHeaders().getFirst("Prefer"))) {
+					return response;
+				}
+				// the canned response topic, stamped with the request's correlatorId
+				Matcher correlatorId = CORRELATOR_ID.matcher(getBodyAsString());
+				correlatorId.find();
+				String topic = new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+				responseTopics.accept("{\"correlatorId\":" + correlatorId.group(1) + "," + topic.substring(1));
+				return new MockClientHttpResponse(new byte[0], HttpStatus.ACCEPTED);
+			}
+		};
+		String call = uri.getHost() + ":" + uri.getPort() + " " + uri.getPath();
+		calls.add(call);
+		requests.add(request);
+		beforeResponse.accept(uri);
+		return request;
+	}
+
+	private MockClientHttpResponse respond(URI uri, String body) {
+		switch (uri.getHost()) {
+			case "seating":
+				if (uri.getPath().endsWith("confirmation")) {
+					return text(confirmationStatus, HttpStatus.OK);
+				}
+				if (uri.getPath().endsWith("release")) {
+					return text("RELEASED", HttpStatus.OK);
+				}
+				return json("{\"topicName\":\"SeatResponse\",\"status\":\"" + seatStatus + "\"}", HttpStatus.OK);
+			case "payment":
+				return json("{\"topicName\":\"PaymentResponse\",\"status\":\"" + paymentStatus + "\"}", HttpStatus.OK);
+			case "movie":
+				if (body.contains("\"GroupCreateTicketRequest\"")) {
+					return json("{\"topicName\":\"GroupCreateTicketResponse\",\"ticketIds\":"
+							+ groupTicketIds + "}", HttpStatus.OK);
+				}
+				return json("{\"topicName\":\"CreateTicketResponse\""
+						+ (ticketId == null ? "" : ",\"ticketId\":" + ticketId) + "}", HttpStatus.OK);
+			case "gateway":
+				return text("received", gatewayStatus);
+			default:
+				throw new IllegalArgumentException("Unknown downstream " + uri);
+		}
+	}
+
+	private MockClientHttpResponse json(String body, HttpStatus status) {
+		MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+		response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		return response;
+	}
+
+	private MockClientHttpResponse text(String body, HttpStatus status) {
+		MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+		response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+		return response;
+	}
+}
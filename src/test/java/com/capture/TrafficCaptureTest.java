@@ -0,0 +1,123 @@
+package com.capture;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TrafficCaptureTest {
+	private static final String TOPIC = """
+		{
+		    "topicName": "MovieTicketRequest",
+		    "correlatorId": %d,
+		    "movie": { "movieName": "Inception", "showtime": "2025-11-10T19:30:00-06:00", "genre": "SCIFI" },
+		    "seatNumber": "E6",
+		    "price": 12.50,
+		    "payment": {
+		        "topicName": "PaymentRequest",
+		        "correlatorId": %d,
+		        "paymentAmount": 12.50,
+		        "email": "dummyemail@gmail.com",
+		        "creditCard": "6011000990139424",
+		        "cvc": "321"
+		    }
+		}
+		""";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("[CAPTURE] Incoming topics are recorded with their spacing and card fields redacted")
+	public void capturesRedactedTopics(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Path file = directory.resolve("traffic.capture");
+		TrafficCapture capture = new TrafficCapture(true, file.toString(), 100);
+		capture.start();
+		capture.record(TOPIC.formatted(1, 1));
+		Thread.sleep(50);
+		capture.record(TOPIC.formatted(2, 2));
+		Thread.sleep(100);
+		capture.record(TOPIC.formatted(3, 3));
+		capture.stop();
+
+		List<TrafficRecording.Entry> entries = TrafficRecording.read(file);
+		Assertions.assertEquals(3, entries.size());
+		Assertions.assertEquals(3, capture.snapshot().captured());
+		Assertions.assertEquals(0, entries.get(0).offsetMicros());
+		Assertions.assertTrue(entries.get(1).offsetMicros() >= 50_000, entries.toString());
+		Assertions.assertTrue(entries.get(2).offsetMicros() - entries.get(1).offsetMicros() >= 100_000, entries.toString());
+
+		JSONObject topic = new JSONObject(entries.get(2).topic());
+		Assertions.assertEquals(3, topic.getInt("correlatorId"));
+		Assertions.assertEquals("0000000000000000", topic.getJSONObject("payment").getString("creditCard"));
+		Assertions.assertEquals("000", topic.getJSONObject("payment").getString("cvc"));
+		Assertions.assertEquals("dummyemail@gmail.com", topic.getJSONObject("payment").getString("email"));
+		Assertions.assertFalse(Files.readString(file, StandardCharsets.ISO_8859_1).contains("6011000990139424"));
+	}
+
+	@Test
+	@DisplayName("[CAPTURE] Capture sessions append to the same recording and replay back to back")
+	public void appendsSessions(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Path file = directory.resolve("traffic.capture");
+		try (TrafficRecording.Writer writer = new TrafficRecording.Writer(file)) {
+			writer.append(0, TOPIC.formatted(1, 1));
+			writer.append(2_000_000, TOPIC.formatted(2, 2));
+		}
+		try (TrafficRecording.Writer writer = new TrafficRecording.Writer(file)) {
+			writer.append(60_000_000_000L, TOPIC.formatted(3, 3));
+			writer.append(60_005_000_000L, TOPIC.formatted(4, 4));
+		}
+
+		List<TrafficRecording.Entry> entries = TrafficRecording.read(file);
+		Assertions.assertEquals(List.of(0L, 2000L, 2000L, 7000L),
+				entries.stream().map(TrafficRecording.Entry::offsetMicros).toList());
+		Assertions.assertEquals(4, new JSONObject(entries.get(3).topic()).getInt("correlatorId"));
+	}
+
+	@Test
+	@DisplayName("[CAPTURE] A record cut short by a crash ends the recording")
+	public void readsTruncatedRecording(TestInfo testInfo) throws IOException {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Path file = directory.resolve("traffic.capture");
+		try (TrafficRecording.Writer writer = new TrafficRecording.Writer(file)) {
+			writer.append(0, TOPIC.formatted(1, 1));
+			writer.append(1_000_000, TOPIC.formatted(2, 2));
+		}
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 20));
+
+		Assertions.assertEquals(1, TrafficRecording.read(file).size());
+	}
+
+	@Test
+	@DisplayName("[CAPTURE] Capture is off by default and leaves no file behind")
+	public void disabledByDefault(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Path file = directory.resolve("traffic.capture");
+		TrafficCapture capture = new TrafficCapture(false, file.toString(), 100);
+		capture.start();
+		capture.record(TOPIC.formatted(1, 1));
+		capture.stop();
+
+		Assertions.assertFalse(Files.exists(file));
+		Assertions.assertEquals(0, capture.snapshot().captured());
+	}
+
+	@Test
+	@DisplayName("[CAPTURE] Card numbers in bodies that aren't JSON are masked")
+	public void redactsInvalidJson(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Assertions.assertEquals("{\"creditCard\": \"0000000000000000\", ",
+				TrafficRecording.redact("{\"creditCard\": \"6011000990139424\", "));
+	}
+}
@@ -0,0 +1,138 @@
+package com.capture;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestClient;
+import com.businessLogic.BusinessLogic;
+import com.businessLogic.OrchestrationRegistry;
+import com.businessLogic.SeatAvailabilityCache;
+import com.businessLogic.SeatContentionGuard;
+import com.config.DownstreamConfigSource;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.limiter.DownstreamRateLimiters;
+import com.loadbalancer.DownstreamLoadBalancers;
+import com.sun.net.httpserver.HttpServer;
+import com.topics.Movie;
+import com.topics.MovieTicketRequest;
+import com.timeout.DownstreamTimeouts;
+import com.topics.PaymentRequest;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TrafficReplayerTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("[REPLAY] Topics are sent with the recorded spacing divided by the speed")
+	public void replaysAtSpeed(TestInfo testInfo) throws IOException {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		List<Long> arrivals = Collections.synchronizedList(new ArrayList<>());
+		HttpServer orchestrator = HttpServer.create(new InetSocketAddress(0), 0);
+		orchestrator.createContext("/api/v1/processTopic", exchange -> {
+			arrivals.add(System.nanoTime());
+			exchange.getRequestBody().readAllBytes();
+			exchange.sendResponseHeaders(arrivals.size() == 3 ? 503 : 200, -1);
+			exchange.close();
+		});
+		orchestrator.start();
+		try {
+			List<TrafficRecording.Entry> entries = List.of(new TrafficRecording.Entry(0, 0, "{}"),
+					new TrafficRecording.Entry(1_000_000, 0, "{}"), new TrafficRecording.Entry(2_000_000, 0, "{}"));
+
+			ReplayReport report = TrafficReplayer.replay("test", entries,
+					URI.create("http://localhost:" + orchestrator.getAddress().getPort()), 10);
+
+			Assertions.assertEquals(3, arrivals.size());
+			// 2s of recorded traffic at 10x, the first send also opens the connection
+			long spreadMillis = (arrivals.get(2) - arrivals.get(0)) / 1_000_000;
+			Assertions.assertTrue(spreadMillis >= 150 && spreadMillis < 1000, "spread " + spreadMillis + "ms");
+			Assertions.assertEquals(3, report.requests());
+			Assertions.assertEquals(0, report.errors());
+			Assertions.assertEquals(Map.of("200", 2L, "503", 1L), report.statuses());
+			Assertions.assertTrue(report.p99Millis() >= report.p50Millis());
+		} finally {
+			orchestrator.stop(0);
+		}
+	}
+
+	@Test
+	@DisplayName("[REPLAY] Reports are saved and compared against a baseline")
+	public void comparesWithBaseline(TestInfo testInfo) throws IOException {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		ReplayReport baseline = new ReplayReport("traffic.capture", "http://localhost:8080", 1, 100, 0,
+				Map.of("200", 100L), 10000, 10, 4, 3, 8, 20, 25, 0.1);
+		Path file = directory.resolve("baseline.json");
+		baseline.write(file);
+		ReplayReport current = new ReplayReport("traffic.capture", "http://localhost:8080", 1, 100, 0,
+				Map.of("200", 100L), 10000, 10, 2, 1.5, 4, 10, 12, 0.1);
+
+		List<String> comparison = current.compare(ReplayReport.read(file));
+
+		Assertions.assertEquals(baseline, ReplayReport.read(file));
+		Assertions.assertTrue(comparison.stream().anyMatch(line -> line.startsWith("p99 (ms)") && line.endsWith("-50.0%")),
+				comparison.toString());
+		Assertions.assertTrue(comparison.stream().anyMatch(line -> line.startsWith("throughput") && line.endsWith("+0.0%")),
+				comparison.toString());
+	}
+
+	@Test
+	@DisplayName("[REPLAY] Stub downstreams answer every stage of an orchestration")
+	public void stubDownstreamsCompleteOrchestrations(TestInfo testInfo) throws IOException {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		try (StubDownstreamServer stubs = new StubDownstreamServer(0, 0)) {
+			MockEnvironment environment = new MockEnvironment();
+			for (String line : stubs.orchestratorProperties().split("\n")) {
+				String[] property = line.split("=", 2);
+				environment.setProperty(property[0], property[1]);
+			}
+			BusinessLogic businessLogic = new BusinessLogic(RestClient.create(), RestClient.create(), RestClient.create(),
+					RestClient.create(), new SeatAvailabilityCache(true, 2000, 1000), new SeatContentionGuard(16, 2000),
+					new Tracer(List.of(), true), new OrchestrationRegistry(),
+					new DownstreamLoadBalancers("power-of-two-choices", 3, 5000, 60000),
+					new DownstreamConfigSource(environment, "", 0), new DownstreamRateLimiters(new SimpleMeterRegistry()),
+					new DownstreamTimeouts(false, 99, 1.5, 50, 10000, 60000, 100, new SimpleMeterRegistry()),
+					new DownstreamCallbacks(false, 0, "", 1), new ClientDisconnects(false, 100, new SimpleMeterRegistry()));
+			businessLogic.init();
+
+			Assertions.assertEquals(HttpStatus.OK, businessLogic.orchestrate(request()).getStatusCode());
+		}
+	}
+
+	private static MovieTicketRequest request() {
+		Movie movie = new Movie();
+		movie.setMovieName("Inception");
+		movie.setShowtime(new Date(1762824600000L));
+		movie.setGenre(Movie.Genre.SCIFI);
+		PaymentRequest payment = new PaymentRequest();
+		payment.setTopicName("PaymentRequest");
+		payment.setCorrelatorId(1001);
+		payment.setPaymentAmount(12.50);
+		payment.setEmail("dummyemail@gmail.com");
+		payment.setCreditCard("0000000000000000");
+		payment.setCvc("000");
+		MovieTicketRequest request = new MovieTicketRequest();
+		request.setTopicName("MovieTicketRequest");
+		request.setCorrelatorId(1001);
+		request.setMovie(movie);
+		request.setSeatNumber("E6");
+		request.setPrice(12.50);
+		request.setPayment(payment);
+		return request;
+	}
+}
@@ -0,0 +1,145 @@
+package com.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+public class DownstreamConfigSourceTest {
+	@TempDir
+	Path directory;
+
+	private final MockEnvironment environment = new MockEnvironment()
+			.withProperty("api.gateway", "localhost").withProperty("api.gateway.port", "8081")
+			.withProperty("payment.service", "localhost").withProperty("payment.service.port", "8084")
+			.withProperty("movie.service", "localhost").withProperty("movie.service.port", "8082")
+			.withProperty("seating.service", "localhost").withProperty("seating.service.port", "8085");
+
+	@Test
+	@DisplayName("[DOWNSTREAM CONFIG] Settings come from the application properties")
+	public void loadsApplicationProperties(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		environment.setProperty("payment.service.instances", "payment-1:8084, payment-2:8084");
+		environment.setProperty("payment.service.read-timeout-millis", "2000");
+
+		DownstreamConfig config = new DownstreamConfigSource(environment, "", 0).current();
+
+		Assertions.assertEquals(1, config.version());
+		Assertions.assertEquals(DownstreamConfig.DOWNSTREAMS, List.copyOf(config.downstreams().keySet()));
+		Assertions.assertEquals("http://localhost:8081", config.get(DownstreamConfig.API_GATEWAY).baseUrl());
+		DownstreamSettings payment = config.get(DownstreamConfig.PAYMENT_SERVICE);
+		Assertions.assertEquals(List.of("payment-1:8084", "payment-2:8084"), payment.instances());
+		Assertions.assertEquals(0, payment.connectTimeoutMillis());
+		Assertions.assertEquals(2000, payment.readTimeoutMillis());
+	}
+
+	@Test
+	@DisplayName("[DOWNSTREAM CONFIG] Rate limits are off unless a rate is set")
+	public void loadsRateLimits(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		environment.setProperty("payment.service.rate-limit.permits-per-second", "50");
+		environment.setProperty("payment.service.rate-limit.burst", "10");
+
+		DownstreamConfig config = new DownstreamConfigSource(environment, "", 0).current();
+
+		Assertions.assertEquals(new DownstreamSettings.RateLimit(50, 10, 100, 1000),
+				config.get(DownstreamConfig.PAYMENT_SERVICE).rateLimit());
+		Assertions.assertFalse(config.get(DownstreamConfig.MOVIE_SERVICE).rateLimit().enabled());
+
+		environment.setProperty("payment.service.rate-limit.burst", "0");
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new DownstreamConfigSource(environment, "", 0));
+	}
+
+	@Test
+	@DisplayName("[DOWNSTREAM CONFIG] Config file overrides the properties and is re-read on reload")
+	public void reloadsConfigFile(TestInfo testInfo) throws IOException {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Path file = directory.resolve("downstreams.properties");
+		Files.writeString(file, "movie.service=movie-blue\n");
+		DownstreamConfigSource source = new DownstreamConfigSource(environment, file.toString(), 0);
+		List<DownstreamConfig> published = new ArrayList<>();
+		source.subscribe(published::add);
+		Assertions.assertEquals("http://movie-blue:8082", source.current().get(DownstreamConfig.MOVIE_SERVICE).baseUrl());
+
+		Files.writeString(file, "movie.service=movie-green\nmovie.service.port=9082\n");
+		DownstreamConfig reloaded = source.reload();
+
+		Assertions.assertEquals(2, reloaded.version());
+		Assertions.assertEquals("http://movie-green:9082", reloaded.get(DownstreamConfig.MOVIE_SERVICE).baseUrl());
+		Assertions.assertSame(reloaded, source.current());
+		Assertions.assertEquals(List.of(reloaded), published);
+	}
+
+	@Test
+	@DisplayName("[DOWNSTREAM CONFIG] Reloading unchanged settings keeps the current version")
+	public void unchangedReload(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		DownstreamConfigSource source = new DownstreamConfigSource(environment, "", 0);
+		List<DownstreamConfig> published = new ArrayList<>();
+		source.subscribe(published::add);
+		DownstreamConfig current = source.current();
+
+		Assertions.assertSame(current, source.reload());
+		Assertions.assertTrue(published.isEmpty());
+	}
+
+	@Test
+	@DisplayName("[DOWNSTREAM CONFIG] Invalid settings are rejected and the current ones kept")
+	public void rejectsInvalidSettings(TestInfo testInfo) throws IOException {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Path file = directory.resolve("downstreams.properties");
+		Files.writeString(file, "seating.service.port=8085\n");
+		DownstreamConfigSource source = new DownstreamConfigSource(environment, file.toString(), 0);
+		DownstreamConfig current = source.current();
+
+		String[] invalid = {
+			"seating.service.port=eighty",
+			"seating.service.read-timeout-millis=-1",
+			"seating.service.instances=seating-1:8085,seating-2",
+			"seating.service=",
+		};
+		for (String line : invalid) {
+			Files.writeString(file, line + "\n");
+			Assertions.assertThrows(IllegalArgumentException.class, source::reload, line);
+			Assertions.assertSame(current, source.current());
+		}
+		Files.delete(file);
+		Assertions.assertThrows(IllegalArgumentException.class, source::reload);
+		Assertions.assertSame(current, source.current());
+	}
+
+	@Test
+	@DisplayName("[DOWNSTREAM CONFIG] Polling reloads only when the file changed")
+	public void reloadsWhenModified(TestInfo testInfo) throws IOException {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Path file = directory.resolve("downstreams.properties");
+		Files.writeString(file, "api.gateway.port=8081\n");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000));
+		DownstreamConfigSource source = new DownstreamConfigSource(environment, file.toString(), 0);
+
+		// changed contents but the same modification time, as far as polling can tell nothing happened
+		Files.writeString(file, "api.gateway.port=9081\n");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000));
+		source.reloadIfModified();
+		Assertions.assertEquals(1, source.current().version());
+
+		Files.setLastModifiedTime(file, FileTime.fromMillis(2_000_000));
+		source.reloadIfModified();
+		Assertions.assertEquals(2, source.current().version());
+		Assertions.assertEquals(9081, source.current().get(DownstreamConfig.API_GATEWAY).port());
+
+		// an invalid file is logged and ignored
+		Files.writeString(file, "api.gateway.port=x\n");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(3_000_000));
+		source.reloadIfModified();
+		Assertions.assertEquals(2, source.current().version());
+	}
+}
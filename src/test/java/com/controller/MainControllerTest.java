@@ -1,5 +1,70 @@
 package com.controller;
 
+import java.util.List;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import com.businessLogic.AsyncOrchestrations;
+import com.businessLogic.OrchestrationRegistry;
+import com.businessLogic.PartitionedOrchestrationExecutor;
+import com.capture.TrafficCapture;
+import com.correlation.DownstreamCallbacks;
+import com.disconnect.ClientDisconnects;
+import com.limiter.AdaptiveConcurrencyLimiter;
+import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+import com.sharding.OrchestrationSharding;
+import com.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 public class MainControllerTest {
-    
+    // rejected topics never reach the saga, so there is no BusinessLogic behind the controller
+    private final MainController mainController = new MainController(
+            new SchemaValidator(new DefaultResourceLoader(), true, true),
+            new TopicPreChecks(4096, List.of("MovieTicketRequest", "GroupTicketRequest")), null,
+            new AdaptiveConcurrencyLimiter(false, 20, 4, 200, 0.9, 2.0, 250),
+            new PartitionedOrchestrationExecutor(false, 0, 1000), new Tracer(List.of(), true),
+            new TrafficCapture(false, "traffic.capture", 1),
+            new AsyncOrchestrations(false, 1, 1000, 1, new OrchestrationRegistry()),
+            new OrchestrationSharding(false, "http://localhost:8089", List.of(), 160, RestClient.create()),
+            new DownstreamCallbacks(false, 0, "", 1), new ClientDisconnects(false, 100, new SimpleMeterRegistry()));
+
+    @Test
+    @DisplayName("[CONTROLLER] Malformed bodies are rejected with a structured 400")
+    void rejectsMalformedBody(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        JSONObject body = reject("{\"topicName\": \"MovieTicketRequest\",", HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals("INVALID_JSON", body.getString("error"));
+
+        body = reject("{\"topicName\": \"SeatRequest\", \"correlatorId\": 1001}", HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals("UNSUPPORTED_TOPIC", body.getString("error"));
+        Assertions.assertEquals(1001, body.getInt("correlatorId"));
+
+        body = reject("{\"topicName\": \"MovieTicketRequest\", \"pad\": \"" + "x".repeat(4096) + "\"}",
+                HttpStatus.PAYLOAD_TOO_LARGE);
+        Assertions.assertEquals("BODY_TOO_LARGE", body.getString("error"));
+    }
+
+    @Test
+    @DisplayName("[CONTROLLER] Schema violations are reported in the response body")
+    void reportsSchemaViolation(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        JSONObject body = reject("{\"topicName\": \"MovieTicketRequest\", \"correlatorId\": 1001}", HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals("SCHEMA_VIOLATION", body.getString("error"));
+        Assertions.assertEquals("MovieTicketRequest", body.getString("topicName"));
+        // fail-fast, only the first missing key is reported
+        Assertions.assertEquals(List.of("#: required key [movie] not found"), body.getJSONArray("violations").toList());
+    }
+
+    private JSONObject reject(String json, HttpStatus expected) {
+        ResponseEntity<String> response = mainController.processRestTopics(json, null, null, null);
+        Assertions.assertEquals(expected, response.getStatusCode(), response.getBody());
+        return new JSONObject(response.getBody());
+    }
 }
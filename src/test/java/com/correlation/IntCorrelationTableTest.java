@@ -0,0 +1,70 @@
+package com.correlation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+public class IntCorrelationTableTest {
+
+	@Test
+	@DisplayName("[CORRELATION] The table agrees with a HashMap through growth and removals")
+	public void behavesLikeAMap(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		IntCorrelationTable<String> table = new IntCorrelationTable<>(4, 8);
+		Map<Integer, String> reference = new HashMap<>();
+		Random random = new Random(48);
+
+		for (int i = 0; i < 200000; i++) {
+			// sequential ids around 0 collide in the low bits, the random ones anywhere
+			int key = random.nextBoolean() ? random.nextInt(2000) - 1000 : random.nextInt();
+			switch (random.nextInt(3)) {
+				case 0 -> Assertions.assertEquals(reference.putIfAbsent(key, "v" + i) == null, table.putIfAbsent(key, "v" + i));
+				case 1 -> Assertions.assertEquals(reference.remove(key), table.remove(key));
+				default -> Assertions.assertEquals(reference.get(key), table.get(key));
+			}
+		}
+		Assertions.assertEquals(reference.size(), table.size());
+		reference.forEach((key, value) -> Assertions.assertEquals(value, table.get(key)));
+	}
+
+	@Test
+	@DisplayName("[CORRELATION] A key is only removed while it maps to the expected entry")
+	public void conditionalRemove(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		IntCorrelationTable<String> table = new IntCorrelationTable<>(16, 256);
+		Assertions.assertTrue(table.putIfAbsent(1001, "first"));
+		Assertions.assertFalse(table.putIfAbsent(1001, "second"));
+		Assertions.assertFalse(table.remove(1001, "second"));
+		Assertions.assertTrue(table.remove(1001, "first"));
+		Assertions.assertNull(table.get(1001));
+
+		// threads registering and removing their own ids never see each other's
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> workers = new ArrayList<>();
+		for (int thread = 0; thread < 8; thread++) {
+			int base = thread * 100000;
+			workers.add(executor.submit(() -> {
+				for (int id = base; id < base + 20000; id++) {
+					Assertions.assertTrue(table.putIfAbsent(id, "saga " + id));
+				}
+				for (int id = base; id < base + 20000; id += 2) {
+					Assertions.assertEquals("saga " + id, table.remove(id));
+				}
+			}));
+		}
+		for (Future<?> worker : workers) {
+			worker.get();
+		}
+		executor.shutdown();
+		Assertions.assertEquals(8 * 10000, table.size());
+	}
+}
@@ -0,0 +1,174 @@
+package com.disconnect;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class ClientDisconnectsTest {
+	private static final String REQUEST = "GET /purchase HTTP/1.1\r\nHost: localhost\r\n\r\n";
+
+	@TempDir
+	Path baseDir;
+	private Tomcat tomcat;
+	private final List<BooleanSupplier> probes = new CopyOnWriteArrayList<>();
+	private final CountDownLatch received = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@BeforeEach
+	public void startTomcat() throws LifecycleException {
+		tomcat = new Tomcat();
+		tomcat.setBaseDir(baseDir.toString());
+		tomcat.setPort(0);
+		Context context = tomcat.addContext("", null);
+		context.getPipeline().addValve(new TomcatConnectionProbes.ProbeValve());
+		// holds every request open until the test has looked at its probe
+		Tomcat.addServlet(context, "purchase", new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+				probes.add((BooleanSupplier) request.getAttribute(ClientDisconnects.CONNECTION_CLOSED));
+				received.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				response.getWriter().write("done");
+			}
+		});
+		context.addServletMappingDecoded("/", "purchase");
+		tomcat.getConnector();
+		tomcat.start();
+	}
+
+	@AfterEach
+	public void stopTomcat() throws LifecycleException {
+		release.countDown();
+		tomcat.stop();
+		tomcat.destroy();
+	}
+
+	@Test
+	@DisplayName("[DISCONNECTS] The probe reports a connection the client closed mid-request")
+	public void probeSeesClosedConnection(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		try (Socket socket = connect()) {
+			socket.getOutputStream().write(REQUEST.getBytes(StandardCharsets.US_ASCII));
+			Assertions.assertTrue(received.await(5, TimeUnit.SECONDS));
+			Assertions.assertFalse(probes.get(0).getAsBoolean());
+		}
+		Assertions.assertTrue(eventually(probes.get(0)));
+	}
+
+	@Test
+	@DisplayName("[DISCONNECTS] Live and pipelining connections don't pass for closed ones")
+	public void probeKeepsOpenConnections(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		try (Socket socket = connect()) {
+			OutputStream out = socket.getOutputStream();
+			out.write((REQUEST + REQUEST).getBytes(StandardCharsets.US_ASCII));
+			Assertions.assertTrue(received.await(5, TimeUnit.SECONDS));
+			for (int i = 0; i < 5; i++) {
+				Assertions.assertFalse(probes.get(0).getAsBoolean());
+				Thread.sleep(10);
+			}
+			release.countDown();
+
+			// the pipelined request the probe peeked at is still served
+			String responses = readUntil(socket.getInputStream(), 2);
+			Assertions.assertEquals(2, probes.size());
+			Assertions.assertEquals(2, responses.split("HTTP/1.1 200", -1).length - 1, responses);
+		}
+	}
+
+	@Test
+	@DisplayName("[DISCONNECTS] A disconnect interrupts the call in flight and counts the avoided calls")
+	public void interruptsCallInFlight(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		ClientDisconnects clientDisconnects = new ClientDisconnects(true, 5, new SimpleMeterRegistry());
+		clientDisconnects.start();
+		AtomicBoolean closed = new AtomicBoolean();
+		try (ClientDisconnects.Watch watch = clientDisconnects.watch(closed::get)) {
+			Assertions.assertSame(watch, clientDisconnects.current());
+			ClientDisconnectedException e = Assertions.assertThrows(ClientDisconnectedException.class,
+					() -> watch.cancellable("seat-hold", 4, () -> {
+						closed.set(true);
+						try {
+							release.await(5, TimeUnit.SECONDS);
+						} catch (InterruptedException interrupted) {
+							throw new IllegalStateException("Request was interrupted", interrupted);
+						}
+						return "HOLDING";
+					}));
+			Assertions.assertEquals("seat-hold", e.getStage());
+			Assertions.assertEquals(4, e.getAvoidedCalls());
+			// the interrupt was for the call only
+			Assertions.assertFalse(Thread.currentThread().isInterrupted());
+			Assertions.assertThrows(ClientDisconnectedException.class, () -> watch.checkpoint("payment", 3));
+			clientDisconnects.cancelled(e);
+		} finally {
+			clientDisconnects.stop();
+		}
+
+		ClientDisconnects.Snapshot snapshot = clientDisconnects.snapshot();
+		Assertions.assertNull(clientDisconnects.current());
+		Assertions.assertEquals(0, snapshot.watching());
+		Assertions.assertEquals(1, snapshot.disconnects());
+		Assertions.assertEquals(1, snapshot.cancelledSagas());
+		Assertions.assertEquals(1, snapshot.cancelledCalls());
+		Assertions.assertEquals(4, snapshot.avoidedCalls());
+	}
+
+	private Socket connect() throws IOException {
+		Socket socket = new Socket("localhost", tomcat.getConnector().getLocalPort());
+		socket.setSoTimeout(5000);
+		return socket;
+	}
+
+	private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				return false;
+			}
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	// reads until the given number of responses have been received in full
+	private static String readUntil(InputStream in, int responses) throws IOException {
+		StringBuilder read = new StringBuilder();
+		byte[] buffer = new byte[1024];
+		while (read.toString().split("done", -1).length <= responses) {
+			int n = in.read(buffer);
+			if (n < 0) {
+				break;
+			}
+			read.append(new String(buffer, 0, n, StandardCharsets.US_ASCII));
+		}
+		return read.toString();
+	}
+}
@@ -0,0 +1,100 @@
+package com.limiter;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+	private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+		return new AdaptiveConcurrencyLimiter(true, initialLimit, 2, 50, 0.5, 2.0, 10);
+	}
+
+	@Test
+	@DisplayName("[LIMITER] Sheds requests above the limit")
+	public void shedsAboveLimit(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+		AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+		AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+		Assertions.assertNotNull(first);
+		Assertions.assertNotNull(second);
+		Assertions.assertNull(limiter.tryAcquire());
+
+		first.release(true);
+		first.release(true); // releasing twice must not free an extra slot
+		Assertions.assertEquals(1, limiter.snapshot().inFlight());
+		Assertions.assertNotNull(limiter.tryAcquire());
+
+		AdaptiveConcurrencyLimiter.Snapshot snapshot = limiter.snapshot();
+		Assertions.assertEquals(3, snapshot.accepted());
+		Assertions.assertEquals(1, snapshot.shed());
+	}
+
+	@Test
+	@DisplayName("[LIMITER] Backs off on slow orchestrations")
+	public void backsOffOnLatency(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+		limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 20, System.nanoTime());
+		Assertions.assertEquals(20, limiter.snapshot().limit());
+
+		for (int cut = 1; cut <= 2; cut++) {
+			// the samples of one round trip all started before the cut, they only count once
+			long start = System.nanoTime();
+			for (int i = 0; i < 10; i++) {
+				limiter.onSample(TimeUnit.MILLISECONDS.toNanos(100), 20, start);
+			}
+			Assertions.assertEquals(20 >> cut, limiter.snapshot().limit());
+			// the next round trip starts once this one ended
+			while (System.nanoTime() - start <= TimeUnit.MILLISECONDS.toNanos(100)) {
+				Thread.onSpinWait();
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("[LIMITER] Grows while the limit is in use")
+	public void growsWhenSaturated(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+		for (int i = 0; i < 40; i++) {
+			limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 4, System.nanoTime());
+		}
+		Assertions.assertTrue(limiter.snapshot().limit() > 4);
+
+		// an idle orchestrator must not inflate its limit
+		AdaptiveConcurrencyLimiter idle = limiter(4);
+		for (int i = 0; i < 40; i++) {
+			idle.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1, System.nanoTime());
+		}
+		Assertions.assertEquals(4, idle.snapshot().limit());
+	}
+
+	@Test
+	@DisplayName("[LIMITER] Retry-After hint")
+	public void retryAfter(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		AdaptiveConcurrencyLimiter limiter = limiter(4);
+		Assertions.assertEquals(1, limiter.retryAfterSeconds());
+
+		limiter.onSample(TimeUnit.MILLISECONDS.toNanos(2500), 1, System.nanoTime());
+		Assertions.assertEquals(3, limiter.retryAfterSeconds());
+	}
+
+	@Test
+	@DisplayName("[LIMITER] Disabled limiter never sheds")
+	public void disabled(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(false, 2, 2, 50, 0.5, 2.0, 10);
+		for (int i = 0; i < 10; i++) {
+			Assertions.assertNotNull(limiter.tryAcquire());
+		}
+		Assertions.assertEquals(10, limiter.snapshot().inFlight());
+	}
+}
@@ -0,0 +1,152 @@
+package com.limiter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import com.config.DownstreamSettings;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TokenBucketTest {
+	private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	@DisplayName("[RATE LIMIT] Bursts are served at once, then calls are paced at the configured rate")
+	public void pacesCalls(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		TokenBucket bucket = bucket(20, 2, 10, 5000);
+
+		long start = System.nanoTime();
+		Assertions.assertEquals(0, bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE));
+		Assertions.assertEquals(0, bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE));
+		for (int i = 0; i < 4; i++) {
+			Assertions.assertTrue(bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE) > 0);
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// 4 tokens at 20 per second
+		Assertions.assertTrue(elapsedMillis >= 190, "took " + elapsedMillis + "ms");
+		Assertions.assertEquals(6, bucket.snapshot().acquired());
+	}
+
+	@Test
+	@DisplayName("[RATE LIMIT] Queued first attempts are served before queued retries")
+	public void firstAttemptsBeforeRetries(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		TokenBucket bucket = bucket(10, 1, 10, 5000);
+		bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE);
+		List<String> order = new CopyOnWriteArrayList<>();
+
+		CompletableFuture<Void> retry = CompletableFuture.runAsync(() -> {
+			bucket.acquire(TokenBucket.Priority.RETRY, NO_DEADLINE);
+			order.add("retry");
+		});
+		awaitQueued(bucket, 1);
+		CompletableFuture<Void> firstAttempt = CompletableFuture.runAsync(() -> {
+			bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE);
+			order.add("first attempt");
+		});
+		awaitQueued(bucket, 2);
+
+		CompletableFuture.allOf(retry, firstAttempt).get(5, TimeUnit.SECONDS);
+		Assertions.assertEquals(List.of("first attempt", "retry"), order);
+	}
+
+	@Test
+	@DisplayName("[RATE LIMIT] A full queue rejects without waiting")
+	public void rejectsWhenQueueFull(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		TokenBucket bucket = bucket(2, 1, 1, 5000);
+		bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE);
+		CompletableFuture<Long> queued = CompletableFuture.supplyAsync(
+				() -> bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE));
+		awaitQueued(bucket, 1);
+
+		long start = System.nanoTime();
+		RateLimitedException e = Assertions.assertThrows(RateLimitedException.class,
+				() -> bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE));
+		Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+		Assertions.assertEquals("queue-full", e.getReason());
+		Assertions.assertEquals("Payment Service", e.getDownstream());
+
+		Assertions.assertTrue(queued.get(5, TimeUnit.SECONDS) > 0);
+	}
+
+	@Test
+	@DisplayName("[RATE LIMIT] A first attempt takes the place of a queued retry when the queue is full")
+	public void firstAttemptEvictsRetry(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		TokenBucket bucket = bucket(5, 1, 1, 5000);
+		bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE);
+		CompletableFuture<Long> retry = CompletableFuture.supplyAsync(
+				() -> bucket.acquire(TokenBucket.Priority.RETRY, NO_DEADLINE));
+		awaitQueued(bucket, 1);
+
+		Assertions.assertTrue(bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE) > 0);
+
+		Exception e = Assertions.assertThrows(Exception.class, () -> retry.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals("evicted", ((RateLimitedException) e.getCause()).getReason());
+		Assertions.assertEquals(1.0, meterRegistry.get("orchestrator.outbound.rate-limit.rejected")
+				.tag("reason", "evicted").tag("priority", "RETRY").counter().count());
+	}
+
+	@Test
+	@DisplayName("[RATE LIMIT] Calls that would outlive the request's remaining time are rejected up front")
+	public void rejectsPastDeadline(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		TokenBucket bucket = bucket(1, 1, 10, 5000);
+		bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE);
+
+		long start = System.nanoTime();
+		RateLimitedException e = Assertions.assertThrows(RateLimitedException.class,
+				() -> bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, TimeUnit.MILLISECONDS.toNanos(200)));
+		Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+		Assertions.assertEquals("deadline", e.getReason());
+
+		// the limiter's own maximum wait applies the same way
+		TokenBucket shortWait = bucket(1, 1, 10, 50);
+		shortWait.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE);
+		Assertions.assertEquals("deadline", Assertions.assertThrows(RateLimitedException.class,
+				() -> shortWait.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE)).getReason());
+		Assertions.assertEquals(0, bucket.queued());
+	}
+
+	@Test
+	@DisplayName("[RATE LIMIT] Wait times are published per downstream and priority")
+	public void publishesWaitTimes(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		TokenBucket bucket = bucket(20, 1, 10, 5000);
+		bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE);
+		bucket.acquire(TokenBucket.Priority.FIRST_ATTEMPT, NO_DEADLINE);
+		bucket.acquire(TokenBucket.Priority.RETRY, NO_DEADLINE);
+
+		Timer firstAttempts = meterRegistry.get("orchestrator.outbound.rate-limit.wait")
+				.tag("downstream", "Payment Service").tag("priority", "FIRST_ATTEMPT").timer();
+		Timer retries = meterRegistry.get("orchestrator.outbound.rate-limit.wait")
+				.tag("downstream", "Payment Service").tag("priority", "RETRY").timer();
+		Assertions.assertEquals(2, firstAttempts.count());
+		Assertions.assertEquals(1, retries.count());
+		Assertions.assertTrue(retries.totalTime(TimeUnit.MILLISECONDS) >= 30);
+		Assertions.assertTrue(bucket.snapshot().maxWaitMillis() >= 30);
+	}
+
+	private TokenBucket bucket(double permitsPerSecond, int burst, int maxQueue, int maxWaitMillis) {
+		return new TokenBucket("Payment Service",
+				new DownstreamSettings.RateLimit(permitsPerSecond, burst, maxQueue, maxWaitMillis), meterRegistry);
+	}
+
+	private static void awaitQueued(TokenBucket bucket, int queued) throws InterruptedException {
+		long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (bucket.queued() < queued && System.nanoTime() < giveUp) {
+			Thread.sleep(1);
+		}
+		Assertions.assertEquals(queued, bucket.queued());
+	}
+}
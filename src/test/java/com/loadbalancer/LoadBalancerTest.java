@@ -0,0 +1,268 @@
+package com.loadbalancer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.web.client.RestClient;
+import com.config.DownstreamConfig;
+import com.sun.net.httpserver.HttpServer;
+
+public class LoadBalancerTest {
+	private final List<StubInstance> stubs = new ArrayList<>();
+	private final AtomicLong clock = new AtomicLong();
+
+	@AfterEach
+	public void stopStubs() {
+		stubs.forEach(stub -> stub.server.stop(0));
+	}
+
+	@Test
+	@DisplayName("[LOAD BALANCER] Least-outstanding spreads calls evenly across instances")
+	public void leastOutstandingSpreadsEvenly(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		List<StubInstance> instances = startStubs(4);
+		LoadBalancer loadBalancer = loadBalancer(instances, LoadBalancer.Strategy.LEAST_OUTSTANDING);
+
+		callConcurrently(loadBalancer, 8, 1000);
+
+		assertEvenSpread(instances, 1000);
+	}
+
+	@Test
+	@DisplayName("[LOAD BALANCER] Power of two choices spreads calls evenly across instances")
+	public void powerOfTwoChoicesSpreadsEvenly(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		List<StubInstance> instances = startStubs(4);
+		LoadBalancer loadBalancer = loadBalancer(instances, LoadBalancer.Strategy.POWER_OF_TWO_CHOICES);
+
+		callConcurrently(loadBalancer, 8, 2000);
+
+		assertEvenSpread(instances, 2000);
+	}
+
+	@Test
+	@DisplayName("[LOAD BALANCER] A slow instance receives less traffic and reports its latency")
+	public void slowInstanceGetsLessTraffic(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		List<StubInstance> instances = startStubs(3);
+		StubInstance slow = instances.get(0);
+		slow.delayMillis = 100;
+		LoadBalancer loadBalancer = loadBalancer(instances, LoadBalancer.Strategy.POWER_OF_TWO_CHOICES);
+
+		callConcurrently(loadBalancer, 8, 600);
+
+		int fast = (instances.get(1).hits.get() + instances.get(2).hits.get()) / 2;
+		Assertions.assertTrue(slow.hits.get() < fast / 3,
+				"slow instance got " + slow.hits.get() + " calls, the fast ones " + fast + " each");
+		LoadBalancer.InstanceSnapshot slowSnapshot = loadBalancer.snapshot().get(0);
+		Assertions.assertEquals(slow.hits.get(), slowSnapshot.requests());
+		Assertions.assertTrue(slowSnapshot.meanLatencyMillis() >= 100, "mean latency " + slowSnapshot.meanLatencyMillis());
+		Assertions.assertTrue(slowSnapshot.smoothedLatencyMillis() > loadBalancer.snapshot().get(1).smoothedLatencyMillis());
+		Assertions.assertEquals(0, slowSnapshot.outstanding());
+	}
+
+	@Test
+	@DisplayName("[LOAD BALANCER] Failing instance is ejected and returns once the ejection expires")
+	public void ejectsFailingInstance(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		List<StubInstance> instances = startStubs(2);
+		StubInstance failing = instances.get(0);
+		failing.status = 503;
+		LoadBalancer loadBalancer = loadBalancer(instances, LoadBalancer.Strategy.LEAST_OUTSTANDING);
+		RestClient client = client(loadBalancer);
+
+		// round-robin until the third failure in a row ejects it
+		for (int i = 0; i < 6; i++) {
+			call(client);
+		}
+		Assertions.assertEquals(3, failing.hits.get());
+		Assertions.assertTrue(loadBalancer.snapshot().get(0).ejected());
+
+		for (int i = 0; i < 10; i++) {
+			Assertions.assertEquals(200, call(client));
+		}
+		Assertions.assertEquals(3, failing.hits.get());
+
+		// back in rotation after the base ejection period
+		failing.status = 200;
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		for (int i = 0; i < 10; i++) {
+			call(client);
+		}
+		Assertions.assertFalse(loadBalancer.snapshot().get(0).ejected());
+		Assertions.assertEquals(8, failing.hits.get());
+		Assertions.assertEquals(3, loadBalancer.snapshot().get(0).failures());
+	}
+
+	@Test
+	@DisplayName("[LOAD BALANCER] Repeated ejections back off exponentially")
+	public void ejectionBacksOff(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		List<StubInstance> instances = startStubs(2);
+		StubInstance failing = instances.get(0);
+		failing.status = 500;
+		LoadBalancer loadBalancer = loadBalancer(instances, LoadBalancer.Strategy.LEAST_OUTSTANDING);
+		RestClient client = client(loadBalancer);
+
+		for (int i = 0; i < 6; i++) {
+			call(client);
+		}
+		Assertions.assertTrue(loadBalancer.snapshot().get(0).ejected());
+
+		// still failing when it comes back, so the next ejection lasts twice as long
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		for (int i = 0; i < 6; i++) {
+			call(client);
+		}
+		Assertions.assertTrue(loadBalancer.snapshot().get(0).ejected());
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		Assertions.assertTrue(loadBalancer.snapshot().get(0).ejected());
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		Assertions.assertFalse(loadBalancer.snapshot().get(0).ejected());
+	}
+
+	@Test
+	@DisplayName("[LOAD BALANCER] The last available instance is never ejected")
+	public void keepsLastInstance(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		List<StubInstance> instances = startStubs(1);
+		instances.get(0).status = 503;
+		LoadBalancer loadBalancer = loadBalancer(instances, LoadBalancer.Strategy.POWER_OF_TWO_CHOICES);
+		RestClient client = client(loadBalancer);
+
+		for (int i = 0; i < 10; i++) {
+			Assertions.assertEquals(503, call(client));
+		}
+		Assertions.assertFalse(loadBalancer.snapshot().get(0).ejected());
+		Assertions.assertEquals(10, instances.get(0).hits.get());
+	}
+
+	@Test
+	@DisplayName("[LOAD BALANCER] Downstreams without instances are not balanced")
+	public void unconfiguredDownstreams(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		DownstreamLoadBalancers loadBalancers = new DownstreamLoadBalancers("least-outstanding", 3, 5000, 60000);
+
+		Assertions.assertNull(loadBalancers.interceptorFor(DownstreamConfig.API_GATEWAY, List.of()));
+		Assertions.assertNotNull(loadBalancers.interceptorFor(DownstreamConfig.PAYMENT_SERVICE,
+				List.of("payment-1:8084", "payment-2:8084")));
+		Map<String, List<LoadBalancer.InstanceSnapshot>> snapshot = loadBalancers.snapshot();
+		Assertions.assertEquals(List.of(DownstreamConfig.PAYMENT_SERVICE), List.copyOf(snapshot.keySet()));
+		Assertions.assertEquals("payment-2:8084", snapshot.get(DownstreamConfig.PAYMENT_SERVICE).get(1).instance());
+	}
+
+	@Test
+	@DisplayName("[LOAD BALANCER] Instances keep their statistics until the instance list changes")
+	public void keepsLoadBalancerWhileInstancesUnchanged(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		List<StubInstance> instances = startStubs(2);
+		List<String> addresses = instances.stream().map(stub -> "127.0.0.1:" + stub.server.getAddress().getPort()).toList();
+		DownstreamLoadBalancers loadBalancers = new DownstreamLoadBalancers("least-outstanding", 3, 5000, 60000);
+
+		RestClient client = RestClient.builder()
+				.requestInterceptor(loadBalancers.interceptorFor(DownstreamConfig.PAYMENT_SERVICE, addresses)).build();
+		for (int i = 0; i < 4; i++) {
+			call(client);
+		}
+		loadBalancers.interceptorFor(DownstreamConfig.PAYMENT_SERVICE, List.copyOf(addresses));
+		Assertions.assertEquals(2, loadBalancers.snapshot().get(DownstreamConfig.PAYMENT_SERVICE).get(0).requests());
+
+		loadBalancers.interceptorFor(DownstreamConfig.PAYMENT_SERVICE, addresses.subList(0, 1));
+		Assertions.assertEquals(0, loadBalancers.snapshot().get(DownstreamConfig.PAYMENT_SERVICE).get(0).requests());
+
+		loadBalancers.interceptorFor(DownstreamConfig.PAYMENT_SERVICE, List.of());
+		Assertions.assertTrue(loadBalancers.snapshot().isEmpty());
+	}
+
+	private LoadBalancer loadBalancer(List<StubInstance> instances, LoadBalancer.Strategy strategy) {
+		List<String> addresses = instances.stream().map(stub -> "127.0.0.1:" + stub.server.getAddress().getPort()).toList();
+		return new LoadBalancer("Payment Service", addresses, strategy, 3, 1000, 8000, clock::get);
+	}
+
+	private static RestClient client(LoadBalancer loadBalancer) {
+		return RestClient.builder().requestInterceptor(new LoadBalancingInterceptor(loadBalancer)).build();
+	}
+
+	// the host in the URL is only a placeholder, the interceptor picks the instance
+	private static int call(RestClient client) {
+		return client.get().uri("http://payment-service/api/v1/processTopic")
+				.exchange((request, response) -> response.getStatusCode().value());
+	}
+
+	private static void callConcurrently(LoadBalancer loadBalancer, int threads, int calls) throws Exception {
+		RestClient client = client(loadBalancer);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int i = 0; i < calls; i++) {
+				results.add(executor.submit(() -> call(client)));
+			}
+			for (Future<Integer> result : results) {
+				Assertions.assertEquals(200, result.get(30, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void assertEvenSpread(List<StubInstance> instances, int calls) {
+		double mean = (double) calls / instances.size();
+		for (StubInstance instance : instances) {
+			int hits = instance.hits.get();
+			Assertions.assertTrue(Math.abs(hits - mean) <= mean * 0.15,
+					"instance got " + hits + " of " + calls + " calls, expected about " + mean);
+		}
+	}
+
+	private List<StubInstance> startStubs(int count) throws IOException {
+		List<StubInstance> started = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			StubInstance stub = new StubInstance();
+			started.add(stub);
+			stubs.add(stub);
+		}
+		return started;
+	}
+
+	// a local stand-in for one downstream instance, counting the calls it answers
+	private static class StubInstance {
+		final HttpServer server;
+		final AtomicInteger hits = new AtomicInteger();
+		volatile int status = 200;
+		volatile int delayMillis;
+
+		StubInstance() throws IOException {
+			server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+			server.setExecutor(Executors.newCachedThreadPool());
+			server.createContext("/", exchange -> {
+				hits.incrementAndGet();
+				try {
+					if (delayMillis > 0) {
+						Thread.sleep(delayMillis);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				byte[] body = "{}".getBytes();
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(status, body.length);
+				exchange.getResponseBody().write(body);
+				exchange.close();
+			});
+			server.start();
+		}
+	}
+}
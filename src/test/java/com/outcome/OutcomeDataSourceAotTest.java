@@ -0,0 +1,102 @@
+package com.outcome;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.GeneratedFiles.Kind;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.aot.ApplicationContextAotGenerator;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.javapoet.ClassName;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class OutcomeDataSourceAotTest {
+	@TempDir
+	Path generated;
+
+	@Test
+	@DisplayName("[OUTCOMES] An AOT build made without outcomes runs with them enabled")
+	public void aotBuildRunsWithOutcomes(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		// processed like the fast-startup build, with the default profile
+		AnnotationConfigApplicationContext build = new AnnotationConfigApplicationContext();
+		TestPropertyValues.of("orchestrator.outcomes.enabled=false").applyTo(build);
+		build.register(OutcomeDataSourceConfiguration.class, OutcomeStore.class);
+		InMemoryGeneratedFiles generatedFiles = new InMemoryGeneratedFiles();
+		DefaultGenerationContext generationContext = new DefaultGenerationContext(
+				new ClassNameGenerator(ClassName.get(OutcomeDataSourceAotTest.class)), generatedFiles);
+		ClassName initializer = new ApplicationContextAotGenerator().processAheadOfTime(build, generationContext);
+		generationContext.writeGeneratedContent();
+
+		compile(generatedFiles);
+		try (GenericApplicationContext runtime = new GenericApplicationContext()) {
+			TestPropertyValues.of("orchestrator.outcomes.enabled=true",
+					"spring.datasource.url=jdbc:h2:mem:aot-outcomes;DB_CLOSE_DELAY=-1").applyTo(runtime);
+			initializer(initializer.reflectionName()).initialize(runtime);
+			runtime.refresh();
+
+			OutcomeStore store = runtime.getBean(OutcomeStore.class);
+			Assertions.assertTrue(store.isEnabled());
+			Assertions.assertEquals(Status.UP, runtime.getBean("outcomesHealthIndicator", HealthIndicator.class).health().getStatus());
+			store.record(OutcomeStoreTest.outcome(7));
+			store.stop();
+			Assertions.assertEquals(1, store.snapshot().written());
+			Assertions.assertEquals(1, new JdbcTemplate(runtime.getBean(OutcomeDataSource.class).get())
+					.queryForObject("SELECT COUNT(*) FROM orchestration_outcome", Integer.class));
+		}
+	}
+
+	// compiles the generated code and defines every class in the package of the class it was generated for,
+	// the generated code reaches package-private members there
+	private void compile(InMemoryGeneratedFiles generatedFiles) throws IOException, ReflectiveOperationException {
+		Path sources = Files.createDirectories(generated.resolve("sources"));
+		Path classes = Files.createDirectories(generated.resolve("classes"));
+		List<String> arguments = new ArrayList<>(List.of("-classpath", System.getProperty("java.class.path"),
+				"-d", classes.toString(), "-proc:none"));
+		for (var file : generatedFiles.getGeneratedFiles(Kind.SOURCE).entrySet()) {
+			Path source = sources.resolve(file.getKey());
+			Files.createDirectories(source.getParent());
+			try (InputStream in = file.getValue().getInputStream()) {
+				Files.copy(in, source);
+			}
+			arguments.add(source.toString());
+		}
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assertions.assertEquals(0, compiler.run(null, null, null, arguments.toArray(String[]::new)));
+		List<Path> classFiles;
+		try (Stream<Path> walk = Files.walk(classes)) {
+			classFiles = walk.filter(path -> path.toString().endsWith(".class")).sorted().toList();
+		}
+		for (Path classFile : classFiles) {
+			String className = classes.relativize(classFile).toString().replace(".class", "").replace('/', '.');
+			Class<?> target = Class.forName(className.substring(0, className.indexOf("__")));
+			MethodHandles.privateLookupIn(target, MethodHandles.lookup()).defineClass(Files.readAllBytes(classFile));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ApplicationContextInitializer<GenericApplicationContext> initializer(String className)
+			throws ReflectiveOperationException {
+		return (ApplicationContextInitializer<GenericApplicationContext>) Class.forName(className)
+				.getDeclaredConstructor().newInstance();
+	}
+}
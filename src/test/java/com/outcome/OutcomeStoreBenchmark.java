@@ -0,0 +1,54 @@
+package com.outcome;
+
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/*
+ * Measures how many outcomes per second the OutcomeStore persists at different batch sizes, against
+ * an in-memory H2 database or the database at the given JDBC url. Outcomes are recorded as fast as
+ * the queue accepts them, so the rate is the writer's.
+ *
+ * scripts/benchmark-outcome-store.sh [outcomes] [jdbc-url user password]
+ */
+public class OutcomeStoreBenchmark {
+    private static final int[] BATCH_SIZES = { 1, 10, 100, 500 };
+
+    public static void main(String[] args) throws Exception {
+        int outcomes = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+        DataSource dataSource = args.length > 1
+                ? new DriverManagerDataSource(args[1], args.length > 2 ? args[2] : null, args.length > 3 ? args[3] : null)
+                : new SingleConnectionDataSource("jdbc:h2:mem:outcomes;DB_CLOSE_DELAY=-1", true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        OrchestrationOutcome outcome = new OrchestrationOutcome(1001, "Inception", "E6", 200,
+                System.currentTimeMillis(), 10015, List.of(new OrchestrationOutcome.Stage("seat-claim", 15),
+                        new OrchestrationOutcome.Stage("seat-hold", 4000), new OrchestrationOutcome.Stage("payment", 6000)));
+
+        System.out.printf("%-10s %12s %12s %12s%n", "batch", "outcomes/s", "batches", "dropped");
+        for (int batchSize : BATCH_SIZES) {
+            // the first run creates the table and warms up, the second is measured
+            run(dataSource, batchSize, outcomes / 10, outcome);
+            jdbc.execute("DELETE FROM orchestration_outcome");
+            long start = System.nanoTime();
+            OutcomeStore.Snapshot snapshot = run(dataSource, batchSize, outcomes, outcome);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-10d %12.0f %12d %12d%n", batchSize, snapshot.written() * 1e9 / elapsed,
+                    snapshot.batches(), snapshot.dropped());
+            jdbc.execute("DELETE FROM orchestration_outcome");
+        }
+    }
+
+    private static OutcomeStore.Snapshot run(DataSource dataSource, int batchSize, int outcomes,
+            OrchestrationOutcome outcome) throws InterruptedException {
+        // a queue and offer timeout large enough that nothing is dropped
+        OutcomeStore store = new OutcomeStore(true, batchSize, 10000, 60000, true, dataSource);
+        store.start();
+        for (int i = 0; i < outcomes; i++) {
+            store.record(outcome);
+        }
+        store.stop();
+        return store.snapshot();
+    }
+}
@@ -0,0 +1,135 @@
+package com.outcome;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+public class OutcomeStoreTest {
+	private final EmbeddedDatabase database = database();
+
+	@AfterEach
+	void shutdown() {
+		database.shutdown();
+	}
+
+	@Test
+	@DisplayName("[OUTCOMES] Outcomes are written in batches")
+	public void writesInBatches(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		OutcomeStore store = new OutcomeStore(true, 100, 10000, 5, true, database);
+		store.start();
+		for (int i = 0; i < 1000; i++) {
+			store.record(outcome(i));
+		}
+		store.stop();
+
+		OutcomeStore.Snapshot snapshot = store.snapshot();
+		Assertions.assertEquals(1000, snapshot.written());
+		Assertions.assertEquals(0, snapshot.dropped() + snapshot.failed());
+		Assertions.assertTrue(snapshot.batches() >= 10 && snapshot.batches() < 1000, snapshot.toString());
+
+		JdbcTemplate jdbc = new JdbcTemplate(database);
+		Assertions.assertEquals(1000, jdbc.queryForObject("SELECT COUNT(*) FROM orchestration_outcome", Integer.class));
+		Map<String, Object> row = jdbc.queryForMap("SELECT * FROM orchestration_outcome WHERE correlator_id = 7");
+		Assertions.assertEquals("E6", row.get("SEAT_NUMBERS"));
+		Assertions.assertEquals(200, row.get("HTTP_STATUS"));
+		Assertions.assertEquals("seat-claim:15,seat-hold:4000,payment:6000", row.get("STAGES"));
+	}
+
+	@Test
+	@DisplayName("[OUTCOMES] Outcomes are dropped once the queue stays full")
+	public void dropsWhenQueueFull(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		CountDownLatch slowDatabase = new CountDownLatch(1);
+		CountDownLatch writing = new CountDownLatch(1);
+		new JdbcTemplate(database).execute("CREATE TABLE orchestration_outcome (correlator_id INTEGER, movie_name VARCHAR(255), "
+				+ "seat_numbers VARCHAR(255), http_status INTEGER, started_at TIMESTAMP, duration_micros BIGINT, stages VARCHAR(1000))");
+		DataSource blocking = new DelegatingDataSource(database) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				writing.countDown();
+				try {
+					slowDatabase.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.getConnection();
+			}
+		};
+		OutcomeStore store = new OutcomeStore(true, 100, 2, 1, false, blocking);
+		store.start();
+
+		store.record(outcome(0));
+		Assertions.assertTrue(writing.await(5, TimeUnit.SECONDS));
+		long start = System.nanoTime();
+		for (int i = 1; i < 10; i++) {
+			store.record(outcome(i));
+		}
+		// each dropped outcome held its request back for about a millisecond, not until the database answered
+		Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+		Assertions.assertEquals(7, store.snapshot().dropped());
+
+		slowDatabase.countDown();
+		store.stop();
+		Assertions.assertEquals(3, store.snapshot().written());
+	}
+
+	@Test
+	@DisplayName("[OUTCOMES] A failed batch is counted and the writer carries on")
+	public void countsFailedBatches(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		OutcomeStore store = new OutcomeStore(true, 100, 100, 5, false, database);
+		store.start();
+		store.record(outcome(1));
+		awaitFailed(store, 1);
+
+		new JdbcTemplate(database).execute("RUNSCRIPT FROM 'classpath:db/orchestration-outcome.sql'");
+		store.record(outcome(2));
+		store.stop();
+		Assertions.assertEquals(1, store.snapshot().written());
+		Assertions.assertEquals(1, store.snapshot().failed());
+	}
+
+	@Test
+	@DisplayName("[OUTCOMES] A disabled store records nothing")
+	public void disabledStoreIgnoresOutcomes(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		OutcomeStore store = new OutcomeStore(false, 100, 100, 5, true, (DataSource) null);
+		store.start();
+		store.record(outcome(1));
+		store.stop();
+		Assertions.assertEquals(new OutcomeStore.Snapshot(false, 0, 0, 0, 0, 0), store.snapshot());
+	}
+
+	static EmbeddedDatabase database() {
+		return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+	}
+
+	static OrchestrationOutcome outcome(int correlatorId) {
+		return new OrchestrationOutcome(correlatorId, "Inception", "E6", 200, System.currentTimeMillis(), 10015,
+				List.of(new OrchestrationOutcome.Stage("seat-claim", 15), new OrchestrationOutcome.Stage("seat-hold", 4000),
+						new OrchestrationOutcome.Stage("payment", 6000)));
+	}
+
+	private static void awaitFailed(OutcomeStore store, long expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (store.snapshot().failed() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		Assertions.assertEquals(expected, store.snapshot().failed());
+	}
+}
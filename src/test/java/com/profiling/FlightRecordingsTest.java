@@ -0,0 +1,67 @@
+package com.profiling;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+public class FlightRecordingsTest {
+
+	@Test
+	@DisplayName("[PROFILING] A dump holds only the events of the requested window")
+	public void dumpsWindow(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		FlightRecordings recordings = new FlightRecordings(true, "default", 900, 16);
+		recordings.start();
+		try {
+			bind(1);
+			Thread.sleep(2000);
+			bind(2);
+
+			Assertions.assertEquals(List.of(2), bindings(recordings.dump(Duration.ofSeconds(1))));
+			Assertions.assertEquals(List.of(1, 2), bindings(recordings.dump(Duration.ofSeconds(60))));
+			Assertions.assertEquals(2, recordings.snapshot().dumps());
+			Assertions.assertTrue(recordings.snapshot().recordedBytes() > 0);
+		} finally {
+			recordings.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("[PROFILING] Nothing is recorded or dumped unless enabled")
+	public void disabled(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		FlightRecordings recordings = new FlightRecordings(false, "default", 900, 16);
+		recordings.start();
+
+		Assertions.assertNull(recordings.dump(Duration.ofSeconds(60)));
+		Assertions.assertFalse(new TopicBindingEvent().shouldCommit());
+		Assertions.assertEquals(0, recordings.snapshot().recordedBytes());
+	}
+
+	private static void bind(int correlatorId) {
+		TopicBindingEvent event = new TopicBindingEvent();
+		event.begin();
+		if (event.shouldCommit()) {
+			event.commit(correlatorId, "MovieTicketRequest", "BOUND");
+		}
+	}
+
+	private static List<Integer> bindings(byte[] dump) throws Exception {
+		Path file = Files.createTempFile("dump-", ".jfr");
+		try {
+			Files.write(file, dump);
+			return RecordingFile.readAllEvents(file).stream()
+					.filter(event -> event.getEventType().getName().equals("orchestrator.TopicBinding"))
+					.map(event -> event.getInt("correlatorId")).sorted().toList();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.schemaValidator;
+
+import java.util.List;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpStatus;
+import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+import com.schema.ValidationError;
+
+class FailFastValidationTest {
+    // wrong seat, genre and email, so there are several violations to stop at
+    private static final JSONObject INVALID = new JSONObject("""
+        {
+            "topicName": "MovieTicketRequest",
+            "correlatorId": 1001,
+            "movie": {
+                "movieName": "Inception",
+                "showtime": "2025-11-10T19:30:00-06:00",
+                "genre": "WESTERN"
+            },
+            "seatNumber": "EE6",
+            "price": 12.50,
+            "payment": {
+                "topicName": "PaymentRequest",
+                "correlatorId": 1001,
+                "paymentAmount": 12.50,
+                "email": "not-an-email",
+                "creditCard": "6011000990139424",
+                "cvc": "321"
+            }
+        }
+        """);
+
+    private final TopicPreChecks preChecks = new TopicPreChecks(64, List.of("MovieTicketRequest"));
+
+    @Test
+    @DisplayName("[SCHEMA] Fail-fast mode stops at the first violation")
+    void failFastStopsAtFirstViolation(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        for (boolean generated : new boolean[] { true, false }) {
+            DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+            List<String> all = new SchemaValidator(resourceLoader, generated, false).violations("MovieTicketRequest", INVALID);
+            List<String> first = new SchemaValidator(resourceLoader, generated, true).violations("MovieTicketRequest", INVALID);
+            Assertions.assertTrue(all.size() > 1, all.toString());
+            Assertions.assertEquals(1, first.size(), first.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] Fail-fast mode still passes a valid topic")
+    void failFastPassesValidTopic(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        JSONObject valid = new JSONObject(INVALID.toString()).put("seatNumber", "E6");
+        valid.getJSONObject("movie").put("genre", "SCIFI");
+        valid.getJSONObject("payment").put("email", "bryzntest@gmail.com");
+        Assertions.assertTrue(new SchemaValidator(new DefaultResourceLoader(), true, true).validateJson("MovieTicketRequest", valid));
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] Pre-checks reject oversized bodies and broken envelopes")
+    void preChecksRejectEnvelope(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        Assertions.assertNull(preChecks.checkSize("{}"));
+        ValidationError tooLarge = preChecks.checkSize("x".repeat(65));
+        Assertions.assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, tooLarge.status());
+
+        Assertions.assertEquals(ValidationError.Code.MISSING_TOPIC_NAME,
+                preChecks.checkEnvelope(new JSONObject("{\"correlatorId\":1}")).code());
+        Assertions.assertEquals(ValidationError.Code.MISSING_TOPIC_NAME,
+                preChecks.checkEnvelope(new JSONObject("{\"topicName\":7,\"correlatorId\":1}")).code());
+        Assertions.assertEquals(ValidationError.Code.UNSUPPORTED_TOPIC,
+                preChecks.checkEnvelope(new JSONObject("{\"topicName\":\"SeatRequest\",\"correlatorId\":1}")).code());
+        Assertions.assertEquals(ValidationError.Code.INVALID_CORRELATOR_ID,
+                preChecks.checkEnvelope(new JSONObject("{\"topicName\":\"MovieTicketRequest\",\"correlatorId\":\"1\"}")).code());
+        Assertions.assertEquals(ValidationError.Code.INVALID_CORRELATOR_ID,
+                preChecks.checkEnvelope(new JSONObject("{\"topicName\":\"MovieTicketRequest\",\"correlatorId\":1.5}")).code());
+        Assertions.assertNull(preChecks.checkEnvelope(INVALID));
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] Validation errors are answered as a compact JSON body")
+    void compactErrorBody(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        ValidationError error = new ValidationError(ValidationError.Code.SCHEMA_VIOLATION, "MovieTicketRequest", 1001,
+                "#/seatNumber: string [EE6] does not match pattern ^[A-Z][0-9]{1,2}$");
+        JSONObject body = new JSONObject(error.toResponse().getBody());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, error.toResponse().getStatusCode());
+        Assertions.assertEquals("SCHEMA_VIOLATION", body.getString("error"));
+        Assertions.assertEquals(1001, body.getInt("correlatorId"));
+        Assertions.assertEquals(1, body.getJSONArray("violations").length());
+        Assertions.assertFalse(new JSONObject(new ValidationError(ValidationError.Code.INVALID_JSON, null, null, "#: bad")
+                .toJson()).has("topicName"));
+    }
+}
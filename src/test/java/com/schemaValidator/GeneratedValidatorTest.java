@@ -0,0 +1,162 @@
+package com.schemaValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Consumer;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.io.DefaultResourceLoader;
+import com.SchemaService;
+import com.schema.ClasspathSchemaClient;
+import com.schema.SchemaValidator;
+import com.schema.TopicValidator;
+
+class GeneratedValidatorTest {
+    private static final String TOPIC = "MovieTicketRequest";
+
+    private final SchemaValidator schemaValidator = new SchemaValidator(new DefaultResourceLoader());
+
+    @Test
+    @DisplayName("[SCHEMA] MovieTicketRequest has a generated validator")
+    void generated(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        Assertions.assertTrue(schemaValidator.hasGeneratedValidator(TOPIC));
+        Assertions.assertFalse(new SchemaValidator(new DefaultResourceLoader(), false).hasGeneratedValidator(TOPIC));
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] Generated validator reports the same errors as everit")
+    void sameErrorsAsEverit(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        List<JSONObject> requests = List.of(
+            request(json -> { }),
+            request(json -> json.remove("payment")),
+            request(json -> json.put("seatNumber", "EE6")),
+            request(json -> json.getJSONObject("movie").put("showtime", "2025-11-10 19:30")),
+            request(json -> json.getJSONObject("movie").put("genre", "WESTERN")),
+            request(json -> json.put("topicName", "PaymentRequest")),
+            request(json -> json.put("correlatorId", "1001").put("price", "12.50")),
+            request(json -> json.put("correlatorId", 10.5).put("seatNumber", 6)),
+            request(json -> json.put("movie", "Inception")),
+            request(json -> json.put("movie", JSONObject.NULL)),
+            request(json -> json.getJSONObject("payment").put("email", "not-an-email").put("cvc", "3210x")),
+            request(json -> json.getJSONObject("payment").remove("creditCard")),
+            new JSONObject()
+        );
+
+        for (JSONObject request : requests) {
+            assertSameErrors(TOPIC, request);
+        }
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] Response topics have generated validators reporting the same errors as everit")
+    void responseTopics(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        for (String topic : List.of("SeatResponse", "PaymentResponse", "CreateTicketResponse")) {
+            Assertions.assertTrue(schemaValidator.hasGeneratedValidator(topic), topic);
+        }
+        assertSameErrors("SeatResponse", new JSONObject("{\"topicName\": \"SeatResponse\", \"correlatorId\": 1, \"status\": \"HOLDING\"}"));
+        assertSameErrors("SeatResponse", new JSONObject("{\"topicName\": \"SeatResponse\", \"status\": \"GONE\"}"));
+        assertSameErrors("PaymentResponse", new JSONObject("{\"topicName\": \"PaymentResponse\", \"correlatorId\": 1, \"status\": \"FAILED\", \"paymentAmount\": \"12\"}"));
+        for (Object ticketId : List.of(8060001, JSONObject.NULL, "8060001", 8060001.5, true)) {
+            assertSameErrors("CreateTicketResponse", new JSONObject()
+                    .put("topicName", "CreateTicketResponse").put("correlatorId", 1).put("ticketId", ticketId));
+        }
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] GroupTicketRequest has a generated validator reporting the same errors as everit")
+    void groupTicketRequest(TestInfo testInfo) {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        Assertions.assertTrue(schemaValidator.hasGeneratedValidator("GroupTicketRequest"));
+        List<Object> seatNumbers = List.of(
+            new JSONArray("[\"E6\", \"E7\"]"),
+            new JSONArray("[\"E6\", \"E7\", \"E6\"]"),
+            new JSONArray("[\"E6\", \"E7\", \"E6\", \"E7\"]"),
+            new JSONArray("[1, 1.0]"),
+            new JSONArray("[{\"seat\": \"E6\"}, {\"seat\": \"E6\"}]"),
+            new JSONArray("[\"E6\", \"E6\", \"E6\", \"E6\", \"E6\", \"E6\", \"E6\", \"E6\", \"E6\", \"E6\", \"E6\"]"),
+            new JSONArray(),
+            "E6"
+        );
+        for (Object seats : seatNumbers) {
+            JSONObject request = request(json -> { });
+            request.put("topicName", "GroupTicketRequest").put("seatNumbers", seats).remove("seatNumber");
+            assertSameErrors("GroupTicketRequest", request);
+        }
+    }
+
+    private void assertSameErrors(String topic, JSONObject request) {
+        List<String> expected = everitErrors(topic, request);
+        List<String> actual = generatedErrors(topic, request);
+        expected.sort(null);
+        actual.sort(null);
+        Assertions.assertEquals(expected, actual, request.toString());
+        Assertions.assertEquals(expected.isEmpty(), schemaValidator.validateJson(topic, request));
+    }
+
+    private List<String> generatedErrors(String topic, JSONObject request) {
+        for (TopicValidator validator : ServiceLoader.load(TopicValidator.class)) {
+            if (validator.topicName().equals(topic)) {
+                List<String> errors = new ArrayList<>();
+                validator.validate(request, errors);
+                return errors;
+            }
+        }
+        throw new AssertionError("No generated validator for " + topic);
+    }
+
+    private List<String> everitErrors(String topic, JSONObject request) {
+        JSONObject rawSchema = new JSONObject(new JSONTokener(
+                schemaValidator.getSchemaStream(SchemaService.getPathFor(topic))));
+        Schema schema = SchemaLoader.builder()
+            .schemaJson(rawSchema)
+            .resolutionScope("classpath:/json-schema/")
+            .schemaClient(new ClasspathSchemaClient())
+            .build()
+            .load()
+            .build();
+        try {
+            schema.validate(request);
+            return new ArrayList<>();
+        } catch (ValidationException e) {
+            return new ArrayList<>(e.getAllMessages());
+        }
+    }
+
+    private static JSONObject request(Consumer<JSONObject> change) {
+        JSONObject json = new JSONObject("""
+            {
+                "topicName": "MovieTicketRequest",
+                "correlatorId": 1001,
+                "movie": {
+                    "movieName": "Inception",
+                    "showtime": "2025-11-10T19:30:00-06:00",
+                    "genre": "SCIFI"
+                },
+                "seatNumber": "E6",
+                "price": 12.50,
+                "payment": {
+                    "topicName": "PaymentRequest",
+                    "correlatorId": 1001,
+                    "paymentAmount": 12.50,
+                    "email": "bryzntest@gmail.com",
+                    "creditCard": "6011000990139424",
+                    "cvc": "321"
+                }
+            }
+            """);
+        change.accept(json);
+        return json;
+    }
+}
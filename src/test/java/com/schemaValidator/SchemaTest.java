@@ -191,6 +191,64 @@ class SchemaValidatorTest {
         Assertions.assertFalse(validate(topicName, validJson));
     }
 
+    @Test
+    @DisplayName("[SCHEMA] Valid GroupTicketRequest")
+    void testGroupTicketRequest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        JSONObject json = new JSONObject("""
+            {
+                "topicName": "GroupTicketRequest",
+                "correlatorId": 1001,
+                "movie": {
+                    "movieName": "Inception",
+                    "showtime": "2025-11-10T19:30:00-06:00",
+                    "genre": "SCIFI"
+                },
+                "seatNumbers": ["E6", "E7", "E8"],
+                "price": 37.50,
+                "payment": {
+                    "topicName": "PaymentRequest",
+                    "correlatorId": 1001,
+                    "paymentAmount": 37.50,
+                    "email": "bryzntest@gmail.com",
+                    "creditCard": "6011000990139424",
+                    "cvc": "321"
+                }
+            }
+            """);
+
+        Assertions.assertTrue(validate("GroupTicketRequest", json));
+    }
+
+    @Test
+    @DisplayName("[SCHEMA] GroupTicketRequest with a seat listed twice")
+    void testBadGroupTicketRequest(TestInfo testInfo) throws Exception {
+        System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+        JSONObject json = new JSONObject("""
+            {
+                "topicName": "GroupTicketRequest",
+                "correlatorId": 1001,
+                "movie": {
+                    "movieName": "Inception",
+                    "showtime": "2025-11-10T19:30:00-06:00",
+                    "genre": "SCIFI"
+                },
+                "seatNumbers": ["E6", "E7", "E6"],
+                "price": 37.50,
+                "payment": {
+                    "topicName": "PaymentRequest",
+                    "correlatorId": 1001,
+                    "paymentAmount": 37.50,
+                    "email": "bryzntest@gmail.com",
+                    "creditCard": "6011000990139424",
+                    "cvc": "321"
+                }
+            }
+            """);
+
+        Assertions.assertFalse(validate("GroupTicketRequest", json));
+    }
+
     private boolean validate(String topicName, JSONObject validJson) {
         // Load schema stream from SchemaService
         InputStream schemaStream = schemaValidator.getSchemaStream(SchemaService.getPathFor(topicName));
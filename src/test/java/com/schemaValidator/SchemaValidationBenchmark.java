@@ -0,0 +1,127 @@
+package com.schemaValidator;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Predicate;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.springframework.core.io.DefaultResourceLoader;
+import com.SchemaService;
+import com.schema.ClasspathSchemaClient;
+import com.schema.SchemaValidator;
+import com.schema.TopicPreChecks;
+
+/*
+ * Compares validating a MovieTicketRequest with the generated validator against everit, both as
+ * SchemaValidator does it today (schema loaded per request) and with a pre-loaded Schema, each
+ * collecting every violation and in fail-fast mode. The last rows show what an invalid topic
+ * costs when the TopicPreChecks already turn it away.
+ *
+ * scripts/benchmark-schema-validation.sh [iterations]
+ */
+public class SchemaValidationBenchmark {
+    private static final String TOPIC = "MovieTicketRequest";
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        PrintStream out = System.out;
+        // SchemaValidator reports to stdout on every call, which would dominate the timings
+        System.setOut(new PrintStream(PrintStream.nullOutputStream()));
+
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        SchemaValidator generated = new SchemaValidator(resourceLoader, true);
+        SchemaValidator everit = new SchemaValidator(resourceLoader, false);
+        SchemaValidator generatedFailFast = new SchemaValidator(resourceLoader, true, true);
+        SchemaValidator everitFailFast = new SchemaValidator(resourceLoader, false, true);
+        TopicPreChecks preChecks = new TopicPreChecks(16384, List.of(TOPIC));
+        Schema schema = loadSchema(everit);
+        if (!generated.hasGeneratedValidator(TOPIC)) {
+            out.println("No generated validator for " + TOPIC + ", run the build first");
+            System.exit(1);
+        }
+
+        JSONObject valid = request("E6", "SCIFI");
+        JSONObject invalid = request("EE6", "WESTERN");
+        JSONObject garbage = new JSONObject(invalid.toString()).put("correlatorId", "1001").put("topicName", "Unknown");
+        out.printf("%-28s %-8s %12s %12s%n", "validator", "payload", "us/op", "bytes/op");
+        for (JSONObject payload : new JSONObject[] { valid, invalid }) {
+            String label = payload == valid ? "valid" : "invalid";
+            run(out, "everit (per request)", label, iterations / 10, json -> everit.validateJson(TOPIC, json), payload);
+            run(out, "everit (pre-loaded schema)", label, iterations, json -> validate(schema, json), payload);
+            run(out, "everit fail-fast (per req.)", label, iterations / 10, json -> everitFailFast.validateJson(TOPIC, json), payload);
+            run(out, "generated", label, iterations, json -> generated.validateJson(TOPIC, json), payload);
+            run(out, "generated fail-fast", label, iterations, json -> generatedFailFast.validateJson(TOPIC, json), payload);
+        }
+        run(out, "pre-checks", "envelope", iterations, json -> preChecks.checkEnvelope(json) == null, garbage);
+        run(out, "pre-checks + generated", "invalid", iterations,
+                json -> preChecks.checkEnvelope(json) == null && generatedFailFast.validateJson(TOPIC, json), invalid);
+        System.setOut(out);
+    }
+
+    private static void run(PrintStream out, String name, String payload, int iterations,
+            Predicate<JSONObject> validator, JSONObject json) {
+        // warm-up round, then the measured one
+        for (int i = 0; i < iterations; i++) {
+            validator.test(json);
+        }
+        long thread = Thread.currentThread().getId();
+        long bytes = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            validator.test(json);
+        }
+        long elapsed = System.nanoTime() - start;
+        bytes = THREADS.getThreadAllocatedBytes(thread) - bytes;
+        out.printf("%-28s %-8s %12.2f %12d%n", name, payload, elapsed / 1000.0 / iterations, bytes / iterations);
+    }
+
+    private static boolean validate(Schema schema, JSONObject json) {
+        try {
+            schema.validate(json);
+            return true;
+        } catch (ValidationException e) {
+            e.getAllMessages();
+            return false;
+        }
+    }
+
+    private static Schema loadSchema(SchemaValidator schemaValidator) {
+        return SchemaLoader.builder()
+            .schemaJson(new JSONObject(new JSONTokener(schemaValidator.getSchemaStream(SchemaService.getPathFor(TOPIC)))))
+            .resolutionScope("classpath:/json-schema/")
+            .schemaClient(new ClasspathSchemaClient())
+            .build()
+            .load()
+            .build();
+    }
+
+    private static JSONObject request(String seatNumber, String genre) {
+        return new JSONObject("""
+            {
+                "topicName": "MovieTicketRequest",
+                "correlatorId": 1001,
+                "movie": {
+                    "movieName": "Inception",
+                    "showtime": "2025-11-10T19:30:00-06:00",
+                    "genre": "%s"
+                },
+                "seatNumber": "%s",
+                "price": 12.50,
+                "payment": {
+                    "topicName": "PaymentRequest",
+                    "correlatorId": 1001,
+                    "paymentAmount": 12.50,
+                    "email": "bryzntest@gmail.com",
+                    "creditCard": "6011000990139424",
+                    "cvc": "321"
+                }
+            }
+            """.formatted(genre, seatNumber));
+    }
+}
@@ -0,0 +1,78 @@
+package com.sharding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+public class HashRingTest {
+	private static final List<String> NODES = List.of("http://localhost:8089", "http://localhost:8189",
+			"http://localhost:8289");
+	private static final int SHOWINGS = 30000;
+
+	@Test
+	@DisplayName("[SHARDING] Showings are spread evenly across the nodes")
+	public void balancedOwnership(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		HashRing ring = new HashRing(NODES, 160);
+
+		Map<String, Integer> owned = new HashMap<>();
+		for (int showing = 0; showing < SHOWINGS; showing++) {
+			owned.merge(ring.ownerOf(key(showing)), 1, Integer::sum);
+		}
+		for (String node : NODES) {
+			double share = owned.get(node) / (double) SHOWINGS;
+			Assertions.assertEquals(1.0 / 3, share, 0.05, owned.toString());
+			Assertions.assertEquals(1.0 / 3, ring.shares().get(node), 0.05, ring.shares().toString());
+		}
+		Assertions.assertEquals(1.0, ring.shares().values().stream().mapToDouble(Double::doubleValue).sum(), 1e-9);
+	}
+
+	@Test
+	@DisplayName("[SHARDING] Only the showings of a leaving node, or taken by a joining one, change owner")
+	public void minimalMovementOnMembershipChange(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		HashRing three = new HashRing(NODES, 160);
+		HashRing two = new HashRing(NODES.subList(0, 2), 160);
+		List<String> four = new ArrayList<>(NODES);
+		four.add("http://localhost:8389");
+		HashRing grown = new HashRing(four, 160);
+
+		int movedOnLeave = 0;
+		int movedOnJoin = 0;
+		for (int showing = 0; showing < SHOWINGS; showing++) {
+			String owner = three.ownerOf(key(showing));
+			if (!owner.equals(two.ownerOf(key(showing)))) {
+				Assertions.assertEquals(NODES.get(2), owner);
+				movedOnLeave++;
+			}
+			String newOwner = grown.ownerOf(key(showing));
+			if (!owner.equals(newOwner)) {
+				Assertions.assertEquals("http://localhost:8389", newOwner);
+				movedOnJoin++;
+			}
+		}
+		Assertions.assertEquals(1.0 / 3, movedOnLeave / (double) SHOWINGS, 0.05);
+		Assertions.assertEquals(1.0 / 4, movedOnJoin / (double) SHOWINGS, 0.05);
+	}
+
+	@Test
+	@DisplayName("[SHARDING] Every node builds the same ring from the same members, in any order")
+	public void sameRingEverywhere(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		HashRing ring = new HashRing(NODES, 160);
+		HashRing other = new HashRing(NODES.reversed(), 160);
+		for (int showing = 0; showing < 1000; showing++) {
+			Assertions.assertEquals(ring.ownerOf(key(showing)), other.ownerOf(key(showing)));
+		}
+		Assertions.assertNull(new HashRing(List.of(), 160).ownerOf(key(1)));
+	}
+
+	private static String key(int showing) {
+		return "Movie " + (showing % 500) + "@" + (1762824600000L + showing / 500 * 3600000L);
+	}
+}
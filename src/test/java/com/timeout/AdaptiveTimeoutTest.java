@@ -0,0 +1,130 @@
+package com.timeout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import com.sun.net.httpserver.HttpServer;
+
+public class AdaptiveTimeoutTest {
+	private static final AdaptiveTimeout.Policy POLICY = new AdaptiveTimeout.Policy(99, 1.5, 50, 2000, 60000, 100);
+
+	private final AtomicLong clock = new AtomicLong();
+
+	@Test
+	@DisplayName("[TIMEOUTS] The timeout is the observed percentile with headroom")
+	public void followsPercentile(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		AdaptiveTimeout timeout = new AdaptiveTimeout("Payment Service", POLICY, clock::get);
+		for (int i = 0; i < 990; i++) {
+			timeout.record(TimeUnit.MILLISECONDS.toNanos(20 + i % 80));
+		}
+		for (int i = 0; i < 10; i++) {
+			timeout.record(TimeUnit.MILLISECONDS.toNanos(400));
+		}
+		refresh();
+
+		// the 99th percentile (99ms) is in the bucket up to 108ms, the ten 400ms calls are above it
+		long timeoutMillis = timeout.timeoutMillis();
+		Assertions.assertTrue(timeoutMillis >= 150 && timeoutMillis <= 170, String.valueOf(timeoutMillis));
+		Assertions.assertEquals(1000, timeout.snapshot().samples());
+	}
+
+	@Test
+	@DisplayName("[TIMEOUTS] The timeout stays between the floor and the ceiling")
+	public void clampedToFloorAndCeiling(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		AdaptiveTimeout fast = new AdaptiveTimeout("Seating Service", POLICY, clock::get);
+		AdaptiveTimeout slow = new AdaptiveTimeout("Payment Service", POLICY, clock::get);
+		for (int i = 0; i < 200; i++) {
+			fast.record(TimeUnit.MILLISECONDS.toNanos(2));
+			slow.record(TimeUnit.MILLISECONDS.toNanos(5000));
+		}
+		refresh();
+
+		Assertions.assertEquals(50, fast.timeoutMillis());
+		Assertions.assertEquals(2000, slow.timeoutMillis());
+	}
+
+	@Test
+	@DisplayName("[TIMEOUTS] The ceiling applies until enough calls were observed, and again once they left the window")
+	public void ceilingWithoutEnoughSamples(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		AdaptiveTimeout timeout = new AdaptiveTimeout("Movie Service", POLICY, clock::get);
+		for (int i = 0; i < 99; i++) {
+			timeout.record(TimeUnit.MILLISECONDS.toNanos(10));
+		}
+		refresh();
+		Assertions.assertEquals(2000, timeout.timeoutMillis());
+
+		timeout.record(TimeUnit.MILLISECONDS.toNanos(10));
+		refresh();
+		Assertions.assertEquals(50, timeout.timeoutMillis());
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(60000));
+		Assertions.assertEquals(2000, timeout.timeoutMillis());
+		Assertions.assertEquals(0, timeout.snapshot().samples());
+	}
+
+	@Test
+	@DisplayName("[TIMEOUTS] A hung call is cut off at the learned timeout while normal calls go through")
+	public void cutsOffHungCalls(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+		server.createContext("/", exchange -> {
+			try {
+				Thread.sleep(exchange.getRequestURI().getPath().equals("/hung") ? 3000 : 20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			} catch (IOException e) {
+				// the client gave up on the hung call
+			}
+		});
+		server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		server.start();
+		try {
+			// real latencies, with a clock that can be moved forward to recompute the timeout
+			AtomicLong skew = new AtomicLong();
+			AdaptiveTimeout timeout = new AdaptiveTimeout("Payment Service",
+					new AdaptiveTimeout.Policy(99, 1.5, 50, 2000, 60000, 20), () -> System.nanoTime() + skew.get());
+			RestClient client = RestClient.builder()
+					.baseUrl("http://localhost:" + server.getAddress().getPort())
+					.requestFactory(timeout.requestFactory(HttpClient.newHttpClient()))
+					.requestInterceptor(timeout.interceptor())
+					.build();
+			for (int i = 0; i < 20; i++) {
+				Assertions.assertEquals("ok", client.get().uri("/normal").retrieve().body(String.class));
+			}
+			skew.addAndGet(TimeUnit.SECONDS.toNanos(1));
+			long learned = timeout.timeoutMillis();
+			Assertions.assertTrue(learned >= 50 && learned < 2000, String.valueOf(learned));
+
+			long start = System.nanoTime();
+			Assertions.assertThrows(ResourceAccessException.class, () -> client.get().uri("/hung").retrieve().body(String.class));
+			Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1500));
+			Assertions.assertEquals(1, timeout.snapshot().timeouts());
+			Assertions.assertEquals("ok", client.get().uri("/normal").retrieve().body(String.class));
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	private void refresh() {
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+	}
+}
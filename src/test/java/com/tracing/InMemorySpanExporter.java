@@ -0,0 +1,35 @@
+package com.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/*
+ * Keeps finished spans in memory so tests can assert on them
+ */
+public class InMemorySpanExporter implements SpanExporter {
+	private final ConcurrentLinkedQueue<Span> spans = new ConcurrentLinkedQueue<>();
+
+	@Override
+	public void export(Span span) {
+		spans.add(span);
+	}
+
+	public List<Span> getSpans() {
+		return new ArrayList<>(spans);
+	}
+
+	public List<Span> getSpans(String name) {
+		List<Span> named = new ArrayList<>();
+		for (Span span : spans) {
+			if (span.getName().equals(name)) {
+				named.add(span);
+			}
+		}
+		return named;
+	}
+
+	public void reset() {
+		spans.clear();
+	}
+}
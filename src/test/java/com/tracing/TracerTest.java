@@ -0,0 +1,86 @@
+package com.tracing;
+
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+public class TracerTest {
+	private final InMemorySpanExporter exporter = new InMemorySpanExporter();
+	private final Tracer tracer = new Tracer(List.of(exporter), true);
+
+	@Test
+	@DisplayName("[TRACING] Child spans share the trace of the current span")
+	public void childSpans(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Span root = tracer.startSpan("root");
+		try (Span.Scope scope = root.makeCurrent()) {
+			Span child = tracer.startSpan("child");
+			child.end();
+			Assertions.assertEquals(root.getTraceId(), child.getTraceId());
+			Assertions.assertEquals(root.getSpanId(), child.getParentSpanId());
+		}
+		root.end();
+		root.end();
+
+		Assertions.assertFalse(tracer.currentSpan().isRecording());
+		Assertions.assertEquals(2, exporter.getSpans().size());
+		Assertions.assertEquals(32, root.getTraceId().length());
+		Assertions.assertEquals(16, root.getSpanId().length());
+	}
+
+	@Test
+	@DisplayName("[TRACING] Incoming traceparent is continued")
+	public void continuesRemoteParent(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		String traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+		Span span = tracer.startSpan("processTopic", traceparent);
+		Assertions.assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", span.getTraceId());
+		Assertions.assertEquals("00f067aa0ba902b7", span.getParentSpanId());
+
+		Span fresh = tracer.startSpan("processTopic", "not-a-traceparent");
+		Assertions.assertNull(fresh.getParentSpanId());
+		Assertions.assertNotEquals(span.getTraceId(), fresh.getTraceId());
+	}
+
+	@Test
+	@DisplayName("[TRACING] Downstream calls carry the traceparent header")
+	public void interceptorPropagates(TestInfo testInfo) throws Exception {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		TracingInterceptor interceptor = new TracingInterceptor(tracer, "Seating Service");
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("http://seating:8085/api/v1/"));
+
+		Span stage = tracer.startSpan("seat-hold").setAttribute("correlatorId", 1001);
+		try (Span.Scope scope = stage.makeCurrent()) {
+			interceptor.intercept(request, new byte[0],
+					(req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+		}
+		stage.end();
+
+		Span call = exporter.getSpans("HTTP POST Seating Service").get(0);
+		Assertions.assertEquals(call.traceparent(), request.getHeaders().getFirst(Tracer.TRACEPARENT));
+		Assertions.assertEquals(stage.getSpanId(), call.getParentSpanId());
+		Assertions.assertEquals(1001, call.getAttribute("correlatorId"));
+		Assertions.assertEquals(200, call.getAttribute("http.status"));
+	}
+
+	@Test
+	@DisplayName("[TRACING] Disabled tracer records nothing")
+	public void disabled(TestInfo testInfo) {
+		System.out.println("\n-----------Running: " + testInfo.getDisplayName() + "-----------");
+		Tracer disabled = new Tracer(List.of(exporter), false);
+		Span span = disabled.startSpan("root");
+		try (Span.Scope scope = span.makeCurrent()) {
+			disabled.startSpan("child").end();
+		}
+		span.end();
+		Assertions.assertFalse(span.isRecording());
+		Assertions.assertTrue(exporter.getSpans().isEmpty());
+	}
+}